@@ -0,0 +1,365 @@
+package com.biodatahub.common;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 추정 메모리 크기 기준으로 용량이 제한되는 결과 캐시
+ * - 전체 추정 바이트가 maxBytes를 넘으면 가장 오래 사용되지 않은 항목부터 제거 (LRU)
+ * - 저장 후 ttl이 지나면 만료 (저장할 때마다 만료된 항목을 정리해 한도 계산에서 빼고 spill 파일도 삭제)
+ * - spillDir이 지정되면 제거되는 항목을 gzip JSON 파일로 내려두었다가 다시 요청될 때 읽어옴
+ * - 단일 항목이 maxBytes보다 크고 spill도 할 수 없으면 경고를 남기고 처음 읽힐 때까지만 따로 보관
+ */
+@Slf4j
+public class BoundedResultCache<V> {
+
+    private static final String SPILL_SUFFIX = ".json.gz";
+
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final ToLongFunction<V> weigher;
+    private final Path spillDir;
+    private final ObjectMapper objectMapper;
+    private final JavaType valueType;
+    private final LongSupplier clock;
+
+    // accessOrder=true 이므로 순회 순서가 LRU 순서
+    private final LinkedHashMap<String, CacheEntry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, SpilledEntry> spilled = new ConcurrentHashMap<>();
+    // 힙 한도와 spill 어디에도 둘 수 없는 큰 항목 (처음 읽히거나 만료되면 제거)
+    private final Map<String, CacheEntry<V>> handOff = new ConcurrentHashMap<>();
+    private long currentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong spillWrites = new AtomicLong();
+    private final AtomicLong spillReads = new AtomicLong();
+
+    public BoundedResultCache(long maxBytes, long ttlMillis, ToLongFunction<V> weigher,
+                              Path spillDir, ObjectMapper objectMapper, JavaType valueType) {
+        this(maxBytes, ttlMillis, weigher, spillDir, objectMapper, valueType, System::currentTimeMillis);
+    }
+
+    BoundedResultCache(long maxBytes, long ttlMillis, ToLongFunction<V> weigher,
+                       Path spillDir, ObjectMapper objectMapper, JavaType valueType, LongSupplier clock) {
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+        this.weigher = weigher;
+        this.spillDir = spillDir;
+        this.objectMapper = objectMapper;
+        this.valueType = valueType;
+        this.clock = clock;
+        if (spillDir != null) {
+            prepareSpillDirectory();
+        }
+    }
+
+    public V get(String key) {
+        long now = clock.getAsLong();
+        synchronized (this) {
+            CacheEntry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt <= now) {
+                    removeEntry(key);
+                    expirations.incrementAndGet();
+                } else {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+            }
+        }
+
+        CacheEntry<V> handedOff = handOff.remove(key);
+        if (handedOff != null) {
+            if (handedOff.expiresAt > now) {
+                hits.incrementAndGet();
+                return handedOff.value;
+            }
+            expirations.incrementAndGet();
+        }
+
+        // 메모리에 없으면 디스크에 내려둔 항목 확인
+        V restored = readSpilled(key, now);
+        if (restored != null) {
+            hits.incrementAndGet();
+            return restored;
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String key, V value) {
+        put(key, value, clock.getAsLong() + ttlMillis);
+    }
+
+    private void put(String key, V value, long expiresAt) {
+        long weight = Math.max(1, weigher.applyAsLong(value));
+        deleteSpilled(key);
+        handOff.remove(key);
+        purgeExpired(clock.getAsLong());
+
+        if (weight > maxBytes) {
+            // 단일 항목이 전체 한도보다 크면 힙에 두지 않음 (같은 키의 이전 값이 힙에 남아 계속 반환되지 않도록 먼저 제거)
+            synchronized (this) {
+                removeEntry(key);
+            }
+            evictions.incrementAndGet();
+            if (!spill(key, value, expiresAt)) {
+                log.warn("Cache entry {} ({} bytes) exceeds the cache limit ({} bytes) and cannot be spilled; "
+                        + "keeping it only until it is first read", key, weight, maxBytes);
+                handOff.put(key, new CacheEntry<>(value, weight, expiresAt));
+            }
+            return;
+        }
+
+        List<Map.Entry<String, CacheEntry<V>>> evicted = new ArrayList<>();
+        synchronized (this) {
+            removeEntry(key);
+            entries.put(key, new CacheEntry<>(value, weight, expiresAt));
+            currentBytes += weight;
+
+            Iterator<Map.Entry<String, CacheEntry<V>>> it = entries.entrySet().iterator();
+            while (currentBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, CacheEntry<V>> eldest = it.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                it.remove();
+                currentBytes -= eldest.getValue().weight;
+                evicted.add(eldest);
+            }
+        }
+
+        // 디스크 쓰기는 락 밖에서 수행
+        long now = clock.getAsLong();
+        for (Map.Entry<String, CacheEntry<V>> eldest : evicted) {
+            evictions.incrementAndGet();
+            if (eldest.getValue().expiresAt > now) {
+                spill(eldest.getKey(), eldest.getValue().value, eldest.getValue().expiresAt);
+            }
+        }
+    }
+
+    public void invalidate(String key) {
+        synchronized (this) {
+            removeEntry(key);
+        }
+        handOff.remove(key);
+        deleteSpilled(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized CacheStats stats() {
+        return CacheStats.builder()
+                .entries(entries.size())
+                .spilledEntries(spilled.size())
+                .estimatedBytes(currentBytes)
+                .maxBytes(maxBytes)
+                .hits(hits.get())
+                .misses(misses.get())
+                .evictions(evictions.get())
+                .expirations(expirations.get())
+                .spillWrites(spillWrites.get())
+                .spillReads(spillReads.get())
+                .build();
+    }
+
+    /**
+     * 만료된 항목을 힙, spill, 임시 보관에서 모두 제거 (만료된 항목이 한도를 차지해 유효한 항목이 밀려나지 않도록)
+     */
+    private void purgeExpired(long now) {
+        synchronized (this) {
+            Iterator<CacheEntry<V>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                CacheEntry<V> entry = it.next();
+                if (entry.expiresAt <= now) {
+                    it.remove();
+                    currentBytes -= entry.weight;
+                    expirations.incrementAndGet();
+                }
+            }
+        }
+        for (Map.Entry<String, SpilledEntry> entry : spilled.entrySet()) {
+            if (entry.getValue().expiresAt <= now && spilled.remove(entry.getKey(), entry.getValue())) {
+                expirations.incrementAndGet();
+                deleteQuietly(entry.getValue().file);
+            }
+        }
+        for (Map.Entry<String, CacheEntry<V>> entry : handOff.entrySet()) {
+            if (entry.getValue().expiresAt <= now && handOff.remove(entry.getKey(), entry.getValue())) {
+                expirations.incrementAndGet();
+            }
+        }
+    }
+
+    private void removeEntry(String key) {
+        CacheEntry<V> removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.weight;
+        }
+    }
+
+    /**
+     * @return 디스크에 내려두었으면 true (spill 비활성화 또는 쓰기 실패 시 false)
+     */
+    private boolean spill(String key, V value, long expiresAt) {
+        if (spillDir == null) {
+            return false;
+        }
+        Path file = spillDir.resolve(spillFileName(key));
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            objectMapper.writerFor(valueType).writeValue(out, value);
+            spilled.put(key, new SpilledEntry(file, expiresAt));
+            spillWrites.incrementAndGet();
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to spill cache entry {}: {}", key, e.getMessage());
+            deleteQuietly(file);
+            return false;
+        }
+    }
+
+    private V readSpilled(String key, long now) {
+        SpilledEntry entry = spilled.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= now) {
+            expirations.incrementAndGet();
+            deleteQuietly(entry.file);
+            return null;
+        }
+
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(entry.file)))) {
+            V value = objectMapper.readValue(in, valueType);
+            spillReads.incrementAndGet();
+            deleteQuietly(entry.file);
+            // 다시 사용되었으므로 메모리로 올림 (한도를 넘으면 다른 항목이 내려감)
+            put(key, value, entry.expiresAt);
+            return value;
+        } catch (IOException e) {
+            log.warn("Failed to read spilled cache entry {}: {}", key, e.getMessage());
+            deleteQuietly(entry.file);
+            return null;
+        }
+    }
+
+    private void deleteSpilled(String key) {
+        SpilledEntry entry = spilled.remove(key);
+        if (entry != null) {
+            deleteQuietly(entry.file);
+        }
+    }
+
+    private void prepareSpillDirectory() {
+        try {
+            Files.createDirectories(spillDir);
+            // 이전 실행에서 남은 파일은 키 정보가 없어 재사용할 수 없으므로 정리
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(spillDir, "*" + SPILL_SUFFIX)) {
+                for (Path file : stale) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare cache spill directory: " + spillDir, e);
+        }
+    }
+
+    private static String spillFileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest) + SPILL_SUFFIX;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Failed to delete spill file {}", file);
+        }
+    }
+
+    /**
+     * Map/List/String/숫자로 이루어진 결과 트리의 힙 사용량을 대략적으로 추정
+     */
+    public static long estimateObjectTreeBytes(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String str) {
+            return 40 + str.length();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return 16;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 48;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += 32 + estimateObjectTreeBytes(entry.getKey()) + estimateObjectTreeBytes(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = 24 + 8L * collection.size();
+            for (Object element : collection) {
+                size += estimateObjectTreeBytes(element);
+            }
+            return size;
+        }
+        return 64;
+    }
+
+    @Value
+    @Builder
+    public static class CacheStats {
+        int entries;
+        int spilledEntries;
+        long estimatedBytes;
+        long maxBytes;
+        long hits;
+        long misses;
+        long evictions;
+        long expirations;
+        long spillWrites;
+        long spillReads;
+    }
+
+    @AllArgsConstructor
+    private static class CacheEntry<V> {
+        final V value;
+        final long weight;
+        final long expiresAt;
+    }
+
+    @AllArgsConstructor
+    private static class SpilledEntry {
+        final Path file;
+        final long expiresAt;
+    }
+}
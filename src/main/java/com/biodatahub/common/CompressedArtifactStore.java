@@ -0,0 +1,160 @@
+package com.biodatahub.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 바뀌지 않는 결과 응답(완료된 비교 결과, 저장된 통계)을 gzip 파일로 한 번만 압축해 두고 그대로 전송
+ * 서버 응답 압축(server.compression)은 요청마다 다시 압축하므로, gzip을 받는 클라이언트에는 이 파일을
+ * Content-Encoding: gzip으로 FileChannel.transferTo를 통해 보낸다 (Content-Encoding이 있으면 Tomcat은 다시 압축하지 않음).
+ *
+ * - 파일 이름은 결과의 ETag와 같은 식별자이므로 같은 이름의 파일은 내용이 바뀌지 않는다.
+ * - 임시 파일에 쓴 뒤 원자적으로 이동하므로 동시에 만들어도 반쯤 쓰인 파일을 보내지 않는다.
+ * - 시작할 때 retention-days보다 오래된 파일을 지운다.
+ */
+@Component
+@Slf4j
+public class CompressedArtifactStore {
+
+    static final String GZIP_SUFFIX = ".json.gz";
+
+    private final StreamingJsonResponse jsonResponse;
+    private final Path artifactDir;
+    private final boolean enabled;
+    private final int compressionLevel;
+
+    public CompressedArtifactStore(
+            StreamingJsonResponse jsonResponse,
+            @Value("${biodatahub.artifacts.enabled:true}") boolean enabled,
+            @Value("${biodatahub.artifacts.dir:temp/artifacts}") String artifactDir,
+            @Value("${biodatahub.artifacts.retention-days:7}") int retentionDays,
+            @Value("${biodatahub.artifacts.gzip-level:9}") int compressionLevel) {
+        this.jsonResponse = jsonResponse;
+        this.artifactDir = Paths.get(artifactDir);
+        this.enabled = enabled;
+        this.compressionLevel = Math.max(1, Math.min(compressionLevel, 9));
+        if (enabled) {
+            prepareDirectory(Duration.ofDays(Math.max(1, retentionDays)));
+        }
+        log.info("Compressed result artifacts: {}", enabled ? this.artifactDir : "disabled");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 이미 만들어 둔 gzip 파일 (없으면 null)
+     */
+    public Path findGzip(String name) {
+        Path file = artifactDir.resolve(fileName(name));
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * 응답 본문을 gzip 파일로 기록 (이미 있으면 그대로 반환)
+     */
+    public Path writeGzip(String name, StreamingJsonResponse.FieldWriter fields) throws IOException {
+        Path target = artifactDir.resolve(fileName(name));
+        if (Files.isRegularFile(target)) {
+            return target;
+        }
+        Path temp = Files.createTempFile(artifactDir, "artifact-", ".tmp");
+        try {
+            try (OutputStream out = new LeveledGZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)), compressionLevel)) {
+                jsonResponse.write(out, fields);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.info("Wrote compressed artifact {} ({} bytes)", target.getFileName(), Files.size(target));
+        return target;
+    }
+
+    /**
+     * gzip 파일을 그대로 응답 (Content-Encoding: gzip, Vary: Accept-Encoding)
+     */
+    public ResponseEntity<StreamingResponseBody> serveGzip(Path file, String etag, CacheControl cacheControl) throws IOException {
+        StreamingResponseBody body = out -> transfer(file, out);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(Files.size(file))
+                .body(body);
+    }
+
+    static void transfer(Path file, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    private void prepareDirectory(Duration retention) {
+        try {
+            Files.createDirectories(artifactDir);
+            FileTime cutoff = FileTime.from(Instant.now().minus(retention));
+            int removed = 0;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(artifactDir)) {
+                for (Path file : files) {
+                    String fileName = file.getFileName().toString();
+                    // 이전 실행에서 쓰다 만 임시 파일과 보관 기간이 지난 파일 정리
+                    if (fileName.endsWith(".tmp")
+                            || (fileName.endsWith(GZIP_SUFFIX) && Files.getLastModifiedTime(file).compareTo(cutoff) < 0)) {
+                        Files.deleteIfExists(file);
+                        removed++;
+                    }
+                }
+            }
+            if (removed > 0) {
+                log.info("Removed {} stale compressed artifacts from {}", removed, artifactDir);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare artifact directory: " + artifactDir, e);
+        }
+    }
+
+    static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_") + GZIP_SUFFIX;
+    }
+
+    private static final class LeveledGZIPOutputStream extends GZIPOutputStream {
+        LeveledGZIPOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 1 << 16);
+            def.setLevel(level);
+        }
+    }
+}
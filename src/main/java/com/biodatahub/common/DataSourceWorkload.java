@@ -0,0 +1,47 @@
+package com.biodatahub.common;
+
+/**
+ * DB 연결을 가져올 커넥션 풀 (작업 종류별로 풀을 나눠 한 작업이 다른 작업의 연결을 모두 차지하지 않게 함)
+ *
+ * - INGEST: 파일 분석 중 서열 행 적재
+ * - ANALYTICS: 비교/클러스터링/내보내기처럼 많은 행을 읽는 작업
+ * - INTERACTIVE: 그 밖의 요청 처리 (지정하지 않으면 이 풀)
+ *
+ * 현재 스레드의 작업 종류는 use()로 지정하고 반환된 Scope를 닫으면 이전 값으로 돌아간다 (중첩 가능).
+ * 새 스레드에는 이어지지 않으므로 비동기 작업은 그 안에서 다시 지정해야 한다.
+ */
+public enum DataSourceWorkload {
+    INGEST,
+    ANALYTICS,
+    INTERACTIVE;
+
+    private static final ThreadLocal<DataSourceWorkload> CURRENT = new ThreadLocal<>();
+
+    public static DataSourceWorkload current() {
+        DataSourceWorkload workload = CURRENT.get();
+        return workload != null ? workload : INTERACTIVE;
+    }
+
+    public static Scope use(DataSourceWorkload workload) {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(workload);
+        return scope;
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final DataSourceWorkload previous;
+
+        private Scope(DataSourceWorkload previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
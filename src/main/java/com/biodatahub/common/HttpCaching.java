@@ -0,0 +1,108 @@
+package com.biodatahub.common;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 번 계산되면 바뀌지 않는 결과(파일 통계, 완료된 비교 결과)의 조건부 GET 처리
+ *
+ * - ETag는 저장된 결과 본문의 해시(파일 통계, 완료된 비교 결과 + 응답 형식)로 만들므로
+ *   결과를 읽거나 직렬화하지 않고도 If-None-Match를 비교해 304로 응답할 수 있다.
+ * - If-None-Match는 약한 비교를 사용 (응답 압축 시 서버가 ETag를 W/로 바꿔 보낼 수 있음)
+ * - 아직 바뀔 수 있는 응답(처리 중, 부분 결과, 분석 전 통계)에는 ETag를 붙이지 않고 no-store로 응답한다.
+ */
+public final class HttpCaching {
+
+    private HttpCaching() {
+    }
+
+    /**
+     * 강한 ETag ("part1-part2-...")
+     */
+    public static String etag(Object... parts) {
+        StringBuilder value = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                value.append('-');
+            }
+            value.append(String.valueOf(parts[i]).replace("\"", ""));
+        }
+        return value.append('"').toString();
+    }
+
+    /**
+     * 미리 압축한 gzip 표현의 ETag (같은 결과라도 표현마다 강한 ETag가 달라야 함)
+     */
+    public static String gzipVariant(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * Accept-Encoding에 gzip(또는 *)이 q=0이 아닌 값으로 있으면 true
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.split(";");
+            String coding = parts[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-None-Match 헤더에 etag가 있으면 true ("*" 포함, W/ 접두사는 무시)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+        String expected = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || opaque(value).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * 바뀌지 않는 결과: 브라우저와 프록시가 maxAge 동안 재사용하고, 이후에는 ETag로 재검증
+     */
+    public static CacheControl immutableResult(long maxAgeSeconds) {
+        return CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+    }
+
+    public static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.biodatahub.common;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커넥션 풀별 연결 대기 시간 통계 (Hikari MetricsTrackerFactory)
+ * 한 작업 종류의 풀에서 대기 시간/대기 스레드/타임아웃이 늘면 그 작업이 연결을 기다리고 있다는 뜻이다.
+ */
+@Slf4j
+public class PoolWaitMetrics implements MetricsTrackerFactory {
+
+    private final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Tracker tracker = new Tracker(poolName, poolStats);
+        trackers.put(poolName, tracker);
+        return tracker;
+    }
+
+    /**
+     * 풀 이름별 통계 (대기 시간은 밀리초)
+     */
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        trackers.keySet().stream().sorted().forEach(name -> result.put(name, trackers.get(name).snapshot()));
+        return result;
+    }
+
+    static final class Tracker implements IMetricsTracker {
+
+        private final String poolName;
+        private final PoolStats poolStats;
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final LongAdder usageMillis = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        Tracker(String poolName, PoolStats poolStats) {
+            this.poolName = poolName;
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquisitions.increment();
+            waitNanos.add(elapsedAcquiredNanos);
+            maxWaitNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageMillis.add(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+            log.warn("Connection pool {} timed out waiting for a connection (active: {}, pending: {})",
+                    poolName, poolStats != null ? poolStats.getActiveConnections() : -1,
+                    poolStats != null ? poolStats.getPendingThreads() : -1);
+        }
+
+        Map<String, Object> snapshot() {
+            long count = acquisitions.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("acquisitions", count);
+            stats.put("averageWaitMs", count == 0 ? 0.0 : Math.round(waitNanos.sum() / (double) count / 1_000) / 1_000.0);
+            stats.put("maxWaitMs", Math.round(maxWaitNanos.get() / 1_000) / 1_000.0);
+            stats.put("totalWaitMs", waitNanos.sum() / 1_000_000);
+            stats.put("averageUsageMs", count == 0 ? 0.0 : Math.round(usageMillis.sum() * 100.0 / count) / 100.0);
+            stats.put("timeouts", timeouts.sum());
+            if (poolStats != null) {
+                stats.put("active", poolStats.getActiveConnections());
+                stats.put("idle", poolStats.getIdleConnections());
+                stats.put("total", poolStats.getTotalConnections());
+                stats.put("max", poolStats.getMaxConnections());
+                stats.put("pendingThreads", poolStats.getPendingThreads());
+            }
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.biodatahub.common;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * ApiResponse.ok와 같은 형식({"success": true, ...데이터 필드})의 JSON을 응답 스트림에 바로 기록
+ * 응답 Map을 복사하거나 전체 JSON을 메모리에 만든 뒤 보내지 않고, JsonGenerator로 필드를 쓰는 대로
+ * 내보내므로 큰 결과(비교 결과, 서열 목록)도 첫 바이트가 바로 나가고 최대 메모리가 결과 크기만큼 늘지 않는다.
+ *
+ * 값은 Spring의 ObjectMapper 설정으로 직렬화되므로 기존 응답과 JSON이 같다.
+ * 기록 도중 오류가 나면 상태 코드를 바꿀 수 없으므로 (이미 200 전송) 로그를 남기고 연결을 끊는다.
+ * 검증과 조회처럼 실패할 수 있는 작업은 스트리밍을 시작하기 전에 끝내야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StreamingJsonResponse {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 응답 본문의 데이터 필드를 기록 (감싸는 객체의 시작/끝과 success 필드는 이미 기록되어 있음)
+     */
+    @FunctionalInterface
+    public interface FieldWriter {
+        void write(JsonGenerator gen) throws IOException;
+    }
+
+    /**
+     * 데이터 Map의 각 항목을 복사 없이 필드로 기록 (ApiResponse.ok(Map)과 같은 형식)
+     */
+    public ResponseEntity<StreamingResponseBody> ok(Map<String, ?> data) {
+        return ok(fields(data));
+    }
+
+    public ResponseEntity<StreamingResponseBody> ok(FieldWriter fields) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body(fields));
+    }
+
+    /**
+     * 응답 헤더(ETag, Cache-Control 등)를 직접 지정할 때 사용하는 본문 (Content-Type은 application/json으로 지정)
+     */
+    public StreamingResponseBody body(Map<String, ?> data) {
+        return body(fields(data));
+    }
+
+    public StreamingResponseBody body(FieldWriter fields) {
+        return out -> {
+            try {
+                write(out, fields);
+            } catch (IOException | RuntimeException e) {
+                log.error("Streaming JSON response failed after the response was committed", e);
+                throw e;
+            }
+        };
+    }
+
+    private static FieldWriter fields(Map<String, ?> data) {
+        return gen -> {
+            for (Map.Entry<String, ?> entry : data.entrySet()) {
+                gen.writeObjectField(entry.getKey(), entry.getValue());
+            }
+        };
+    }
+
+    /**
+     * 응답 본문을 out에 기록 (out은 닫지 않음)
+     */
+    void write(OutputStream out, FieldWriter fields) throws IOException {
+        try (JsonGenerator gen = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            // 응답 스트림은 서블릿 컨테이너가 닫음
+            gen.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            gen.writeStartObject();
+            gen.writeBooleanField("success", true);
+            fields.write(gen);
+            gen.writeEndObject();
+        }
+    }
+}
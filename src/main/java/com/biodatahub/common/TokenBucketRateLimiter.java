@@ -0,0 +1,97 @@
+package com.biodatahub.common;
+
+import lombok.*;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 클라이언트별 토큰 버킷 (잠금 없음)
+ *
+ * 버킷마다 "토큰이 모두 다시 찼다고 볼 수 있는 시각"(GCRA의 theoretical arrival time) 하나만 AtomicLong으로 두고
+ * CAS 한 번으로 갱신한다. 초당 tokensPerSecond개씩 채워지고 최대 burst개까지 모인다.
+ * 버킷은 클라이언트 키의 해시로 고른 고정 크기 배열(stripes)에 있으므로 클라이언트가 많아져도 메모리가 늘지 않는다
+ * (해시가 겹치는 클라이언트는 버킷을 같이 쓴다).
+ *
+ * cost가 burst보다 크면 burst로 줄인다 (버킷이 가득 차 있으면 항상 받아들일 수 있게).
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int burst;
+    private final AtomicLongArray arrivals;
+    private final int mask;
+    private final LongSupplier clock;
+    private final long origin;
+
+    public TokenBucketRateLimiter(double tokensPerSecond, int burst, int stripes) {
+        this(tokensPerSecond, burst, stripes, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double tokensPerSecond, int burst, int stripes, LongSupplier clock) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("tokensPerSecond and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000L / tokensPerSecond));
+        this.burst = burst;
+        this.burstNanos = intervalNanos * burst;
+        int size = Integer.highestOneBit(Math.max(1, Math.min(stripes, 1 << 20)) * 2 - 1);
+        this.arrivals = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.clock = clock;
+        // 모든 버킷이 가득 찬 상태로 시작하도록 시간 기준점을 burst만큼 앞당김
+        this.origin = clock.getAsLong() - burstNanos;
+    }
+
+    /**
+     * cost 토큰 사용을 시도
+     * 지금 토큰이 부족해도 maxWaitNanos 안에 채워지면 그만큼 미리 예약하고 받아들인다 (호출자가 waitNanos만큼 대기).
+     */
+    public Admission acquire(String client, int cost, long maxWaitNanos) {
+        long increment = intervalNanos * Math.max(1, Math.min(cost, burst));
+        int index = stripe(client);
+        while (true) {
+            long now = clock.getAsLong() - origin;
+            long arrival = arrivals.get(index);
+            long next = Math.max(arrival, now) + increment;
+            long wait = next - now - burstNanos;
+            if (wait > maxWaitNanos) {
+                return new Admission(false, wait);
+            }
+            if (arrivals.compareAndSet(index, arrival, next)) {
+                return new Admission(true, Math.max(0, wait));
+            }
+        }
+    }
+
+    /**
+     * 지금 사용할 수 있는 토큰 수
+     */
+    public int available(String client) {
+        long now = clock.getAsLong() - origin;
+        long debt = Math.max(0, arrivals.get(stripe(client)) - now);
+        return (int) Math.max(0, (burstNanos - debt) / intervalNanos);
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    private int stripe(String client) {
+        int h = client != null ? client.hashCode() : 0;
+        h ^= h >>> 16;
+        h *= 0x9E3779B9;
+        return (h ^ (h >>> 15)) & mask;
+    }
+
+    /**
+     * admitted이면 waitNanos만큼 기다린 뒤 처리, 아니면 waitNanos 후에 다시 시도할 수 있음
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Admission {
+        private final boolean admitted;
+        private final long waitNanos;
+    }
+}
@@ -0,0 +1,28 @@
+package com.biodatahub.common;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * 현재 스레드의 DataSourceWorkload에 해당하는 커넥션 풀에서 연결을 가져오는 DataSource
+ * 연결을 얻는 시점의 작업 종류로 풀이 정해지므로, 트랜잭션은 Scope 안에서 시작해야 한다.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return DataSourceWorkload.current();
+    }
+
+    /**
+     * 종료할 때 모든 풀을 닫음
+     */
+    public void close() throws Exception {
+        for (DataSource pool : getResolvedDataSources().values()) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.biodatahub.config;
+
+import com.biodatahub.common.TokenBucketRateLimiter;
+import com.biodatahub.service.SequenceComparisonService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 무거운 엔드포인트(파일 분석/일괄 분석, 비교 시작, 클러스터링, 유사 서열 검색과 색인 재구성)의 클라이언트별 요청 비율 제한
+ * 모든 엔드포인트가 하나의 토큰 버킷(biodatahub.rate-limit.*)을 나눠 쓰고, 요청마다 cost.* 만큼 차감한다.
+ */
+@Configuration
+@Slf4j
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final SequenceComparisonService comparisonService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final TokenBucketRateLimiter limiter;
+    private final long maxWaitMs;
+    private final Set<String> trustedProxies;
+    private final int analyzeCost;
+    private final int comparisonCost;
+    private final long comparisonPairsPerToken;
+    private final int clusteringCost;
+    private final int searchCost;
+
+    public RateLimitConfig(
+            SequenceComparisonService comparisonService,
+            ObjectMapper objectMapper,
+            @Value("${biodatahub.rate-limit.enabled:true}") boolean enabled,
+            @Value("${biodatahub.rate-limit.tokens-per-second:1.0}") double tokensPerSecond,
+            @Value("${biodatahub.rate-limit.burst:30}") int burst,
+            @Value("${biodatahub.rate-limit.stripes:4096}") int stripes,
+            @Value("${biodatahub.rate-limit.max-wait-ms:2000}") long maxWaitMs,
+            @Value("${biodatahub.rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor,
+            @Value("${biodatahub.rate-limit.trusted-proxies:}") String trustedProxies,
+            @Value("${biodatahub.rate-limit.cost.analyze:5}") int analyzeCost,
+            @Value("${biodatahub.rate-limit.cost.comparison:2}") int comparisonCost,
+            @Value("${biodatahub.rate-limit.cost.comparison-pairs-per-token:1000000}") long comparisonPairsPerToken,
+            @Value("${biodatahub.rate-limit.cost.clustering:10}") int clusteringCost,
+            @Value("${biodatahub.rate-limit.cost.search:1}") int searchCost) {
+        this.comparisonService = comparisonService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.limiter = new TokenBucketRateLimiter(tokensPerSecond, burst, stripes);
+        this.maxWaitMs = maxWaitMs;
+        // X-Forwarded-For는 설정된 프록시에서 온 요청에서만 사용
+        this.trustedProxies = trustForwardedFor
+                ? Arrays.stream(trustedProxies.split(",")).map(String::trim).filter(ip -> !ip.isEmpty())
+                        .collect(Collectors.toUnmodifiableSet())
+                : Set.of();
+        if (trustForwardedFor && this.trustedProxies.isEmpty()) {
+            log.warn("biodatahub.rate-limit.trust-forwarded-for is set but no trusted-proxies are configured; "
+                    + "X-Forwarded-For will be ignored");
+        }
+        this.analyzeCost = analyzeCost;
+        this.comparisonCost = comparisonCost;
+        this.comparisonPairsPerToken = Math.max(1, comparisonPairsPerToken);
+        this.clusteringCost = clusteringCost;
+        this.searchCost = searchCost;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        registry.addInterceptor(interceptor(request -> analyzeCost)).addPathPatterns("/api/analysis/analyze/**");
+        registry.addInterceptor(interceptor(this::batchAnalyzeCost)).addPathPatterns("/api/analysis/batch");
+        registry.addInterceptor(interceptor(this::comparisonCost)).addPathPatterns("/api/comparison/start");
+        registry.addInterceptor(interceptor(request -> clusteringCost)).addPathPatterns("/api/clustering/start");
+        registry.addInterceptor(interceptor(request -> searchCost)).addPathPatterns("/api/search");
+        // 전체 파일 색인 재구성은 클러스터링과 같은 비용
+        registry.addInterceptor(interceptor(request -> clusteringCost)).addPathPatterns("/api/search/index/backfill");
+        log.info("Rate limiting heavy endpoints: burst {} tokens per client", limiter.getBurst());
+    }
+
+    private RateLimitInterceptor interceptor(ToIntFunction<HttpServletRequest> cost) {
+        return new RateLimitInterceptor(limiter, objectMapper, cost, maxWaitMs, trustedProxies);
+    }
+
+    /**
+     * 일괄 분석 비용: 파일 수 × 분석 비용 (버킷 크기를 넘으면 버킷 크기로 제한됨)
+     */
+    private int batchAnalyzeCost(HttpServletRequest request) {
+        String fileIdsParam = request.getParameter("fileIds");
+        long files = fileIdsParam == null ? 1
+                : Math.max(1, Arrays.stream(fileIdsParam.split(",")).filter(id -> !id.isBlank()).count());
+        return (int) Math.min(Integer.MAX_VALUE, files * analyzeCost);
+    }
+
+    /**
+     * 비교 시작 비용: 기본 비용 + 추정 서열 쌍 수 / comparison-pairs-per-token (올림)
+     */
+    private int comparisonCost(HttpServletRequest request) {
+        String referenceId = request.getParameter("referenceId");
+        String comparisonIdsParam = request.getParameter("comparisonIds");
+        if (referenceId == null || comparisonIdsParam == null) {
+            return comparisonCost;
+        }
+        try {
+            List<String> comparisonIds = Arrays.stream(comparisonIdsParam.split(","))
+                    .map(String::trim).filter(id -> !id.isEmpty()).toList();
+            long pairs = comparisonService.estimatePairCount(referenceId, comparisonIds);
+            long weighted = (pairs + comparisonPairsPerToken - 1) / comparisonPairsPerToken;
+            return (int) Math.min(Integer.MAX_VALUE, comparisonCost + weighted);
+        } catch (Exception e) {
+            log.warn("Could not estimate comparison size for {}, charging base cost", referenceId, e);
+            return comparisonCost;
+        }
+    }
+}
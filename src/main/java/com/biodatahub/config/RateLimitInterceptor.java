@@ -0,0 +1,103 @@
+package com.biodatahub.config;
+
+import com.biodatahub.common.TokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * 무거운 엔드포인트 앞에서 클라이언트별 토큰을 차감하는 인터셉터
+ * 토큰이 max-wait-ms 안에 채워지면 그만큼 기다렸다가 처리하고, 아니면 429와 Retry-After로 바로 거절한다.
+ * 요청 비용은 엔드포인트마다 cost 함수로 정한다 (예: 비교 시작은 추정 서열 쌍 수에 비례).
+ */
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final TokenBucketRateLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final ToIntFunction<HttpServletRequest> cost;
+    private final long maxWaitNanos;
+    private final Set<String> trustedProxies;
+
+    public RateLimitInterceptor(TokenBucketRateLimiter limiter, ObjectMapper objectMapper,
+                                ToIntFunction<HttpServletRequest> cost, long maxWaitMs, Set<String> trustedProxies) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.cost = cost;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMs));
+        this.trustedProxies = Set.copyOf(trustedProxies);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // 조회(GET)나 CORS 사전 요청은 차감하지 않음
+        if (!"POST".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+        String client = clientKey(request, trustedProxies);
+        int requestCost = cost.applyAsInt(request);
+        TokenBucketRateLimiter.Admission admission = limiter.acquire(client, requestCost, maxWaitNanos);
+
+        if (!admission.isAdmitted()) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(admission.getWaitNanos() + 999_999_999L));
+            log.info("Rate limit exceeded for {} on {} (cost {}), retry after {} s",
+                    client, request.getRequestURI(), requestCost, retryAfterSeconds);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), Map.of(
+                    "success", false,
+                    "message", "Too many requests; retry after " + retryAfterSeconds + " seconds",
+                    "retryAfterSeconds", retryAfterSeconds));
+            return false;
+        }
+
+        if (admission.getWaitNanos() > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(admission.getWaitNanos());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(limiter.available(client)));
+        return true;
+    }
+
+    /**
+     * 클라이언트 식별 키
+     * 요청이 신뢰하는 프록시(trustedProxies)에서 온 경우에만 X-Forwarded-For를 보고, 오른쪽(가장 가까운 홉)부터
+     * 신뢰하는 프록시를 건너뛴 첫 주소를 쓴다. 클라이언트가 헤더 앞쪽에 넣은 값은 쓰지 않으므로 헤더를 바꿔
+     * 새 버킷을 얻을 수 없다.
+     */
+    static String clientKey(HttpServletRequest request, Set<String> trustedProxies) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!trustedProxies.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isBlank()) {
+            return remoteAddr;
+        }
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+}
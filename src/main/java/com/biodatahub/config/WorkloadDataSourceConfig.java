@@ -0,0 +1,81 @@
+package com.biodatahub.config;
+
+import com.biodatahub.common.DataSourceWorkload;
+import com.biodatahub.common.PoolWaitMetrics;
+import com.biodatahub.common.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 작업 종류(DataSourceWorkload)별 커넥션 풀 구성
+ * 접속 정보는 spring.datasource.*, 공통 풀 설정은 spring.datasource.hikari.*를 쓰고,
+ * 풀마다 biodatahub.datasource.pools.{ingest|analytics|interactive}.* 로 크기와 대기 시간을 따로 정한다.
+ */
+@Configuration
+@Slf4j
+public class WorkloadDataSourceConfig {
+
+    private static final String POOL_PREFIX = "biodatahub.datasource.pools.";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig baseHikariConfig() {
+        return new HikariConfig();
+    }
+
+    @Bean
+    public PoolWaitMetrics poolWaitMetrics() {
+        return new PoolWaitMetrics();
+    }
+
+    @Bean
+    @Primary
+    public WorkloadRoutingDataSource dataSource(DataSourceProperties properties, HikariConfig baseHikariConfig,
+                                                PoolWaitMetrics poolWaitMetrics, Environment environment) {
+        Map<Object, Object> pools = new HashMap<>();
+        for (DataSourceWorkload workload : DataSourceWorkload.values()) {
+            pools.put(workload, createPool(workload, properties, baseHikariConfig, poolWaitMetrics, environment));
+        }
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource();
+        dataSource.setTargetDataSources(pools);
+        dataSource.setDefaultTargetDataSource(pools.get(DataSourceWorkload.INTERACTIVE));
+        return dataSource;
+    }
+
+    private static DataSource createPool(DataSourceWorkload workload, DataSourceProperties properties,
+                                         HikariConfig base, PoolWaitMetrics metrics, Environment environment) {
+        String name = workload.name().toLowerCase(Locale.ROOT);
+        HikariConfig config = new HikariConfig();
+        base.copyStateTo(config);
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setPoolName("biodatahub-" + name);
+        config.setMetricsTrackerFactory(metrics);
+
+        int maximumPoolSize = environment.getProperty(POOL_PREFIX + name + ".maximum-pool-size",
+                Integer.class, base.getMaximumPoolSize());
+        config.setMaximumPoolSize(Math.max(1, maximumPoolSize));
+        config.setMinimumIdle(Math.min(config.getMaximumPoolSize(), environment.getProperty(
+                POOL_PREFIX + name + ".minimum-idle", Integer.class, base.getMinimumIdle())));
+        config.setConnectionTimeout(environment.getProperty(POOL_PREFIX + name + ".connection-timeout",
+                Long.class, base.getConnectionTimeout()));
+
+        log.info("Connection pool {}: max {}, min idle {}, connection timeout {} ms", config.getPoolName(),
+                config.getMaximumPoolSize(), config.getMinimumIdle(), config.getConnectionTimeout());
+        return new HikariDataSource(config);
+    }
+}
@@ -1,13 +1,29 @@
 package com.biodatahub.controller;
 
+import com.biodatahub.service.BatchAnalysisService;
 import com.biodatahub.service.SequenceAnalysisService;
+import com.biodatahub.service.SequenceHandle;
+import com.biodatahub.service.SequencePage;
 import com.biodatahub.dto.SequenceStatisticsDto;
 import com.biodatahub.common.ApiResponse;
+import com.biodatahub.common.CompressedArtifactStore;
+import com.biodatahub.common.HttpCaching;
+import com.biodatahub.common.StreamingJsonResponse;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -18,6 +34,16 @@ import java.util.Map;
 public class AnalysisController {
 
     private final SequenceAnalysisService sequenceAnalysisService;
+    private final StreamingJsonResponse jsonResponse;
+    private final CompressedArtifactStore artifactStore;
+    private final BatchAnalysisService batchAnalysisService;
+
+    // 일괄 분석 스트리밍 연결 최대 유지 시간 (2시간)
+    private static final long BATCH_STREAM_TIMEOUT_MS = 2 * 60 * 60 * 1000L;
+
+    // 바뀌지 않는 결과를 브라우저/프록시가 재검증 없이 재사용하는 시간
+    @Value("${biodatahub.http.result-max-age-seconds:3600}")
+    private long resultMaxAgeSeconds;
 
     @PostMapping("/analyze/{fileId}")
     public ResponseEntity<Map<String, Object>> analyzeFile(@PathVariable String fileId) {
@@ -38,4 +64,176 @@ public class AnalysisController {
             return ApiResponse.internalError("Failed to analyze file: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 여러 파일을 동시에 분석하고 파일별 결과를 Server-Sent Events로 스트리밍
+     * 파일 하나가 끝날 때마다 file 이벤트를, 모두 끝나면 요약을 담은 complete 이벤트를 보낸다.
+     * 동시 분석 수는 BatchAnalysisService의 병렬도로 제한된다.
+     */
+    @PostMapping(value = "/batch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeFiles(@RequestParam("fileIds") String fileIdsParam) {
+        SseEmitter emitter = new SseEmitter(BATCH_STREAM_TIMEOUT_MS);
+        List<String> fileIds = Arrays.stream(fileIdsParam.split(","))
+                .map(String::trim).filter(id -> !id.isEmpty()).toList();
+        log.info("Batch analyzing {} files (parallelism {})", fileIds.size(), batchAnalysisService.getParallelism());
+
+        try {
+            batchAnalysisService.analyzeFiles(fileIds, status -> sendEvent(emitter, "file", status))
+                    .thenAccept(summary -> {
+                        sendEvent(emitter, "complete", Map.of("summary", summary));
+                        emitter.complete();
+                    });
+        } catch (Exception e) {
+            log.error("Error starting batch analysis", e);
+            sendEvent(emitter, "error", Map.of("message", "Failed to start batch analysis: " + e.getMessage()));
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    private static void sendEvent(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // 연결이 끊겼으면 이벤트만 버림 (분석은 계속 진행)
+            log.debug("Dropping batch analysis event {}: {}", eventName, e.getMessage());
+        }
+    }
+
+    /**
+     * 파일의 기본 통계 (조건부 GET 지원)
+     * 저장된 통계는 바뀌지 않으므로 ETag(파일 ID + 통계 본문 해시)가 If-None-Match와 같으면 통계를 읽지 않고 304로 응답한다.
+     * 아직 분석되지 않아 비어 있는 통계는 캐시하지 않는다.
+     */
+    @GetMapping("/{fileId}/statistics")
+    public ResponseEntity<?> getStatistics(
+            @PathVariable String fileId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            CacheControl cacheControl = HttpCaching.immutableResult(resultMaxAgeSeconds);
+            boolean gzip = artifactStore.isEnabled() && HttpCaching.acceptsGzip(acceptEncoding);
+            String name = statisticsArtifactName(fileId, sequenceAnalysisService.getStatisticsHash(fileId));
+            if (name != null) {
+                String etag = statisticsETag(name, gzip);
+                if (HttpCaching.matches(ifNoneMatch, etag)) {
+                    return HttpCaching.notModified(etag, cacheControl);
+                }
+                // 이미 압축해 둔 통계가 있으면 파일을 그대로 전송
+                Path artifact = gzip ? artifactStore.findGzip(name) : null;
+                if (artifact != null) {
+                    return artifactStore.serveGzip(artifact, etag, cacheControl);
+                }
+            }
+
+            SequenceStatisticsDto statistics = sequenceAnalysisService.getBasicStatistics(fileId);
+            Map<String, Object> data = Map.of("fileId", fileId, "statistics", statistics);
+            if (name == null) {
+                // 방금 계산해 저장했으면 그 해시로 ETag를 만듦 (분석 전이면 저장되지 않아 null)
+                name = statisticsArtifactName(fileId, sequenceAnalysisService.getStatisticsHash(fileId));
+            }
+            if (name == null) {
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(jsonResponse.body(data));
+            }
+            if (gzip) {
+                try {
+                    Path artifact = artifactStore.writeGzip(name, gen -> {
+                        gen.writeStringField("fileId", fileId);
+                        gen.writeObjectField("statistics", statistics);
+                    });
+                    return artifactStore.serveGzip(artifact, statisticsETag(name, true), cacheControl);
+                } catch (IOException e) {
+                    log.warn("Failed to write compressed artifact {}: {}", name, e.getMessage());
+                }
+            }
+            return ResponseEntity.ok()
+                    .eTag(statisticsETag(name, false))
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(jsonResponse.body(data));
+
+        } catch (Exception e) {
+            log.error("Error getting statistics for file: {}", fileId, e);
+            return ApiResponse.internalError("Failed to get statistics: " + e.getMessage());
+        }
+    }
+
+    // 저장된 통계를 식별하는 이름 (ETag와 압축 파일 이름으로 사용, 저장된 통계가 없으면 null)
+    private static String statisticsArtifactName(String fileId, String contentHash) {
+        return contentHash != null ? "stats-" + fileId + "-" + contentHash : null;
+    }
+
+    private static String statisticsETag(String name, boolean gzip) {
+        return gzip ? HttpCaching.gzipVariant(HttpCaching.etag(name)) : HttpCaching.etag(name);
+    }
+
+    /**
+     * 파일의 서열 목록 (keyset 페이지: 응답의 nextCursor를 cursor로 넘겨 다음 페이지를 조회)
+     */
+    @GetMapping("/{fileId}/sequences")
+    public ResponseEntity<?> listSequences(
+            @PathVariable String fileId,
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "minGc", required = false) Double minGc,
+            @RequestParam(value = "maxGc", required = false) Double maxGc,
+            @RequestParam(value = "minLength", required = false) Integer minLength,
+            @RequestParam(value = "maxLength", required = false) Integer maxLength,
+            @RequestParam(value = "includeSequence", defaultValue = "false") boolean includeSequence) {
+        try {
+            if (!"asc".equalsIgnoreCase(order) && !"desc".equalsIgnoreCase(order)) {
+                return ApiResponse.badRequest("Unsupported order: " + order);
+            }
+            SequencePage page = sequenceAnalysisService.listSequences(fileId, sort,
+                    "desc".equalsIgnoreCase(order), cursor, Math.max(1, Math.min(limit, 1000)),
+                    minGc, maxGc, minLength, maxLength);
+
+            // 서열 본문은 요청한 경우에만 한 서열씩 읽어 바로 기록 (목록/문자열을 만들지 않음)
+            return jsonResponse.ok(gen -> {
+                gen.writeStringField("fileId", fileId);
+                gen.writeStringField("sort", page.getSort());
+                gen.writeStringField("order", page.isDescending() ? "desc" : "asc");
+                gen.writeArrayFieldStart("sequences");
+                for (SequenceHandle handle : page.getHandles()) {
+                    gen.writeStartObject();
+                    gen.writeObjectField("metadata", handle.getSummary());
+                    if (includeSequence) {
+                        byte[] bases = handle.getBases();
+                        gen.writeFieldName("sequence");
+                        gen.writeUTF8String(bases, 0, bases.length);
+                        handle.release();
+                    }
+                    gen.writeEndObject();
+                }
+                gen.writeEndArray();
+                gen.writeStringField("nextCursor", page.getNextCursor());
+            });
+
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error listing sequences for file: {}", fileId, e);
+            return ApiResponse.internalError("Failed to list sequences: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 파일의 서열을 FASTA로 내려받기 (응답을 스트리밍하므로 서열 수와 무관하게 메모리 사용량이 일정)
+     * 서열은 업로드할 때 대문자로 바뀌어 저장되므로 원본의 소프트 마스킹(소문자 구간)은 복원되지 않는다.
+     */
+    @GetMapping("/{fileId}/export.fasta")
+    public ResponseEntity<StreamingResponseBody> exportFasta(@PathVariable String fileId) {
+        log.info("Exporting file as FASTA: {}", fileId);
+        StreamingResponseBody body = out -> sequenceAnalysisService.exportFasta(fileId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileId + ".fasta\"")
+                .body(body);
+    }
+}
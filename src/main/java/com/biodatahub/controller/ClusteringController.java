@@ -0,0 +1,94 @@
+package com.biodatahub.controller;
+
+import com.biodatahub.common.ApiResponse;
+import com.biodatahub.model.ClusterMember;
+import com.biodatahub.model.ClusteringJob;
+import com.biodatahub.service.SequenceClusteringService;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/clustering")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class ClusteringController {
+
+    private final SequenceClusteringService clusteringService;
+
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> startClustering(
+            @RequestParam("fileIds") String fileIdsParam,
+            @RequestParam(value = "identity", defaultValue = "90") double identity) {
+        try {
+            List<String> fileIds = Arrays.stream(fileIdsParam.split(","))
+                    .map(String::trim)
+                    .filter(id -> !id.isEmpty())
+                    .toList();
+            log.info("Starting clustering - files: {}, identity: {}", fileIds, identity);
+
+            ClusteringJob job = clusteringService.startClustering(fileIds, identity);
+            return ApiResponse.ok(Map.of(
+                "message", "Clustering started",
+                "jobId", job.getJobId(),
+                "fileIds", fileIds,
+                "identity", identity
+            ));
+
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error starting clustering", e);
+            return ApiResponse.internalError("Failed to start clustering: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Map<String, Object>> getJob(@PathVariable String jobId) {
+        try {
+            ClusteringJob job = clusteringService.getJob(jobId);
+            if (job == null) {
+                return ApiResponse.badRequest("Clustering job not found: " + jobId);
+            }
+            return ApiResponse.ok(Map.of("job", job));
+
+        } catch (Exception e) {
+            log.error("Error getting clustering job: {}", jobId, e);
+            return ApiResponse.internalError("Failed to get clustering job: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{jobId}/clusters")
+    public ResponseEntity<Map<String, Object>> getClusters(
+            @PathVariable String jobId,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        try {
+            List<ClusterMember> clusters = clusteringService.getClusters(jobId, offset, Math.min(limit, 1000));
+            return ApiResponse.ok(Map.of("jobId", jobId, "offset", offset, "clusters", clusters));
+
+        } catch (Exception e) {
+            log.error("Error getting clusters for job: {}", jobId, e);
+            return ApiResponse.internalError("Failed to get clusters: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{jobId}/clusters/{clusterNo}")
+    public ResponseEntity<Map<String, Object>> getClusterMembers(
+            @PathVariable String jobId, @PathVariable int clusterNo) {
+        try {
+            List<ClusterMember> members = clusteringService.getClusterMembers(jobId, clusterNo);
+            return ApiResponse.ok(Map.of("jobId", jobId, "clusterNo", clusterNo, "members", members));
+
+        } catch (Exception e) {
+            log.error("Error getting cluster {} for job: {}", clusterNo, jobId, e);
+            return ApiResponse.internalError("Failed to get cluster members: " + e.getMessage());
+        }
+    }
+}
@@ -1,13 +1,28 @@
 package com.biodatahub.controller;
 
+import com.biodatahub.dto.LegacyComparisonView;
+import com.biodatahub.dto.SequenceComparisonResult;
+import com.biodatahub.service.ComparisonJobListener;
 import com.biodatahub.service.SequenceComparisonService;
 import com.biodatahub.common.ApiResponse;
+import com.biodatahub.common.CompressedArtifactStore;
+import com.biodatahub.common.HttpCaching;
+import com.biodatahub.common.StreamingJsonResponse;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -18,6 +33,15 @@ import java.util.concurrent.CompletableFuture;
 public class ComparisonController {
 
     private final SequenceComparisonService comparisonService;
+    private final StreamingJsonResponse jsonResponse;
+    private final CompressedArtifactStore artifactStore;
+
+    // 완료된 결과를 브라우저/프록시가 재검증 없이 재사용하는 시간
+    @Value("${biodatahub.http.result-max-age-seconds:3600}")
+    private long resultMaxAgeSeconds;
+
+    // 스트리밍 연결 최대 유지 시간 (30분)
+    private static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
 
     @GetMapping("/comparison-analysis")
     public String comparisonAnalysisPage() {
@@ -28,7 +52,8 @@ public class ComparisonController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> startComparison(
             @RequestParam("referenceId") String referenceId,
-            @RequestParam("comparisonIds") String comparisonIdsParam) {
+            @RequestParam("comparisonIds") String comparisonIdsParam,
+            @RequestParam(value = "deadlineSeconds", required = false) Long deadlineSeconds) {
         
         try {
             log.info("Starting sequence comparison - Reference: {}, ComparisonIds: {}", 
@@ -40,8 +65,8 @@ public class ComparisonController {
             
             // 비동기로 비교 분석 시작
             log.info("=== Starting async comparison analysis ===");
-            CompletableFuture<Map<String, Object>> analysisResult = 
-                    comparisonService.compareSequences(referenceId, comparisonIds);
+            CompletableFuture<SequenceComparisonResult> analysisResult = 
+                    comparisonService.compareSequences(referenceId, comparisonIds, deadlineSeconds);
             log.info("CompletableFuture created successfully");
             
             Map<String, Object> data = Map.of(
@@ -60,9 +85,13 @@ public class ComparisonController {
 
     @GetMapping("/api/comparison/results")
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> getComparisonResults(
+    public ResponseEntity<?> getComparisonResults(
             @RequestParam("referenceId") String referenceId,
-            @RequestParam("comparisonIds") String comparisonIdsParam) {
+            @RequestParam("comparisonIds") String comparisonIdsParam,
+            @RequestParam(value = "view", defaultValue = "legacy") String view,
+            @RequestParam(value = "partial", defaultValue = "false") boolean includePartial,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         
         try {
             log.info("=== Getting comparison results ===");
@@ -83,15 +112,74 @@ public class ComparisonController {
             // 쉼표로 분리된 문자열을 List로 변환
             List<String> comparisonIds = java.util.Arrays.asList(comparisonIdsParam.trim().split(","));
             log.info("Parsed comparison IDs: {}", comparisonIds);
+
+            // 완료된 결과가 있으면 그 본문 해시와 응답 형식으로 ETag를 만들어, 같으면 결과를 읽지 않고 304
+            // (완료된 결과가 없으면 ETag 없이 아래 일반 경로로 진행)
+            boolean compact = "compact".equalsIgnoreCase(view);
+            boolean gzip = artifactStore.isEnabled() && HttpCaching.acceptsGzip(acceptEncoding);
+            CacheControl cacheControl = HttpCaching.immutableResult(resultMaxAgeSeconds);
+            String artifactName = comparisonArtifactName(
+                    comparisonService.getResultHash(referenceId, comparisonIds), compact);
+            if (artifactName != null) {
+                String etag = comparisonETag(artifactName, gzip);
+                if (HttpCaching.matches(ifNoneMatch, etag)) {
+                    return HttpCaching.notModified(etag, cacheControl);
+                }
+                // 이미 압축해 둔 결과가 있으면 결과를 읽거나 직렬화하지 않고 파일을 그대로 전송
+                Path artifact = gzip ? artifactStore.findGzip(artifactName) : null;
+                if (artifact != null) {
+                    return artifactStore.serveGzip(artifact, etag, cacheControl);
+                }
+            }
             
             // 비교 결과 조회
-            Map<String, Object> results = comparisonService.getComparisonResults(referenceId, comparisonIds);
+            SequenceComparisonResult results =
+                    comparisonService.getComparisonResults(referenceId, comparisonIds, includePartial);
             log.info("Retrieved results: {}", results != null ? "Found" : "Null");
             
-            if (results != null && !results.isEmpty()) {
-                return ApiResponse.ok(Map.of("results", results));
+            if (results != null) {
+                // 기본은 기존 JSON 형식, view=compact이면 압축 형식 그대로 반환
+                // (결과가 수백 MB가 될 수 있으므로 응답 Map/JSON을 메모리에 만들지 않고 스트리밍)
+                StreamingJsonResponse.FieldWriter fields = gen -> {
+                    gen.writeFieldName("results");
+                    if (compact) {
+                        gen.writeObject(results);
+                    } else {
+                        LegacyComparisonView.writeResult(gen, results);
+                    }
+                    gen.writeBooleanField("partial", results.isPartial());
+                };
+                if (artifactName == null && !results.isPartial()) {
+                    // 해시를 확인한 뒤 방금 완료된 결과면 그 내용으로 ETag를 만듦
+                    artifactName = comparisonArtifactName(
+                            comparisonService.getResultHash(referenceId, comparisonIds), compact);
+                }
+                // 부분 결과는 아직 바뀔 수 있으므로 캐시하지 않음
+                if (results.isPartial() || artifactName == null) {
+                    return ResponseEntity.ok()
+                            .cacheControl(CacheControl.noStore())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(jsonResponse.body(fields));
+                }
+                if (gzip) {
+                    try {
+                        return artifactStore.serveGzip(artifactStore.writeGzip(artifactName, fields),
+                                comparisonETag(artifactName, true), cacheControl);
+                    } catch (IOException e) {
+                        log.warn("Failed to write compressed artifact {}: {}", artifactName, e.getMessage());
+                    }
+                }
+                return ResponseEntity.ok()
+                        .eTag(comparisonETag(artifactName, false))
+                        .cacheControl(cacheControl)
+                        .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(jsonResponse.body(fields));
             } else {
-                return ApiResponse.ok(Map.of("message", "Results not ready yet", "status", "processing"));
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(jsonResponse.body(Map.of("message", "Results not ready yet", "status", "processing")));
             }
             
         } catch (Exception e) {
@@ -100,4 +188,134 @@ public class ComparisonController {
             return ApiResponse.internalError("Failed to get results: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 진행 중인 비교 작업 취소
+     * 점수 계산은 다음 기준 서열/구역 경계에서 멈추고, 끝난 부분은 results?partial=true로 조회할 수 있다.
+     */
+    @PostMapping("/api/comparison/cancel")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> cancelComparison(
+            @RequestParam("referenceId") String referenceId,
+            @RequestParam("comparisonIds") String comparisonIdsParam) {
+
+        try {
+            List<String> comparisonIds = java.util.Arrays.asList(comparisonIdsParam.trim().split(","));
+            boolean cancelled = comparisonService.cancelComparison(referenceId, comparisonIds);
+            return ApiResponse.ok(Map.of(
+                "cancelled", cancelled,
+                "message", cancelled ? "Cancellation requested" : "No running comparison found"
+            ));
+
+        } catch (Exception e) {
+            log.error("Error cancelling comparison for referenceId: {}", referenceId, e);
+            return ApiResponse.internalError("Failed to cancel comparison: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 비교 결과를 Server-Sent Events로 스트리밍
+     * 기준 서열 하나의 비교가 끝날 때마다 reference 이벤트를, 단계/진행률은 progress 이벤트를 보낸다.
+     * 진행 중인 작업도 캐시된 결과도 없으면 error 이벤트를 보낸다 (작업은 /api/comparison/start로 시작).
+     */
+    @GetMapping(value = "/api/comparison/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamComparisonResults(
+            @RequestParam("referenceId") String referenceId,
+            @RequestParam("comparisonIds") String comparisonIdsParam) {
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        List<String> comparisonIds = java.util.Arrays.asList(comparisonIdsParam.trim().split(","));
+        log.info("Streaming comparison results - Reference: {}, ComparisonIds: {}", referenceId, comparisonIds);
+
+        SseComparisonListener listener = new SseComparisonListener(emitter);
+        emitter.onCompletion(listener::close);
+        emitter.onTimeout(listener::close);
+        emitter.onError(e -> listener.close());
+
+        try {
+            comparisonService.subscribe(referenceId, comparisonIds, listener);
+        } catch (Exception e) {
+            log.error("Error streaming comparison results", e);
+            listener.onError("Failed to stream results: " + e.getMessage());
+        }
+        return emitter;
+    }
+
+    @GetMapping("/api/comparison/cache/stats")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ApiResponse.ok(Map.of("cache", comparisonService.getCacheStats()));
+    }
+
+    private static String comparisonArtifactName(String contentHash, boolean compact) {
+        return contentHash != null ? "comparison-" + contentHash + "-" + (compact ? "compact" : "legacy") : null;
+    }
+
+    private static String comparisonETag(String name, boolean gzip) {
+        return gzip ? HttpCaching.gzipVariant(HttpCaching.etag(name)) : HttpCaching.etag(name);
+    }
+
+    /**
+     * 비교 작업 이벤트를 SSE 이벤트로 변환하는 리스너
+     * 연결이 닫히면 예외를 던져 작업의 구독자 목록에서 제거되도록 한다.
+     */
+    private static class SseComparisonListener implements ComparisonJobListener {
+
+        private final SseEmitter emitter;
+        private volatile boolean closed;
+
+        SseComparisonListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void close() {
+            closed = true;
+        }
+
+        @Override
+        public void onProgress(String phase, int completedReferences, int totalReferences) {
+            Map<String, Object> progress = new HashMap<>();
+            progress.put("phase", phase);
+            progress.put("completedReferences", completedReferences);
+            progress.put("totalReferences", totalReferences);
+            send("progress", progress);
+        }
+
+        @Override
+        public void onReferenceFile(Object referenceFile) {
+            send("referenceFile", referenceFile);
+        }
+
+        @Override
+        public void onReference(int index, Object sequenceComparison) {
+            send("reference", Map.of("index", index, "sequenceComparison", sequenceComparison));
+        }
+
+        @Override
+        public void onComplete(Object summaryStats) {
+            send("complete", summaryStats != null ? Map.of("summaryStats", summaryStats) : Map.of());
+            closed = true;
+            emitter.complete();
+        }
+
+        @Override
+        public void onError(String message) {
+            send("error", Map.of("message", message != null ? message : "Comparison failed"));
+            closed = true;
+            emitter.complete();
+        }
+
+        private void send(String eventName, Object data) {
+            if (closed) {
+                throw new IllegalStateException("Stream already closed");
+            }
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                closed = true;
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
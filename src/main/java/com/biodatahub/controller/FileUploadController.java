@@ -12,6 +12,8 @@ import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -78,6 +80,63 @@ public class FileUploadController {
     }
 
 
+    /**
+     * 여러 파일을 한 요청으로 업로드 (files 파트 여러 개, fileIds는 같은 순서로 선택)
+     * 파일은 동시에 기록되고 DB 행은 한 번에 저장된다. 하나라도 잘못되면 아무 파일도 저장하지 않는다.
+     */
+    @PostMapping("/multiple")
+    public ResponseEntity<Map<String, Object>> uploadMultipleFiles(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "fileIds", required = false) List<String> fileIds) {
+        
+        try {
+            log.info("Multiple file upload request received: {} files", files.size());
+            
+            if (files.isEmpty()) {
+                return ApiResponse.badRequest("No files uploaded");
+            }
+            if (fileIds != null && !fileIds.isEmpty() && fileIds.size() != files.size()) {
+                return ApiResponse.badRequest("fileIds must match the number of files");
+            }
+            for (MultipartFile file : files) {
+                if (file.isEmpty()) {
+                    return ApiResponse.badRequest("File is empty: " + file.getOriginalFilename());
+                }
+                if (!isValidFileExtension(file.getOriginalFilename())) {
+                    return ApiResponse.badRequest("Invalid file extension: " + file.getOriginalFilename()
+                            + ". Allowed: " + allowedExtensions);
+                }
+            }
+            
+            // fileId가 없거나 비어 있으면 생성
+            List<String> resolvedFileIds = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                String fileId = fileIds != null && i < fileIds.size() ? fileIds.get(i) : null;
+                resolvedFileIds.add(fileId == null || fileId.trim().isEmpty()
+                        ? System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 9)
+                        : fileId.trim());
+            }
+            
+            List<String> savedPaths = fileProcessingService.processMultipleFiles(files, resolvedFileIds);
+            
+            List<FileUploadResultDto> results = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                results.add(FileUploadResultDto.success(resolvedFileIds.get(i), files.get(i).getOriginalFilename(),
+                        savedPaths.get(i), files.get(i).getSize()));
+            }
+            
+            log.info("Multiple files uploaded: {}", resolvedFileIds);
+            return ApiResponse.ok(Map.of("files", results, "count", results.size()));
+            
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error uploading {} files", files.size(), e);
+            return ApiResponse.internalError("Error uploading files: " + e.getMessage());
+        }
+    }
+
+
     @PostMapping("/validate")
     public ResponseEntity<Map<String, Object>> validateFile(
             @RequestParam("fileName") String fileName,
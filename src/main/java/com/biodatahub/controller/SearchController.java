@@ -0,0 +1,66 @@
+package com.biodatahub.controller;
+
+import com.biodatahub.common.ApiResponse;
+import com.biodatahub.dto.SequenceSearchResult;
+import com.biodatahub.service.SequenceSearchService;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private final SequenceSearchService searchService;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> search(
+            @RequestParam("sequence") String sequence,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        try {
+            SequenceSearchResult result = searchService.search(sequence, Math.max(1, Math.min(limit, 200)));
+            log.info("Sequence search - query length: {}, hits: {}, {}ms",
+                    result.getQueryLength(), result.getHits().size(), result.getElapsedMs());
+            return ApiResponse.ok(Map.of("result", result));
+
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error searching sequences", e);
+            return ApiResponse.internalError("Failed to search sequences: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/index")
+    public ResponseEntity<Map<String, Object>> getIndexStats() {
+        try {
+            return ApiResponse.ok(Map.of("index", searchService.getIndexStats()));
+
+        } catch (Exception e) {
+            log.error("Error getting search index stats", e);
+            return ApiResponse.internalError("Failed to get search index stats: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/index/backfill")
+    public ResponseEntity<Map<String, Object>> indexMissingFiles() {
+        try {
+            int indexed = searchService.indexMissingFiles();
+            return ApiResponse.ok(Map.of(
+                "message", "Search index updated",
+                "indexedFiles", indexed,
+                "index", searchService.getIndexStats()
+            ));
+
+        } catch (Exception e) {
+            log.error("Error indexing files for search", e);
+            return ApiResponse.internalError("Failed to index files: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.biodatahub.controller;
+
+import com.biodatahub.common.ApiResponse;
+import com.biodatahub.common.PoolWaitMetrics;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/system")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class SystemController {
+
+    private final PoolWaitMetrics poolWaitMetrics;
+
+    @GetMapping("/datasource-pools")
+    public ResponseEntity<Map<String, Object>> getDataSourcePools() {
+        try {
+            return ApiResponse.ok(Map.of("pools", poolWaitMetrics.snapshot()));
+
+        } catch (Exception e) {
+            log.error("Error getting connection pool stats", e);
+            return ApiResponse.internalError("Failed to get connection pool stats: " + e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.biodatahub.dto;
 
 import lombok.*;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * 염기 구성 정보 DTO
  */
 @Value
 @Builder
+@Jacksonized
 public class BaseCompositionDto {
     long aCount;
     long tCount;
@@ -1,6 +1,7 @@
 package com.biodatahub.dto;
 
 import lombok.*;
+import lombok.extern.jackson.Jacksonized;
 import java.util.Map;
 
 /**
@@ -8,6 +9,7 @@ import java.util.Map;
  */
 @Value
 @Builder
+@Jacksonized
 public class DistributionDto {
     Map<String, Integer> distribution;
     int totalSamples;
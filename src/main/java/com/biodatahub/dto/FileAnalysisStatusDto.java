@@ -0,0 +1,48 @@
+package com.biodatahub.dto;
+
+import lombok.*;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * 일괄 분석에서 파일 하나의 처리 결과
+ */
+@Value
+@Builder
+@Jacksonized
+public class FileAnalysisStatusDto {
+
+    public enum Status { COMPLETED, ALREADY_ANALYZED, FAILED }
+
+    String fileId;
+    Status status;
+    SequenceStatisticsDto statistics;
+    Long sequenceCount;
+    String message;
+    long elapsedMs;
+
+    public static FileAnalysisStatusDto completed(String fileId, SequenceStatisticsDto statistics, long elapsedMs) {
+        return FileAnalysisStatusDto.builder()
+            .fileId(fileId)
+            .status(Status.COMPLETED)
+            .statistics(statistics)
+            .elapsedMs(elapsedMs)
+            .build();
+    }
+
+    public static FileAnalysisStatusDto alreadyAnalyzed(String fileId, long sequenceCount) {
+        return FileAnalysisStatusDto.builder()
+            .fileId(fileId)
+            .status(Status.ALREADY_ANALYZED)
+            .sequenceCount(sequenceCount)
+            .build();
+    }
+
+    public static FileAnalysisStatusDto failed(String fileId, String message, long elapsedMs) {
+        return FileAnalysisStatusDto.builder()
+            .fileId(fileId)
+            .status(Status.FAILED)
+            .message(message)
+            .elapsedMs(elapsedMs)
+            .build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.biodatahub.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * SequenceComparisonResult를 기존 Map 기반 JSON 형식으로 직렬화하는 호환 뷰
+ * 중간 Map을 만들지 않고 JsonGenerator로 바로 기록한다.
+ * (referenceFile / sequenceComparisons / summaryStats 구조, 비교 서열은 매치마다 펼쳐서 기록)
+ */
+public abstract class LegacyComparisonView extends JsonSerializable.Base {
+
+    private static final String[] BASES = {"A", "T", "C", "G", "N"};
+
+    public static LegacyComparisonView of(SequenceComparisonResult result) {
+        return new LegacyComparisonView() {
+            @Override
+            public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+                writeResult(gen, result);
+            }
+        };
+    }
+
+    public static LegacyComparisonView referenceFile(SequenceComparisonResult.SequenceTable table) {
+        return new LegacyComparisonView() {
+            @Override
+            public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+                writeReferenceFile(gen, table);
+            }
+        };
+    }
+
+    public static LegacyComparisonView sequenceComparison(SequenceComparisonResult.SequenceTable table,
+                                                          SequenceComparisonResult.ReferenceResult reference) {
+        return new LegacyComparisonView() {
+            @Override
+            public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+                writeSequenceComparison(gen, table, reference);
+            }
+        };
+    }
+
+    public static LegacyComparisonView summary(SequenceComparisonResult.Summary summary) {
+        return new LegacyComparisonView() {
+            @Override
+            public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+                writeSummary(gen, summary);
+            }
+        };
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers,
+                                  TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    public static void writeResult(JsonGenerator gen, SequenceComparisonResult result) throws IOException {
+        SequenceComparisonResult.SequenceTable table = result.getSequences();
+        gen.writeStartObject();
+        gen.writeFieldName("referenceFile");
+        writeReferenceFile(gen, table);
+        gen.writeArrayFieldStart("sequenceComparisons");
+        for (SequenceComparisonResult.ReferenceResult reference : result.getReferences()) {
+            writeSequenceComparison(gen, table, reference);
+        }
+        gen.writeEndArray();
+        gen.writeFieldName("summaryStats");
+        writeSummary(gen, result.getSummary());
+        gen.writeEndObject();
+    }
+
+    public static void writeReferenceFile(JsonGenerator gen, SequenceComparisonResult.SequenceTable table) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("fileId", table.getFileIds().get(0));
+        gen.writeStringField("fileName", table.getFileNames().get(0));
+        gen.writeNumberField("totalSequences", table.getReferenceCount());
+        gen.writeArrayFieldStart("sequences");
+        for (int i = 0; i < table.getReferenceCount(); i++) {
+            writeSequence(gen, table, i);
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    public static void writeSequenceComparison(JsonGenerator gen, SequenceComparisonResult.SequenceTable table,
+                                               SequenceComparisonResult.ReferenceResult reference) throws IOException {
+        int ref = reference.getReferenceIndex();
+        int[] matchIndexes = reference.getMatchIndexes();
+        double[] scores = reference.getSimilarityScores();
+
+        gen.writeStartObject();
+        gen.writeFieldName("referenceSequence");
+        writeSequence(gen, table, ref);
+        gen.writeArrayFieldStart("allMatches");
+        for (int m = 0; m < matchIndexes.length; m++) {
+            writeMatch(gen, table, ref, matchIndexes[m], scores[m], reference.isReverseStrand(m));
+        }
+        gen.writeEndArray();
+        gen.writeNumberField("totalMatches", matchIndexes.length);
+        gen.writeArrayFieldStart("matches");
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    public static void writeSummary(JsonGenerator gen, SequenceComparisonResult.Summary summary) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("totalReferenceSequences", summary.getTotalReferenceSequences());
+        gen.writeNumberField("averageSimilarity", summary.getAverageSimilarity());
+        gen.writeNumberField("maxSimilarity", summary.getMaxSimilarity());
+        gen.writeNumberField("minSimilarity", summary.getMinSimilarity());
+        gen.writeNumberField("totalComparisons", summary.getTotalComparisons());
+        gen.writeObjectFieldStart("similarityDistribution");
+        gen.writeNumberField("very_high", summary.getVeryHigh());
+        gen.writeNumberField("high", summary.getHigh());
+        gen.writeNumberField("medium", summary.getMedium());
+        gen.writeNumberField("low", summary.getLow());
+        gen.writeNumberField("very_low", summary.getVeryLow());
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
+    private static void writeMatch(JsonGenerator gen, SequenceComparisonResult.SequenceTable table,
+                                   int ref, int comp, double score, boolean reverseStrand) throws IOException {
+        int fileIndex = table.getFileIndexes()[comp];
+        int refLength = table.getLengths()[ref];
+        int compLength = table.getLengths()[comp];
+
+        gen.writeStartObject();
+        gen.writeFieldName("comparisonSequence");
+        writeSequence(gen, table, comp);
+        gen.writeStringField("comparisonFileId", table.getFileIds().get(fileIndex));
+        gen.writeStringField("comparisonFileName", table.getFileNames().get(fileIndex));
+        gen.writeNumberField("lengthDifference", compLength - refLength);
+        gen.writeNumberField("lengthRatio", refLength > 0 ? (double) compLength / refLength : 0.0);
+        gen.writeObjectFieldStart("baseCompositionDifferences");
+        for (String base : BASES) {
+            int[] counts = countsFor(table, base);
+            gen.writeNumberField(base, (long) counts[comp] - counts[ref]);
+        }
+        gen.writeEndObject();
+        gen.writeNumberField("similarityScore", score);
+        gen.writeStringField("similarityGrade", getSimilarityGrade(score));
+        gen.writeStringField("strand", reverseStrand ? "-" : "+");
+        gen.writeEndObject();
+    }
+
+    private static void writeSequence(JsonGenerator gen, SequenceComparisonResult.SequenceTable table, int i) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("sequenceId", table.getSequenceIds()[i]);
+        gen.writeStringField("header", table.getHeaders()[i]);
+        gen.writeNumberField("length", table.getLengths()[i]);
+        double gcContent = table.getGcContents()[i];
+        if (Double.isNaN(gcContent)) {
+            gen.writeNullField("gcContent");
+        } else {
+            gen.writeNumberField("gcContent", gcContent);
+        }
+        gen.writeNumberField("aCount", table.getACounts()[i]);
+        gen.writeNumberField("tCount", table.getTCounts()[i]);
+        gen.writeNumberField("cCount", table.getCCounts()[i]);
+        gen.writeNumberField("gCount", table.getGCounts()[i]);
+        gen.writeNumberField("nCount", table.getNCounts()[i]);
+        gen.writeBooleanField("isValid", table.getValid()[i]);
+        gen.writeEndObject();
+    }
+
+    private static int[] countsFor(SequenceComparisonResult.SequenceTable table, String base) {
+        switch (base) {
+            case "A": return table.getACounts();
+            case "T": return table.getTCounts();
+            case "C": return table.getCCounts();
+            case "G": return table.getGCounts();
+            default: return table.getNCounts();
+        }
+    }
+
+    public static String getSimilarityGrade(double score) {
+        if (score >= 90) return "매우 유사";
+        else if (score >= 75) return "유사";
+        else if (score >= 60) return "보통";
+        else if (score >= 40) return "다소 다름";
+        else return "매우 다름";
+    }
+}
@@ -0,0 +1,209 @@
+package com.biodatahub.dto;
+
+import com.biodatahub.model.SequenceData;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import lombok.*;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+/**
+ * 서열 비교 결과 (압축 형식)
+ * 기준/비교 서열은 공유 서열 테이블(sequences)에 한 번만 저장하고,
+ * 기준 서열별 결과는 테이블 인덱스와 점수 배열로만 표현한다.
+ * 기존 JSON 형식이 필요하면 LegacyComparisonView를 사용한다.
+ * partial이 true이면 취소/마감 시간 초과 또는 진행 중인 작업에서 지금까지 끝난 기준 서열만 담은 결과이다.
+ */
+@Value
+@Builder
+@Jacksonized
+public class SequenceComparisonResult {
+    SequenceTable sequences;
+    List<ReferenceResult> references;
+    Summary summary;
+    boolean partial;
+
+    @JsonIgnore
+    public long getEstimatedBytes() {
+        long size = 64 + sequences.getEstimatedBytes();
+        for (ReferenceResult reference : references) {
+            size += reference.getEstimatedBytes();
+        }
+        return size;
+    }
+
+    /**
+     * 기준 파일과 비교 파일들의 서열 메타데이터를 열 단위 배열로 보관하는 테이블
+     * 0 ~ referenceCount-1 행은 기준 파일의 서열이며, fileIndexes는 fileIds의 인덱스 (0 = 기준 파일)
+     * gc 함량 값이 없는 서열은 gcContents가 NaN
+     * (aCounts 등의 이름을 그대로 쓰기 위해 getter 대신 필드 기준으로 직렬화)
+     */
+    @Value
+    @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY,
+            getterVisibility = JsonAutoDetect.Visibility.NONE,
+            isGetterVisibility = JsonAutoDetect.Visibility.NONE)
+    @Builder
+    @Jacksonized
+    public static class SequenceTable {
+        List<String> fileIds;
+        List<String> fileNames;
+        int referenceCount;
+        int[] fileIndexes;
+        long[] ids;
+        String[] sequenceIds;
+        String[] headers;
+        int[] lengths;
+        double[] gcContents;
+        int[] aCounts;
+        int[] tCounts;
+        int[] cCounts;
+        int[] gCounts;
+        int[] nCounts;
+        boolean[] valid;
+
+        public static SequenceTable of(List<String> fileIds, List<String> fileNames, int referenceCount,
+                                       int[] fileIndexes, List<SequenceData> rows) {
+            int size = rows.size();
+            SequenceTableBuilder builder = SequenceTable.builder()
+                    .fileIds(fileIds)
+                    .fileNames(fileNames)
+                    .referenceCount(referenceCount)
+                    .fileIndexes(fileIndexes);
+            long[] ids = new long[size];
+            String[] sequenceIds = new String[size];
+            String[] headers = new String[size];
+            int[] lengths = new int[size];
+            double[] gcContents = new double[size];
+            int[] aCounts = new int[size];
+            int[] tCounts = new int[size];
+            int[] cCounts = new int[size];
+            int[] gCounts = new int[size];
+            int[] nCounts = new int[size];
+            boolean[] valid = new boolean[size];
+
+            for (int i = 0; i < size; i++) {
+                SequenceData seq = rows.get(i);
+                ids[i] = seq.getId() != null ? seq.getId() : -1L;
+                sequenceIds[i] = seq.getSequenceId();
+                headers[i] = seq.getHeader();
+                lengths[i] = seq.getSequenceLength() != null ? seq.getSequenceLength() : 0;
+                gcContents[i] = seq.getGcContent() != null ? seq.getGcContent() : Double.NaN;
+                aCounts[i] = seq.getACount() != null ? seq.getACount() : 0;
+                tCounts[i] = seq.getTCount() != null ? seq.getTCount() : 0;
+                cCounts[i] = seq.getCCount() != null ? seq.getCCount() : 0;
+                gCounts[i] = seq.getGCount() != null ? seq.getGCount() : 0;
+                nCounts[i] = seq.getNCount() != null ? seq.getNCount() : 0;
+                valid[i] = Boolean.TRUE.equals(seq.getIsValid());
+            }
+
+            return builder.ids(ids)
+                    .sequenceIds(sequenceIds)
+                    .headers(headers)
+                    .lengths(lengths)
+                    .gcContents(gcContents)
+                    .aCounts(aCounts)
+                    .tCounts(tCounts)
+                    .cCounts(cCounts)
+                    .gCounts(gCounts)
+                    .nCounts(nCounts)
+                    .valid(valid)
+                    .build();
+        }
+
+        @JsonIgnore
+        public int getSize() {
+            return ids.length;
+        }
+
+        @JsonIgnore
+        public long getEstimatedBytes() {
+            long size = 256 + (long) ids.length * 57;
+            for (int i = 0; i < ids.length; i++) {
+                size += 80 + (sequenceIds[i] != null ? sequenceIds[i].length() : 0)
+                        + (headers[i] != null ? headers[i].length() : 0);
+            }
+            return size;
+        }
+    }
+
+    /**
+     * 기준 서열 하나의 비교 결과
+     * matchIndexes는 유사도 높은 순으로 정렬된 서열 테이블 인덱스, similarityScores는 같은 순서의 점수
+     * reverseStrands는 같은 순서로 역상보 방향의 점수가 더 높았는지 여부 (방향 구분 이전 결과는 null)
+     */
+    @Value
+    @Builder
+    @Jacksonized
+    public static class ReferenceResult {
+        int referenceIndex;
+        int[] matchIndexes;
+        double[] similarityScores;
+        boolean[] reverseStrands;
+
+        public boolean isReverseStrand(int match) {
+            return reverseStrands != null && reverseStrands[match];
+        }
+
+        @JsonIgnore
+        public long getEstimatedBytes() {
+            return 64 + (long) matchIndexes.length * 13;
+        }
+    }
+
+    @Value
+    @Builder
+    @Jacksonized
+    public static class Summary {
+        int totalReferenceSequences;
+        int totalComparisons;
+        double averageSimilarity;
+        double maxSimilarity;
+        double minSimilarity;
+        int veryHigh;
+        int high;
+        int medium;
+        int low;
+        int veryLow;
+
+        /**
+         * 기준 서열별 결과의 모든 유사도 점수로 요약 통계 계산 (박싱 없이 배열에서 바로 계산)
+         */
+        public static Summary of(List<ReferenceResult> references) {
+            int totalComparisons = 0;
+            double sum = 0.0;
+            double max = Double.NEGATIVE_INFINITY;
+            double min = Double.POSITIVE_INFINITY;
+            int veryHigh = 0, high = 0, medium = 0, low = 0, veryLow = 0;
+
+            for (ReferenceResult reference : references) {
+                for (double score : reference.getSimilarityScores()) {
+                    totalComparisons++;
+                    sum += score;
+                    max = Math.max(max, score);
+                    min = Math.min(min, score);
+
+                    // 유사도 구간별 분포
+                    if (score >= 90) veryHigh++;
+                    else if (score >= 75) high++;
+                    else if (score >= 60) medium++;
+                    else if (score >= 40) low++;
+                    else veryLow++;
+                }
+            }
+
+            return Summary.builder()
+                    .totalReferenceSequences(references.size())
+                    .totalComparisons(totalComparisons)
+                    .averageSimilarity(totalComparisons > 0 ? sum / totalComparisons : 0.0)
+                    .maxSimilarity(totalComparisons > 0 ? max : 0.0)
+                    .minSimilarity(totalComparisons > 0 ? min : 0.0)
+                    .veryHigh(veryHigh)
+                    .high(high)
+                    .medium(medium)
+                    .low(low)
+                    .veryLow(veryLow)
+                    .build();
+        }
+    }
+}
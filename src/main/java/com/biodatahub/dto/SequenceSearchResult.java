@@ -0,0 +1,41 @@
+package com.biodatahub.dto;
+
+import lombok.*;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+/**
+ * 질의 서열과 비슷한 저장 서열 검색 결과
+ * hits는 같은 대각선에 모인 minimizer hit 수가 많은 순서이며,
+ * coverage는 질의 minimizer 중 그 대각선에서 일치한 비율(%)이다.
+ */
+@Value
+@Builder
+@Jacksonized
+public class SequenceSearchResult {
+    int queryLength;
+    int queryMinimizers;
+    int skippedRepeats;
+    int segmentsSearched;
+    long elapsedMs;
+    List<Hit> hits;
+
+    @Value
+    @Builder
+    @Jacksonized
+    public static class Hit {
+        Long id;
+        String fileId;
+        String fileName;
+        String sequenceId;
+        String header;
+        Integer sequenceLength;
+        // "+" 정방향, "-" 역상보 방향
+        String strand;
+        int matchingMinimizers;
+        double coverage;
+        // 정방향이면 질의 서열 시작이 놓이는 대상 서열 위치, 역방향이면 (대상 위치 + 질의 위치)
+        int diagonal;
+    }
+}
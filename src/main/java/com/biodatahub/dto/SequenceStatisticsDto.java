@@ -1,12 +1,14 @@
 package com.biodatahub.dto;
 
 import lombok.*;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * 서열 기본 통계 정보 DTO
  */
 @Value
 @Builder
+@Jacksonized
 public class SequenceStatisticsDto {
     int totalSequences;
     int validSequences;
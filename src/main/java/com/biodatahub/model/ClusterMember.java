@@ -0,0 +1,29 @@
+package com.biodatahub.model;
+
+import lombok.*;
+
+/**
+ * sequence_cluster_members 테이블에 저장되는 클러스터 소속 정보
+ * 클러스터 번호는 작업 안에서 대표 서열이 만들어진 순서 (0부터)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClusterMember {
+
+    private Long id;
+    private String jobId;
+    private Integer clusterNo;
+    private Long sequenceId;
+    private Long representativeSequenceId;
+    private Double identity;
+    private Boolean isRepresentative;
+
+    // 조회 시 sequence_data에서 함께 가져오는 값
+    private String fileId;
+    private String sequenceName;
+    private Integer sequenceLength;
+    // 클러스터 목록 조회 시 클러스터에 속한 서열 수
+    private Integer clusterSize;
+}
@@ -0,0 +1,34 @@
+package com.biodatahub.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * clustering_jobs 테이블에 저장되는 서열 클러스터링 작업 정보
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClusteringJob {
+
+    private Long id;
+    private String jobId;
+    // 쉼표로 구분된 대상 파일 ID 목록
+    private String fileIds;
+    private Double identityThreshold;
+    private Integer wordLength;
+    private JobStatus status;
+    private Integer totalSequences;
+    private Integer clusterCount;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public enum JobStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,40 @@
+package com.biodatahub.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * comparison_work_tiles 테이블에 저장되는 쌍 행렬의 한 구역
+ * 기준 파일 서열 ID 범위 x 비교 파일 하나의 서열 ID 범위를 나타내며,
+ * 인스턴스가 만료 시간이 있는 lease를 잡고 점수를 계산한 뒤 sequence_matches에 기록한다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComparisonTile {
+
+    private Long id;
+    private String jobKey;
+    private Integer tileNo;
+    private String referenceFileId;
+    private Long refMinId;
+    private Long refMaxId;
+    private String comparisonFileId;
+    private Long compMinId;
+    private Long compMaxId;
+    private Integer pairCount;
+    private TileStatus status;
+    private String leaseToken;
+    private LocalDateTime leaseExpiresAt;
+    private Integer attempts;
+    private LocalDateTime updatedAt;
+
+    public enum TileStatus {
+        PENDING,
+        LEASED,
+        DONE,
+        FAILED
+    }
+}
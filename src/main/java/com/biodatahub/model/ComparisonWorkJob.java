@@ -0,0 +1,35 @@
+package com.biodatahub.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * comparison_work_jobs 테이블에 저장되는 분산 비교 작업
+ * jobKey는 비교 캐시 키의 SHA-256 값으로, 같은 비교를 요청한 인스턴스들이 같은 작업을 공유한다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComparisonWorkJob {
+
+    private Long id;
+    private String jobKey;
+    private String referenceFileId;
+    // 쉼표로 구분된 비교 파일 ID 목록
+    private String comparisonFileIds;
+    private JobStatus status;
+    private Integer totalTiles;
+    private String coordinator;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public enum JobStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,36 @@
+package com.biodatahub.model;
+
+import com.biodatahub.dto.SequenceStatisticsDto;
+import com.biodatahub.util.JacksonFormats;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * file_statistics 테이블에 저장되는 파일별 기본 통계
+ * 서열 행은 분석 후 바뀌지 않으므로 한 번 계산한 통계를 파일이 삭제될 때까지 재사용한다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileStatistics {
+    private String fileId;
+    // Smile 바이너리로 저장 (SmileTypeHandler)
+    private SequenceStatisticsDto statistics;
+    // 저장된 Smile 본문의 SHA-256 (ETag와 압축 파일 이름에 사용, 내용이 바뀌면 함께 바뀜)
+    private String contentHash;
+    private LocalDateTime createdAt;
+
+    public static FileStatistics of(String fileId, SequenceStatisticsDto statistics) {
+        return FileStatistics.builder()
+                .fileId(fileId)
+                .statistics(statistics)
+                .contentHash(contentHash(statistics))
+                .build();
+    }
+
+    static String contentHash(SequenceStatisticsDto statistics) {
+        return JacksonFormats.smileSha256(statistics);
+    }
+}
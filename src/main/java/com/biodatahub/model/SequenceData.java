@@ -17,7 +17,12 @@ public class SequenceData {
     private String fileId;
     private String sequenceId;
     private String header;
+    // 메모리에 있는 서열 본문 (저장소에 기록된 행은 DB에서 읽을 때 null, SequenceStore로 읽음)
     private String sequence;
+    // SequenceStore의 서열 레코드 위치 (세그먼트 번호, 세그먼트 내 오프셋, 레코드 바이트 수)
+    private Integer sequenceSegment;
+    private Long sequenceOffset;
+    private Integer sequenceBytes;
     private Integer sequenceLength;
     private Double gcContent;
     private Integer aCount;
@@ -0,0 +1,46 @@
+package com.biodatahub.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * sequence_matches 테이블에 저장되는 서열 쌍별 비교 점수
+ * (기준 서열 ID, 비교 서열 ID) 쌍으로 식별되며 작업 간에 재사용된다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SequenceMatchRecord {
+
+    public static final String FORWARD_STRAND = "+";
+    public static final String REVERSE_STRAND = "-";
+
+    private Long id;
+    private Long referenceSequenceId;
+    private Long comparisonSequenceId;
+    private Double similarityScore;
+    private Integer alignmentLength;
+    private Integer matchCount;
+    private Integer mismatchCount;
+    private Integer gapCount;
+    // 점수가 나온 비교 서열 방향 ("+" 정방향, "-" 역상보), 방향 구분 이전에 저장된 점수는 null
+    private String strand;
+    private LocalDateTime createdAt;
+
+    public boolean isReverseStrand() {
+        return REVERSE_STRAND.equals(strand);
+    }
+
+    /**
+     * 저장된 일치 염기 수로부터 원래 정밀도의 유사도 점수를 복원
+     * (similarity_score 컬럼은 소수점 2자리로 반올림되어 저장됨)
+     */
+    public double getExactSimilarityScore() {
+        if (alignmentLength != null && alignmentLength > 0 && matchCount != null) {
+            return (double) matchCount / alignmentLength * 100.0;
+        }
+        return similarityScore != null ? similarityScore : 0.0;
+    }
+}
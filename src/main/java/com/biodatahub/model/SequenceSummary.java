@@ -0,0 +1,57 @@
+package com.biodatahub.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 헤더와 서열 본문을 제외한 서열 메타데이터 (통계/목록 조회용 projection)
+ * 서열 본문이 필요하면 SequenceStore.handle로 지연 로딩 핸들을 만든다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SequenceSummary {
+
+    private Long id;
+    private String fileId;
+    private String sequenceId;
+    // SequenceStore 포인터 (API 응답에는 포함하지 않음)
+    @JsonIgnore
+    private Integer sequenceSegment;
+    @JsonIgnore
+    private Long sequenceOffset;
+    @JsonIgnore
+    private Integer sequenceBytes;
+    private Integer sequenceLength;
+    private Double gcContent;
+    private Integer aCount;
+    private Integer tCount;
+    private Integer cCount;
+    private Integer gCount;
+    private Integer nCount;
+    private Boolean isValid;
+    private LocalDateTime createdAt;
+
+    public static SequenceSummary of(SequenceData sequence) {
+        return SequenceSummary.builder()
+                .id(sequence.getId())
+                .fileId(sequence.getFileId())
+                .sequenceId(sequence.getSequenceId())
+                .sequenceSegment(sequence.getSequenceSegment())
+                .sequenceOffset(sequence.getSequenceOffset())
+                .sequenceBytes(sequence.getSequenceBytes())
+                .sequenceLength(sequence.getSequenceLength())
+                .gcContent(sequence.getGcContent())
+                .aCount(sequence.getACount())
+                .tCount(sequence.getTCount())
+                .cCount(sequence.getCCount())
+                .gCount(sequence.getGCount())
+                .nCount(sequence.getNCount())
+                .isValid(sequence.getIsValid())
+                .createdAt(sequence.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.biodatahub.model;
+
+import com.biodatahub.dto.SequenceComparisonResult;
+import com.biodatahub.util.JacksonFormats;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * comparison_results 테이블에 저장되는 완료된 비교 결과
+ * resultKey는 비교 캐시 키의 SHA-256 (파일 수가 많아도 길이가 일정)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredComparisonResult {
+    private String resultKey;
+    private String referenceFileId;
+    // Smile 바이너리로 저장 (SmileTypeHandler)
+    private SequenceComparisonResult result;
+    // 저장된 Smile 본문의 SHA-256 (조건부 GET의 ETag와 압축 파일 이름에 사용)
+    private String contentHash;
+    private LocalDateTime createdAt;
+
+    public static StoredComparisonResult of(String resultKey, String referenceFileId, SequenceComparisonResult result) {
+        return StoredComparisonResult.builder()
+                .resultKey(resultKey)
+                .referenceFileId(referenceFileId)
+                .result(result)
+                .contentHash(contentHash(result))
+                .build();
+    }
+
+    public static String contentHash(SequenceComparisonResult result) {
+        return JacksonFormats.smileSha256(result);
+    }
+}
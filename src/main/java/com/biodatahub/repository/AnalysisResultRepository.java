@@ -0,0 +1,28 @@
+package com.biodatahub.repository;
+
+import com.biodatahub.model.FileStatistics;
+import com.biodatahub.model.StoredComparisonResult;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+@Mapper
+public interface AnalysisResultRepository {
+
+    FileStatistics findStatisticsByFileId(@Param("fileId") String fileId);
+
+    void saveStatistics(FileStatistics statistics);
+
+    LocalDateTime findStatisticsSavedAt(@Param("fileId") String fileId);
+
+    String findStatisticsHash(@Param("fileId") String fileId);
+
+    StoredComparisonResult findComparisonResult(@Param("resultKey") String resultKey);
+
+    String findComparisonResultHash(@Param("resultKey") String resultKey);
+
+    void saveComparisonResult(StoredComparisonResult result);
+
+    void deleteComparisonResult(@Param("resultKey") String resultKey);
+}
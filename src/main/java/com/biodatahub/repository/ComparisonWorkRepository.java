@@ -0,0 +1,71 @@
+package com.biodatahub.repository;
+
+import com.biodatahub.model.ComparisonTile;
+import com.biodatahub.model.ComparisonWorkJob;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface ComparisonWorkRepository {
+
+    int insertJobIfAbsent(ComparisonWorkJob job);
+
+    ComparisonWorkJob findJobByJobKey(@Param("jobKey") String jobKey);
+
+    void updateJobStatus(
+        @Param("jobKey") String jobKey,
+        @Param("status") ComparisonWorkJob.JobStatus status,
+        @Param("errorMessage") String errorMessage
+    );
+
+    /**
+     * 진행 중(RUNNING)인 작업만 CANCELLED로 변경
+     * @return 변경된 작업 수 (0 또는 1)
+     */
+    int cancelJob(@Param("jobKey") String jobKey, @Param("reason") String reason);
+
+    /**
+     * 진행 중(RUNNING)인 작업만 FAILED로 변경
+     * @return 변경된 작업 수 (0 또는 1)
+     */
+    int failJob(@Param("jobKey") String jobKey, @Param("reason") String reason);
+
+    void deleteJob(@Param("jobKey") String jobKey);
+
+    void deleteTiles(@Param("jobKey") String jobKey);
+
+    void insertTileBatch(List<ComparisonTile> tiles);
+
+    /**
+     * 대기 중이거나 lease가 만료된 구역 하나를 leaseToken으로 잡음 (jobKey가 null이면 모든 작업 대상)
+     * @return 잡은 구역 수 (0 또는 1)
+     */
+    int leaseTile(
+        @Param("jobKey") String jobKey,
+        @Param("leaseToken") String leaseToken,
+        @Param("leaseSeconds") int leaseSeconds,
+        @Param("maxAttempts") int maxAttempts
+    );
+
+    ComparisonTile findTileByLeaseToken(@Param("leaseToken") String leaseToken);
+
+    int completeTile(@Param("id") Long id, @Param("leaseToken") String leaseToken);
+
+    int releaseTile(
+        @Param("id") Long id,
+        @Param("leaseToken") String leaseToken,
+        @Param("maxAttempts") int maxAttempts
+    );
+
+    /**
+     * 작업의 구역 진행 현황 (doneTiles, failedTiles)
+     * lease가 만료되었고 재시도 횟수를 모두 쓴 구역도 실패로 센다.
+     */
+    Map<String, Object> countTileProgress(
+        @Param("jobKey") String jobKey,
+        @Param("maxAttempts") int maxAttempts
+    );
+}
@@ -0,0 +1,39 @@
+package com.biodatahub.repository;
+
+import com.biodatahub.model.ClusterMember;
+import com.biodatahub.model.ClusteringJob;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface SequenceClusterRepository {
+
+    void insertJob(ClusteringJob job);
+
+    void updateJobResult(
+        @Param("jobId") String jobId,
+        @Param("status") ClusteringJob.JobStatus status,
+        @Param("totalSequences") Integer totalSequences,
+        @Param("clusterCount") Integer clusterCount,
+        @Param("errorMessage") String errorMessage
+    );
+
+    ClusteringJob findJobByJobId(@Param("jobId") String jobId);
+
+    void insertMemberBatch(List<ClusterMember> members);
+
+    List<ClusterMember> findRepresentatives(
+        @Param("jobId") String jobId,
+        @Param("offset") int offset,
+        @Param("limit") int limit
+    );
+
+    List<ClusterMember> findMembersByCluster(
+        @Param("jobId") String jobId,
+        @Param("clusterNo") int clusterNo
+    );
+
+    void deleteMembersByJobId(@Param("jobId") String jobId);
+}
@@ -0,0 +1,25 @@
+package com.biodatahub.repository;
+
+import com.biodatahub.model.SequenceMatchRecord;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface SequenceMatchRepository {
+
+    void insertMatchBatch(List<SequenceMatchRecord> matches);
+
+    /**
+     * 기준 서열들과 비교 파일들의 서열 사이에 저장된 점수 (uk_sequence_match_pair 색인의 앞부분으로 조회)
+     */
+    List<SequenceMatchRecord> findByReferenceSequenceIds(
+        @Param("referenceSequenceIds") List<Long> referenceSequenceIds,
+        @Param("comparisonFileIds") List<String> comparisonFileIds
+    );
+
+    int countByReferenceSequenceId(@Param("referenceSequenceId") Long referenceSequenceId);
+
+    void deleteBySequenceId(@Param("sequenceId") Long sequenceId);
+}
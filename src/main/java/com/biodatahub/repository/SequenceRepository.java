@@ -1,44 +1,79 @@
 package com.biodatahub.repository;
 
 import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.SequenceSummary;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface SequenceRepository {
+
+    /**
+     * insertSequence를 MyBatis BATCH 세션의 매퍼로 대신 호출해도 되는지
+     * (이 구현을 거치지 않으면 기록이 빠지는 구현은 false로 재정의)
+     */
+    default boolean supportsJdbcBatch() {
+        return true;
+    }
     
     void insertSequence(SequenceData sequenceData);
     
-    void insertSequenceBatch(List<SequenceData> sequences);
-    
     SequenceData findById(@Param("id") Long id);
     
-    List<SequenceData> findByFileId(@Param("fileId") String fileId);
+    List<SequenceData> findMetadataByIds(@Param("ids") List<Long> ids);
     
-    List<SequenceData> findByFileIdWithPaging(
-        @Param("fileId") String fileId, 
-        @Param("offset") int offset, 
-        @Param("limit") int limit
-    );
+    String findSequenceTextById(@Param("id") Long id);
     
-    int countByFileId(@Param("fileId") String fileId);
+    // 헤더와 서열 본문을 제외한 메타데이터 projection
+    List<SequenceSummary> findSummariesByFileId(@Param("fileId") String fileId);
     
-    int countValidSequencesByFileId(@Param("fileId") String fileId);
+    List<SequenceSummary> findSummariesByFileIds(@Param("fileIds") List<String> fileIds);
     
-    List<SequenceData> findByGcContentRange(
+    // keyset 페이지 조회 (afterId가 null이면 첫 페이지)
+    List<SequenceSummary> browseSummaries(
         @Param("fileId") String fileId,
+        @Param("sort") String sort,
+        @Param("descending") boolean descending,
+        @Param("afterValue") BigDecimal afterValue,
+        @Param("afterId") Long afterId,
         @Param("minGc") Double minGc,
-        @Param("maxGc") Double maxGc
+        @Param("maxGc") Double maxGc,
+        @Param("minLength") Integer minLength,
+        @Param("maxLength") Integer maxLength,
+        @Param("limit") int limit
     );
     
-    List<SequenceData> findByLengthRange(
+    // 스트리밍 조회: 행을 목록으로 모으지 않고 handler에 하나씩 전달 (서열 본문 컬럼 제외)
+    void streamSummariesByFileId(@Param("fileId") String fileId, ResultHandler<SequenceSummary> handler);
+    
+    void streamMetadataByFileId(@Param("fileId") String fileId, ResultHandler<SequenceData> handler);
+    
+    void streamMetadataByFileIds(@Param("fileIds") List<String> fileIds, ResultHandler<SequenceData> handler);
+    
+    List<Long> findIdsByFileId(@Param("fileId") String fileId);
+    
+    // afterId보다 큰 id만 (벌크 적재 직전의 최대 id를 넘겨 이번 적재로 생긴 행만 조회)
+    List<Long> findIdsByFileIdAfterId(@Param("fileId") String fileId, @Param("afterId") Long afterId);
+    
+    Long findMaxId();
+    
+    List<SequenceData> findByFileIdAndIdRange(
         @Param("fileId") String fileId,
-        @Param("minLength") Integer minLength,
-        @Param("maxLength") Integer maxLength
+        @Param("minId") Long minId,
+        @Param("maxId") Long maxId
     );
     
+    int countByFileId(@Param("fileId") String fileId);
+    
+    List<Map<String, Object>> countByFileIds(@Param("fileIds") List<String> fileIds);
+    
+    int countValidSequencesByFileId(@Param("fileId") String fileId);
+    
     Double getAverageGcContent(@Param("fileId") String fileId);
     
     Double getAverageSequenceLength(@Param("fileId") String fileId);
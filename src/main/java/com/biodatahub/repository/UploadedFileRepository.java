@@ -11,8 +11,15 @@ public interface UploadedFileRepository {
     
     void insertFile(UploadedFile uploadedFile);
     
+    /**
+     * 여러 파일 행을 다중 행 INSERT 한 번으로 저장 (생성된 id는 각 행에 설정됨)
+     */
+    void insertFileBatch(List<UploadedFile> uploadedFiles);
+    
     UploadedFile findByFileId(@Param("fileId") String fileId);
     
+    List<UploadedFile> findByFileIds(@Param("fileIds") List<String> fileIds);
+    
     UploadedFile findById(@Param("id") Long id);
     
     List<UploadedFile> findAll();
@@ -0,0 +1,629 @@
+package com.biodatahub.repository.memory;
+
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.SequenceSummary;
+import com.biodatahub.model.UploadedFile;
+import com.biodatahub.repository.SequenceRepository;
+import com.biodatahub.repository.UploadedFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * memory 프로필의 서열 메타데이터 저장소
+ * 파일별로 id 순서의 행 배열과 길이/GC 함량/유효 여부 원시 타입 배열을 두고, 조회는 모두 메모리에서 처리한다.
+ *
+ * - 쓰기는 내장 H2의 MyBatis 매퍼(delegate)에도 그대로 기록 (다른 매퍼의 조인/외래키와,
+ *   H2 파일 URL을 쓸 때 재시작 후 복원을 위해). 시작할 때 H2에 있는 행을 모두 읽어 들인다.
+ * - 읽기는 잠금 없이 파일별 스냅샷(View)을 사용하고, 쓰기는 파일 단위로 직렬화한다.
+ *   id 순서 추가는 배열 끝에 기록하고, 수정/삭제/중간 삽입은 배열을 복사한다.
+ * - 길이/GC 함량 정렬 순서는 처음 필요할 때 계산해 스냅샷에 보관한다 (파일이 바뀌면 다시 계산).
+ * - 서열 본문은 SequenceStore에 있으므로 sequence 문자열은 보관하지 않는다
+ *   (포인터가 없는 이전 형식 행의 본문은 findSequenceTextById가 H2에서 읽음).
+ */
+@Repository
+@Primary
+@Profile("memory")
+@Slf4j
+public class InMemorySequenceRepository implements SequenceRepository, SmartInitializingSingleton {
+
+    private final SequenceRepository delegate;
+    private final UploadedFileRepository fileDelegate;
+    private final Map<Long, SequenceData> rowsById = new ConcurrentHashMap<>();
+    private final Map<String, FileRows> files = new ConcurrentHashMap<>();
+
+    public InMemorySequenceRepository(@Qualifier("sequenceRepository") SequenceRepository delegate,
+                                      @Qualifier("uploadedFileRepository") UploadedFileRepository fileDelegate) {
+        this.delegate = delegate;
+        this.fileDelegate = fileDelegate;
+    }
+
+    /**
+     * 메모리 배열에도 기록해야 하므로 배치 세션의 매퍼로 바로 쓰지 않음
+     */
+    @Override
+    public boolean supportsJdbcBatch() {
+        return false;
+    }
+
+    /**
+     * H2에 저장된 행을 메모리로 읽어 들임 (모든 싱글톤 빈이 만들어진 뒤 = 스키마 초기화 이후)
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    void load() {
+        List<String> fileIds = fileDelegate.findAll().stream().map(UploadedFile::getFileId).toList();
+        if (fileIds.isEmpty()) {
+            return;
+        }
+        long[] loaded = {0};
+        delegate.streamMetadataByFileIds(fileIds, context -> {
+            index(context.getResultObject());
+            loaded[0]++;
+        });
+        log.info("In-memory sequence repository loaded {} sequences of {} files", loaded[0], fileIds.size());
+    }
+
+    // ===== 쓰기 (H2에 먼저 기록하고 생성된 id로 색인) =====
+
+    @Override
+    public void insertSequence(SequenceData sequenceData) {
+        delegate.insertSequence(sequenceData);
+        SequenceData row = stored(sequenceData);
+        row.setCreatedAt(LocalDateTime.now());
+        index(row);
+    }
+
+    @Override
+    public void updateSequence(SequenceData sequenceData) {
+        delegate.updateSequence(sequenceData);
+        SequenceData current = rowsById.get(sequenceData.getId());
+        if (current == null) {
+            return;
+        }
+        SequenceData row = stored(sequenceData);
+        row.setFileId(current.getFileId());
+        row.setCreatedAt(current.getCreatedAt());
+        rowsById.put(row.getId(), row);
+        files.get(row.getFileId()).replace(row);
+    }
+
+    @Override
+    public void deleteByFileId(String fileId) {
+        delegate.deleteByFileId(fileId);
+        evictFile(fileId);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        SequenceData removed = rowsById.remove(id);
+        if (removed != null) {
+            files.get(removed.getFileId()).remove(id);
+        }
+    }
+
+    /**
+     * 파일의 행을 메모리에서만 제거 (uploaded_files 삭제가 sequence_data로 CASCADE될 때)
+     */
+    void evictFile(String fileId) {
+        FileRows removed = files.remove(fileId);
+        if (removed != null) {
+            View view = removed.view;
+            for (int i = 0; i < view.size; i++) {
+                rowsById.remove(view.ids[i]);
+            }
+        }
+    }
+
+    private void index(SequenceData row) {
+        rowsById.put(row.getId(), row);
+        files.computeIfAbsent(row.getFileId(), key -> new FileRows()).add(row);
+    }
+
+    // ===== 단건/목록 조회 =====
+
+    @Override
+    public SequenceData findById(Long id) {
+        SequenceData row = id != null ? rowsById.get(id) : null;
+        return row != null ? copy(row) : null;
+    }
+
+    @Override
+    public List<SequenceData> findMetadataByIds(List<Long> ids) {
+        List<SequenceData> result = new ArrayList<>(ids.size());
+        for (Long id : new TreeSet<>(ids)) {
+            SequenceData row = rowsById.get(id);
+            if (row != null) {
+                result.add(copy(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String findSequenceTextById(Long id) {
+        return delegate.findSequenceTextById(id);
+    }
+
+    @Override
+    public List<SequenceSummary> findSummariesByFileId(String fileId) {
+        List<SequenceSummary> result = new ArrayList<>();
+        forEachRow(fileId, row -> result.add(SequenceSummary.of(row)));
+        return result;
+    }
+
+    @Override
+    public List<SequenceSummary> findSummariesByFileIds(List<String> fileIds) {
+        List<SequenceSummary> result = new ArrayList<>();
+        for (String fileId : sortedDistinct(fileIds)) {
+            forEachRow(fileId, row -> result.add(SequenceSummary.of(row)));
+        }
+        return result;
+    }
+
+    @Override
+    public List<SequenceSummary> browseSummaries(String fileId, String sort, boolean descending,
+                                                 BigDecimal afterValue, Long afterId,
+                                                 Double minGc, Double maxGc, Integer minLength, Integer maxLength,
+                                                 int limit) {
+        List<SequenceSummary> result = new ArrayList<>(Math.min(limit, 1024));
+        FileRows file = files.get(fileId);
+        if (file == null || limit <= 0) {
+            return result;
+        }
+        View view = file.view;
+        boolean byGc = "gc".equals(sort);
+        boolean byLength = "length".equals(sort);
+        int[] order = byGc ? view.gcOrder() : byLength ? view.lengthOrder() : null;
+        int count = order != null ? order.length : view.size;
+        double after = afterValue != null ? afterValue.doubleValue() : 0;
+
+        // 정렬 순서에서 (정렬 값, id)가 커서 바로 다음인 위치를 이진 탐색
+        int start;
+        if (afterId == null) {
+            start = 0;
+        } else {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int i = order != null ? order[descending ? count - 1 - mid : mid] : (descending ? count - 1 - mid : mid);
+                int cmp = order == null ? Long.compare(view.ids[i], afterId)
+                        : compare(byGc ? view.gc[i] : view.lengths[i], view.ids[i], after, afterId);
+                if (descending ? cmp >= 0 : cmp <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            start = low;
+        }
+
+        for (int k = start; k < count && result.size() < limit; k++) {
+            int position = descending ? count - 1 - k : k;
+            int i = order != null ? order[position] : position;
+            if (minLength != null && view.lengths[i] < minLength) continue;
+            if (maxLength != null && view.lengths[i] > maxLength) continue;
+            if ((minGc != null || maxGc != null) && Double.isNaN(view.gc[i])) continue;
+            if (minGc != null && view.gc[i] < minGc) continue;
+            if (maxGc != null && view.gc[i] > maxGc) continue;
+            result.add(SequenceSummary.of(view.rows[i]));
+        }
+        return result;
+    }
+
+    private static int compare(double value, long id, double afterValue, long afterId) {
+        int cmp = Double.compare(value, afterValue);
+        return cmp != 0 ? cmp : Long.compare(id, afterId);
+    }
+
+    // ===== 스트리밍 조회 =====
+
+    @Override
+    public void streamSummariesByFileId(String fileId, ResultHandler<SequenceSummary> handler) {
+        DefaultResultContext<SequenceSummary> context = new DefaultResultContext<>();
+        forEachRow(fileId, row -> {
+            if (!context.isStopped()) {
+                context.nextResultObject(SequenceSummary.of(row));
+                handler.handleResult(context);
+            }
+        });
+    }
+
+    @Override
+    public void streamMetadataByFileId(String fileId, ResultHandler<SequenceData> handler) {
+        streamMetadataByFileIds(List.of(fileId), handler);
+    }
+
+    @Override
+    public void streamMetadataByFileIds(List<String> fileIds, ResultHandler<SequenceData> handler) {
+        DefaultResultContext<SequenceData> context = new DefaultResultContext<>();
+        for (String fileId : sortedDistinct(fileIds)) {
+            forEachRow(fileId, row -> {
+                if (!context.isStopped()) {
+                    context.nextResultObject(copy(row));
+                    handler.handleResult(context);
+                }
+            });
+        }
+    }
+
+    // ===== id/범위/페이지 조회 =====
+
+    @Override
+    public List<Long> findIdsByFileId(String fileId) {
+        List<Long> result = new ArrayList<>();
+        FileRows file = files.get(fileId);
+        if (file != null) {
+            View view = file.view;
+            for (int i = 0; i < view.size; i++) {
+                result.add(view.ids[i]);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Long> findIdsByFileIdAfterId(String fileId, Long afterId) {
+        List<Long> result = new ArrayList<>();
+        FileRows file = files.get(fileId);
+        if (file != null) {
+            View view = file.view;
+            int from = afterId != null ? lowerBound(view.ids, view.size, afterId + 1) : 0;
+            for (int i = from; i < view.size; i++) {
+                result.add(view.ids[i]);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Long findMaxId() {
+        return rowsById.keySet().stream().max(Long::compare).orElse(null);
+    }
+
+    @Override
+    public List<SequenceData> findByFileIdAndIdRange(String fileId, Long minId, Long maxId) {
+        List<SequenceData> result = new ArrayList<>();
+        FileRows file = files.get(fileId);
+        if (file == null) {
+            return result;
+        }
+        View view = file.view;
+        int from = lowerBound(view.ids, view.size, minId);
+        for (int i = from; i < view.size && view.ids[i] <= maxId; i++) {
+            result.add(copy(view.rows[i]));
+        }
+        return result;
+    }
+
+    // ===== 집계 =====
+
+    @Override
+    public int countByFileId(String fileId) {
+        FileRows file = files.get(fileId);
+        return file != null ? file.view.size : 0;
+    }
+
+    @Override
+    public List<Map<String, Object>> countByFileIds(List<String> fileIds) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (String fileId : new LinkedHashSet<>(fileIds)) {
+            int count = countByFileId(fileId);
+            if (count > 0) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("fileId", fileId);
+                row.put("sequenceCount", (long) count);
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int countValidSequencesByFileId(String fileId) {
+        return (int) validStats(fileId).count;
+    }
+
+    @Override
+    public Double getAverageGcContent(String fileId) {
+        ValidStats stats = validStats(fileId);
+        return stats.gcCount == 0 ? null : stats.gcSum / stats.gcCount;
+    }
+
+    @Override
+    public Double getAverageSequenceLength(String fileId) {
+        ValidStats stats = validStats(fileId);
+        return stats.count == 0 ? null : (double) stats.totalLength / stats.count;
+    }
+
+    @Override
+    public Integer getMinSequenceLength(String fileId) {
+        ValidStats stats = validStats(fileId);
+        return stats.count == 0 ? null : stats.minLength;
+    }
+
+    @Override
+    public Integer getMaxSequenceLength(String fileId) {
+        ValidStats stats = validStats(fileId);
+        return stats.count == 0 ? null : stats.maxLength;
+    }
+
+    @Override
+    public Long getTotalSequenceLength(String fileId) {
+        ValidStats stats = validStats(fileId);
+        return stats.count == 0 ? null : stats.totalLength;
+    }
+
+    /**
+     * 유효 서열(is_valid)의 집계 (SQL 집계 함수와 같이 GC 함량이 NULL인 행은 GC 평균에서 제외)
+     */
+    private ValidStats validStats(String fileId) {
+        ValidStats stats = new ValidStats();
+        FileRows file = files.get(fileId);
+        if (file == null) {
+            return stats;
+        }
+        View view = file.view;
+        for (int i = 0; i < view.size; i++) {
+            if (!view.valid[i]) {
+                continue;
+            }
+            int length = view.lengths[i];
+            stats.count++;
+            stats.totalLength += length;
+            stats.minLength = Math.min(stats.minLength, length);
+            stats.maxLength = Math.max(stats.maxLength, length);
+            if (!Double.isNaN(view.gc[i])) {
+                stats.gcSum += view.gc[i];
+                stats.gcCount++;
+            }
+        }
+        return stats;
+    }
+
+    private static final class ValidStats {
+        long count;
+        long totalLength;
+        int minLength = Integer.MAX_VALUE;
+        int maxLength = Integer.MIN_VALUE;
+        double gcSum;
+        long gcCount;
+    }
+
+    // ===== 내부 도우미 =====
+
+    private void forEachRow(String fileId, Consumer<SequenceData> action) {
+        FileRows file = files.get(fileId);
+        if (file == null) {
+            return;
+        }
+        View view = file.view;
+        for (int i = 0; i < view.size; i++) {
+            action.accept(view.rows[i]);
+        }
+    }
+
+    private static List<String> sortedDistinct(List<String> fileIds) {
+        return new ArrayList<>(new TreeSet<>(fileIds));
+    }
+
+    private static int lowerBound(long[] ids, int size, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 메모리에 보관할 행 (서열 본문 제외, GC 함량은 DECIMAL(5,2) 컬럼과 같이 소수 둘째 자리로 반올림)
+     */
+    private static SequenceData stored(SequenceData source) {
+        SequenceData row = copy(source);
+        row.setSequence(null);
+        if (row.getGcContent() != null) {
+            row.setGcContent(BigDecimal.valueOf(row.getGcContent()).setScale(2, RoundingMode.HALF_UP).doubleValue());
+        }
+        return row;
+    }
+
+    private static SequenceData copy(SequenceData row) {
+        return SequenceData.builder()
+                .id(row.getId())
+                .fileId(row.getFileId())
+                .sequenceId(row.getSequenceId())
+                .header(row.getHeader())
+                .sequence(row.getSequence())
+                .sequenceSegment(row.getSequenceSegment())
+                .sequenceOffset(row.getSequenceOffset())
+                .sequenceBytes(row.getSequenceBytes())
+                .sequenceLength(row.getSequenceLength())
+                .gcContent(row.getGcContent())
+                .aCount(row.getACount())
+                .tCount(row.getTCount())
+                .cCount(row.getCCount())
+                .gCount(row.getGCount())
+                .nCount(row.getNCount())
+                .isValid(row.getIsValid())
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * 한 파일의 행 (쓰기는 synchronized, 읽기는 volatile 스냅샷)
+     */
+    private static final class FileRows {
+
+        private volatile View view = new View(new SequenceData[16], new long[16], new int[16],
+                new double[16], new boolean[16], 0);
+
+        synchronized void add(SequenceData row) {
+            View current = view;
+            int size = current.size;
+            long id = row.getId();
+            if (size > 0 && current.ids[size - 1] >= id) {
+                // id 순서가 아닌 추가 (시작할 때 적재 외에는 드묾): 복사본에 끼워 넣음
+                View copy = current.copy(size + 1);
+                int at = lowerBound(copy.ids, size, id);
+                if (at < size && copy.ids[at] == id) {
+                    copy.set(at, row);
+                    view = copy.withSize(size);
+                    return;
+                }
+                copy.shiftRight(at, size);
+                copy.set(at, row);
+                view = copy.withSize(size + 1);
+                return;
+            }
+            View target = size < current.ids.length ? current : current.copy(size * 2);
+            target.set(size, row);
+            view = target.withSize(size + 1);
+        }
+
+        synchronized void replace(SequenceData row) {
+            View current = view;
+            int at = lowerBound(current.ids, current.size, row.getId());
+            if (at < current.size && current.ids[at] == row.getId()) {
+                View copy = current.copy(current.ids.length);
+                copy.set(at, row);
+                view = copy.withSize(current.size);
+            }
+        }
+
+        synchronized void remove(long id) {
+            View current = view;
+            int at = lowerBound(current.ids, current.size, id);
+            if (at < current.size && current.ids[at] == id) {
+                View copy = current.copy(current.ids.length);
+                copy.shiftLeft(at, current.size);
+                view = copy.withSize(current.size - 1);
+            }
+        }
+    }
+
+    /**
+     * 파일 행의 스냅샷 (size 이후의 배열 칸은 다음 추가가 쓸 수 있으므로 읽지 않음)
+     */
+    private static final class View {
+        final SequenceData[] rows;
+        final long[] ids;
+        final int[] lengths;
+        // NULL이면 NaN
+        final double[] gc;
+        final boolean[] valid;
+        final int size;
+        private volatile int[] lengthOrder;
+        private volatile int[] gcOrder;
+
+        View(SequenceData[] rows, long[] ids, int[] lengths, double[] gc, boolean[] valid, int size) {
+            this.rows = rows;
+            this.ids = ids;
+            this.lengths = lengths;
+            this.gc = gc;
+            this.valid = valid;
+            this.size = size;
+        }
+
+        View withSize(int newSize) {
+            return new View(rows, ids, lengths, gc, valid, newSize);
+        }
+
+        View copy(int capacity) {
+            return new View(Arrays.copyOf(rows, capacity), Arrays.copyOf(ids, capacity),
+                    Arrays.copyOf(lengths, capacity), Arrays.copyOf(gc, capacity),
+                    Arrays.copyOf(valid, capacity), size);
+        }
+
+        void set(int i, SequenceData row) {
+            rows[i] = row;
+            ids[i] = row.getId();
+            lengths[i] = row.getSequenceLength() != null ? row.getSequenceLength() : 0;
+            gc[i] = row.getGcContent() != null ? row.getGcContent() : Double.NaN;
+            valid[i] = Boolean.TRUE.equals(row.getIsValid());
+        }
+
+        void shiftRight(int from, int size) {
+            System.arraycopy(rows, from, rows, from + 1, size - from);
+            System.arraycopy(ids, from, ids, from + 1, size - from);
+            System.arraycopy(lengths, from, lengths, from + 1, size - from);
+            System.arraycopy(gc, from, gc, from + 1, size - from);
+            System.arraycopy(valid, from, valid, from + 1, size - from);
+        }
+
+        void shiftLeft(int at, int size) {
+            System.arraycopy(rows, at + 1, rows, at, size - at - 1);
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            System.arraycopy(lengths, at + 1, lengths, at, size - at - 1);
+            System.arraycopy(gc, at + 1, gc, at, size - at - 1);
+            System.arraycopy(valid, at + 1, valid, at, size - at - 1);
+            rows[size - 1] = null;
+        }
+
+        /**
+         * (서열 길이, id) 오름차순 행 위치
+         */
+        int[] lengthOrder() {
+            int[] order = lengthOrder;
+            if (order == null) {
+                order = sortedPositions(false);
+                lengthOrder = order;
+            }
+            return order;
+        }
+
+        /**
+         * (GC 함량, id) 오름차순 행 위치 (GC 함량이 NULL인 행 제외)
+         */
+        int[] gcOrder() {
+            int[] order = gcOrder;
+            if (order == null) {
+                order = sortedPositions(true);
+                gcOrder = order;
+            }
+            return order;
+        }
+
+        private int[] sortedPositions(boolean byGc) {
+            // (정렬 값 << 32 | 위치)를 정렬: 위치는 id 오름차순이므로 같은 값끼리는 id 순서가 됨
+            // GC 함량은 DECIMAL(5,2)이므로 100배 한 정수로 비교
+            long[] keys = new long[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (!byGc) {
+                    keys[count++] = ((long) lengths[i] << 32) | i;
+                } else if (!Double.isNaN(gc[i])) {
+                    keys[count++] = (Math.round(gc[i] * 100) << 32) | i;
+                }
+            }
+            Arrays.sort(keys, 0, count);
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = (int) keys[i];
+            }
+            return order;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.biodatahub.repository.memory;
+
+import com.biodatahub.model.UploadedFile;
+import com.biodatahub.repository.UploadedFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * memory 프로필의 업로드 파일 저장소
+ * file_id/id 두 색인을 메모리에 두고 조회하며, 쓰기는 내장 H2의 MyBatis 매퍼(delegate)에도 기록한다.
+ * 파일을 삭제하면 H2와 같이(ON DELETE CASCADE) 메모리의 서열 행도 함께 지운다.
+ */
+@Repository
+@Primary
+@Profile("memory")
+@Slf4j
+public class InMemoryUploadedFileRepository implements UploadedFileRepository, SmartInitializingSingleton {
+
+    // created_at 내림차순, 같으면 나중에 추가된 파일 먼저
+    private static final Comparator<UploadedFile> RECENT_FIRST = Comparator
+            .comparing(UploadedFile::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(UploadedFile::getId, Comparator.reverseOrder());
+
+    private final UploadedFileRepository delegate;
+    private final InMemorySequenceRepository sequences;
+    private final Map<String, UploadedFile> filesByFileId = new ConcurrentHashMap<>();
+    private final Map<Long, String> fileIdsById = new ConcurrentHashMap<>();
+
+    public InMemoryUploadedFileRepository(@Qualifier("uploadedFileRepository") UploadedFileRepository delegate,
+                                          InMemorySequenceRepository sequences) {
+        this.delegate = delegate;
+        this.sequences = sequences;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    void load() {
+        for (UploadedFile file : delegate.findAll()) {
+            index(file);
+        }
+        log.info("In-memory file repository loaded {} files", filesByFileId.size());
+    }
+
+    @Override
+    public void insertFile(UploadedFile uploadedFile) {
+        delegate.insertFile(uploadedFile);
+        UploadedFile stored = copy(uploadedFile);
+        LocalDateTime now = LocalDateTime.now();
+        stored.setCreatedAt(now);
+        stored.setUpdatedAt(now);
+        index(stored);
+    }
+
+    @Override
+    public void insertFileBatch(List<UploadedFile> uploadedFiles) {
+        delegate.insertFileBatch(uploadedFiles);
+        LocalDateTime now = LocalDateTime.now();
+        for (UploadedFile uploadedFile : uploadedFiles) {
+            UploadedFile stored = copy(uploadedFile);
+            stored.setCreatedAt(now);
+            stored.setUpdatedAt(now);
+            index(stored);
+        }
+    }
+
+    private void index(UploadedFile file) {
+        filesByFileId.put(file.getFileId(), file);
+        fileIdsById.put(file.getId(), file.getFileId());
+    }
+
+    @Override
+    public UploadedFile findByFileId(String fileId) {
+        UploadedFile file = fileId != null ? filesByFileId.get(fileId) : null;
+        return file != null ? copy(file) : null;
+    }
+
+    @Override
+    public List<UploadedFile> findByFileIds(List<String> fileIds) {
+        List<UploadedFile> result = new ArrayList<>(fileIds.size());
+        for (String fileId : fileIds.stream().distinct().toList()) {
+            UploadedFile file = filesByFileId.get(fileId);
+            if (file != null) {
+                result.add(copy(file));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public UploadedFile findById(Long id) {
+        String fileId = id != null ? fileIdsById.get(id) : null;
+        return fileId != null ? findByFileId(fileId) : null;
+    }
+
+    @Override
+    public List<UploadedFile> findAll() {
+        return recent(filesByFileId.values().stream(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<UploadedFile> findByStatus(UploadedFile.UploadStatus status) {
+        return recent(filesByFileId.values().stream().filter(file -> file.getUploadStatus() == status),
+                Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<UploadedFile> findRecentFiles(int limit) {
+        return recent(filesByFileId.values().stream(), limit);
+    }
+
+    private static List<UploadedFile> recent(Stream<UploadedFile> files, int limit) {
+        return files.sorted(RECENT_FIRST).limit(Math.max(0, limit)).map(InMemoryUploadedFileRepository::copy).toList();
+    }
+
+    @Override
+    public void updateUploadStatus(String fileId, UploadedFile.UploadStatus status) {
+        delegate.updateUploadStatus(fileId, status);
+        filesByFileId.computeIfPresent(fileId, (key, file) -> {
+            UploadedFile updated = copy(file);
+            updated.setUploadStatus(status);
+            updated.setUpdatedAt(LocalDateTime.now());
+            return updated;
+        });
+    }
+
+    @Override
+    public void updateFilePath(String fileId, String filePath) {
+        delegate.updateFilePath(fileId, filePath);
+        filesByFileId.computeIfPresent(fileId, (key, file) -> {
+            UploadedFile updated = copy(file);
+            updated.setFilePath(filePath);
+            updated.setUpdatedAt(LocalDateTime.now());
+            return updated;
+        });
+    }
+
+    @Override
+    public void deleteByFileId(String fileId) {
+        delegate.deleteByFileId(fileId);
+        UploadedFile removed = filesByFileId.remove(fileId);
+        if (removed != null) {
+            fileIdsById.remove(removed.getId());
+            sequences.evictFile(fileId);
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        String fileId = fileIdsById.remove(id);
+        if (fileId != null) {
+            filesByFileId.remove(fileId);
+            sequences.evictFile(fileId);
+        }
+    }
+
+    @Override
+    public int countByStatus(UploadedFile.UploadStatus status) {
+        return (int) filesByFileId.values().stream().filter(file -> file.getUploadStatus() == status).count();
+    }
+
+    @Override
+    public Long getTotalUploadedSize() {
+        return filesByFileId.values().stream()
+                .filter(file -> file.getUploadStatus() == UploadedFile.UploadStatus.COMPLETED)
+                .map(UploadedFile::getFileSize)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    private static UploadedFile copy(UploadedFile file) {
+        return UploadedFile.builder()
+                .id(file.getId())
+                .fileId(file.getFileId())
+                .originalName(file.getOriginalName())
+                .filePath(file.getFilePath())
+                .fileSize(file.getFileSize())
+                .fileType(file.getFileType())
+                .uploadStatus(file.getUploadStatus())
+                .createdAt(file.getCreatedAt())
+                .updatedAt(file.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.biodatahub.service;
+
+import com.biodatahub.dto.FileAnalysisStatusDto;
+import com.biodatahub.dto.SequenceStatisticsDto;
+import com.biodatahub.repository.SequenceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 여러 파일을 제한된 병렬도로 동시에 분석
+ * 병렬도는 CPU 수, ingest 커넥션 풀 크기, biodatahub.analysis.max-concurrent-jobs 중 가장 작은 값이다
+ * (분석 하나가 파싱 동안 CPU 하나, 적재 동안 ingest 연결 하나를 쓰므로 그 이상은 대기만 늘어남).
+ * 모든 일괄 요청이 같은 실행기를 쓰므로 요청이 여러 개여도 전체 동시 분석 수는 병렬도를 넘지 않고,
+ * 대기열(queue-capacity)이 가득 차면 남은 파일은 바로 실패로 보고한다.
+ *
+ * 이미 서열이 저장된 파일은 다시 분석하지 않고 ALREADY_ANALYZED로 보고한다 (같은 파일을 두 번 적재하지 않도록).
+ * 다른 요청이 같은 파일을 분석 중이면 SequenceAnalysisService의 파일별 진행 표시로 그 결과를 기다린다.
+ */
+@Service
+@Slf4j
+public class BatchAnalysisService {
+
+    private final SequenceAnalysisService analysisService;
+    private final SequenceRepository sequenceRepository;
+    private final ThreadPoolExecutor executor;
+    private final int parallelism;
+
+    public BatchAnalysisService(
+            SequenceAnalysisService analysisService,
+            SequenceRepository sequenceRepository,
+            @Value("${biodatahub.analysis.max-concurrent-jobs:5}") int maxConcurrentJobs,
+            @Value("${biodatahub.datasource.pools.ingest.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int ingestPoolSize,
+            @Value("${biodatahub.analysis.batch.queue-capacity:256}") int queueCapacity) {
+        this.analysisService = analysisService;
+        this.sequenceRepository = sequenceRepository;
+        this.parallelism = parallelism(Runtime.getRuntime().availableProcessors(), ingestPoolSize, maxConcurrentJobs);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "biodatahub-batch-analysis-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        log.info("Batch analysis parallelism: {} (queue capacity {})", parallelism, queueCapacity);
+    }
+
+    static int parallelism(int processors, int ingestPoolSize, int maxConcurrentJobs) {
+        return Math.max(1, Math.min(processors, Math.min(ingestPoolSize, maxConcurrentJobs)));
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 파일들을 분석하고 파일 하나가 끝날 때마다 listener로 결과를 전달
+     * listener는 여러 분석 스레드에서 동시에 호출될 수 있다.
+     * @return 모든 파일의 처리가 끝나면 완료되는 요약
+     */
+    public CompletableFuture<BatchSummary> analyzeFiles(List<String> fileIds, Consumer<FileAnalysisStatusDto> listener) {
+        List<String> distinctFileIds = new ArrayList<>(new LinkedHashSet<>(fileIds));
+        if (distinctFileIds.isEmpty()) {
+            throw new IllegalArgumentException("분석할 파일이 없습니다");
+        }
+        long started = System.nanoTime();
+        BatchSummary summary = new BatchSummary(distinctFileIds.size());
+
+        // 서열 수는 한 번의 GROUP BY 쿼리로 확인
+        Map<String, Long> sequenceCounts = new HashMap<>();
+        for (Map<String, Object> row : sequenceRepository.countByFileIds(distinctFileIds)) {
+            if (row.get("sequenceCount") instanceof Number number && number.longValue() > 0) {
+                sequenceCounts.put((String) row.get("fileId"), number.longValue());
+            }
+        }
+
+        List<CompletableFuture<Void>> analyses = new ArrayList<>();
+        for (String fileId : distinctFileIds) {
+            Long sequenceCount = sequenceCounts.get(fileId);
+            if (sequenceCount != null) {
+                report(FileAnalysisStatusDto.alreadyAnalyzed(fileId, sequenceCount), summary, listener);
+                continue;
+            }
+            try {
+                analyses.add(CompletableFuture.runAsync(
+                        () -> report(analyze(fileId), summary, listener), executor));
+            } catch (RejectedExecutionException e) {
+                log.warn("Batch analysis queue is full, rejecting {}", fileId);
+                report(FileAnalysisStatusDto.failed(fileId, "Analysis queue is full", 0), summary, listener);
+            }
+        }
+
+        return CompletableFuture.allOf(analyses.toArray(new CompletableFuture[0])).handle((ignored, error) -> {
+            summary.elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            log.info("Batch analysis finished: {} files, {} completed, {} already analyzed, {} failed in {} ms",
+                    summary.getTotal(), summary.getCompleted(), summary.getAlreadyAnalyzed(),
+                    summary.getFailed(), summary.getElapsedMs());
+            return summary;
+        });
+    }
+
+    private FileAnalysisStatusDto analyze(String fileId) {
+        long started = System.nanoTime();
+        try {
+            // 서열 수 확인 뒤 다른 요청이 같은 파일을 적재했으면 다시 적재하지 않음
+            SequenceStatisticsDto statistics = analysisService.analyzeIfNotAnalyzed(fileId);
+            if (statistics == null) {
+                return FileAnalysisStatusDto.alreadyAnalyzed(fileId, sequenceRepository.countByFileId(fileId));
+            }
+            return FileAnalysisStatusDto.completed(fileId, statistics, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            return FileAnalysisStatusDto.failed(fileId, e.getMessage(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private static void report(FileAnalysisStatusDto status, BatchSummary summary,
+                               Consumer<FileAnalysisStatusDto> listener) {
+        summary.record(status.getStatus());
+        try {
+            listener.accept(status);
+        } catch (Exception e) {
+            // 클라이언트 연결이 끊겨도 남은 분석은 계속 진행
+            log.debug("Batch analysis listener failed for {}: {}", status.getFileId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 일괄 분석 요약
+     */
+    @Getter
+    public static class BatchSummary {
+        private final int total;
+        private volatile int completed;
+        private volatile int alreadyAnalyzed;
+        private volatile int failed;
+        private volatile long elapsedMs;
+
+        BatchSummary(int total) {
+            this.total = total;
+        }
+
+        synchronized void record(FileAnalysisStatusDto.Status status) {
+            switch (status) {
+                case COMPLETED -> completed++;
+                case ALREADY_ANALYZED -> alreadyAnalyzed++;
+                case FAILED -> failed++;
+            }
+        }
+    }
+}
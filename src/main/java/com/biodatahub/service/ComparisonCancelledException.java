@@ -0,0 +1,12 @@
+package com.biodatahub.service;
+
+/**
+ * 비교 작업이 사용자 요청 또는 마감 시간 초과로 중단되었을 때 발생
+ * 구역/기준 서열 경계에서 ComparisonJob.checkCancelled()가 던진다.
+ */
+public class ComparisonCancelledException extends RuntimeException {
+
+    public ComparisonCancelledException(String reason) {
+        super(reason);
+    }
+}
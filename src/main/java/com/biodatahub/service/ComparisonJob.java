@@ -0,0 +1,201 @@
+package com.biodatahub.service;
+
+import com.biodatahub.dto.LegacyComparisonView;
+import com.biodatahub.dto.SequenceComparisonResult;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * 실행 중인 서열 비교 작업의 상태
+ * 기준 서열별 결과가 나오는 대로 구독자에게 전달하고, 늦게 구독한 리스너에게는
+ * 지금까지의 결과를 먼저 재생한 뒤 이후 이벤트를 이어서 보낸다.
+ * 구독자마다 QueuedComparisonListener의 대기열을 거치므로 작업 스레드와 잠금은 SSE 전송을 기다리지 않는다
+ * (재생도 잠금 안에서는 상태만 복사하고 전송은 구독자의 전달 스레드에서 함).
+ * 취소 요청과 마감 시각은 점수 계산 루프가 구역/기준 서열 경계에서 checkCancelled()로 확인한다.
+ */
+@Slf4j
+public class ComparisonJob {
+
+    @Getter
+    private final String cacheKey;
+    @Getter
+    private final CompletableFuture<SequenceComparisonResult> future = new CompletableFuture<>();
+
+    private final List<QueuedComparisonListener> listeners = new ArrayList<>();
+    private final List<SequenceComparisonResult.ReferenceResult> completedReferences = new ArrayList<>();
+    private SequenceComparisonResult.SequenceTable table;
+    private String phase = "queued";
+    private int totalReferences;
+    private Object summaryStats;
+    private String errorMessage;
+    private boolean finished;
+
+    // 취소 사유 (null이면 취소되지 않음), 마감 시각 (0이면 제한 없음)
+    private volatile String cancelReason;
+    private final long deadlineAt;
+
+    // 구독자 이벤트 전달 실행기와 구독자별 대기열 크기
+    private final Executor eventExecutor;
+    private final int eventQueueCapacity;
+
+    public ComparisonJob(String cacheKey) {
+        this(cacheKey, 0L);
+    }
+
+    public ComparisonJob(String cacheKey, long deadlineAt) {
+        this(cacheKey, deadlineAt, QueuedComparisonListener.DISPATCHER, QueuedComparisonListener.DEFAULT_CAPACITY);
+    }
+
+    ComparisonJob(String cacheKey, long deadlineAt, Executor eventExecutor, int eventQueueCapacity) {
+        this.cacheKey = cacheKey;
+        this.deadlineAt = deadlineAt;
+        this.eventExecutor = eventExecutor;
+        this.eventQueueCapacity = eventQueueCapacity;
+    }
+
+    public void cancel(String reason) {
+        if (cancelReason == null) {
+            cancelReason = reason;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelReason != null;
+    }
+
+    /**
+     * 취소되었거나 마감 시각이 지났으면 ComparisonCancelledException을 던짐
+     */
+    public void checkCancelled() {
+        if (cancelReason == null && deadlineAt > 0 && System.currentTimeMillis() > deadlineAt) {
+            cancel("deadline exceeded");
+        }
+        if (cancelReason != null) {
+            throw new ComparisonCancelledException("비교 분석 중단: " + cancelReason);
+        }
+    }
+
+    public synchronized void subscribe(ComparisonJobListener listener) {
+        QueuedComparisonListener queued = new QueuedComparisonListener(listener, eventExecutor, eventQueueCapacity);
+        // 지금까지의 상태만 복사하고 재생은 구독자의 전달 스레드에서
+        String currentPhase = phase;
+        int total = totalReferences;
+        SequenceComparisonResult.SequenceTable currentTable = table;
+        List<SequenceComparisonResult.ReferenceResult> references = List.copyOf(completedReferences);
+        queued.enqueueReplay(replay -> {
+            replay.onProgress(currentPhase, references.size(), total);
+            if (currentTable != null) {
+                replay.onReferenceFile(LegacyComparisonView.referenceFile(currentTable));
+            }
+            for (int i = 0; i < references.size(); i++) {
+                replay.onReference(i, LegacyComparisonView.sequenceComparison(currentTable, references.get(i)));
+            }
+        });
+        if (errorMessage != null) {
+            queued.onError(errorMessage);
+        } else if (finished) {
+            queued.onComplete(summaryStats);
+        } else {
+            listeners.add(queued);
+        }
+    }
+
+    public synchronized void unsubscribe(ComparisonJobListener listener) {
+        listeners.removeIf(queued -> queued.getDelegate() == listener);
+    }
+
+    public synchronized void publishPhase(String phase) {
+        this.phase = phase;
+        notifyListeners(listener -> listener.onProgress(phase, completedReferences.size(), totalReferences));
+    }
+
+    /**
+     * 기준 서열 단위가 아닌 진행률 (예: 분산 비교의 구역 처리 수)
+     */
+    public synchronized void publishProgress(String phase, int completed, int total) {
+        this.phase = phase;
+        notifyListeners(listener -> listener.onProgress(phase, completed, total));
+    }
+
+    public synchronized void publishReferenceFile(SequenceComparisonResult.SequenceTable table) {
+        this.table = table;
+        this.totalReferences = table.getReferenceCount();
+        Object referenceFile = LegacyComparisonView.referenceFile(table);
+        notifyListeners(listener -> listener.onReferenceFile(referenceFile));
+    }
+
+    public synchronized void publishReference(SequenceComparisonResult.ReferenceResult reference) {
+        int index = completedReferences.size();
+        completedReferences.add(reference);
+        Object sequenceComparison = LegacyComparisonView.sequenceComparison(table, reference);
+        notifyListeners(listener -> {
+            listener.onReference(index, sequenceComparison);
+            listener.onProgress(phase, index + 1, totalReferences);
+        });
+    }
+
+    public synchronized void complete(SequenceComparisonResult results) {
+        this.summaryStats = LegacyComparisonView.summary(results.getSummary());
+        this.finished = true;
+        notifyListeners(listener -> listener.onComplete(summaryStats));
+        listeners.clear();
+        future.complete(results);
+    }
+
+    public synchronized void fail(RuntimeException cause) {
+        this.errorMessage = cause.getMessage();
+        this.finished = true;
+        notifyListeners(listener -> listener.onError(errorMessage));
+        listeners.clear();
+        future.completeExceptionally(cause);
+    }
+
+    /**
+     * 지금까지 끝난 기준 서열만으로 구성한 부분 결과 (서열 테이블이 아직 없으면 null)
+     */
+    public synchronized SequenceComparisonResult partialResult() {
+        if (table == null) {
+            return null;
+        }
+        List<SequenceComparisonResult.ReferenceResult> references = new ArrayList<>(completedReferences);
+        return SequenceComparisonResult.builder()
+                .sequences(table)
+                .references(references)
+                .summary(SequenceComparisonResult.Summary.of(references))
+                .partial(true)
+                .build();
+    }
+
+    private void notifyListeners(Consumer<ComparisonJobListener> event) {
+        Iterator<QueuedComparisonListener> it = listeners.iterator();
+        while (it.hasNext()) {
+            QueuedComparisonListener listener = it.next();
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                // 연결이 끊겼거나 대기열이 넘친 구독자는 제거하고 작업은 계속 진행
+                log.debug("Removing listener from job {}: {}", cacheKey, e.getMessage());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * 이미 완료되어 캐시된 결과를 리스너에 순서대로 전달
+     */
+    public static void replay(SequenceComparisonResult results, ComparisonJobListener listener) {
+        SequenceComparisonResult.SequenceTable table = results.getSequences();
+        List<SequenceComparisonResult.ReferenceResult> references = results.getReferences();
+        listener.onProgress("completed", references.size(), references.size());
+        listener.onReferenceFile(LegacyComparisonView.referenceFile(table));
+        for (int i = 0; i < references.size(); i++) {
+            listener.onReference(i, LegacyComparisonView.sequenceComparison(table, references.get(i)));
+        }
+        listener.onComplete(LegacyComparisonView.summary(results.getSummary()));
+    }
+}
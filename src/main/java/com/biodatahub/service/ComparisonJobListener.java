@@ -0,0 +1,19 @@
+package com.biodatahub.service;
+
+/**
+ * 진행 중인 비교 작업의 중간 결과를 받는 리스너
+ * 기준 서열 하나의 비교가 끝날 때마다 onReference가 호출된다.
+ * 전달되는 객체는 JSON으로 바로 직렬화할 수 있는 뷰(LegacyComparisonView)이다.
+ */
+public interface ComparisonJobListener {
+
+    void onProgress(String phase, int completedReferences, int totalReferences);
+
+    void onReferenceFile(Object referenceFile);
+
+    void onReference(int index, Object sequenceComparison);
+
+    void onComplete(Object summaryStats);
+
+    void onError(String message);
+}
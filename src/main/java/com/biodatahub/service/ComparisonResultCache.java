@@ -0,0 +1,118 @@
+package com.biodatahub.service;
+
+import com.biodatahub.common.BoundedResultCache;
+import com.biodatahub.dto.SequenceComparisonResult;
+import com.biodatahub.model.StoredComparisonResult;
+import com.biodatahub.repository.AnalysisResultRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+
+/**
+ * 서열 비교 결과 캐시
+ * biodatahub.comparison.cache.* 설정으로 메모리 한도, TTL, 디스크 spill 여부를 조정한다.
+ *
+ * persist-enabled이면 완료된(부분 결과가 아닌) 결과를 comparison_results 테이블에 Smile 바이너리로도 저장하고,
+ * 메모리/spill에 없을 때 테이블에서 읽어 다시 메모리로 올린다 (TTL 만료나 재시작 후에도 재계산하지 않음).
+ */
+@Component
+@Slf4j
+public class ComparisonResultCache extends BoundedResultCache<SequenceComparisonResult> {
+
+    private final AnalysisResultRepository analysisResultRepository;
+    private final boolean persistEnabled;
+
+    public ComparisonResultCache(
+            ObjectMapper objectMapper,
+            AnalysisResultRepository analysisResultRepository,
+            @Value("${biodatahub.comparison.cache.max-bytes:268435456}") long maxBytes,
+            @Value("${biodatahub.comparison.cache.ttl-minutes:60}") long ttlMinutes,
+            @Value("${biodatahub.comparison.cache.spill-enabled:false}") boolean spillEnabled,
+            @Value("${biodatahub.comparison.cache.spill-dir:temp/comparison-cache}") String spillDir,
+            @Value("${biodatahub.comparison.cache.persist-enabled:true}") boolean persistEnabled) {
+        super(maxBytes,
+                ttlMinutes * 60_000L,
+                SequenceComparisonResult::getEstimatedBytes,
+                spillEnabled ? Paths.get(spillDir) : null,
+                objectMapper,
+                objectMapper.getTypeFactory().constructType(SequenceComparisonResult.class));
+        this.analysisResultRepository = analysisResultRepository;
+        this.persistEnabled = persistEnabled;
+        log.info("Comparison result cache: maxBytes={}, ttl={}min, spill={}, persist={}",
+                maxBytes, ttlMinutes, spillEnabled ? spillDir : "disabled", persistEnabled);
+    }
+
+    @Override
+    public SequenceComparisonResult get(String key) {
+        SequenceComparisonResult cached = super.get(key);
+        if (cached != null || !persistEnabled) {
+            return cached;
+        }
+        try {
+            StoredComparisonResult stored = analysisResultRepository.findComparisonResult(resultKey(key));
+            if (stored == null || stored.getResult() == null) {
+                return null;
+            }
+            super.put(key, stored.getResult());
+            log.info("Comparison result {} restored from comparison_results", key);
+            return stored.getResult();
+        } catch (RuntimeException e) {
+            log.warn("Failed to read stored comparison result {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, SequenceComparisonResult value) {
+        super.put(key, value);
+        if (!persistEnabled || value.isPartial()) {
+            return;
+        }
+        try {
+            // 결과 테이블의 첫 번째 파일이 기준 파일 (기준 파일이 삭제되면 저장된 결과도 함께 삭제됨)
+            analysisResultRepository.saveComparisonResult(StoredComparisonResult.of(
+                    resultKey(key), value.getSequences().getFileIds().get(0), value));
+        } catch (RuntimeException e) {
+            log.warn("Failed to store comparison result {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 완료된 결과 본문의 해시 (조건부 GET의 ETag용, 완료된 결과가 없으면 null)
+     * 저장된 결과는 해시 컬럼만 읽고, 저장하지 않는 설정이거나 해시가 없는 이전 행이면 결과를 읽어 계산한다.
+     */
+    public String contentHash(String key) {
+        if (persistEnabled) {
+            try {
+                String hash = analysisResultRepository.findComparisonResultHash(resultKey(key));
+                if (hash != null) {
+                    return hash;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to read stored comparison result hash {}: {}", key, e.getMessage());
+            }
+        }
+        SequenceComparisonResult result = get(key);
+        return result != null && !result.isPartial() ? StoredComparisonResult.contentHash(result) : null;
+    }
+
+    @Override
+    public void invalidate(String key) {
+        super.invalidate(key);
+        if (persistEnabled) {
+            try {
+                analysisResultRepository.deleteComparisonResult(resultKey(key));
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete stored comparison result {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    // 캐시 키는 파일 ID를 모두 이어 붙인 값이라 길이가 제한되지 않으므로 분산 작업 키와 같은 SHA-256을 사용
+    private static String resultKey(String key) {
+        return ComparisonWorkQueue.jobKey(key);
+    }
+}
@@ -0,0 +1,49 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.ComparisonTile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기준 서열 x 비교 서열 쌍 행렬을 구역(tile)으로 나눔
+ * 각 구역은 기준 파일의 서열 ID 범위와 비교 파일 하나의 서열 ID 범위로 표현되며,
+ * 한 변의 서열 수는 tileSize를 넘지 않는다.
+ */
+final class ComparisonTilePlanner {
+
+    private ComparisonTilePlanner() {
+    }
+
+    /**
+     * @param referenceIds        기준 파일 서열 ID (오름차순)
+     * @param comparisonIdsByFile 비교 파일별 서열 ID (오름차순, 파일 순서 유지)
+     */
+    static List<ComparisonTile> plan(String jobKey, String referenceFileId, List<Long> referenceIds,
+                                     Map<String, List<Long>> comparisonIdsByFile, int tileSize) {
+        List<ComparisonTile> tiles = new ArrayList<>();
+        for (int r = 0; r < referenceIds.size(); r += tileSize) {
+            int refEnd = Math.min(r + tileSize, referenceIds.size());
+            for (Map.Entry<String, List<Long>> comparison : comparisonIdsByFile.entrySet()) {
+                List<Long> comparisonIds = comparison.getValue();
+                for (int c = 0; c < comparisonIds.size(); c += tileSize) {
+                    int compEnd = Math.min(c + tileSize, comparisonIds.size());
+                    tiles.add(ComparisonTile.builder()
+                            .jobKey(jobKey)
+                            .tileNo(tiles.size())
+                            .referenceFileId(referenceFileId)
+                            .refMinId(referenceIds.get(r))
+                            .refMaxId(referenceIds.get(refEnd - 1))
+                            .comparisonFileId(comparison.getKey())
+                            .compMinId(comparisonIds.get(c))
+                            .compMaxId(comparisonIds.get(compEnd - 1))
+                            .pairCount((refEnd - r) * (compEnd - c))
+                            .status(ComparisonTile.TileStatus.PENDING)
+                            .build());
+                }
+            }
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,335 @@
+package com.biodatahub.service;
+
+import com.biodatahub.common.DataSourceWorkload;
+import com.biodatahub.model.ComparisonTile;
+import com.biodatahub.model.ComparisonWorkJob;
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.SequenceMatchRecord;
+import com.biodatahub.repository.ComparisonWorkRepository;
+import com.biodatahub.repository.SequenceMatchRepository;
+import com.biodatahub.repository.SequenceRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * DB 작업 테이블 기반의 분산 비교 큐
+ * - 비교 작업을 쌍 행렬 구역(tile)으로 나누어 comparison_work_tiles에 저장
+ * - 같은 DB를 쓰는 모든 인스턴스의 워커 스레드가 만료 시간이 있는 lease를 잡고 구역 점수를 계산해
+ *   sequence_matches에 기록 (lease가 만료되면 다른 인스턴스가 다시 잡음)
+ * - 작업을 요청받은 인스턴스(코디네이터)는 자신도 구역을 처리하다가 모든 구역이 끝나면
+ *   sequence_matches에 모인 점수로 결과를 합친다
+ * biodatahub.comparison.distributed.enabled=false이면 사용하지 않는다.
+ */
+@Service
+@Slf4j
+public class ComparisonWorkQueue {
+
+    private static final int TILE_INSERT_BATCH_SIZE = 500;
+
+    private final ComparisonWorkRepository workRepository;
+    private final SequenceRepository sequenceRepository;
+    private final SequenceMatchRepository sequenceMatchRepository;
+    private final SequenceStore sequenceStore;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int tileSize;
+    private final int leaseSeconds;
+    private final int maxAttempts;
+    private final long pollIntervalMs;
+    private final int workerThreads;
+    private final String instanceId;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public ComparisonWorkQueue(
+            ComparisonWorkRepository workRepository,
+            SequenceRepository sequenceRepository,
+            SequenceMatchRepository sequenceMatchRepository,
+            SequenceStore sequenceStore,
+            TransactionTemplate transactionTemplate,
+            @Value("${biodatahub.comparison.distributed.enabled:false}") boolean enabled,
+            @Value("${biodatahub.comparison.distributed.tile-size:256}") int tileSize,
+            @Value("${biodatahub.comparison.distributed.lease-seconds:120}") int leaseSeconds,
+            @Value("${biodatahub.comparison.distributed.max-attempts:3}") int maxAttempts,
+            @Value("${biodatahub.comparison.distributed.poll-interval-ms:2000}") long pollIntervalMs,
+            @Value("${biodatahub.comparison.distributed.worker-threads:2}") int workerThreads,
+            @Value("${biodatahub.comparison.distributed.instance-id:}") String instanceId) {
+        this.workRepository = workRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.sequenceMatchRepository = sequenceMatchRepository;
+        this.sequenceStore = sequenceStore;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.tileSize = Math.max(1, tileSize);
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMs = pollIntervalMs;
+        this.workerThreads = workerThreads;
+        this.instanceId = instanceId == null || instanceId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName()
+                : instanceId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void startWorkers() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerThreads; i++) {
+            Thread worker = new Thread(this::workerLoop, "biodatahub-comparison-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Distributed comparison enabled - instance: {}, workers: {}, tileSize: {}, lease: {}s",
+                instanceId, workerThreads, tileSize, leaseSeconds);
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        workers.clear();
+    }
+
+    private void workerLoop() {
+        while (running) {
+            boolean processed = false;
+            try (DataSourceWorkload.Scope ignored = DataSourceWorkload.use(DataSourceWorkload.ANALYTICS)) {
+                processed = processNextTile(null);
+            } catch (Exception e) {
+                log.warn("Comparison worker error on {}: {}", instanceId, e.getMessage());
+            }
+            if (!processed && !sleep(pollIntervalMs)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 코디네이터 역할: 작업과 구역을 등록하고(다른 인스턴스가 이미 등록했으면 재사용)
+     * 모든 구역이 끝날 때까지 직접 구역을 처리하며 기다린다.
+     */
+    public void runToCompletion(String cacheKey, String referenceId, List<String> comparisonIds, ComparisonJob job) {
+        String jobKey = jobKey(cacheKey);
+        ComparisonWorkJob workJob = workRepository.findJobByJobKey(jobKey);
+        if (workJob != null && (workJob.getStatus() == ComparisonWorkJob.JobStatus.FAILED
+                || workJob.getStatus() == ComparisonWorkJob.JobStatus.CANCELLED)) {
+            // 실패하거나 취소된 이전 작업은 지우고 다시 등록 (이미 계산된 쌍 점수는 sequence_matches에 남아 있음)
+            workRepository.deleteJob(jobKey);
+            workJob = null;
+        }
+        if (workJob == null) {
+            workJob = register(jobKey, referenceId, comparisonIds);
+        }
+        if (workJob.getStatus() == ComparisonWorkJob.JobStatus.COMPLETED) {
+            return;
+        }
+
+        int totalTiles = workJob.getTotalTiles();
+        log.info("Distributed comparison {} - {} tiles (coordinator: {})", jobKey, totalTiles, workJob.getCoordinator());
+        while (true) {
+            // 구역 경계마다 취소/마감 확인 (다른 인스턴스에서 취소된 경우 포함)
+            ComparisonWorkJob current = workRepository.findJobByJobKey(jobKey);
+            if (current == null || current.getStatus() == ComparisonWorkJob.JobStatus.CANCELLED) {
+                job.cancel(current != null && current.getErrorMessage() != null
+                        ? current.getErrorMessage() : "cancelled on another instance");
+            }
+            job.checkCancelled();
+
+            boolean processed = processNextTile(jobKey);
+
+            Map<String, Object> progress = workRepository.countTileProgress(jobKey, maxAttempts);
+            int doneTiles = toInt(progress.get("doneTiles"));
+            int failedTiles = toInt(progress.get("failedTiles"));
+            job.publishProgress("distributing", doneTiles, totalTiles);
+            if (failedTiles > 0) {
+                String message = failedTiles + " comparison tiles failed after " + maxAttempts + " attempts";
+                workRepository.updateJobStatus(jobKey, ComparisonWorkJob.JobStatus.FAILED, message);
+                throw new RuntimeException(message);
+            }
+            if (doneTiles >= totalTiles) {
+                return;
+            }
+            // 남은 구역은 다른 인스턴스가 처리 중이므로 잠시 대기
+            if (!processed && !sleep(pollIntervalMs)) {
+                throw new RuntimeException("Interrupted while waiting for comparison tiles");
+            }
+        }
+    }
+
+    /**
+     * 진행 중인 분산 작업을 취소하고 남은 구역을 삭제 (lease 중인 구역은 완료 처리 시 무시됨)
+     * @return 취소할 작업이 있었으면 true
+     */
+    public boolean cancel(String cacheKey, String reason) {
+        String jobKey = jobKey(cacheKey);
+        if (workRepository.cancelJob(jobKey, reason) == 0) {
+            return false;
+        }
+        workRepository.deleteTiles(jobKey);
+        return true;
+    }
+
+    /**
+     * 코디네이터에서 작업이 실패하면 진행 중인 분산 작업을 실패로 표시하고 남은 구역을 삭제
+     * (다른 인스턴스의 워커가 더 이상 구역을 잡지 않고, 다음 요청은 작업을 새로 등록함)
+     * @return 실패로 표시할 진행 중인 작업이 있었으면 true
+     */
+    public boolean fail(String cacheKey, String reason) {
+        String jobKey = jobKey(cacheKey);
+        if (workRepository.failJob(jobKey, reason) == 0) {
+            return false;
+        }
+        workRepository.deleteTiles(jobKey);
+        return true;
+    }
+
+    public void markCompleted(String cacheKey) {
+        workRepository.updateJobStatus(jobKey(cacheKey), ComparisonWorkJob.JobStatus.COMPLETED, null);
+    }
+
+    /**
+     * 다른 인스턴스에서 끝난 작업인지 확인 (결과는 sequence_matches에서 합칠 수 있음)
+     */
+    public boolean isCompletedElsewhere(String cacheKey) {
+        ComparisonWorkJob workJob = workRepository.findJobByJobKey(jobKey(cacheKey));
+        return workJob != null && workJob.getStatus() == ComparisonWorkJob.JobStatus.COMPLETED;
+    }
+
+    /**
+     * 작업 행과 구역들을 한 트랜잭션에서 등록
+     * 동시에 등록하려는 다른 인스턴스는 UNIQUE 키에서 대기하다가 커밋된 작업을 그대로 사용한다.
+     */
+    private ComparisonWorkJob register(String jobKey, String referenceId, List<String> comparisonIds) {
+        List<Long> referenceIds = sequenceRepository.findIdsByFileId(referenceId);
+        Map<String, List<Long>> comparisonIdsByFile = new LinkedHashMap<>();
+        for (String comparisonId : comparisonIds) {
+            comparisonIdsByFile.put(comparisonId, sequenceRepository.findIdsByFileId(comparisonId));
+        }
+        List<ComparisonTile> tiles = ComparisonTilePlanner.plan(
+                jobKey, referenceId, referenceIds, comparisonIdsByFile, tileSize);
+
+        ComparisonWorkJob workJob = ComparisonWorkJob.builder()
+                .jobKey(jobKey)
+                .referenceFileId(referenceId)
+                .comparisonFileIds(String.join(",", comparisonIds))
+                .status(ComparisonWorkJob.JobStatus.RUNNING)
+                .totalTiles(tiles.size())
+                .coordinator(instanceId)
+                .build();
+
+        Boolean inserted = transactionTemplate.execute(status -> {
+            if (workRepository.insertJobIfAbsent(workJob) == 0) {
+                return false;
+            }
+            for (int i = 0; i < tiles.size(); i += TILE_INSERT_BATCH_SIZE) {
+                workRepository.insertTileBatch(tiles.subList(i, Math.min(i + TILE_INSERT_BATCH_SIZE, tiles.size())));
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(inserted) ? workJob : workRepository.findJobByJobKey(jobKey);
+    }
+
+    /**
+     * 구역 하나를 lease로 잡아 점수를 계산하고 sequence_matches에 기록
+     * @param jobKey null이면 모든 작업의 구역 대상
+     * @return 구역을 처리했으면 true, 잡을 구역이 없으면 false
+     */
+    boolean processNextTile(String jobKey) {
+        String leaseToken = instanceId + ":" + UUID.randomUUID();
+        if (workRepository.leaseTile(jobKey, leaseToken, leaseSeconds, maxAttempts) == 0) {
+            return false;
+        }
+        ComparisonTile tile = workRepository.findTileByLeaseToken(leaseToken);
+        if (tile == null) {
+            return false;
+        }
+
+        try {
+            long startedAt = System.currentTimeMillis();
+            scoreTile(tile);
+            if (workRepository.completeTile(tile.getId(), leaseToken) == 0) {
+                // lease가 만료되어 다른 인스턴스가 가져간 경우 (점수 저장은 멱등이므로 문제 없음)
+                log.info("Lease lost for tile {} of job {}", tile.getTileNo(), tile.getJobKey());
+            }
+            log.debug("Tile {} of job {} scored {} pairs in {} ms", tile.getTileNo(), tile.getJobKey(),
+                    tile.getPairCount(), System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.warn("Failed to score tile {} of job {} (attempt {}): {}",
+                    tile.getTileNo(), tile.getJobKey(), tile.getAttempts(), e.getMessage());
+            workRepository.releaseTile(tile.getId(), leaseToken, maxAttempts);
+        }
+        return true;
+    }
+
+    private void scoreTile(ComparisonTile tile) {
+        List<SequenceData> references = sequenceRepository.findByFileIdAndIdRange(
+                tile.getReferenceFileId(), tile.getRefMinId(), tile.getRefMaxId());
+        List<SequenceData> comparisons = sequenceRepository.findByFileIdAndIdRange(
+                tile.getComparisonFileId(), tile.getCompMinId(), tile.getCompMaxId());
+
+        byte[][] comparisonBases = new byte[comparisons.size()][];
+        for (int c = 0; c < comparisons.size(); c++) {
+            comparisonBases[c] = sequenceStore.readBases(comparisons.get(c));
+        }
+
+        List<SequenceMatchRecord> records = new ArrayList<>(SequenceComparisonService.MATCH_BATCH_SIZE);
+        for (SequenceData reference : references) {
+            byte[] referenceBases = sequenceStore.readBases(reference);
+            for (int c = 0; c < comparisons.size(); c++) {
+                records.add(SequenceComparisonService.scorePair(
+                        reference, comparisons.get(c), referenceBases, comparisonBases[c]));
+                if (records.size() >= SequenceComparisonService.MATCH_BATCH_SIZE) {
+                    sequenceMatchRepository.insertMatchBatch(records);
+                    records.clear();
+                }
+            }
+        }
+        if (!records.isEmpty()) {
+            sequenceMatchRepository.insertMatchBatch(records);
+        }
+    }
+
+    static String jobKey(String cacheKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(cacheKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
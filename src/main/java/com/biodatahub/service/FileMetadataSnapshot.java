@@ -0,0 +1,43 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.UploadedFile;
+import com.biodatahub.repository.UploadedFileRepository;
+
+import java.util.*;
+
+/**
+ * 비교 작업 하나에서 사용하는 업로드 파일 메타데이터 스냅샷
+ * 작업 시작 시 한 번의 IN 쿼리로 로드하고, 검증/결과 생성 단계에서 재사용한다.
+ */
+public class FileMetadataSnapshot {
+
+    private final Map<String, UploadedFile> files;
+
+    private FileMetadataSnapshot(Map<String, UploadedFile> files) {
+        this.files = files;
+    }
+
+    public static FileMetadataSnapshot load(UploadedFileRepository repository, Collection<String> fileIds) {
+        Map<String, UploadedFile> files = new HashMap<>();
+        if (!fileIds.isEmpty()) {
+            for (UploadedFile file : repository.findByFileIds(new ArrayList<>(new LinkedHashSet<>(fileIds)))) {
+                files.put(file.getFileId(), file);
+            }
+        }
+        return new FileMetadataSnapshot(files);
+    }
+
+    public UploadedFile get(String fileId) {
+        return files.get(fileId);
+    }
+
+    public boolean isCompleted(String fileId) {
+        UploadedFile file = files.get(fileId);
+        return file != null && file.getUploadStatus() == UploadedFile.UploadStatus.COMPLETED;
+    }
+
+    public String getOriginalName(String fileId) {
+        UploadedFile file = files.get(fileId);
+        return file != null ? file.getOriginalName() : fileId;
+    }
+}
@@ -2,6 +2,8 @@ package com.biodatahub.service;
 
 import com.biodatahub.model.UploadedFile;
 import com.biodatahub.repository.UploadedFileRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,7 +15,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +42,27 @@ public class FileProcessingService {
     @Value("${biodatahub.file.temp-dir:temp}")
     private String tempDir;
     
+    // 다중 파일 업로드에서 동시에 디스크에 기록하는 파일 수
+    @Value("${biodatahub.file.write-threads:4}")
+    private int writeThreads;
+    
+    private ExecutorService writeExecutor;
+    
+    @PostConstruct
+    public void startWriteExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        writeExecutor = Executors.newFixedThreadPool(Math.max(1, writeThreads), runnable -> {
+            Thread thread = new Thread(runnable, "biodatahub-upload-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void stopWriteExecutor() {
+        writeExecutor.shutdownNow();
+    }
+    
 
     public String processSingleFile(MultipartFile file, String fileId) throws IOException {
         Path uploadPath = createUploadDirectory();
@@ -60,6 +95,102 @@ public class FileProcessingService {
 
 
 
+    /**
+     * 여러 파일을 동시에 디스크에 기록한 뒤 uploaded_files 행을 다중 행 INSERT 한 번으로 저장
+     * 모든 파일이 기록된 뒤에 COMPLETED 상태로 저장하므로 UPLOADING → COMPLETED 갱신이 필요 없다.
+     *
+     * - 이미 있는 fileId가 하나라도 있으면 아무것도 기록하지 않고 거부
+     * - 각 파트는 임시 이름(.part)에 CREATE_NEW로 기록한 뒤 최종 이름으로 옮기며, 최종 이름에 파일이 이미 있으면 실패
+     *   (다른 업로드의 파일을 덮어쓰지 않음)
+     * - 하나라도 실패하면 이 요청이 만든 파일만 지우고 행은 저장하지 않는다 (전부 저장되거나 전부 실패).
+     * @return 파일별 저장 경로 (입력 순서)
+     */
+    public List<String> processMultipleFiles(List<MultipartFile> files, List<String> fileIds) throws IOException {
+        if (files.size() != fileIds.size()) {
+            throw new IllegalArgumentException("files and fileIds must have the same size");
+        }
+        if (new HashSet<>(fileIds).size() != fileIds.size()) {
+            throw new IllegalArgumentException("Duplicate fileId in upload");
+        }
+        List<UploadedFile> existing = uploadedFileRepository.findByFileIds(fileIds);
+        if (!existing.isEmpty()) {
+            throw new IllegalArgumentException("fileId already exists: "
+                    + existing.stream().map(UploadedFile::getFileId).toList());
+        }
+        Path uploadPath = createUploadDirectory();
+        List<Path> filePaths = new ArrayList<>(files.size());
+        List<UploadedFile> uploadedFiles = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            Path filePath = uploadPath.resolve(fileIds.get(i) + "_" + sanitizeFileName(file.getOriginalFilename()));
+            filePaths.add(filePath);
+            uploadedFiles.add(UploadedFile.builder()
+                    .fileId(fileIds.get(i))
+                    .originalName(file.getOriginalFilename())
+                    .filePath(filePath.toString())
+                    .fileSize(file.getSize())
+                    .fileType("FASTA")
+                    .uploadStatus(UploadedFile.UploadStatus.COMPLETED)
+                    .build());
+        }
+        
+        // 이 요청이 만든 파일 (실패하면 이것만 지움)
+        Set<Path> created = ConcurrentHashMap.newKeySet();
+        try {
+            // 임시 파일에 기록 (동시에 최대 write-threads개)
+            List<CompletableFuture<Path>> writes = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                MultipartFile file = files.get(i);
+                Path partPath = uploadPath.resolve(filePaths.get(i).getFileName() + "." + UUID.randomUUID() + ".part");
+                writes.add(CompletableFuture.supplyAsync(() -> {
+                    try (InputStream inputStream = file.getInputStream();
+                         OutputStream outputStream = Files.newOutputStream(partPath,
+                                 StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                        created.add(partPath);
+                        inputStream.transferTo(outputStream);
+                        return partPath;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to save " + file.getOriginalFilename(), e);
+                    }
+                }, writeExecutor));
+            }
+            List<Path> partPaths = new ArrayList<>(files.size());
+            try {
+                // 실패가 있어도 모든 기록이 끝난 뒤에 정리하도록 전부 기다림
+                CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).exceptionally(ignored -> null).join();
+                for (CompletableFuture<Path> write : writes) {
+                    partPaths.add(write.join());
+                }
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof UncheckedIOException io ? io.getCause() : new IOException(e.getCause());
+            }
+            
+            // 최종 이름으로 이동 (대상이 이미 있으면 FileAlreadyExistsException)
+            for (int i = 0; i < partPaths.size(); i++) {
+                Files.move(partPaths.get(i), filePaths.get(i));
+                created.remove(partPaths.get(i));
+                created.add(filePaths.get(i));
+            }
+            uploadedFileRepository.insertFileBatch(uploadedFiles);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(created);
+            throw e;
+        }
+        
+        log.info("{} files saved in one upload", files.size());
+        return filePaths.stream().map(Path::toString).toList();
+    }
+
+    private void deleteQuietly(Collection<Path> paths) {
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Could not delete partially uploaded file: {}", path, e);
+            }
+        }
+    }
+
     private Path createUploadDirectory() throws IOException {
         Path path = Paths.get(uploadDir);
         if (!Files.exists(path)) {
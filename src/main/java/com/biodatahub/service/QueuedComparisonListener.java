@@ -0,0 +1,134 @@
+package com.biodatahub.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 구독자 하나의 이벤트를 전용 대기열에 넣고 공유 실행기에서 순서대로 전달하는 리스너
+ * 작업 스레드는 대기열에 넣기만 하므로 느리거나 멈춘 SSE 연결이 점수 계산과 다른 구독자를 막지 않는다.
+ *
+ * - 대기열에 capacity개가 밀려 있으면 밀린 이벤트를 버리고 오류 이벤트 하나만 보낸 뒤 구독을 끝낸다
+ *   (작업 쪽에는 예외를 던져 구독자 목록에서 빠지게 함)
+ * - 늦은 구독자의 재생과 완료/오류 이벤트는 크기 제한 없이 넣는다
+ * - 구독자 쪽에서 예외가 나면(연결 끊김) 남은 이벤트를 버리고 닫는다
+ */
+@Slf4j
+class QueuedComparisonListener implements ComparisonJobListener {
+
+    static final int DEFAULT_CAPACITY = 4096;
+
+    // 구독자별 전달 작업을 실행 (느린 연결 하나가 스레드 하나만 붙잡도록 캐시 풀 사용)
+    static final ExecutorService DISPATCHER = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "biodatahub-comparison-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final ComparisonJobListener delegate;
+    private final Executor executor;
+    private final int capacity;
+    private final ArrayDeque<Consumer<ComparisonJobListener>> queue = new ArrayDeque<>();
+    private boolean draining;
+    private boolean closed;
+
+    QueuedComparisonListener(ComparisonJobListener delegate, Executor executor, int capacity) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    ComparisonJobListener getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 지금까지의 결과 재생 (크기 제한 없이 맨 앞에 넣음)
+     */
+    void enqueueReplay(Consumer<ComparisonJobListener> replay) {
+        enqueue(replay, true, false);
+    }
+
+    @Override
+    public void onProgress(String phase, int completedReferences, int totalReferences) {
+        enqueue(listener -> listener.onProgress(phase, completedReferences, totalReferences), false, false);
+    }
+
+    @Override
+    public void onReferenceFile(Object referenceFile) {
+        enqueue(listener -> listener.onReferenceFile(referenceFile), false, false);
+    }
+
+    @Override
+    public void onReference(int index, Object sequenceComparison) {
+        enqueue(listener -> listener.onReference(index, sequenceComparison), false, false);
+    }
+
+    @Override
+    public void onComplete(Object summaryStats) {
+        enqueue(listener -> listener.onComplete(summaryStats), true, true);
+    }
+
+    @Override
+    public void onError(String message) {
+        enqueue(listener -> listener.onError(message), true, true);
+    }
+
+    private synchronized void enqueue(Consumer<ComparisonJobListener> event, boolean unbounded, boolean last) {
+        if (closed) {
+            throw new IllegalStateException("Listener closed");
+        }
+        if (!unbounded && queue.size() >= capacity) {
+            queue.clear();
+            closed = true;
+            queue.add(listener -> listener.onError("결과 스트림이 처리 속도를 따라가지 못해 종료되었습니다. 결과 조회 API로 받아 주세요."));
+            schedule();
+            throw new IllegalStateException("Listener queue overflow");
+        }
+        queue.add(event);
+        closed = last;
+        schedule();
+    }
+
+    private void schedule() {
+        if (!draining) {
+            draining = true;
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Consumer<ComparisonJobListener> event;
+            synchronized (this) {
+                event = queue.poll();
+                if (event == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                event.accept(delegate);
+            } catch (RuntimeException e) {
+                log.debug("Listener stopped receiving comparison events: {}", e.getMessage());
+                synchronized (this) {
+                    closed = true;
+                    queue.clear();
+                    draining = false;
+                }
+                return;
+            }
+        }
+    }
+}
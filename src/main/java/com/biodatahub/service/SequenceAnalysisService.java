@@ -1,7 +1,11 @@
 package com.biodatahub.service;
 
+import com.biodatahub.common.DataSourceWorkload;
+import com.biodatahub.model.FileStatistics;
 import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.SequenceSummary;
 import com.biodatahub.model.UploadedFile;
+import com.biodatahub.repository.AnalysisResultRepository;
 import com.biodatahub.repository.SequenceRepository;
 import com.biodatahub.repository.UploadedFileRepository;
 import com.biodatahub.util.FastaParser;
@@ -9,8 +13,17 @@ import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import com.biodatahub.dto.*;
 
 @Service
@@ -18,73 +31,140 @@ import com.biodatahub.dto.*;
 @Slf4j
 public class SequenceAnalysisService {
 
+    private static final int FASTA_LINE_WIDTH = 60;
+
     private final SequenceRepository sequenceRepository;
     private final UploadedFileRepository uploadedFileRepository;
     private final FastaParser fastaParser;
+    private final SequenceSearchService searchService;
+    private final SequenceStore sequenceStore;
+    private final SequenceBatchWriter batchWriter;
+    private final SequenceBulkLoader bulkLoader;
+    private final AnalysisResultRepository analysisResultRepository;
+
+    // 파일별 진행 중인 분석 (같은 파일을 동시에 두 번 적재하지 않도록 먼저 등록한 요청만 적재하고 나머지는 기다림)
+    private final Map<String, CompletableFuture<SequenceStatisticsDto>> inFlightAnalyses = new ConcurrentHashMap<>();
 
+    /**
+     * 파일을 분석 (이미 서열이 저장된 파일은 다시 적재하지 않고 저장된 통계를 돌려줌)
+     */
     public SequenceStatisticsDto analyzeFile(String fileId) {
+        return analyzeExclusively(fileId, false);
+    }
+
+    /**
+     * 아직 서열이 저장되지 않은 파일만 분석
+     * 서열 수 확인과 적재를 파일별 진행 표시를 잡은 채로 하므로 동시 요청이 같은 파일을 두 번 적재하지 않는다
+     * (진행 표시는 인스턴스 안에서만 공유됨).
+     * @return 새로 분석했거나 진행 중이던 분석의 결과, 이미 서열이 저장되어 있었으면 null
+     */
+    public SequenceStatisticsDto analyzeIfNotAnalyzed(String fileId) {
+        return analyzeExclusively(fileId, true);
+    }
+
+    private SequenceStatisticsDto analyzeExclusively(String fileId, boolean skipIfStored) {
+        CompletableFuture<SequenceStatisticsDto> claim = new CompletableFuture<>();
+        CompletableFuture<SequenceStatisticsDto> running = inFlightAnalyses.putIfAbsent(fileId, claim);
+        if (running != null) {
+            log.info("Analysis already running for fileId: {}, waiting for it", fileId);
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
         try {
+            // 이미 서열이 저장된 파일은 다시 적재하지 않음 (행이 중복되지 않도록 저장된 통계를 돌려줌)
+            SequenceStatisticsDto statistics;
+            if (sequenceRepository.countByFileId(fileId) > 0) {
+                statistics = skipIfStored ? null : getBasicStatistics(fileId);
+            } else {
+                statistics = ingestFile(fileId);
+            }
+            claim.complete(statistics);
+            return statistics;
+        } catch (RuntimeException e) {
+            claim.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightAnalyses.remove(fileId, claim);
+        }
+    }
+
+    private SequenceStatisticsDto ingestFile(String fileId) {
+        // 서열 행 적재는 ingest 풀에서 (대량 적재가 조회 요청의 연결을 차지하지 않도록)
+        try (DataSourceWorkload.Scope ignored = DataSourceWorkload.use(DataSourceWorkload.INGEST)) {
             log.info("Starting analysis for fileId: {}", fileId);
-                
-                UploadedFile uploadedFile = uploadedFileRepository.findByFileId(fileId);
-                if (uploadedFile == null) {
-                    log.error("File record not found in database: {}", fileId);
-                    throw new RuntimeException("File record not found in database: " + fileId);
-                }
-                
-                log.info("Found file record: {} (status: {}, path: {})", 
-                        uploadedFile.getOriginalName(), uploadedFile.getUploadStatus(), uploadedFile.getFilePath());
 
-                if (uploadedFile.getUploadStatus() != UploadedFile.UploadStatus.COMPLETED) {
-                    log.error("File upload not completed: {} (status: {})", fileId, uploadedFile.getUploadStatus());
-                    throw new RuntimeException("File upload not completed: " + uploadedFile.getUploadStatus());
-                }
+            UploadedFile uploadedFile = uploadedFileRepository.findByFileId(fileId);
+            if (uploadedFile == null) {
+                log.error("File record not found in database: {}", fileId);
+                throw new RuntimeException("File record not found in database: " + fileId);
+            }
 
-                if (uploadedFile.getFilePath() == null || uploadedFile.getFilePath().isEmpty()) {
-                    log.error("File path is empty for fileId: {}", fileId);
-                    throw new RuntimeException("File path is empty for fileId: " + fileId);
-                }
+            log.info("Found file record: {} (status: {}, path: {})", 
+                    uploadedFile.getOriginalName(), uploadedFile.getUploadStatus(), uploadedFile.getFilePath());
 
-                File file = new File(uploadedFile.getFilePath());
-                if (!file.exists()) {
-                    log.error("Physical file not found: {}", uploadedFile.getFilePath());
-                    throw new RuntimeException("Physical file not found: " + uploadedFile.getFilePath());
-                }
-                
-                log.info("File validation successful, starting FASTA parsing...");
-
-                List<SequenceData> sequences = new ArrayList<>();
-                
-                // Parse FASTA file and save sequences
-                fastaParser.parseFileStreaming(file, sequence -> {
-                    // Get sequence statistics from FastaParser
-                    FastaParser.SequenceStats stats = sequence.getStats();
-                    
-                    SequenceData seqData = SequenceData.builder()
-                            .fileId(fileId)
-                            .sequenceId(extractSequenceId(sequence.getHeader()))
-                            .header(sequence.getHeader())
-                            .sequence(sequence.getSequence())
-                            .sequenceLength(sequence.getLength())
-                            .gcContent(sequence.getGcContent())
-                            .aCount(stats.getACount())
-                            .tCount(stats.getTCount())
-                            .cCount(stats.getCCount())
-                            .gCount(stats.getGCount())
-                            .nCount(stats.getNCount())
-                            .isValid(sequence.isValid())
-                            .build();
-                    
-                    sequences.add(seqData);
-                });
-
-                // Save sequences to database in batches
-                if (!sequences.isEmpty()) {
-                    saveSequencesBatch(sequences);
+            if (uploadedFile.getUploadStatus() != UploadedFile.UploadStatus.COMPLETED) {
+                log.error("File upload not completed: {} (status: {})", fileId, uploadedFile.getUploadStatus());
+                throw new RuntimeException("File upload not completed: " + uploadedFile.getUploadStatus());
+            }
+
+            if (uploadedFile.getFilePath() == null || uploadedFile.getFilePath().isEmpty()) {
+                log.error("File path is empty for fileId: {}", fileId);
+                throw new RuntimeException("File path is empty for fileId: " + fileId);
+            }
+
+            File file = new File(uploadedFile.getFilePath());
+            if (!file.exists()) {
+                log.error("Physical file not found: {}", uploadedFile.getFilePath());
+                throw new RuntimeException("Physical file not found: " + uploadedFile.getFilePath());
+            }
+
+            log.info("File validation successful, starting FASTA parsing...");
+
+            List<SequenceData> sequences = new ArrayList<>();
+
+            // Parse FASTA file and save sequences
+            fastaParser.parseFileStreaming(file, sequence -> {
+                // Get sequence statistics from FastaParser
+                FastaParser.SequenceStats stats = sequence.getStats();
+
+                SequenceData seqData = SequenceData.builder()
+                        .fileId(fileId)
+                        .sequenceId(extractSequenceId(sequence.getHeader()))
+                        .header(sequence.getHeader())
+                        .sequence(sequence.getSequence())
+                        .sequenceLength(sequence.getLength())
+                        .gcContent(sequence.getGcContent())
+                        .aCount(stats.getACount())
+                        .tCount(stats.getTCount())
+                        .cCount(stats.getCCount())
+                        .gCount(stats.getGCount())
+                        .nCount(stats.getNCount())
+                        .isValid(sequence.isValid())
+                        .build();
+
+                sequences.add(seqData);
+            });
+
+            // Save sequences to database in batches
+            if (!sequences.isEmpty()) {
+                // DB 벌크 적재 API를 쓸 수 있으면 사용 (없으면 JDBC 배치)
+                if (bulkLoader.isAvailable()) {
+                    bulkLoader.load(fileId, sequences);
+                } else {
+                    batchWriter.write(sequences);
                 }
+                // 저장된 서열 id로 검색 색인에 새 세그먼트 추가
+                searchService.indexSequences(fileId, sequences);
+            }
 
-                // Calculate and return analysis results
-                return calculateBasicStatistics(fileId, sequences);
+            // Calculate and return analysis results
+            SequenceStatisticsDto statistics =
+                    calculateBasicStatistics(fileId, sequences.stream().map(SequenceSummary::of).toList());
+            saveStatistics(fileId, statistics);
+            return statistics;
 
         } catch (Exception e) {
             log.error("Error analyzing file: {}", fileId, e);
@@ -92,114 +172,182 @@ public class SequenceAnalysisService {
         }
     }
 
-    private void saveSequencesBatch(List<SequenceData> sequences) {
-        final int batchSize = 500; // 현실적인 배치 크기로 변경
-        int totalSaved = 0;
-        
-        for (int i = 0; i < sequences.size(); i += batchSize) {
-            int end = Math.min(i + batchSize, sequences.size());
-            List<SequenceData> batch = sequences.subList(i, end);
-            
-            // 매우 긴 서열은 개별 처리
-            List<SequenceData> largeBatch = new ArrayList<>();
-            for (SequenceData seq : batch) {
-                if (seq.getSequence() != null && seq.getSequence().length() > 100000) {
-                    // 100KB 이상의 개별 서열은 단독 처리
-                    sequenceRepository.insertSequence(seq);
-                    totalSaved++;
-                } else {
-                    largeBatch.add(seq);
-                }
+    /**
+     * 서열이 저장되지 않은 파일만 골라 분석 (파일별 서열 수는 한 번의 GROUP BY 쿼리로 확인)
+     */
+    public void ensureFilesAnalyzed(List<String> fileIds) {
+        Set<String> analyzedFileIds = new HashSet<>();
+        for (Map<String, Object> row : sequenceRepository.countByFileIds(new ArrayList<>(new LinkedHashSet<>(fileIds)))) {
+            Object count = row.get("sequenceCount");
+            if (count instanceof Number number && number.longValue() > 0) {
+                analyzedFileIds.add((String) row.get("fileId"));
             }
-            
-            // 일반 크기 서열들은 배치 처리
-            if (!largeBatch.isEmpty()) {
-                sequenceRepository.insertSequenceBatch(largeBatch);
-                totalSaved += largeBatch.size();
+        }
+
+        for (String fileId : new LinkedHashSet<>(fileIds)) {
+            if (analyzedFileIds.contains(fileId)) {
+                continue;
             }
-            
-            // 진행률 로그 (1000개마다)
-            if (totalSaved % 1000 == 0) {
-                log.info("Saved {} / {} sequences", totalSaved, sequences.size());
+            try {
+                // 기존 분석이 없으면 새로 분석 (그 사이 다른 요청이 적재했으면 건너뜀)
+                log.info("Creating new analysis for fileId: {}", fileId);
+                analyzeIfNotAnalyzed(fileId);
+            } catch (Exception e) {
+                log.error("Error getting analysis for fileId: {}", fileId, e);
+                throw new RuntimeException("Failed to analyze file: " + fileId);
             }
         }
-        log.info("Completed: Saved {} sequences to database", totalSaved);
     }
 
+    /**
+     * 파일의 서열 목록 한 페이지 (메타데이터만 조회하고, 서열 본문은 핸들에서 필요할 때 읽음)
+     * keyset 방식이므로 cursor에는 이전 페이지의 nextCursor를 그대로 넘긴다 (첫 페이지는 null).
+     * @param sort id(저장 순서), length(서열 길이), gc(GC 함량) 중 하나
+     * @throws IllegalArgumentException 지원하지 않는 정렬 기준이나 잘못된 커서
+     */
+    public SequencePage listSequences(String fileId, String sort, boolean descending, String cursor, int limit,
+                                      Double minGc, Double maxGc, Integer minLength, Integer maxLength) {
+        if (!SequencePage.SORT_ID.equals(sort) && !SequencePage.SORT_LENGTH.equals(sort)
+                && !SequencePage.SORT_GC.equals(sort)) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+        BigDecimal afterValue = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            SequencePage.Cursor after = SequencePage.decodeCursor(cursor);
+            if ((after.value == null) != SequencePage.SORT_ID.equals(sort)) {
+                throw new IllegalArgumentException("Cursor does not match sort: " + sort);
+            }
+            afterValue = after.value;
+            afterId = after.id;
+        }
+
+        // 한 행 더 읽어 다음 페이지가 있는지 확인
+        List<SequenceSummary> rows = sequenceRepository.browseSummaries(fileId, sort, descending,
+                afterValue, afterId, minGc, maxGc, minLength, maxLength, limit + 1);
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            SequenceSummary last = rows.get(limit - 1);
+            nextCursor = SequencePage.encodeCursor(sortValue(last, sort), last.getId());
+        }
+        return new SequencePage(sequenceStore.handles(rows), sort, descending, nextCursor);
+    }
+
+    private static BigDecimal sortValue(SequenceSummary summary, String sort) {
+        if (SequencePage.SORT_LENGTH.equals(sort)) {
+            return BigDecimal.valueOf(summary.getSequenceLength());
+        }
+        if (SequencePage.SORT_GC.equals(sort)) {
+            return BigDecimal.valueOf(summary.getGcContent());
+        }
+        return null;
+    }
+
+    /**
+     * 파일의 서열을 FASTA 형식으로 출력 (메타데이터를 한 행씩 스트리밍하고 서열 본문은 행마다 저장소에서 읽음)
+     * @return 출력한 서열 수
+     */
+    public long exportFasta(String fileId, OutputStream outputStream) throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(outputStream, 1 << 16);
+        long[] exported = {0};
+        try (DataSourceWorkload.Scope ignored = DataSourceWorkload.use(DataSourceWorkload.ANALYTICS)) {
+            sequenceRepository.streamMetadataByFileId(fileId, context -> {
+                SequenceData row = context.getResultObject();
+                try {
+                    writeFastaRecord(out, row.getHeader() != null ? row.getHeader() : row.getSequenceId(),
+                            sequenceStore.readBases(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                exported[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        log.info("Exported {} sequences of {} as FASTA", exported[0], fileId);
+        return exported[0];
+    }
+
+    private static void writeFastaRecord(OutputStream out, String header, byte[] bases) throws IOException {
+        out.write('>');
+        out.write((header != null ? header : "").getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+        for (int i = 0; i < bases.length; i += FASTA_LINE_WIDTH) {
+            out.write(bases, i, Math.min(FASTA_LINE_WIDTH, bases.length - i));
+            out.write('\n');
+        }
+    }
+
+    /**
+     * 저장된 통계가 있으면 그대로 반환하고, 없으면 서열 행을 스트리밍해 계산한 뒤 저장
+     */
     public SequenceStatisticsDto getBasicStatistics(String fileId) {
-        return calculateBasicStatistics(fileId, null);
+        try {
+            FileStatistics stored = analysisResultRepository.findStatisticsByFileId(fileId);
+            if (stored != null && stored.getStatistics() != null) {
+                if (stored.getContentHash() == null) {
+                    // 해시 컬럼 추가 전에 저장된 통계는 해시를 채워 다음 조회부터 ETag를 쓸 수 있게 함
+                    saveStatistics(fileId, stored.getStatistics());
+                }
+                return stored.getStatistics();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to read stored statistics for fileId {}: {}", fileId, e.getMessage());
+        }
+        SequenceStatisticsDto statistics = calculateBasicStatistics(fileId, null);
+        saveStatistics(fileId, statistics);
+        return statistics;
+    }
+
+    /**
+     * 저장된 통계 본문의 해시 (저장된 통계가 없거나 해시가 채워지기 전이면 null)
+     */
+    public String getStatisticsHash(String fileId) {
+        return analysisResultRepository.findStatisticsHash(fileId);
+    }
+
+    // 서열이 없는 파일(아직 분석 전)의 빈 통계는 저장하지 않음
+    private void saveStatistics(String fileId, SequenceStatisticsDto statistics) {
+        if (statistics.getTotalSequences() == 0) {
+            return;
+        }
+        try {
+            analysisResultRepository.saveStatistics(FileStatistics.of(fileId, statistics));
+        } catch (RuntimeException e) {
+            log.warn("Failed to store statistics for fileId {}: {}", fileId, e.getMessage());
+        }
     }
 
-    private SequenceStatisticsDto calculateBasicStatistics(String fileId, List<SequenceData> sequences) {
+    private SequenceStatisticsDto calculateBasicStatistics(String fileId, List<SequenceSummary> sequences) {
         
         try {
-            // Get sequences from database if not provided
-            if (sequences == null || sequences.isEmpty()) {
-                sequences = sequenceRepository.findByFileId(fileId);
+            SequenceStatisticsAccumulator accumulator;
+            if (sequences != null && !sequences.isEmpty()) {
+                int minLength = Integer.MAX_VALUE;
+                int maxLength = 0;
+                for (SequenceSummary sequence : sequences) {
+                    if (Boolean.TRUE.equals(sequence.getIsValid()) && sequence.getSequenceLength() != null) {
+                        minLength = Math.min(minLength, sequence.getSequenceLength());
+                        maxLength = Math.max(maxLength, sequence.getSequenceLength());
+                    }
+                }
+                accumulator = new SequenceStatisticsAccumulator(Math.min(minLength, maxLength), maxLength);
+                sequences.forEach(accumulator::accept);
+            } else {
+                // 길이 구간은 집계 쿼리로 정하고, 메타데이터는 목록을 만들지 않고 한 행씩 스트리밍
+                Integer minLength = sequenceRepository.getMinSequenceLength(fileId);
+                Integer maxLength = sequenceRepository.getMaxSequenceLength(fileId);
+                accumulator = new SequenceStatisticsAccumulator(
+                        minLength != null ? minLength : 0, maxLength != null ? maxLength : 0);
+                sequenceRepository.streamSummariesByFileId(fileId, accumulator);
             }
 
-            if (sequences.isEmpty()) {
+            if (accumulator.getTotalSequences() == 0) {
                 return createEmptyStatisticsDto();
             }
-
-            // Basic counts
-            int totalSequences = sequences.size();
-            int validSequences = (int) sequences.stream().filter(SequenceData::getIsValid).count();
-            
-            // Length statistics
-            List<Integer> lengths = sequences.stream()
-                    .filter(SequenceData::getIsValid)
-                    .map(SequenceData::getSequenceLength)
-                    .sorted(Collections.reverseOrder())
-                    .toList();
-            
-            long totalLength = lengths.stream().mapToLong(Integer::longValue).sum();
-            double avgLength = lengths.isEmpty() ? 0 : (double) totalLength / lengths.size();
-            
-            // GC content statistics
-            double avgGcContent = sequences.stream()
-                    .filter(SequenceData::getIsValid)
-                    .mapToDouble(SequenceData::getGcContent)
-                    .average()
-                    .orElse(0.0);
-            
-            // Base composition
-            long totalA = sequences.stream().mapToLong(s -> s.getACount() != null ? s.getACount() : 0).sum();
-            long totalT = sequences.stream().mapToLong(s -> s.getTCount() != null ? s.getTCount() : 0).sum();
-            long totalC = sequences.stream().mapToLong(s -> s.getCCount() != null ? s.getCCount() : 0).sum();
-            long totalG = sequences.stream().mapToLong(s -> s.getGCount() != null ? s.getGCount() : 0).sum();
-            long totalN = sequences.stream().mapToLong(s -> s.getNCount() != null ? s.getNCount() : 0).sum();
-            
-            
-            // Length distribution
-            Map<String, Integer> lengthDistribution = calculateLengthDistribution(lengths);
-            
-            // GC content distribution
-            Map<String, Integer> gcDistribution = calculateGcDistribution(sequences);
-            
-            // Build base composition
-            BaseCompositionDto baseComposition = BaseCompositionDto.builder()
-                .aCount(totalA)
-                .tCount(totalT)
-                .cCount(totalC)
-                .gCount(totalG)
-                .nCount(totalN)
-                .totalCount(totalA + totalT + totalC + totalG + totalN)
-                .build();
-            
-            // Build result
-            return SequenceStatisticsDto.builder()
-                .totalSequences(totalSequences)
-                .validSequences(validSequences)
-                .totalLength(totalLength)
-                .averageLength(Math.round(avgLength * 100.0) / 100.0)
-                .minLength(lengths.isEmpty() ? 0 : lengths.get(lengths.size() - 1))
-                .maxLength(lengths.isEmpty() ? 0 : lengths.get(0))
-                .averageGcContent(Math.round(avgGcContent * 100.0) / 100.0)
-                .baseComposition(baseComposition)
-                .lengthDistribution(DistributionDto.of(lengthDistribution))
-                .gcDistribution(DistributionDto.of(gcDistribution))
-                .build();
+            return accumulator.toDto();
             
         } catch (Exception e) {
             log.error("Error calculating statistics for fileId: {}", fileId, e);
@@ -228,49 +376,6 @@ public class SequenceAnalysisService {
 
 
 
-    private Map<String, Integer> calculateLengthDistribution(List<Integer> lengths) {
-        Map<String, Integer> distribution = new LinkedHashMap<>();
-        
-        if (lengths.isEmpty()) return distribution;
-        
-        int min = lengths.get(lengths.size() - 1);
-        int max = lengths.get(0);
-        int binSize = Math.max(1, (max - min) / 10);
-        
-        for (int i = 0; i < 10; i++) {
-            int binStart = min + (i * binSize);
-            int binEnd = (i == 9) ? max : binStart + binSize - 1;
-            String binLabel = binStart + "-" + binEnd;
-            
-            int count = (int) lengths.stream()
-                    .filter(length -> length >= binStart && length <= binEnd)
-                    .count();
-            
-            distribution.put(binLabel, count);
-        }
-        
-        return distribution;
-    }
-
-    private Map<String, Integer> calculateGcDistribution(List<SequenceData> sequences) {
-        Map<String, Integer> distribution = new LinkedHashMap<>();
-        
-        for (int i = 0; i < 10; i++) {
-            double start = i * 10.0;
-            double end = (i + 1) * 10.0;
-            String binLabel = (int)start + "-" + (int)end + "%";
-            
-            int count = (int) sequences.stream()
-                    .filter(SequenceData::getIsValid)
-                    .filter(seq -> seq.getGcContent() >= start && seq.getGcContent() < end)
-                    .count();
-            
-            distribution.put(binLabel, count);
-        }
-        
-        return distribution;
-    }
-
     private String extractSequenceId(String header) {
         if (header == null || header.isEmpty()) {
             return "unknown";
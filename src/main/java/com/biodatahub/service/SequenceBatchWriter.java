@@ -0,0 +1,166 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.repository.SequenceRepository;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 서열 행 배치 기록기
+ * 행 수가 아니라 바이트 예산으로 한 번에 flush할 행을 정하므로, 짧은 read 수백만 개든 긴 contig 몇 개든
+ * flush 한 번의 크기가 비슷하게 유지된다.
+ *
+ * - 한 flush 단위: 서열 본문을 SequenceStore에 기록한 뒤, ExecutorType.BATCH 세션에서 단일 행 INSERT를
+ *   JDBC 배치로 모아 한 번에 실행 (rewriteBatchedStatements=true이면 드라이버가 다중 행 INSERT로 다시 씀)
+ * - 예산 조정: flush가 target-flush-ms보다 오래 걸리면 예산을 절반으로, 절반보다 빨리 끝나면 1/4씩 늘림
+ *   (min-batch-bytes ~ max-batch-bytes 범위)
+ * - 생성된 id는 BATCH 실행기의 flush 때 각 행에 설정된다.
+ */
+@Component
+@Slf4j
+public class SequenceBatchWriter {
+
+    // 서열 본문 외 한 행의 고정 크기 추정값 (포인터/통계 컬럼과 배치 문장 오버헤드)
+    static final int ROW_OVERHEAD_BYTES = 96;
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final SequenceRepository sequenceRepository;
+    private final SequenceStore sequenceStore;
+    private final long initialBatchBytes;
+    private final long minBatchBytes;
+    private final long maxBatchBytes;
+    private final int maxBatchRows;
+    private final long targetFlushMs;
+
+    public SequenceBatchWriter(
+            SqlSessionFactory sqlSessionFactory,
+            SequenceRepository sequenceRepository,
+            SequenceStore sequenceStore,
+            @Value("${biodatahub.ingest.batch-bytes:4194304}") long initialBatchBytes,
+            @Value("${biodatahub.ingest.min-batch-bytes:262144}") long minBatchBytes,
+            @Value("${biodatahub.ingest.max-batch-bytes:33554432}") long maxBatchBytes,
+            @Value("${biodatahub.ingest.max-batch-rows:5000}") int maxBatchRows,
+            @Value("${biodatahub.ingest.target-flush-ms:500}") long targetFlushMs) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.sequenceRepository = sequenceRepository;
+        this.sequenceStore = sequenceStore;
+        this.minBatchBytes = Math.max(1, minBatchBytes);
+        this.maxBatchBytes = Math.max(this.minBatchBytes, maxBatchBytes);
+        this.initialBatchBytes = Math.min(Math.max(initialBatchBytes, this.minBatchBytes), this.maxBatchBytes);
+        this.maxBatchRows = Math.max(1, maxBatchRows);
+        this.targetFlushMs = Math.max(1, targetFlushMs);
+    }
+
+    /**
+     * 서열 행을 저장소와 DB에 기록 (반환 후 각 행에는 id와 저장소 포인터가 설정되어 있음)
+     */
+    public WriteStats write(List<SequenceData> sequences) {
+        long started = System.nanoTime();
+        long budget = initialBatchBytes;
+        long totalBytes = 0;
+        int flushes = 0;
+
+        // 저장소 구현을 거쳐야 하는 경우(memory 프로필)에는 배치 세션의 매퍼를 쓰지 않음
+        boolean jdbcBatch = sequenceRepository.supportsJdbcBatch();
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            SequenceRepository repository = jdbcBatch ? session.getMapper(SequenceRepository.class) : sequenceRepository;
+            int start = 0;
+            while (start < sequences.size()) {
+                int end = nextFlushEnd(sequences, start, budget, maxBatchRows);
+                List<SequenceData> batch = sequences.subList(start, end);
+                long flushStarted = System.nanoTime();
+
+                // 서열 본문은 서열 저장소에 기록하고 DB 행에는 포인터만 저장
+                sequenceStore.append(batch);
+                for (SequenceData sequence : batch) {
+                    repository.insertSequence(sequence);
+                    totalBytes += estimateBytes(sequence);
+                }
+                session.flushStatements();
+
+                long flushMs = (System.nanoTime() - flushStarted) / 1_000_000;
+                budget = adjustBudget(budget, flushMs, targetFlushMs, minBatchBytes, maxBatchBytes);
+                flushes++;
+                start = end;
+            }
+            session.commit();
+        }
+
+        WriteStats stats = new WriteStats(sequences.size(), totalBytes, flushes,
+                Math.max(1, (System.nanoTime() - started) / 1_000_000));
+        log.info("Saved {} sequences ({} bytes) in {} flushes, {} ms: {} rows/s, {} bytes/s",
+                stats.getRows(), stats.getBytes(), stats.getFlushes(), stats.getElapsedMs(),
+                Math.round(stats.getRowsPerSecond()), Math.round(stats.getBytesPerSecond()));
+        return stats;
+    }
+
+    /**
+     * start부터 바이트 예산과 최대 행 수를 넘지 않는 마지막 위치 (예산보다 큰 행도 최소 한 행은 포함)
+     */
+    static int nextFlushEnd(List<SequenceData> sequences, int start, long budget, int maxRows) {
+        int end = start;
+        long bytes = 0;
+        while (end < sequences.size() && end - start < maxRows) {
+            long rowBytes = estimateBytes(sequences.get(end));
+            if (end > start && bytes + rowBytes > budget) {
+                break;
+            }
+            bytes += rowBytes;
+            end++;
+        }
+        return end;
+    }
+
+    static long adjustBudget(long budget, long flushMs, long targetFlushMs, long minBytes, long maxBytes) {
+        if (flushMs > targetFlushMs) {
+            return Math.max(minBytes, budget / 2);
+        }
+        if (flushMs < targetFlushMs / 2) {
+            return Math.min(maxBytes, budget + budget / 4);
+        }
+        return budget;
+    }
+
+    /**
+     * 한 행이 저장소와 DB에 기록되는 바이트 추정값 (서열 길이 + 헤더/ID 길이 + 고정 오버헤드)
+     */
+    static long estimateBytes(SequenceData sequence) {
+        long bytes = ROW_OVERHEAD_BYTES;
+        if (sequence.getSequenceLength() != null) {
+            bytes += sequence.getSequenceLength();
+        } else if (sequence.getSequence() != null) {
+            bytes += sequence.getSequence().length();
+        }
+        if (sequence.getHeader() != null) {
+            bytes += sequence.getHeader().length();
+        }
+        if (sequence.getSequenceId() != null) {
+            bytes += sequence.getSequenceId().length();
+        }
+        return bytes;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class WriteStats {
+        private final int rows;
+        private final long bytes;
+        private final int flushes;
+        private final long elapsedMs;
+
+        public double getRowsPerSecond() {
+            return rows * 1000.0 / elapsedMs;
+        }
+
+        public double getBytesPerSecond() {
+            return bytes * 1000.0 / elapsedMs;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.repository.SequenceRepository;
+import com.mysql.cj.jdbc.JdbcStatement;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 서열 행 벌크 적재
+ * 파싱한 행을 탭 구분 텍스트로 바꾸면서 드라이버의 벌크 적재 API에 바로 흘려 보낸다 (중간 파일 없음).
+ *
+ * - MySQL: LOAD DATA LOCAL INFILE + JdbcStatement.setLocalInfileInputStream
+ *   (서버 local_infile=ON 필요; 드라이버는 allowLoadLocalInfileInPath가 설정되어 있어야 LOCAL을 허용함)
+ * - PostgreSQL: COPY ... FROM STDIN + CopyManager
+ * - 그 밖의 DB이거나 biodatahub.ingest.bulk-load=off이거나 서버가 LOCAL 적재를 막아 두었으면 사용하지 않음
+ *   (호출하는 쪽은 SequenceBatchWriter로 기록)
+ *
+ * 벌크 적재는 생성된 id를 돌려주지 않으므로, 적재 직전의 최대 id보다 큰 이 파일의 id를 오름차순으로 조회해
+ * 입력 순서대로 설정한다. 서열이 이미 저장된 파일은 적재하지 않고 IllegalStateException을 던지며,
+ * 적재된 행 수가 맞지 않으면 이번에 적재한 행을 지운 뒤 실패한다.
+ */
+@Component
+@Slf4j
+public class SequenceBulkLoader {
+
+    static final String COLUMNS = "file_id, sequence_id, header, sequence_segment, sequence_offset, sequence_bytes, "
+            + "sequence_length, gc_content, a_count, t_count, c_count, g_count, n_count, is_valid";
+
+    enum Vendor { MYSQL, POSTGRESQL, NONE }
+
+    private final DataSource dataSource;
+    private final SequenceRepository sequenceRepository;
+    private final SequenceStore sequenceStore;
+    private final boolean enabled;
+    private volatile Vendor vendor;
+
+    public SequenceBulkLoader(
+            DataSource dataSource,
+            SequenceRepository sequenceRepository,
+            SequenceStore sequenceStore,
+            @Value("${biodatahub.ingest.bulk-load:auto}") String mode) {
+        this.dataSource = dataSource;
+        this.sequenceRepository = sequenceRepository;
+        this.sequenceStore = sequenceStore;
+        this.enabled = !"off".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * 현재 데이터소스에서 벌크 적재를 쓸 수 있는지 (처음 호출할 때 한 번 확인)
+     */
+    public boolean isAvailable() {
+        if (!enabled) {
+            return false;
+        }
+        Vendor detected = vendor;
+        if (detected == null) {
+            detected = detectVendor();
+            vendor = detected;
+        }
+        return detected != Vendor.NONE;
+    }
+
+    /**
+     * 서열 본문을 저장소에 기록한 뒤 행을 벌크 적재하고 각 행에 id를 설정
+     * @throws IllegalStateException 벌크 적재를 쓸 수 없거나, 파일에 이미 서열이 있거나, 적재된 행 수가 맞지 않음
+     */
+    public SequenceBatchWriter.WriteStats load(String fileId, List<SequenceData> sequences) throws SQLException, IOException {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Bulk load is not available for the current datasource");
+        }
+        // 같은 파일의 행이 섞이면 id를 입력 순서대로 맞출 수 없으므로 빈 파일에만 적재
+        int existing = sequenceRepository.countByFileId(fileId);
+        if (existing > 0) {
+            throw new IllegalStateException("Bulk load refused: " + fileId + " already has " + existing + " sequences");
+        }
+        long started = System.nanoTime();
+        sequenceStore.append(sequences);
+        Long lastId = sequenceRepository.findMaxId();
+
+        TsvInputStream in = new TsvInputStream(sequences);
+        long loaded;
+        try (Connection connection = dataSource.getConnection()) {
+            if (vendor == Vendor.POSTGRESQL) {
+                loaded = connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("COPY sequence_data (" + COLUMNS + ") FROM STDIN", in);
+            } else {
+                try (Statement statement = connection.createStatement()) {
+                    statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(in);
+                    // 파일 이름은 쓰이지 않음 (setLocalInfileInputStream의 스트림을 전송)
+                    loaded = statement.executeUpdate("LOAD DATA LOCAL INFILE 'sequence_data.tsv' "
+                            + "INTO TABLE sequence_data CHARACTER SET utf8mb4 (" + COLUMNS + ")");
+                }
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+
+        // 한 문장으로 적재한 행의 id는 입력 순서대로 증가 (적재 전 최대 id 이후 구간만 조회)
+        List<Long> ids = sequenceRepository.findIdsByFileIdAfterId(fileId, lastId);
+        if (loaded != sequences.size() || ids.size() != sequences.size()) {
+            // 빈 파일에만 적재하므로 이 파일의 행은 모두 이번 적재분
+            sequenceRepository.deleteByFileId(fileId);
+            throw new IllegalStateException("Bulk load for " + fileId + " stored " + loaded + " rows ("
+                    + ids.size() + " ids) but " + sequences.size() + " were sent");
+        }
+        for (int i = 0; i < sequences.size(); i++) {
+            sequences.get(i).setId(ids.get(i));
+        }
+
+        // 바이트 수는 배치 기록기와 같은 기준(행 크기 추정값)으로 집계
+        long bytes = 0;
+        for (SequenceData sequence : sequences) {
+            bytes += SequenceBatchWriter.estimateBytes(sequence);
+        }
+        SequenceBatchWriter.WriteStats stats = new SequenceBatchWriter.WriteStats(sequences.size(), bytes,
+                1, Math.max(1, (System.nanoTime() - started) / 1_000_000));
+        log.info("Bulk loaded {} sequences ({} bytes) via {} in {} ms: {} rows/s, {} bytes/s",
+                stats.getRows(), stats.getBytes(), vendor, stats.getElapsedMs(),
+                Math.round(stats.getRowsPerSecond()), Math.round(stats.getBytesPerSecond()));
+        return stats;
+    }
+
+    private Vendor detectVendor() {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if ("PostgreSQL".equalsIgnoreCase(product)) {
+                return Vendor.POSTGRESQL;
+            }
+            if ("MySQL".equalsIgnoreCase(product)) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT @@GLOBAL.local_infile")) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        return Vendor.MYSQL;
+                    }
+                }
+                log.info("Bulk load disabled: MySQL server has local_infile=OFF");
+                return Vendor.NONE;
+            }
+            log.info("Bulk load disabled: unsupported database {}", product);
+        } catch (SQLException e) {
+            log.warn("Bulk load disabled: could not inspect datasource", e);
+        }
+        return Vendor.NONE;
+    }
+
+    /**
+     * 행을 MySQL LOAD DATA / PostgreSQL COPY 공통 텍스트 형식으로 읽어 주는 스트림
+     * (탭 구분, 줄바꿈 종료, NULL은 \N, 역슬래시/탭/줄바꿈은 역슬래시 이스케이프)
+     * 한 번에 한 행만 인코딩하므로 전체 텍스트를 메모리에 만들지 않는다.
+     */
+    static final class TsvInputStream extends InputStream {
+
+        private final Iterator<SequenceData> rows;
+        private final StringBuilder line = new StringBuilder(256);
+        private byte[] buffer = new byte[0];
+        private int position;
+        private long bytesRead;
+
+        TsvInputStream(List<SequenceData> rows) {
+            this.rows = rows.iterator();
+        }
+
+        long getBytesRead() {
+            return bytesRead;
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            bytesRead++;
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            int total = 0;
+            while (total < len && fill()) {
+                int n = Math.min(len - total, buffer.length - position);
+                System.arraycopy(buffer, position, b, off + total, n);
+                position += n;
+                total += n;
+            }
+            bytesRead += total;
+            return total == 0 ? -1 : total;
+        }
+
+        private boolean fill() {
+            while (position >= buffer.length) {
+                if (!rows.hasNext()) {
+                    return false;
+                }
+                buffer = encode(rows.next());
+                position = 0;
+            }
+            return true;
+        }
+
+        private byte[] encode(SequenceData row) {
+            line.setLength(0);
+            append(row.getFileId()).append('\t');
+            append(row.getSequenceId()).append('\t');
+            append(row.getHeader()).append('\t');
+            append(row.getSequenceSegment()).append('\t');
+            append(row.getSequenceOffset()).append('\t');
+            append(row.getSequenceBytes()).append('\t');
+            append(row.getSequenceLength()).append('\t');
+            append(row.getGcContent() != null ? BigDecimal.valueOf(row.getGcContent()).toPlainString() : null).append('\t');
+            append(row.getACount()).append('\t');
+            append(row.getTCount()).append('\t');
+            append(row.getCCount()).append('\t');
+            append(row.getGCount()).append('\t');
+            append(row.getNCount()).append('\t');
+            append(row.getIsValid() == null ? null : row.getIsValid() ? "1" : "0").append('\n');
+            return line.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private StringBuilder append(Object value) {
+            if (value == null) {
+                return line.append("\\N");
+            }
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> line.append("\\\\");
+                    case '\t' -> line.append("\\t");
+                    case '\n' -> line.append("\\n");
+                    case '\r' -> line.append("\\r");
+                    default -> line.append(c);
+                }
+            }
+            return line;
+        }
+    }
+}
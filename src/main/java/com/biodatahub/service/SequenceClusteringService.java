@@ -0,0 +1,157 @@
+package com.biodatahub.service;
+
+import com.biodatahub.common.DataSourceWorkload;
+import com.biodatahub.model.ClusterMember;
+import com.biodatahub.model.ClusteringJob;
+import com.biodatahub.model.SequenceSummary;
+import com.biodatahub.repository.SequenceClusterRepository;
+import com.biodatahub.repository.SequenceRepository;
+import com.biodatahub.repository.UploadedFileRepository;
+import com.biodatahub.util.GreedySequenceClusterer;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 여러 업로드 파일의 서열을 일치도 임계값 기준으로 클러스터링하는 작업 관리
+ * 작업 정보는 clustering_jobs, 클러스터 소속은 sequence_cluster_members 테이블에 저장한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceClusteringService {
+
+    private final SequenceRepository sequenceRepository;
+    private final UploadedFileRepository uploadedFileRepository;
+    private final SequenceClusterRepository clusterRepository;
+    private final SequenceAnalysisService analysisService;
+    private final SequenceStore sequenceStore;
+
+    // sequence_cluster_members 저장 배치 크기
+    private static final int MEMBER_BATCH_SIZE = 1000;
+
+    @Value("${biodatahub.clustering.word-length:8}")
+    private int wordLength;
+
+    // 병렬 비교 단위 (배치 안의 서열들이 기존 대표 서열과 동시에 비교됨)
+    @Value("${biodatahub.clustering.batch-size:2048}")
+    private int batchSize;
+
+    public ClusteringJob startClustering(List<String> fileIds, double identityThreshold) {
+        List<String> distinctFileIds = new ArrayList<>(new LinkedHashSet<>(fileIds));
+        if (distinctFileIds.isEmpty()) {
+            throw new IllegalArgumentException("클러스터링할 파일이 없습니다");
+        }
+        // 잘못된 임계값은 작업 등록 전에 거부
+        new GreedySequenceClusterer(identityThreshold, wordLength, batchSize);
+
+        FileMetadataSnapshot snapshot = FileMetadataSnapshot.load(uploadedFileRepository, distinctFileIds);
+        for (String fileId : distinctFileIds) {
+            if (!snapshot.isCompleted(fileId)) {
+                throw new IllegalArgumentException("파일이 업로드되지 않았거나 완료되지 않음: " + fileId);
+            }
+        }
+
+        ClusteringJob job = ClusteringJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .fileIds(String.join(",", distinctFileIds))
+                .identityThreshold(identityThreshold)
+                .wordLength(wordLength)
+                .status(ClusteringJob.JobStatus.RUNNING)
+                .totalSequences(0)
+                .clusterCount(0)
+                .build();
+        clusterRepository.insertJob(job);
+        log.info("Clustering job {} registered - files: {}, identity: {}%", job.getJobId(), distinctFileIds, identityThreshold);
+
+        CompletableFuture.runAsync(() -> runClustering(job, distinctFileIds));
+        return job;
+    }
+
+    private void runClustering(ClusteringJob job, List<String> fileIds) {
+        String jobId = job.getJobId();
+        try (DataSourceWorkload.Scope ignored = DataSourceWorkload.use(DataSourceWorkload.ANALYTICS)) {
+            // 1. 아직 분석되지 않은 파일만 분석
+            analysisService.ensureFilesAnalyzed(fileIds);
+
+            // 2. 메타데이터를 한 번의 IN 쿼리로 가져오고 서열 본문은 저장소에서 바이트 배열로 읽음
+            List<SequenceSummary> rows = sequenceRepository.findSummariesByFileIds(fileIds);
+            int size = rows.size();
+            long[] ids = new long[size];
+            List<byte[]> sequences = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                SequenceSummary row = rows.get(i);
+                ids[i] = row.getId();
+                sequences.add(sequenceStore.readBases(row));
+                rows.set(i, null);
+            }
+            log.info("Clustering job {} - {} sequences loaded", jobId, size);
+
+            // 3. 클러스터링
+            long startedAt = System.currentTimeMillis();
+            GreedySequenceClusterer.Result result =
+                    new GreedySequenceClusterer(job.getIdentityThreshold(), job.getWordLength(), batchSize)
+                            .cluster(sequences);
+            log.info("Clustering job {} - {} clusters in {} ms (identity checks: {}, filtered by k-mer: {})",
+                    jobId, result.getClusterCount(), System.currentTimeMillis() - startedAt,
+                    result.getIdentityChecks(), result.getFilteredOut());
+
+            // 4. 클러스터 소속 저장
+            saveMembers(jobId, ids, result);
+            clusterRepository.updateJobResult(jobId, ClusteringJob.JobStatus.COMPLETED,
+                    size, result.getClusterCount(), null);
+
+        } catch (Exception e) {
+            log.error("Clustering job {} failed", jobId, e);
+            try {
+                clusterRepository.deleteMembersByJobId(jobId);
+                clusterRepository.updateJobResult(jobId, ClusteringJob.JobStatus.FAILED, null, null, e.getMessage());
+            } catch (Exception updateError) {
+                log.error("Failed to mark clustering job {} as failed", jobId, updateError);
+            }
+        }
+    }
+
+    private void saveMembers(String jobId, long[] ids, GreedySequenceClusterer.Result result) {
+        int[] clusterOf = result.getClusterOf();
+        int[] representatives = result.getRepresentatives();
+        double[] identities = result.getIdentities();
+
+        List<ClusterMember> batch = new ArrayList<>(MEMBER_BATCH_SIZE);
+        for (int i = 0; i < ids.length; i++) {
+            int cluster = clusterOf[i];
+            int representative = representatives[cluster];
+            batch.add(ClusterMember.builder()
+                    .jobId(jobId)
+                    .clusterNo(cluster)
+                    .sequenceId(ids[i])
+                    .representativeSequenceId(ids[representative])
+                    .identity(Math.round(identities[i] * 100.0) / 100.0)
+                    .isRepresentative(representative == i)
+                    .build());
+            if (batch.size() >= MEMBER_BATCH_SIZE) {
+                clusterRepository.insertMemberBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            clusterRepository.insertMemberBatch(batch);
+        }
+    }
+
+    public ClusteringJob getJob(String jobId) {
+        return clusterRepository.findJobByJobId(jobId);
+    }
+
+    public List<ClusterMember> getClusters(String jobId, int offset, int limit) {
+        return clusterRepository.findRepresentatives(jobId, Math.max(0, offset), Math.max(1, limit));
+    }
+
+    public List<ClusterMember> getClusterMembers(String jobId, int clusterNo) {
+        return clusterRepository.findMembersByCluster(jobId, clusterNo);
+    }
+}
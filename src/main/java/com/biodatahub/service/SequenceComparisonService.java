@@ -1,18 +1,22 @@
 package com.biodatahub.service;
 
+import com.biodatahub.common.BoundedResultCache;
+import com.biodatahub.common.DataSourceWorkload;
 import com.biodatahub.model.SequenceData;
-import com.biodatahub.model.SequenceMatch;
+import com.biodatahub.model.SequenceMatchRecord;
 import com.biodatahub.model.UploadedFile;
+import com.biodatahub.repository.SequenceMatchRepository;
 import com.biodatahub.repository.SequenceRepository;
 import com.biodatahub.repository.UploadedFileRepository;
+import com.biodatahub.util.DNASequenceUtils;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 import com.biodatahub.dto.*;
 
 @Service
@@ -22,508 +26,498 @@ public class SequenceComparisonService {
 
     private final SequenceRepository sequenceRepository;
     private final UploadedFileRepository uploadedFileRepository;
+    private final SequenceMatchRepository sequenceMatchRepository;
     private final SequenceAnalysisService analysisService;
-    
-    // 분석 결과를 임시 저장하는 캐시
-    private final Map<String, Map<String, Object>> resultCache = new ConcurrentHashMap<>();
+    private final SequenceStore sequenceStore;
+    // 분석 결과를 임시 저장하는 캐시 (메모리 한도/TTL 적용)
+    private final ComparisonResultCache resultCache;
+    // 여러 인스턴스가 구역 단위로 점수를 나눠 계산하는 분산 큐 (비활성화 시 로컬에서 모두 계산)
+    private final ComparisonWorkQueue workQueue;
+
+    // sequence_matches 저장 배치 크기
+    static final int MATCH_BATCH_SIZE = 500;
+
+    // 저장된 쌍별 점수를 한 번에 읽어 둘 최대 쌍 수 (기준 서열 블록 크기 = 이 값 / 비교 서열 수)
+    static final int KNOWN_PAIR_BUDGET = 100_000;
+    // 한 번의 조회에 넣는 최대 기준 서열 수 (IN 목록 길이)
+    static final int MAX_KNOWN_PAIR_BLOCK = 1000;
+
     // 진행 중인 분석 작업을 추적하는 맵
-    private final Map<String, CompletableFuture<Map<String, Object>>> runningTasks = new ConcurrentHashMap<>();
+    private final Map<String, ComparisonJob> runningTasks = new ConcurrentHashMap<>();
+
+    // 분석 전 파일의 서열 수 추정에 쓰는 서열당 평균 바이트 (FASTA 헤더 + 줄바꿈 포함)
+    private static final long ESTIMATED_BYTES_PER_SEQUENCE = 1000;
+
+    // 작업별 마감 시간 기본값 (0이면 제한 없음)
+    @Value("${biodatahub.comparison.deadline-seconds:1800}")
+    private long defaultDeadlineSeconds;
 
-    public CompletableFuture<Map<String, Object>> compareSequences(String referenceId, List<String> comparisonIds) {
+    public CompletableFuture<SequenceComparisonResult> compareSequences(String referenceId, List<String> comparisonIds) {
+        return compareSequences(referenceId, comparisonIds, null);
+    }
+
+    /**
+     * @param deadlineSeconds 작업 마감 시간 (null이면 기본값, 0 이하이면 제한 없음)
+     */
+    public CompletableFuture<SequenceComparisonResult> compareSequences(String referenceId, List<String> comparisonIds,
+                                                                        Long deadlineSeconds) {
         log.info("=== CompletableFuture.supplyAsync called ===");
         log.info("Creating async task for referenceId: {}, comparisonIds: {}", referenceId, comparisonIds);
         
         String cacheKey = generateCacheKey(referenceId, comparisonIds);
         
         // 이미 진행 중인 작업이 있는지 확인
-        CompletableFuture<Map<String, Object>> existingTask = runningTasks.get(cacheKey);
-        if (existingTask != null && !existingTask.isDone()) {
+        ComparisonJob existingJob = runningTasks.get(cacheKey);
+        if (existingJob != null && !existingJob.getFuture().isDone()) {
             log.info("Task already running for cache key: {}", cacheKey);
-            return existingTask;
+            return existingJob.getFuture();
         }
         
         // 이미 완료된 결과가 있는지 확인
-        Map<String, Object> cachedResult = resultCache.get(cacheKey);
+        SequenceComparisonResult cachedResult = resultCache.get(cacheKey);
         if (cachedResult != null) {
             log.info("Result already cached for cache key: {}", cacheKey);
             return CompletableFuture.completedFuture(cachedResult);
         }
         
-        CompletableFuture<Map<String, Object>> task = CompletableFuture.supplyAsync(() -> {
-            try {
+        long seconds = deadlineSeconds != null ? deadlineSeconds : defaultDeadlineSeconds;
+        ComparisonJob job = new ComparisonJob(cacheKey, seconds > 0 ? System.currentTimeMillis() + seconds * 1000 : 0L);
+        // 동시에 같은 요청이 들어와도 작업은 하나만 등록 (끝났지만 아직 목록에 남은 작업만 교체)
+        ComparisonJob registeredJob = runningTasks.compute(cacheKey, (key, current) ->
+                current != null && !current.getFuture().isDone() ? current : job);
+        if (registeredJob != job) {
+            return registeredJob.getFuture();
+        }
+        log.info("작업이 실행 목록에 추가되었습니다. Cache key: {}", cacheKey);
+        
+        CompletableFuture.runAsync(() -> {
+            try (DataSourceWorkload.Scope ignored = DataSourceWorkload.use(DataSourceWorkload.ANALYTICS)) {
                 log.info("=== ASYNC TASK STARTED ===");
                 log.info("Starting sequence comparison analysis - Reference: {}, Comparisons: {}", 
                         referenceId, comparisonIds);
 
-                // 1. 모든 파일이 업로드 완료되었는지 확인
-                validateFilesUploaded(referenceId, comparisonIds);
-
-                // 2. 각 파일의 서열 데이터 분석
-                SequenceStatisticsDto referenceAnalysis = getOrCreateAnalysis(referenceId);
-                
-                Map<String, SequenceStatisticsDto> comparisonAnalyses = new HashMap<>();
-                for (String comparisonId : comparisonIds) {
-                    comparisonAnalyses.put(comparisonId, getOrCreateAnalysis(comparisonId));
+                // 1. 작업에 필요한 파일 메타데이터를 한 번에 로드하고 업로드 완료 여부 확인
+                job.publishPhase("validating");
+                List<String> allFileIds = new ArrayList<>();
+                allFileIds.add(referenceId);
+                allFileIds.addAll(comparisonIds);
+                FileMetadataSnapshot snapshot = FileMetadataSnapshot.load(uploadedFileRepository, allFileIds);
+                validateFilesUploaded(snapshot, referenceId, comparisonIds);
+
+                // 2. 아직 분석되지 않은 파일만 분석
+                job.checkCancelled();
+                job.publishPhase("analyzing");
+                analysisService.ensureFilesAnalyzed(allFileIds);
+                job.checkCancelled();
+
+                // 3. 분산 모드이면 모든 인스턴스가 구역별 점수를 sequence_matches에 기록할 때까지 대기
+                if (workQueue.isEnabled()) {
+                    job.publishPhase("distributing");
+                    workQueue.runToCompletion(cacheKey, referenceId, comparisonIds, job);
                 }
 
-                // 3. 서열 비교 수행
-                Map<String, Object> comparisonResults = performSequenceComparison(
-                        referenceId, referenceAnalysis, comparisonIds, comparisonAnalyses);
+                // 4. 서열 비교 수행 (저장된 점수는 재사용, 기준 서열별 결과는 job을 통해 바로 전달됨)
+                job.publishPhase("comparing");
+                SequenceComparisonResult comparisonResults = performSequenceComparison(
+                        job, snapshot, referenceId, comparisonIds);
 
-                // 4. 결과 캐시에 저장
+                // 5. 결과 캐시에 저장 (이전에 중단된 부분 결과는 제거)
                 resultCache.put(cacheKey, comparisonResults);
+                resultCache.invalidate(partialCacheKey(cacheKey));
+                if (workQueue.isEnabled()) {
+                    workQueue.markCompleted(cacheKey);
+                }
 
                 log.info("서열 비교가 성공적으로 완료되었습니다");
-                return comparisonResults;
-
+                job.complete(comparisonResults);
+
+            } catch (ComparisonCancelledException e) {
+                log.info("서열 비교 중단 - {}: {}", cacheKey, e.getMessage());
+                // 지금까지 끝난 기준 서열은 부분 결과로 보관
+                SequenceComparisonResult partial = job.partialResult();
+                if (partial != null) {
+                    resultCache.put(partialCacheKey(cacheKey), partial);
+                }
+                if (workQueue.isEnabled()) {
+                    workQueue.cancel(cacheKey, e.getMessage());
+                }
+                job.fail(e);
             } catch (Exception e) {
                 log.error("서열 비교 중 오류 발생", e);
-                throw new RuntimeException("비교 분석 실패: " + e.getMessage());
+                // 분산 작업도 실패로 표시 (작업 행이 RUNNING으로 남으면 다른 인스턴스가 구역을 계속 처리함)
+                if (workQueue.isEnabled()) {
+                    try {
+                        workQueue.fail(cacheKey, e.getMessage());
+                    } catch (RuntimeException failError) {
+                        log.warn("Failed to mark distributed comparison {} as failed: {}", cacheKey, failError.getMessage());
+                    }
+                }
+                job.fail(new RuntimeException("비교 분석 실패: " + e.getMessage()));
             } finally {
                 // 완료된 작업 제거
-                runningTasks.remove(cacheKey);
+                runningTasks.remove(cacheKey, job);
             }
         });
         
-        // 진행 중인 작업 목록에 추가
-        runningTasks.put(cacheKey, task);
-        log.info("작업이 실행 목록에 추가되었습니다. Cache key: {}", cacheKey);
-        
-        return task;
+        return job.getFuture();
+    }
+
+    /**
+     * 비교 결과를 기준 서열 단위로 받아보기 위한 구독
+     * 진행 중인 작업이 있으면 그 작업에, 캐시된 결과가 있으면 캐시에서 재생한다.
+     * 둘 다 없으면 새 작업을 시작하지 않고 오류를 보낸다 (작업은 요청 비율 제한을 거치는 /api/comparison/start로만 시작).
+     */
+    public void subscribe(String referenceId, List<String> comparisonIds, ComparisonJobListener listener) {
+        String cacheKey = generateCacheKey(referenceId, comparisonIds);
+
+        ComparisonJob job = runningTasks.get(cacheKey);
+        if (job != null) {
+            job.subscribe(listener);
+            return;
+        }
+        SequenceComparisonResult cachedResult = resultCache.get(cacheKey);
+        if (cachedResult != null) {
+            ComparisonJob.replay(cachedResult, listener);
+            return;
+        }
+        listener.onError("진행 중인 비교 작업이 없습니다. 먼저 비교를 시작하세요.");
     }
 
-    private void validateFilesUploaded(String referenceId, List<String> comparisonIds) {
+    private void validateFilesUploaded(FileMetadataSnapshot snapshot, String referenceId, List<String> comparisonIds) {
         // 기준 파일 확인
-        UploadedFile referenceFile = uploadedFileRepository.findByFileId(referenceId);
-        if (referenceFile == null || referenceFile.getUploadStatus() != UploadedFile.UploadStatus.COMPLETED) {
+        if (!snapshot.isCompleted(referenceId)) {
             throw new RuntimeException("기준 파일이 업로드되지 않았거나 완료되지 않음: " + referenceId);
         }
 
         // 비교 파일들 확인
         for (String comparisonId : comparisonIds) {
-            UploadedFile comparisonFile = uploadedFileRepository.findByFileId(comparisonId);
-            if (comparisonFile == null || comparisonFile.getUploadStatus() != UploadedFile.UploadStatus.COMPLETED) {
+            if (!snapshot.isCompleted(comparisonId)) {
                 throw new RuntimeException("비교 파일이 업로드되지 않았거나 완료되지 않음: " + comparisonId);
             }
         }
     }
 
-    private SequenceStatisticsDto getOrCreateAnalysis(String fileId) {
-        try {
-            // 기존 분석 결과가 있는지 확인
-            SequenceStatisticsDto existingAnalysis = analysisService.getBasicStatistics(fileId);
-            
-            if (existingAnalysis != null && existingAnalysis.getTotalSequences() > 0) {
-                return existingAnalysis;
-            }
-
-            // 기존 분석이 없으면 새로 분석
-            log.info("Creating new analysis for fileId: {}", fileId);
-            return analysisService.analyzeFile(fileId);
-
-        } catch (Exception e) {
-            log.error("Error getting analysis for fileId: {}", fileId, e);
-            throw new RuntimeException("Failed to analyze file: " + fileId);
-        }
-    }
-
-    private Map<String, Object> performSequenceComparison(
-            String referenceId, SequenceStatisticsDto referenceAnalysis,
-            List<String> comparisonIds, Map<String, SequenceStatisticsDto> comparisonAnalyses) {
-
-        Map<String, Object> results = new HashMap<>();
+    private SequenceComparisonResult performSequenceComparison(
+            ComparisonJob job, FileMetadataSnapshot snapshot, String referenceId, List<String> comparisonIds) {
 
         try {
-            // 1. 기준 파일의 개별 서열들 가져오기
-            List<SequenceData> referenceSequences = sequenceRepository.findByFileId(referenceId);
-            log.info("Found {} reference sequences", referenceSequences.size());
-
-            // 2. 비교 파일들의 개별 서열들 가져오기
-            Map<String, List<SequenceData>> comparisonSequencesMap = new HashMap<>();
-            for (String comparisonId : comparisonIds) {
-                List<SequenceData> comparisonSequences = sequenceRepository.findByFileId(comparisonId);
-                comparisonSequencesMap.put(comparisonId, comparisonSequences);
+            // 1~2. 기준 파일과 비교 파일들의 서열 메타데이터를 한 번의 IN 쿼리로 스트리밍하여 파일별로 분리
+            // (서열 본문은 읽지 않으며, 비교할 때 저장소에서 읽음)
+            List<String> allFileIds = new ArrayList<>();
+            allFileIds.add(referenceId);
+            allFileIds.addAll(comparisonIds);
+            Map<String, List<SequenceData>> sequencesByFile = new HashMap<>();
+            sequenceRepository.streamMetadataByFileIds(allFileIds, context -> {
+                SequenceData sequence = context.getResultObject();
+                sequencesByFile.computeIfAbsent(sequence.getFileId(), k -> new ArrayList<>()).add(sequence);
+            });
+
+            // 3. 공유 서열 테이블 구성 (기준 서열이 앞쪽, 이후 비교 파일 순서대로)
+            List<SequenceData> rows = new ArrayList<>(sequencesByFile.getOrDefault(referenceId, List.of()));
+            int referenceCount = rows.size();
+            log.info("Found {} reference sequences", referenceCount);
+
+            List<String> fileIds = new ArrayList<>();
+            List<String> fileNames = new ArrayList<>();
+            fileIds.add(referenceId);
+            fileNames.add(snapshot.getOriginalName(referenceId));
+            int[] fileOffsets = new int[comparisonIds.size() + 1];
+            for (int f = 0; f < comparisonIds.size(); f++) {
+                String comparisonId = comparisonIds.get(f);
+                List<SequenceData> comparisonSequences = sequencesByFile.getOrDefault(comparisonId, List.of());
+                fileIds.add(comparisonId);
+                fileNames.add(snapshot.getOriginalName(comparisonId));
+                fileOffsets[f] = rows.size();
+                rows.addAll(comparisonSequences);
                 log.info("Found {} sequences in comparison file {}", comparisonSequences.size(), comparisonId);
             }
+            fileOffsets[comparisonIds.size()] = rows.size();
 
-            // 3. 기준 파일 정보
-            UploadedFile referenceFile = uploadedFileRepository.findByFileId(referenceId);
-            results.put("referenceFile", Map.of(
-                    "fileId", referenceId,
-                    "fileName", referenceFile.getOriginalName(),
-                    "totalSequences", referenceSequences.size(),
-                    "sequences", referenceSequences.stream().map(this::convertSequenceToMap).collect(Collectors.toList())
-            ));
+            int[] fileIndexes = new int[rows.size()];
+            for (int f = 0; f < comparisonIds.size(); f++) {
+                Arrays.fill(fileIndexes, fileOffsets[f], fileOffsets[f + 1], f + 1);
+            }
+            SequenceComparisonResult.SequenceTable table =
+                    SequenceComparisonResult.SequenceTable.of(fileIds, fileNames, referenceCount, fileIndexes, rows);
+            job.publishReferenceFile(table);
 
             // 4. 서열별 비교 수행
-            List<Map<String, Object>> sequenceComparisons = performSequenceBySequenceComparison(
-                    referenceSequences, comparisonSequencesMap, comparisonIds);
-            results.put("sequenceComparisons", sequenceComparisons);
+            List<SequenceComparisonResult.ReferenceResult> references = performSequenceBySequenceComparison(
+                    job, table, rows, referenceId, comparisonIds);
 
             // 5. 전체 요약 통계
-            Map<String, Object> summaryStats = calculateSequenceComparisonSummary(sequenceComparisons);
-            results.put("summaryStats", summaryStats);
-
-            return results;
-
+            return SequenceComparisonResult.builder()
+                    .sequences(table)
+                    .references(references)
+                    .summary(SequenceComparisonResult.Summary.of(references))
+                    .build();
+
+        } catch (ComparisonCancelledException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error performing sequence comparison", e);
             throw new RuntimeException("Failed to perform sequence comparison: " + e.getMessage());
         }
     }
 
-    private Map<String, Object> convertSequenceToMap(SequenceData sequence) {
-        Map<String, Object> seqMap = new HashMap<>();
-        seqMap.put("sequenceId", sequence.getSequenceId());
-        seqMap.put("header", sequence.getHeader());
-        seqMap.put("length", sequence.getSequenceLength());
-        seqMap.put("gcContent", sequence.getGcContent());
-        seqMap.put("aCount", sequence.getACount());
-        seqMap.put("tCount", sequence.getTCount());
-        seqMap.put("cCount", sequence.getCCount());
-        seqMap.put("gCount", sequence.getGCount());
-        seqMap.put("nCount", sequence.getNCount());
-        seqMap.put("isValid", sequence.getIsValid());
-        return seqMap;
-    }
-
-    private List<Map<String, Object>> performSequenceBySequenceComparison(
-            List<SequenceData> referenceSequences,
-            Map<String, List<SequenceData>> comparisonSequencesMap,
+    List<SequenceComparisonResult.ReferenceResult> performSequenceBySequenceComparison(
+            ComparisonJob job,
+            SequenceComparisonResult.SequenceTable table,
+            List<SequenceData> rows,
+            String referenceId,
             List<String> comparisonIds) {
 
-        List<Map<String, Object>> sequenceComparisons = new ArrayList<>();
-
-        // 각 기준 서열에 대해
-        for (SequenceData refSeq : referenceSequences) {
-            Map<String, Object> refComparison = new HashMap<>();
-            refComparison.put("referenceSequence", convertSequenceToMap(refSeq));
-            
-            List<Map<String, Object>> matches = new ArrayList<>();
-
-            // 모든 비교 파일의 서열들과 비교
-            List<SequenceMatch> allMatches = new ArrayList<>();
-            
-            for (String comparisonId : comparisonIds) {
-                UploadedFile comparisonFile = uploadedFileRepository.findByFileId(comparisonId);
-                List<SequenceData> comparisonSequences = comparisonSequencesMap.get(comparisonId);
-
-                // 모든 서열과 비교하여 결과 수집
-                for (SequenceData compSeq : comparisonSequences) {
-                    SequenceMatch match = compareSequences(refSeq, compSeq, comparisonId, comparisonFile.getOriginalName());
-                    allMatches.add(match);
+        int referenceCount = table.getReferenceCount();
+        int comparisonCount = rows.size() - referenceCount;
+        List<SequenceComparisonResult.ReferenceResult> references = new ArrayList<>(referenceCount);
+
+        // 비교 서열은 저장된 점수가 없는 쌍에서 처음 필요할 때 한 번만 읽어 두고,
+        // 기준 서열은 차례가 될 때 읽고 버려 힙에는 비교 서열과 기준 서열 하나만 남도록 함
+        // (모든 쌍의 점수가 저장되어 있으면 서열 저장소를 전혀 읽지 않음)
+        byte[][] comparisonBases = new byte[comparisonCount][];
+        boolean[] reverseByComparison = new boolean[comparisonCount];
+
+        // 이전 작업에서 이미 계산된 쌍별 점수는 기준 서열 블록 단위로 조회
+        // (힙에는 블록 하나의 점수만 두므로 전체 기준 × 비교 행렬을 한 번에 올리지 않음)
+        int knownPairBlock = knownPairBlockSize(comparisonCount);
+        Map<Long, Map<Long, SequenceMatchRecord>> knownPairs = Map.of();
+        List<SequenceMatchRecord> pendingRecords = new ArrayList<>();
+        int reusedPairs = 0;
+        int scoredPairs = 0;
+
+        // 각 기준 서열에 대해 (취소/마감은 기준 서열 경계에서 확인)
+        try {
+            for (int ref = 0; ref < referenceCount; ref++) {
+                job.checkCancelled();
+                if (ref % knownPairBlock == 0) {
+                    knownPairs = loadKnownPairs(rows.subList(ref, Math.min(ref + knownPairBlock, referenceCount)),
+                            comparisonIds);
+                }
+                SequenceData refSeq = rows.get(ref);
+                byte[] referenceBases = null;
+                int[] matchIndexes = new int[comparisonCount];
+                double[] scores = new double[comparisonCount];
+
+                // 모든 비교 파일의 서열들과 비교하여 결과 수집
+                for (int m = 0; m < comparisonCount; m++) {
+                    int comp = referenceCount + m;
+                    SequenceData compSeq = rows.get(comp);
+                    SequenceMatchRecord record = findKnownPair(knownPairs, refSeq, compSeq);
+                    if (record != null) {
+                        reusedPairs++;
+                    } else {
+                        if (referenceBases == null) {
+                            referenceBases = sequenceStore.readBases(refSeq);
+                        }
+                        if (comparisonBases[m] == null) {
+                            comparisonBases[m] = sequenceStore.readBases(compSeq);
+                        }
+                        record = scorePair(refSeq, compSeq, referenceBases, comparisonBases[m]);
+                        scoredPairs++;
+                        if (record.getReferenceSequenceId() != null && record.getComparisonSequenceId() != null) {
+                            pendingRecords.add(record);
+                            if (pendingRecords.size() >= MATCH_BATCH_SIZE) {
+                                saveMatchRecords(pendingRecords);
+                            }
+                        }
+                    }
+                    matchIndexes[m] = comp;
+                    scores[m] = record.getExactSimilarityScore();
+                    reverseByComparison[m] = record.isReverseStrand();
+                }
+
+                // 유사도 점수 높은 순으로 정렬
+                sortByScoreDescending(matchIndexes, scores);
+                boolean[] reverseStrands = new boolean[comparisonCount];
+                for (int m = 0; m < comparisonCount; m++) {
+                    reverseStrands[m] = reverseByComparison[matchIndexes[m] - referenceCount];
                 }
+
+                SequenceComparisonResult.ReferenceResult reference = SequenceComparisonResult.ReferenceResult.builder()
+                        .referenceIndex(ref)
+                        .matchIndexes(matchIndexes)
+                        .similarityScores(scores)
+                        .reverseStrands(reverseStrands)
+                        .build();
+                references.add(reference);
+                job.publishReference(reference);
             }
-            
-            // 유사도 점수 높은 순으로 정렬
-            allMatches.sort((a, b) -> Double.compare(b.getSimilarityScore(), a.getSimilarityScore()));
-            
-            // 정렬된 모든 매치를 Map으로 변환
-            List<Map<String, Object>> sortedMatches = allMatches.stream()
-                    .map(this::convertMatchToMap)
-                    .collect(Collectors.toList());
-            
-            refComparison.put("allMatches", sortedMatches);
-            refComparison.put("totalMatches", allMatches.size());
-
-            refComparison.put("matches", matches);
-            sequenceComparisons.add(refComparison);
+        } finally {
+            // 중단되어도 이미 계산한 점수는 저장해 다음 작업에서 재사용
+            saveMatchRecords(pendingRecords);
         }
+        log.info("Pairwise scores - reused: {}, newly scored: {}", reusedPairs, scoredPairs);
 
-        return sequenceComparisons;
+        return references;
     }
 
-    private SequenceMatch findBestMatch(SequenceData referenceSeq, List<SequenceData> comparisonSequences, 
-                                      String comparisonFileId, String comparisonFileName) {
-        SequenceMatch bestMatch = null;
-        double bestSimilarity = -1.0;
-
-        for (SequenceData compSeq : comparisonSequences) {
-            SequenceMatch match = compareSequences(referenceSeq, compSeq, comparisonFileId, comparisonFileName);
-            if (match.getSimilarityScore() > bestSimilarity) {
-                bestSimilarity = match.getSimilarityScore();
-                bestMatch = match;
+    /**
+     * 점수 내림차순 안정 정렬 (같은 점수는 비교 파일/서열 순서 유지)
+     * 박싱 없이 인덱스와 점수 배열을 함께 정렬한다.
+     */
+    static void sortByScoreDescending(int[] indexes, double[] scores) {
+        int n = indexes.length;
+        if (n < 2) {
+            return;
+        }
+        int[] indexBuffer = new int[n];
+        double[] scoreBuffer = new double[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, n);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    if (scores[j] > scores[i]) {
+                        indexBuffer[k] = indexes[j];
+                        scoreBuffer[k++] = scores[j++];
+                    } else {
+                        indexBuffer[k] = indexes[i];
+                        scoreBuffer[k++] = scores[i++];
+                    }
+                }
+                while (i < mid) {
+                    indexBuffer[k] = indexes[i];
+                    scoreBuffer[k++] = scores[i++];
+                }
+                while (j < hi) {
+                    indexBuffer[k] = indexes[j];
+                    scoreBuffer[k++] = scores[j++];
+                }
+                System.arraycopy(indexBuffer, lo, indexes, lo, hi - lo);
+                System.arraycopy(scoreBuffer, lo, scores, lo, hi - lo);
             }
         }
-
-        return bestMatch;
     }
 
-    private SequenceMatch compareSequences(SequenceData refSeq, SequenceData compSeq, 
-                                         String comparisonFileId, String comparisonFileName) {
-        SequenceMatch match = new SequenceMatch();
-        match.setReferenceSequence(refSeq);
-        match.setComparisonSequence(compSeq);
-        match.setComparisonFileId(comparisonFileId);
-        match.setComparisonFileName(comparisonFileName);
-
-        // 길이 차이
-        int lengthDiff = compSeq.getSequenceLength() - refSeq.getSequenceLength();
-        match.setLengthDifference(lengthDiff);
-        match.setLengthRatio(refSeq.getSequenceLength() > 0 ? 
-                (double) compSeq.getSequenceLength() / refSeq.getSequenceLength() : 0.0);
-
-
-        // 염기 조성 차이
-        Map<String, Long> baseCompDiff = new HashMap<>();
-        baseCompDiff.put("A", (compSeq.getACount() != null ? compSeq.getACount() : 0L) - 
-                            (refSeq.getACount() != null ? refSeq.getACount() : 0L));
-        baseCompDiff.put("T", (compSeq.getTCount() != null ? compSeq.getTCount() : 0L) - 
-                            (refSeq.getTCount() != null ? refSeq.getTCount() : 0L));
-        baseCompDiff.put("C", (compSeq.getCCount() != null ? compSeq.getCCount() : 0L) - 
-                            (refSeq.getCCount() != null ? refSeq.getCCount() : 0L));
-        baseCompDiff.put("G", (compSeq.getGCount() != null ? compSeq.getGCount() : 0L) - 
-                            (refSeq.getGCount() != null ? refSeq.getGCount() : 0L));
-        baseCompDiff.put("N", (compSeq.getNCount() != null ? compSeq.getNCount() : 0L) - 
-                            (refSeq.getNCount() != null ? refSeq.getNCount() : 0L));
-        match.setBaseCompositionDifferences(baseCompDiff);
-
-        // 유사도 점수 계산
-        double similarityScore = calculateSequenceSimilarity(refSeq, compSeq);
-        match.setSimilarityScore(similarityScore);
-        match.setSimilarityGrade(getSimilarityGrade(similarityScore));
-
-        return match;
+    static int knownPairBlockSize(int comparisonCount) {
+        return Math.max(1, Math.min(MAX_KNOWN_PAIR_BLOCK, KNOWN_PAIR_BUDGET / Math.max(1, comparisonCount)));
     }
 
-    private double calculateSequenceSimilarity(SequenceData refSeq, SequenceData compSeq) {
-        // 순수 서열 비교만 사용 - 실제 염기 일치도 계산
-        return calculateSequenceMatchPercentage(refSeq.getSequence(), compSeq.getSequence());
-    }
-    
     /**
-     * 실제 서열 문자열을 비교하여 일치하는 염기의 비율을 계산
-     * 예: GCGCGC vs GCAAAA = 2/6 = 33.33%
+     * 기준 서열 블록과 비교 파일들 사이에 저장된 쌍별 점수 (기준 서열 ID → 비교 서열 ID → 점수)
      */
-    private double calculateSequenceMatchPercentage(String refSequence, String compSequence) {
-        if (refSequence == null || compSequence == null || refSequence.isEmpty() || compSequence.isEmpty()) {
-            return 0.0;
+    private Map<Long, Map<Long, SequenceMatchRecord>> loadKnownPairs(List<SequenceData> referenceRows,
+                                                                     List<String> comparisonIds) {
+        List<Long> referenceSequenceIds = referenceRows.stream().map(SequenceData::getId).filter(Objects::nonNull).toList();
+        if (referenceSequenceIds.isEmpty()) {
+            return Map.of();
         }
-        
-        // 두 서열을 대문자로 변환
-        String ref = refSequence.toUpperCase();
-        String comp = compSequence.toUpperCase();
-        
-        // 짧은 길이를 기준으로 비교 (정렬 없이 단순 위치별 비교)
-        int minLength = Math.min(ref.length(), comp.length());
-        int matches = 0;
-        
-        for (int i = 0; i < minLength; i++) {
-            if (ref.charAt(i) == comp.charAt(i)) {
-                matches++;
+        Map<Long, Map<Long, SequenceMatchRecord>> knownPairs = new HashMap<>();
+        try {
+            for (SequenceMatchRecord record
+                    : sequenceMatchRepository.findByReferenceSequenceIds(referenceSequenceIds, comparisonIds)) {
+                knownPairs.computeIfAbsent(record.getReferenceSequenceId(), k -> new HashMap<>())
+                        .put(record.getComparisonSequenceId(), record);
             }
+        } catch (Exception e) {
+            // 저장된 점수를 못 읽어도 전체 계산으로 진행
+            log.warn("Failed to load stored sequence matches for {} reference sequences: {}",
+                    referenceSequenceIds.size(), e.getMessage());
         }
-        
-        // 일치 비율 계산 (긴 서열 길이 기준)
-        int maxLength = Math.max(ref.length(), comp.length());
-        return (double) matches / maxLength * 100.0;
+        return knownPairs;
     }
 
-    private Map<String, Object> convertMatchToMap(SequenceMatch match) {
-        Map<String, Object> matchMap = new HashMap<>();
-        matchMap.put("comparisonSequence", convertSequenceToMap(match.getComparisonSequence()));
-        matchMap.put("comparisonFileId", match.getComparisonFileId());
-        matchMap.put("comparisonFileName", match.getComparisonFileName());
-        matchMap.put("lengthDifference", match.getLengthDifference());
-        matchMap.put("lengthRatio", match.getLengthRatio());
-        matchMap.put("baseCompositionDifferences", match.getBaseCompositionDifferences());
-        matchMap.put("similarityScore", match.getSimilarityScore());
-        matchMap.put("similarityGrade", match.getSimilarityGrade());
-        return matchMap;
+    private SequenceMatchRecord findKnownPair(Map<Long, Map<Long, SequenceMatchRecord>> knownPairs,
+                                              SequenceData refSeq, SequenceData compSeq) {
+        Map<Long, SequenceMatchRecord> byComparison = knownPairs.get(refSeq.getId());
+        SequenceMatchRecord record = byComparison != null ? byComparison.get(compSeq.getId()) : null;
+        // 방향 구분 이전에 저장된 점수는 역상보가 반영되지 않았으므로 다시 계산
+        return record != null && record.getStrand() != null ? record : null;
     }
 
-    private Map<String, Object> calculateSequenceComparisonSummary(List<Map<String, Object>> sequenceComparisons) {
-        Map<String, Object> summary = new HashMap<>();
-        
-        summary.put("totalReferenceSequences", sequenceComparisons.size());
-        
-        // 모든 유사도 점수 수집
-        List<Double> allSimilarityScores = new ArrayList<>();
-        int totalComparisons = 0;
-        
-        for (Map<String, Object> seqComp : sequenceComparisons) {
-            List<Map<String, Object>> allMatches = (List<Map<String, Object>>) seqComp.get("allMatches");
-            if (allMatches != null) {
-                totalComparisons += allMatches.size();
-                for (Map<String, Object> match : allMatches) {
-                    Double similarityScore = (Double) match.get("similarityScore");
-                    if (similarityScore != null) {
-                        allSimilarityScores.add(similarityScore);
-                    }
-                }
-            }
+    private void saveMatchRecords(List<SequenceMatchRecord> pendingRecords) {
+        if (pendingRecords.isEmpty()) {
+            return;
         }
-        
-        if (!allSimilarityScores.isEmpty()) {
-            double avgSimilarity = allSimilarityScores.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-            double maxSimilarity = allSimilarityScores.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
-            double minSimilarity = allSimilarityScores.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
-            
-            summary.put("averageSimilarity", avgSimilarity);
-            summary.put("maxSimilarity", maxSimilarity);
-            summary.put("minSimilarity", minSimilarity);
-            summary.put("totalComparisons", totalComparisons);
-            
-            // 유사도 구간별 분포
-            Map<String, Integer> similarityDistribution = new HashMap<>();
-            similarityDistribution.put("very_high", (int) allSimilarityScores.stream().filter(s -> s >= 90).count());
-            similarityDistribution.put("high", (int) allSimilarityScores.stream().filter(s -> s >= 75 && s < 90).count());
-            similarityDistribution.put("medium", (int) allSimilarityScores.stream().filter(s -> s >= 60 && s < 75).count());
-            similarityDistribution.put("low", (int) allSimilarityScores.stream().filter(s -> s >= 40 && s < 60).count());
-            similarityDistribution.put("very_low", (int) allSimilarityScores.stream().filter(s -> s < 40).count());
-            
-            summary.put("similarityDistribution", similarityDistribution);
-        } else {
-            summary.put("averageSimilarity", 0.0);
-            summary.put("maxSimilarity", 0.0);
-            summary.put("minSimilarity", 0.0);
-            summary.put("totalComparisons", 0);
-            summary.put("similarityDistribution", Map.of("very_high", 0, "high", 0, "medium", 0, "low", 0, "very_low", 0));
+        try {
+            sequenceMatchRepository.insertMatchBatch(pendingRecords);
+        } catch (Exception e) {
+            // 저장 실패는 이번 결과에 영향을 주지 않음 (다음 작업에서 다시 계산됨)
+            log.warn("Failed to save {} sequence matches: {}", pendingRecords.size(), e.getMessage());
         }
-        
-        return summary;
+        pendingRecords.clear();
     }
 
-    private Map<String, Object> calculateSequenceDifferences(
-            Map<String, Object> referenceAnalysis, Map<String, Object> comparisonAnalysis) {
-        
-        Map<String, Object> differences = new HashMap<>();
-
-        // 서열 수 차이
-        int refSeqCount = (Integer) referenceAnalysis.get("totalSequences");
-        int compSeqCount = (Integer) comparisonAnalysis.get("totalSequences");
-        differences.put("sequenceCountDiff", compSeqCount - refSeqCount);
-        differences.put("sequenceCountRatio", refSeqCount > 0 ? (double) compSeqCount / refSeqCount : 0.0);
-
-        // 총 길이 차이
-        long refTotalLength = (Long) referenceAnalysis.get("totalLength");
-        long compTotalLength = (Long) comparisonAnalysis.get("totalLength");
-        differences.put("totalLengthDiff", compTotalLength - refTotalLength);
-        differences.put("totalLengthRatio", refTotalLength > 0 ? (double) compTotalLength / refTotalLength : 0.0);
-
-        // 평균 길이 차이
-        double refAvgLength = (Double) referenceAnalysis.get("averageLength");
-        double compAvgLength = (Double) comparisonAnalysis.get("averageLength");
-        differences.put("averageLengthDiff", compAvgLength - refAvgLength);
-        differences.put("averageLengthRatio", refAvgLength > 0 ? compAvgLength / refAvgLength : 0.0);
-
-        // GC 함량 차이
-        double refGcContent = (Double) referenceAnalysis.get("averageGcContent");
-        double compGcContent = (Double) comparisonAnalysis.get("averageGcContent");
-        differences.put("gcContentDiff", compGcContent - refGcContent);
-
-
-        // 염기 조성 차이
-        Map<String, Object> refBaseComp = (Map<String, Object>) referenceAnalysis.get("baseComposition");
-        Map<String, Object> compBaseComp = (Map<String, Object>) comparisonAnalysis.get("baseComposition");
-        
-        Map<String, Object> baseCompDiff = new HashMap<>();
-        for (String base : Arrays.asList("A", "T", "C", "G", "N")) {
-            long refCount = (Long) refBaseComp.get(base);
-            long compCount = (Long) compBaseComp.get(base);
-            baseCompDiff.put(base + "Diff", compCount - refCount);
-            baseCompDiff.put(base + "Ratio", refCount > 0 ? (double) compCount / refCount : 0.0);
-        }
-        differences.put("baseCompositionDiff", baseCompDiff);
-
-        // 차이 등급 계산 (유사도 점수)
-        double similarityScore = calculateSimilarityScore(differences);
-        differences.put("similarityScore", similarityScore);
-        differences.put("similarityGrade", getSimilarityGrade(similarityScore));
-
-        return differences;
+    /**
+     * 서열 쌍의 점수를 계산하여 sequence_matches 저장 형식으로 반환
+     * 점수는 같은 위치에서 일치하는 염기의 비율 (긴 서열 길이 기준)이며,
+     * 정방향과 역상보 방향을 함께 계산하여 더 높은 쪽을 사용 (같으면 정방향)
+     * 예: GCGCGC vs GCAAAA = 2/6 = 33.33%
+     */
+    static SequenceMatchRecord scorePair(SequenceData refSeq, SequenceData compSeq, byte[] ref, byte[] comp) {
+        int refLength = ref.length;
+        int compLength = comp.length;
+        long strandMatches = DNASequenceUtils.countStrandMatches(ref, comp);
+        int forward = DNASequenceUtils.forwardMatches(strandMatches);
+        int reverse = DNASequenceUtils.reverseMatches(strandMatches);
+        boolean reverseStrand = reverse > forward;
+        int matches = reverseStrand ? reverse : forward;
+        int maxLength = Math.max(refLength, compLength);
+        double score = refLength > 0 && compLength > 0 ? (double) matches / maxLength * 100.0 : 0.0;
+
+        return SequenceMatchRecord.builder()
+                .referenceSequenceId(refSeq.getId())
+                .comparisonSequenceId(compSeq.getId())
+                .similarityScore(Math.round(score * 100.0) / 100.0)
+                .alignmentLength(maxLength)
+                .matchCount(matches)
+                .mismatchCount(Math.min(refLength, compLength) - matches)
+                .gapCount(Math.abs(refLength - compLength))
+                .strand(reverseStrand ? SequenceMatchRecord.REVERSE_STRAND : SequenceMatchRecord.FORWARD_STRAND)
+                .build();
     }
 
-    private double calculateSimilarityScore(Map<String, Object> differences) {
-        double score = 100.0; // 최대 점수에서 시작
-
-        // 서열 수 비율에 따른 점수 차감
-        double seqCountRatio = (Double) differences.get("sequenceCountRatio");
-        score -= Math.abs(1.0 - seqCountRatio) * 20;
-
-        // 평균 길이 비율에 따른 점수 차감
-        double avgLengthRatio = (Double) differences.get("averageLengthRatio");
-        score -= Math.abs(1.0 - avgLengthRatio) * 20;
-
-        // GC 함량 차이에 따른 점수 차감
-        double gcContentDiff = (Double) differences.get("gcContentDiff");
-        score -= Math.abs(gcContentDiff) * 2;
-
-
-        return Math.max(0, Math.min(100, score));
-    }
+    /**
+     * 진행 중인 비교 작업 취소 요청
+     * 점수 계산 루프가 다음 기준 서열/구역 경계에서 멈추며, 끝난 기준 서열은 부분 결과로 남는다.
+     * @return 취소할 작업이 있었으면 true
+     */
+    public boolean cancelComparison(String referenceId, List<String> comparisonIds) {
+        String cacheKey = generateCacheKey(referenceId, comparisonIds);
+        boolean cancelled = false;
 
-    private String getSimilarityGrade(double score) {
-        if (score >= 90) return "매우 유사";
-        else if (score >= 75) return "유사";
-        else if (score >= 60) return "보통";
-        else if (score >= 40) return "다소 다름";
-        else return "매우 다름";
+        ComparisonJob job = runningTasks.get(cacheKey);
+        if (job != null && !job.getFuture().isDone()) {
+            job.cancel("cancelled by user");
+            cancelled = true;
+        }
+        // 다른 인스턴스가 코디네이터인 분산 작업도 DB를 통해 취소
+        if (workQueue.isEnabled() && workQueue.cancel(cacheKey, "cancelled by user")) {
+            cancelled = true;
+        }
+        log.info("Cancel requested for {} - running job found: {}", cacheKey, cancelled);
+        return cancelled;
     }
 
-    private Map<String, Object> calculateOverallComparisonStats(
-            Map<String, Object> referenceAnalysis, Collection<Map<String, Object>> comparisonAnalyses) {
-        
-        Map<String, Object> overallStats = new HashMap<>();
-
-        // 비교 파일 수
-        overallStats.put("comparisonFileCount", comparisonAnalyses.size());
-
-        // 전체 서열 수 통계
-        List<Integer> allSeqCounts = comparisonAnalyses.stream()
-                .map(analysis -> (Integer) analysis.get("totalSequences"))
-                .collect(Collectors.toList());
-        
-        overallStats.put("totalSequencesStats", Map.of(
-                "min", allSeqCounts.stream().min(Integer::compareTo).orElse(0),
-                "max", allSeqCounts.stream().max(Integer::compareTo).orElse(0),
-                "average", allSeqCounts.stream().mapToDouble(Integer::doubleValue).average().orElse(0.0)
-        ));
-
-        // 전체 길이 통계
-        List<Long> allTotalLengths = comparisonAnalyses.stream()
-                .map(analysis -> (Long) analysis.get("totalLength"))
-                .collect(Collectors.toList());
-        
-        overallStats.put("totalLengthStats", Map.of(
-                "min", allTotalLengths.stream().min(Long::compareTo).orElse(0L),
-                "max", allTotalLengths.stream().max(Long::compareTo).orElse(0L),
-                "average", allTotalLengths.stream().mapToDouble(Long::doubleValue).average().orElse(0.0)
-        ));
-
-        // GC 함량 통계
-        List<Double> allGcContents = comparisonAnalyses.stream()
-                .map(analysis -> (Double) analysis.get("averageGcContent"))
-                .collect(Collectors.toList());
-        
-        overallStats.put("gcContentStats", Map.of(
-                "min", allGcContents.stream().min(Double::compareTo).orElse(0.0),
-                "max", allGcContents.stream().max(Double::compareTo).orElse(0.0),
-                "average", allGcContents.stream().mapToDouble(Double::doubleValue).average().orElse(0.0)
-        ));
-
-        return overallStats;
+    public SequenceComparisonResult getComparisonResults(String referenceId, List<String> comparisonIds) {
+        return getComparisonResults(referenceId, comparisonIds, false);
     }
 
-    public Map<String, Object> getComparisonResults(String referenceId, List<String> comparisonIds) {
+    /**
+     * @param includePartial 전체 결과가 없으면 진행 중이거나 중단된 작업의 부분 결과라도 반환
+     */
+    public SequenceComparisonResult getComparisonResults(String referenceId, List<String> comparisonIds,
+                                                         boolean includePartial) {
         log.info("=== 서비스: getComparisonResults ===");
         log.info("참조 ID: {}", referenceId);
         log.info("비교 IDs: {}", comparisonIds);
         
         String cacheKey = generateCacheKey(referenceId, comparisonIds);
         log.info("생성된 캐시 키: {}", cacheKey);
-        log.info("사용 가능한 캐시 키들: {}", resultCache.keySet());
+        log.info("캐시 항목 수: {}", resultCache.size());
         
         // 먼저 캐시에서 결과 확인
-        Map<String, Object> result = resultCache.get(cacheKey);
+        SequenceComparisonResult result = resultCache.get(cacheKey);
         if (result != null) {
             log.info("캐시에서 결과 발견");
             return result;
         }
         
         // 진행 중인 작업이 있는지 확인
-        CompletableFuture<Map<String, Object>> runningTask = runningTasks.get(cacheKey);
-        if (runningTask != null) {
+        ComparisonJob runningJob = runningTasks.get(cacheKey);
+        if (runningJob != null) {
+            CompletableFuture<SequenceComparisonResult> runningTask = runningJob.getFuture();
             if (runningTask.isDone()) {
                 try {
                     if (runningTask.isCompletedExceptionally()) {
@@ -531,7 +525,7 @@ public class SequenceComparisonService {
                         runningTasks.remove(cacheKey); // 실패한 작업 제거
                         return null;
                     } else {
-                        Map<String, Object> taskResult = runningTask.get();
+                        SequenceComparisonResult taskResult = runningTask.get();
                         log.info("비동기 작업이 방금 완료됨, 결과 반환");
                         return taskResult;
                     }
@@ -542,7 +536,22 @@ public class SequenceComparisonService {
                 }
             } else {
                 log.info("작업이 여전히 진행 중입니다");
-                return null;
+                return includePartial ? runningJob.partialResult() : null;
+            }
+        }
+        
+        // 다른 인스턴스에서 끝난 분산 작업이면 저장된 점수로 이 인스턴스에서 결과를 합치기 시작
+        if (workQueue.isEnabled() && workQueue.isCompletedElsewhere(cacheKey)) {
+            log.info("다른 인스턴스에서 완료된 작업, 저장된 점수로 결과 구성 시작");
+            compareSequences(referenceId, comparisonIds);
+            return null;
+        }
+        
+        if (includePartial) {
+            SequenceComparisonResult partial = resultCache.get(partialCacheKey(cacheKey));
+            if (partial != null) {
+                log.info("중단된 작업의 부분 결과 반환");
+                return partial;
             }
         }
         
@@ -550,9 +559,51 @@ public class SequenceComparisonService {
         return null;
     }
 
+    public BoundedResultCache.CacheStats getCacheStats() {
+        return resultCache.stats();
+    }
+
+    /**
+     * 비교할 서열 쌍 수 추정값 (기준 파일 서열 수 × 비교 파일 서열 수 합)
+     * 아직 분석되지 않은 파일은 업로드 크기를 서열당 평균 바이트로 나눈 값으로 어림한다.
+     */
+    public long estimatePairCount(String referenceId, List<String> comparisonIds) {
+        List<String> allFileIds = new ArrayList<>(new LinkedHashSet<>(comparisonIds));
+        allFileIds.add(referenceId);
+        Map<String, Long> counts = new HashMap<>();
+        for (Map<String, Object> row : sequenceRepository.countByFileIds(allFileIds)) {
+            if (row.get("sequenceCount") instanceof Number number && number.longValue() > 0) {
+                counts.put((String) row.get("fileId"), number.longValue());
+            }
+        }
+        List<String> unanalyzed = allFileIds.stream().filter(fileId -> !counts.containsKey(fileId)).toList();
+        if (!unanalyzed.isEmpty()) {
+            for (UploadedFile file : uploadedFileRepository.findByFileIds(unanalyzed)) {
+                long size = file.getFileSize() != null ? file.getFileSize() : 0L;
+                counts.put(file.getFileId(), Math.max(1, size / ESTIMATED_BYTES_PER_SEQUENCE));
+            }
+        }
+        long comparisonSequences = 0;
+        for (String fileId : new LinkedHashSet<>(comparisonIds)) {
+            comparisonSequences += counts.getOrDefault(fileId, 0L);
+        }
+        return counts.getOrDefault(referenceId, 0L) * comparisonSequences;
+    }
+
+    /**
+     * 완료된 비교 결과 본문의 해시 (결과가 아직 없거나 부분 결과뿐이면 null)
+     */
+    public String getResultHash(String referenceId, List<String> comparisonIds) {
+        return resultCache.contentHash(generateCacheKey(referenceId, comparisonIds));
+    }
+
     private String generateCacheKey(String referenceId, List<String> comparisonIds) {
         List<String> sortedIds = new ArrayList<>(comparisonIds);
         Collections.sort(sortedIds);
         return referenceId + "_" + String.join("_", sortedIds);
     }
+
+    private static String partialCacheKey(String cacheKey) {
+        return cacheKey + "#partial";
+    }
 }
\ No newline at end of file
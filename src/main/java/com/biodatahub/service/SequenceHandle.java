@@ -0,0 +1,57 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.SequenceSummary;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 서열 메타데이터와, 처음 사용할 때 한 번만 읽어 오는 서열 본문
+ * 여러 스레드에서 동시에 처음 읽으면 중복으로 읽을 수 있지만 결과는 같다.
+ */
+public final class SequenceHandle {
+
+    private final SequenceSummary summary;
+    private final SequenceStore store;
+    private volatile byte[] bases;
+
+    SequenceHandle(SequenceSummary summary, SequenceStore store) {
+        this.summary = summary;
+        this.store = store;
+    }
+
+    public SequenceSummary getSummary() {
+        return summary;
+    }
+
+    public Long getId() {
+        return summary.getId();
+    }
+
+    public boolean isLoaded() {
+        return bases != null;
+    }
+
+    /**
+     * 대문자 염기 바이트 (처음 호출할 때 저장소에서 읽음)
+     */
+    public byte[] getBases() {
+        byte[] loaded = bases;
+        if (loaded == null) {
+            loaded = store.readBases(summary.getId(), summary.getSequenceSegment(),
+                    summary.getSequenceOffset(), summary.getSequenceBytes());
+            bases = loaded;
+        }
+        return loaded;
+    }
+
+    public String getSequence() {
+        return new String(getBases(), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 읽어 둔 서열 본문을 버림 (다음 getBases 호출 때 다시 읽음)
+     */
+    public void release() {
+        bases = null;
+    }
+}
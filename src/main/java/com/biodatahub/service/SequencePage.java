@@ -0,0 +1,82 @@
+package com.biodatahub.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * keyset 페이지 조회 결과 한 페이지
+ * nextCursor는 마지막 행의 (정렬 값, id)를 base64url로 감싼 값이며, 다음 페이지가 없으면 null이다.
+ */
+public final class SequencePage {
+
+    public static final String SORT_ID = "id";
+    public static final String SORT_LENGTH = "length";
+    public static final String SORT_GC = "gc";
+
+    private final List<SequenceHandle> handles;
+    private final String sort;
+    private final boolean descending;
+    private final String nextCursor;
+
+    SequencePage(List<SequenceHandle> handles, String sort, boolean descending, String nextCursor) {
+        this.handles = handles;
+        this.sort = sort;
+        this.descending = descending;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<SequenceHandle> getHandles() {
+        return handles;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * 정렬 값과 id로 커서 문자열을 만듦 (id 정렬이면 value는 null)
+     */
+    static String encodeCursor(BigDecimal value, long id) {
+        String raw = (value != null ? value.toPlainString() : "") + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 커서 문자열을 [정렬 값, id]로 해석
+     * @throws IllegalArgumentException 형식이 잘못된 커서
+     */
+    static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = raw.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            BigDecimal value = separator == 0 ? null : new BigDecimal(raw.substring(0, separator));
+            return new Cursor(value, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            // Base64/숫자 형식 오류 (NumberFormatException 포함)
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    static final class Cursor {
+        final BigDecimal value;
+        final long id;
+
+        Cursor(BigDecimal value, long id) {
+            this.value = value;
+            this.id = id;
+        }
+    }
+}
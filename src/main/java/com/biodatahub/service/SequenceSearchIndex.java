@@ -0,0 +1,372 @@
+package com.biodatahub.service;
+
+import com.biodatahub.util.MinimizerSegment;
+import com.biodatahub.util.MinimizerSketcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * 업로드된 모든 파일의 서열에 대한 minimizer 역색인 (minimizer → (서열 id, 위치, 방향))
+ *
+ * - 파일을 분석할 때마다 해당 파일의 posting을 새 세그먼트 파일로 추가 (기존 세그먼트는 수정하지 않음)
+ * - 세그먼트는 MinimizerSegment 형식으로 로컬 디스크에 저장되고 메모리 매핑으로 읽는다.
+ * - 세그먼트 수가 max-segments를 넘으면 작은 세그먼트부터 병합하여 조회할 세그먼트 수를 일정하게 유지
+ * - 어떤 세그먼트가 있는지와 색인된 파일 목록은 manifest.json에 기록 (원자적 교체)
+ *
+ * 검색은 질의 서열의 minimizer마다 각 세그먼트를 이진 탐색하고, 전체 posting이 max-occurrences를 넘는
+ * 반복 minimizer는 건너뛰므로 비용이 전체 서열 수가 아니라 질의 길이에 비례한다.
+ * 찾은 hit는 (서열, 방향)별로 대각선(정방향: 대상 위치 - 질의 위치, 역방향: 대상 위치 + 질의 위치)에
+ * 모은 뒤, band 폭 안에 가장 많은 hit가 모인 대각선의 hit 수로 후보를 정렬한다.
+ */
+@Component
+@Slf4j
+public class SequenceSearchIndex {
+
+    private static final String MANIFEST_FILE = "manifest.json";
+
+    private final ObjectMapper objectMapper;
+    private final Path indexDir;
+    private final MinimizerSketcher sketcher;
+    private final int maxOccurrences;
+    private final int maxSegments;
+    private final int flushPostings;
+    private final int bandWidth;
+
+    private Manifest manifest;
+    // 검색 스레드는 잠금 없이 현재 세그먼트 목록(불변 리스트)을 읽는다
+    private volatile List<MinimizerSegment> segments = List.of();
+
+    public SequenceSearchIndex(
+            ObjectMapper objectMapper,
+            @Value("${biodatahub.search.index-dir:temp/search-index}") String indexDir,
+            @Value("${biodatahub.search.k:15}") int k,
+            @Value("${biodatahub.search.w:10}") int w,
+            @Value("${biodatahub.search.max-occurrences:1000}") int maxOccurrences,
+            @Value("${biodatahub.search.max-segments:8}") int maxSegments,
+            @Value("${biodatahub.search.flush-postings:4000000}") int flushPostings,
+            @Value("${biodatahub.search.band-width:64}") int bandWidth) throws IOException {
+        this.objectMapper = objectMapper;
+        this.indexDir = Paths.get(indexDir);
+        this.sketcher = new MinimizerSketcher(k, w);
+        this.maxOccurrences = Math.max(1, maxOccurrences);
+        this.maxSegments = Math.max(2, maxSegments);
+        this.flushPostings = Math.max(1024, flushPostings);
+        this.bandWidth = Math.max(0, bandWidth);
+        load();
+    }
+
+    /**
+     * 파일 하나의 서열을 색인 (이미 색인된 파일이면 무시)
+     * @param sequenceIds 서열 DB id (sequences와 같은 순서)
+     * @param sequences   대문자 염기 서열
+     */
+    public synchronized void indexFile(String fileId, long[] sequenceIds, List<byte[]> sequences) throws IOException {
+        if (manifest.getIndexedFileIds().contains(fileId)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<String> added = new ArrayList<>();
+        MinimizerSegment.Builder builder = new MinimizerSegment.Builder(sketcher.getK(), sketcher.getW());
+        for (int i = 0; i < sequences.size(); i++) {
+            long sequenceId = sequenceIds[i];
+            sketcher.sketch(sequences.get(i), (hash, pos, reverse) -> builder.add(hash, sequenceId, pos, reverse));
+            // 세그먼트 하나가 너무 커지지 않도록 서열 경계에서 나누어 기록
+            if (builder.size() >= flushPostings) {
+                added.add(writeSegment(builder));
+                builder.clear();
+            }
+        }
+        if (!builder.isEmpty()) {
+            added.add(writeSegment(builder));
+        }
+
+        List<String> names = new ArrayList<>(manifest.getSegments());
+        names.addAll(added);
+        Set<String> indexedFileIds = new LinkedHashSet<>(manifest.getIndexedFileIds());
+        indexedFileIds.add(fileId);
+        publish(names, indexedFileIds);
+        log.info("Indexed file {} for search: {} sequences, {} new segment(s) in {}ms",
+                fileId, sequences.size(), added.size(), System.currentTimeMillis() - start);
+
+        if (segments.size() > maxSegments) {
+            compact();
+        }
+    }
+
+    public synchronized boolean isIndexed(String fileId) {
+        return manifest.getIndexedFileIds().contains(fileId);
+    }
+
+    /**
+     * 작은 세그먼트부터 posting 상한 안에서 모아 하나로 병합
+     */
+    public synchronized void compact() throws IOException {
+        List<MinimizerSegment> current = segments;
+        List<MinimizerSegment> bySize = new ArrayList<>(current);
+        bySize.sort(Comparator.comparingLong(MinimizerSegment::getPostingCount));
+        Set<MinimizerSegment> selected = new HashSet<>();
+        long postings = 0;
+        for (MinimizerSegment segment : bySize) {
+            if (selected.size() >= 2 && current.size() - selected.size() + 1 <= maxSegments / 2) {
+                break;
+            }
+            if (postings + segment.getPostingCount() > MinimizerSegment.MAX_POSTINGS) {
+                break;
+            }
+            selected.add(segment);
+            postings += segment.getPostingCount();
+        }
+        if (selected.size() < 2) {
+            return;
+        }
+
+        // posting 순서가 색인 순서를 따르도록 원래 순서대로 병합
+        List<MinimizerSegment> inputs = current.stream().filter(selected::contains).toList();
+        long start = System.currentTimeMillis();
+        String mergedName = nextSegmentName();
+        MinimizerSegment.merge(inputs, indexDir.resolve(mergedName));
+
+        List<String> names = new ArrayList<>();
+        boolean mergedAdded = false;
+        for (MinimizerSegment segment : current) {
+            if (!selected.contains(segment)) {
+                names.add(segment.getPath().getFileName().toString());
+            } else if (!mergedAdded) {
+                names.add(mergedName);
+                mergedAdded = true;
+            }
+        }
+        publish(names, manifest.getIndexedFileIds());
+        // 이전 스냅샷으로 검색 중인 스레드는 매핑이 유지되므로 파일을 바로 지워도 된다
+        for (MinimizerSegment segment : inputs) {
+            Files.deleteIfExists(segment.getPath());
+        }
+        log.info("Compacted {} search index segments ({} postings) in {}ms",
+                inputs.size(), postings, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 질의 서열과 같은 대각선에 hit가 많이 모인 순으로 후보 서열을 반환
+     * @param query    대문자 염기 서열
+     * @param minHits  후보로 인정할 최소 hit 수
+     */
+    public SearchResult search(byte[] query, int limit, int minHits) {
+        List<MinimizerSegment> snapshot = segments;
+        List<int[]> queryMinimizers = new ArrayList<>();
+        sketcher.sketch(query, (hash, pos, reverse) -> queryMinimizers.add(new int[]{hash, pos, reverse ? 1 : 0}));
+
+        Map<Long, DiagonalList> hits = new HashMap<>();
+        int skippedRepeats = 0;
+        int[] keys = new int[snapshot.size()];
+        for (int[] minimizer : queryMinimizers) {
+            int hash = minimizer[0];
+            long total = 0;
+            for (int s = 0; s < snapshot.size(); s++) {
+                keys[s] = snapshot.get(s).findKey(hash);
+                if (keys[s] >= 0) {
+                    total += snapshot.get(s).postingCount(keys[s]);
+                }
+            }
+            if (total > maxOccurrences) {
+                skippedRepeats++;
+                continue;
+            }
+            for (int s = 0; s < snapshot.size(); s++) {
+                if (keys[s] < 0) {
+                    continue;
+                }
+                MinimizerSegment segment = snapshot.get(s);
+                long offset = segment.postingOffset(keys[s]);
+                long end = offset + segment.postingCount(keys[s]);
+                for (long p = offset; p < end; p++) {
+                    int packed = segment.packedPosition(p);
+                    boolean opposite = MinimizerSegment.isReverse(packed) != (minimizer[2] == 1);
+                    int targetPos = MinimizerSegment.position(packed);
+                    int diagonal = opposite ? targetPos + minimizer[1] : targetPos - minimizer[1];
+                    long candidate = (segment.sequenceId(p) << 1) | (opposite ? 1 : 0);
+                    hits.computeIfAbsent(candidate, key -> new DiagonalList()).add(diagonal);
+                }
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (Map.Entry<Long, DiagonalList> entry : hits.entrySet()) {
+            DiagonalList diagonals = entry.getValue();
+            if (diagonals.size < minHits) {
+                continue;
+            }
+            Candidate candidate = diagonals.bestBand(entry.getKey() >> 1, (entry.getKey() & 1) == 1, bandWidth);
+            if (candidate.getHits() >= minHits) {
+                candidates.add(candidate);
+            }
+        }
+        candidates.sort(Comparator.comparingInt(Candidate::getHits).reversed()
+                .thenComparingLong(Candidate::getSequenceId));
+        if (candidates.size() > limit) {
+            candidates = new ArrayList<>(candidates.subList(0, limit));
+        }
+        return new SearchResult(queryMinimizers.size(), skippedRepeats, snapshot.size(), candidates);
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        long postings = 0;
+        long bytes = 0;
+        for (MinimizerSegment segment : segments) {
+            postings += segment.getPostingCount();
+            bytes += segment.getSizeBytes();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("k", sketcher.getK());
+        stats.put("w", sketcher.getW());
+        stats.put("indexedFiles", manifest.getIndexedFileIds().size());
+        stats.put("segments", segments.size());
+        stats.put("postings", postings);
+        stats.put("bytes", bytes);
+        return stats;
+    }
+
+    private String writeSegment(MinimizerSegment.Builder builder) throws IOException {
+        String name = nextSegmentName();
+        builder.write(indexDir.resolve(name));
+        return name;
+    }
+
+    private String nextSegmentName() {
+        long number = manifest.getNextSegment();
+        manifest.setNextSegment(number + 1);
+        return String.format("segment-%08d.mmx", number);
+    }
+
+    /**
+     * 세그먼트를 연 뒤 manifest를 원자적으로 교체하고 검색용 세그먼트 목록을 바꾼다
+     */
+    private void publish(List<String> names, Set<String> indexedFileIds) throws IOException {
+        Map<String, MinimizerSegment> opened = new HashMap<>();
+        for (MinimizerSegment segment : segments) {
+            opened.put(segment.getPath().getFileName().toString(), segment);
+        }
+        List<MinimizerSegment> next = new ArrayList<>();
+        for (String name : names) {
+            MinimizerSegment segment = opened.get(name);
+            next.add(segment != null ? segment : MinimizerSegment.open(indexDir.resolve(name)));
+        }
+
+        Manifest updated = new Manifest(sketcher.getK(), sketcher.getW(), manifest.getNextSegment(),
+                new ArrayList<>(names), new LinkedHashSet<>(indexedFileIds));
+        Path temp = indexDir.resolve(MANIFEST_FILE + ".tmp");
+        objectMapper.writeValue(temp.toFile(), updated);
+        Files.move(temp, indexDir.resolve(MANIFEST_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        manifest = updated;
+        segments = List.copyOf(next);
+    }
+
+    private void load() throws IOException {
+        Files.createDirectories(indexDir);
+        Path manifestPath = indexDir.resolve(MANIFEST_FILE);
+        manifest = new Manifest(sketcher.getK(), sketcher.getW(), 1, new ArrayList<>(), new LinkedHashSet<>());
+        if (!Files.exists(manifestPath)) {
+            return;
+        }
+
+        Manifest stored = objectMapper.readValue(manifestPath.toFile(), Manifest.class);
+        if (stored.getK() != sketcher.getK() || stored.getW() != sketcher.getW()) {
+            // (k, w)가 바뀌면 기존 posting을 쓸 수 없으므로 비우고 파일을 다시 분석할 때 새로 색인
+            log.warn("Search index was built with k={}, w={}; discarding it for k={}, w={}",
+                    stored.getK(), stored.getW(), sketcher.getK(), sketcher.getW());
+            for (String name : stored.getSegments()) {
+                Files.deleteIfExists(indexDir.resolve(name));
+            }
+            manifest.setNextSegment(stored.getNextSegment());
+            publish(List.of(), Set.of());
+            return;
+        }
+
+        List<MinimizerSegment> loaded = new ArrayList<>();
+        for (String name : stored.getSegments()) {
+            loaded.add(MinimizerSegment.open(indexDir.resolve(name)));
+        }
+        manifest = stored;
+        segments = List.copyOf(loaded);
+        log.info("Loaded search index: {} files, {} segments", stored.getIndexedFileIds().size(), loaded.size());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Manifest {
+        private int k;
+        private int w;
+        private long nextSegment;
+        private List<String> segments;
+        private Set<String> indexedFileIds;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        // 질의 서열의 minimizer 수와 반복 minimizer로 건너뛴 수
+        private final int queryMinimizers;
+        private final int skippedRepeats;
+        private final int segmentsSearched;
+        private final List<Candidate> candidates;
+    }
+
+    /**
+     * 후보 서열 하나: 가장 hit가 많이 모인 대각선 band의 hit 수와 그 band의 대표 대각선
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Candidate {
+        private final long sequenceId;
+        private final boolean reverse;
+        private final int hits;
+        private final int diagonal;
+    }
+
+    /**
+     * 후보 서열 하나의 hit 대각선 목록
+     */
+    static class DiagonalList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int diagonal) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = diagonal;
+        }
+
+        /**
+         * 정렬한 대각선에서 폭이 bandWidth 이하인 구간 중 hit가 가장 많은 구간 (sliding window)
+         */
+        Candidate bestBand(long sequenceId, boolean reverse, int bandWidth) {
+            Arrays.sort(values, 0, size);
+            int bestHits = 0;
+            int bestStart = 0;
+            int bestEnd = 0;
+            for (int lo = 0, hi = 0; hi < size; hi++) {
+                while (values[hi] - values[lo] > bandWidth) {
+                    lo++;
+                }
+                if (hi - lo + 1 > bestHits) {
+                    bestHits = hi - lo + 1;
+                    bestStart = lo;
+                    bestEnd = hi;
+                }
+            }
+            return new Candidate(sequenceId, reverse, bestHits, values[(bestStart + bestEnd) >>> 1]);
+        }
+    }
+}
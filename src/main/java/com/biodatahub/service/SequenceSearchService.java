@@ -0,0 +1,235 @@
+package com.biodatahub.service;
+
+import com.biodatahub.common.DataSourceWorkload;
+import com.biodatahub.dto.SequenceSearchResult;
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.SequenceMatchRecord;
+import com.biodatahub.model.SequenceSummary;
+import com.biodatahub.model.UploadedFile;
+import com.biodatahub.repository.AnalysisResultRepository;
+import com.biodatahub.repository.SequenceRepository;
+import com.biodatahub.repository.UploadedFileRepository;
+import com.biodatahub.util.DNASequenceUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 질의 서열로 업로드된 전체 파일에서 비슷한 서열 검색
+ * 색인은 SequenceAnalysisService가 파일을 분석할 때 indexSequences로 추가되며,
+ * 색인 기능 도입 이전에 분석된 파일은 indexMissingFiles로 한 번에 색인할 수 있다.
+ *
+ * 색인(biodatahub.search.index-dir)은 인스턴스마다 로컬 디스크에 따로 있으므로, 다른 인스턴스가 분석한 파일은
+ * 시작할 때와 backfill-interval-seconds마다 도는 백그라운드 색인으로 이 인스턴스의 색인에도 추가된다.
+ * 백그라운드 색인은 통계가 저장된(분석이 끝난) 파일만 대상으로 하여, 다른 인스턴스가 적재 중인 파일을
+ * 일부만 색인하지 않도록 한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceSearchService {
+
+    private final SequenceSearchIndex searchIndex;
+    private final SequenceRepository sequenceRepository;
+    private final UploadedFileRepository uploadedFileRepository;
+    private final SequenceStore sequenceStore;
+    private final AnalysisResultRepository analysisResultRepository;
+
+    @Value("${biodatahub.search.min-hits:2}")
+    private int minHits = 2;
+
+    // 다른 인스턴스가 분석한 파일을 로컬 색인에 추가하는 주기 (0 이하면 백그라운드 색인 안 함)
+    @Value("${biodatahub.search.backfill-interval-seconds:300}")
+    private long backfillIntervalSeconds = 300;
+
+    private volatile Thread backfillThread;
+
+    @PostConstruct
+    public void startBackfill() {
+        if (backfillIntervalSeconds <= 0) {
+            return;
+        }
+        Thread thread = new Thread(this::backfillLoop, "biodatahub-search-backfill");
+        thread.setDaemon(true);
+        thread.start();
+        backfillThread = thread;
+    }
+
+    @PreDestroy
+    public void stopBackfill() {
+        Thread thread = backfillThread;
+        backfillThread = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void backfillLoop() {
+        while (backfillThread == Thread.currentThread()) {
+            try (DataSourceWorkload.Scope ignored = DataSourceWorkload.use(DataSourceWorkload.ANALYTICS)) {
+                int indexed = indexAllMissingFiles(true);
+                if (indexed > 0) {
+                    log.info("Search index backfill added {} file(s) analyzed elsewhere", indexed);
+                }
+            } catch (Exception e) {
+                log.warn("Search index backfill failed: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(backfillIntervalSeconds * 1000);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 방금 저장한 서열(id가 있는 행)을 색인 (색인 실패는 분석 결과에 영향을 주지 않도록 로그만 남김)
+     */
+    public void indexSequences(String fileId, List<SequenceData> sequences) {
+        List<SequenceData> stored = sequences.stream()
+                .filter(seq -> seq.getId() != null)
+                .toList();
+        if (stored.size() < sequences.size()) {
+            log.warn("Search index: {} of {} sequences in {} have no generated id and were skipped",
+                    sequences.size() - stored.size(), sequences.size(), fileId);
+        }
+        long[] ids = new long[stored.size()];
+        List<byte[]> bases = new ArrayList<>(stored.size());
+        for (int i = 0; i < stored.size(); i++) {
+            ids[i] = stored.get(i).getId();
+            bases.add(sequenceStore.readBases(stored.get(i)));
+        }
+        indexFile(fileId, ids, bases);
+    }
+
+    private void indexFile(String fileId, long[] ids, List<byte[]> bases) {
+        try {
+            searchIndex.indexFile(fileId, ids, bases);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to index sequences for search: {}", fileId, e);
+        }
+    }
+
+    /**
+     * 서열이 저장되어 있지만 아직 색인되지 않은 파일을 모두 색인
+     * @return 새로 색인한 파일 수
+     */
+    public int indexMissingFiles() {
+        try (DataSourceWorkload.Scope ignored = DataSourceWorkload.use(DataSourceWorkload.ANALYTICS)) {
+            return indexAllMissingFiles(false);
+        }
+    }
+
+    /**
+     * @param analyzedOnly 통계가 저장된(분석이 끝난) 파일만 색인
+     */
+    int indexAllMissingFiles(boolean analyzedOnly) {
+        int indexed = 0;
+        for (UploadedFile file : uploadedFileRepository.findByStatus(UploadedFile.UploadStatus.COMPLETED)) {
+            if (searchIndex.isIndexed(file.getFileId())) {
+                continue;
+            }
+            if (analyzedOnly && analysisResultRepository.findStatisticsSavedAt(file.getFileId()) == null) {
+                continue;
+            }
+            List<SequenceSummary> summaries = sequenceRepository.findSummariesByFileId(file.getFileId());
+            if (summaries.isEmpty()) {
+                continue;
+            }
+            long[] ids = new long[summaries.size()];
+            List<byte[]> bases = new ArrayList<>(summaries.size());
+            for (int i = 0; i < summaries.size(); i++) {
+                ids[i] = summaries.get(i).getId();
+                bases.add(sequenceStore.readBases(summaries.get(i)));
+            }
+            indexFile(file.getFileId(), ids, bases);
+            indexed++;
+        }
+        return indexed;
+    }
+
+    public SequenceSearchResult search(String query, int limit) {
+        long start = System.currentTimeMillis();
+        byte[] bases = normalizeQuery(query);
+        if (bases.length == 0) {
+            throw new IllegalArgumentException("Query sequence is empty");
+        }
+
+        SequenceSearchIndex.SearchResult result = searchIndex.search(bases, limit, minHits);
+        List<SequenceSearchIndex.Candidate> candidates = result.getCandidates();
+
+        Map<Long, SequenceData> rows = candidates.isEmpty() ? Map.of()
+                : sequenceRepository.findMetadataByIds(candidates.stream().map(SequenceSearchIndex.Candidate::getSequenceId).toList())
+                        .stream()
+                        .collect(Collectors.toMap(SequenceData::getId, Function.identity()));
+        List<String> fileIds = rows.values().stream().map(SequenceData::getFileId).distinct().toList();
+        Map<String, String> fileNames = fileIds.isEmpty() ? Map.of()
+                : uploadedFileRepository.findByFileIds(fileIds).stream()
+                        .collect(Collectors.toMap(UploadedFile::getFileId, UploadedFile::getOriginalName, (a, b) -> a));
+
+        List<SequenceSearchResult.Hit> hits = new ArrayList<>();
+        for (SequenceSearchIndex.Candidate candidate : candidates) {
+            SequenceData row = rows.get(candidate.getSequenceId());
+            if (row == null) {
+                // 색인에는 있지만 DB에서 사라진 서열
+                continue;
+            }
+            hits.add(SequenceSearchResult.Hit.builder()
+                    .id(row.getId())
+                    .fileId(row.getFileId())
+                    .fileName(fileNames.get(row.getFileId()))
+                    .sequenceId(row.getSequenceId())
+                    .header(row.getHeader())
+                    .sequenceLength(row.getSequenceLength())
+                    .strand(candidate.isReverse() ? SequenceMatchRecord.REVERSE_STRAND : SequenceMatchRecord.FORWARD_STRAND)
+                    .matchingMinimizers(candidate.getHits())
+                    .coverage(result.getQueryMinimizers() > 0
+                            ? Math.round(candidate.getHits() * 10000.0 / result.getQueryMinimizers()) / 100.0 : 0.0)
+                    .diagonal(candidate.getDiagonal())
+                    .build());
+        }
+
+        return SequenceSearchResult.builder()
+                .queryLength(bases.length)
+                .queryMinimizers(result.getQueryMinimizers())
+                .skippedRepeats(result.getSkippedRepeats())
+                .segmentsSearched(result.getSegmentsSearched())
+                .elapsedMs(System.currentTimeMillis() - start)
+                .hits(hits)
+                .build();
+    }
+
+    public Map<String, Object> getIndexStats() {
+        return searchIndex.getStats();
+    }
+
+    /**
+     * 붙여넣은 질의에서 FASTA 헤더 줄과 공백을 제거하고 대문자로 변환
+     */
+    static byte[] normalizeQuery(String query) {
+        if (query == null) {
+            return new byte[0];
+        }
+        StringBuilder bases = new StringBuilder(query.length());
+        for (String line : query.split("\\R")) {
+            if (line.startsWith(">")) {
+                continue;
+            }
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (!Character.isWhitespace(c)) {
+                    bases.append(c);
+                }
+            }
+        }
+        return DNASequenceUtils.toUpperCaseBytes(bases.toString());
+    }
+}
@@ -0,0 +1,123 @@
+package com.biodatahub.service;
+
+import com.biodatahub.dto.BaseCompositionDto;
+import com.biodatahub.dto.DistributionDto;
+import com.biodatahub.dto.SequenceStatisticsDto;
+import com.biodatahub.model.SequenceSummary;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 서열 메타데이터를 한 행씩 받아 파일 통계를 누적 (행 목록을 보관하지 않으므로 서열 수와 무관하게 메모리 사용량이 일정)
+ * 길이 분포 구간은 유효 서열의 최소/최대 길이로 정해지므로 생성할 때 미리 받는다.
+ * 길이/GC 통계는 유효 서열만, 염기 구성은 모든 서열을 대상으로 한다.
+ */
+class SequenceStatisticsAccumulator implements ResultHandler<SequenceSummary> {
+
+    private static final int BINS = 10;
+
+    private final int minLength;
+    private final int maxLength;
+    private final int lengthBinSize;
+    private final int[] lengthBins = new int[BINS];
+    private final int[] gcBins = new int[BINS];
+
+    private int totalSequences;
+    private int validSequences;
+    private long totalLength;
+    private double gcSum;
+    private int gcCount;
+    private long totalA, totalT, totalC, totalG, totalN;
+
+    /**
+     * @param minLength 유효 서열의 최소 길이 (유효 서열이 없으면 무시됨)
+     * @param maxLength 유효 서열의 최대 길이
+     */
+    SequenceStatisticsAccumulator(int minLength, int maxLength) {
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.lengthBinSize = Math.max(1, (maxLength - minLength) / BINS);
+    }
+
+    @Override
+    public void handleResult(ResultContext<? extends SequenceSummary> context) {
+        accept(context.getResultObject());
+    }
+
+    void accept(SequenceSummary sequence) {
+        totalSequences++;
+        totalA += sequence.getACount() != null ? sequence.getACount() : 0;
+        totalT += sequence.getTCount() != null ? sequence.getTCount() : 0;
+        totalC += sequence.getCCount() != null ? sequence.getCCount() : 0;
+        totalG += sequence.getGCount() != null ? sequence.getGCount() : 0;
+        totalN += sequence.getNCount() != null ? sequence.getNCount() : 0;
+        if (!Boolean.TRUE.equals(sequence.getIsValid())) {
+            return;
+        }
+
+        validSequences++;
+        int length = sequence.getSequenceLength() != null ? sequence.getSequenceLength() : 0;
+        totalLength += length;
+        if (length >= minLength && length <= maxLength) {
+            // 마지막 구간은 최대 길이까지 포함
+            lengthBins[Math.min((length - minLength) / lengthBinSize, BINS - 1)]++;
+        }
+
+        if (sequence.getGcContent() != null) {
+            double gc = sequence.getGcContent();
+            gcSum += gc;
+            gcCount++;
+            int bin = (int) Math.floor(gc / 10.0);
+            if (gc >= 0 && bin < BINS) {
+                gcBins[bin]++;
+            }
+        }
+    }
+
+    int getTotalSequences() {
+        return totalSequences;
+    }
+
+    SequenceStatisticsDto toDto() {
+        double avgLength = validSequences == 0 ? 0 : (double) totalLength / validSequences;
+        double avgGcContent = gcCount == 0 ? 0.0 : gcSum / gcCount;
+
+        Map<String, Integer> lengthDistribution = new LinkedHashMap<>();
+        if (validSequences > 0) {
+            for (int i = 0; i < BINS; i++) {
+                int binStart = minLength + i * lengthBinSize;
+                int binEnd = (i == BINS - 1) ? maxLength : binStart + lengthBinSize - 1;
+                lengthDistribution.put(binStart + "-" + binEnd, lengthBins[i]);
+            }
+        }
+        Map<String, Integer> gcDistribution = new LinkedHashMap<>();
+        for (int i = 0; i < BINS; i++) {
+            gcDistribution.put(i * 10 + "-" + (i + 1) * 10 + "%", gcBins[i]);
+        }
+
+        BaseCompositionDto baseComposition = BaseCompositionDto.builder()
+            .aCount(totalA)
+            .tCount(totalT)
+            .cCount(totalC)
+            .gCount(totalG)
+            .nCount(totalN)
+            .totalCount(totalA + totalT + totalC + totalG + totalN)
+            .build();
+
+        return SequenceStatisticsDto.builder()
+            .totalSequences(totalSequences)
+            .validSequences(validSequences)
+            .totalLength(totalLength)
+            .averageLength(Math.round(avgLength * 100.0) / 100.0)
+            .minLength(validSequences == 0 ? 0 : minLength)
+            .maxLength(validSequences == 0 ? 0 : maxLength)
+            .averageGcContent(Math.round(avgGcContent * 100.0) / 100.0)
+            .baseComposition(baseComposition)
+            .lengthDistribution(DistributionDto.of(lengthDistribution))
+            .gcDistribution(DistributionDto.of(gcDistribution))
+            .build();
+    }
+}
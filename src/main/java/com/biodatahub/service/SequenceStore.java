@@ -0,0 +1,208 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.SequenceSummary;
+import com.biodatahub.repository.SequenceRepository;
+import com.biodatahub.util.DNASequenceUtils;
+import com.biodatahub.util.PackedSequenceCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 서열 본문 저장소
+ * 서열 바이트를 PackedSequenceCodec 형식(2비트 패킹 또는 deflate)으로 추가 전용(append-only) 세그먼트 파일에 기록하고,
+ * DB 행에는 (sequenceSegment, sequenceOffset, sequenceBytes) 포인터만 저장한다.
+ *
+ * - 세그먼트 파일이 max-segment-bytes를 넘으면 다음 번호의 세그먼트에 기록
+ * - 읽기는 세그먼트 파일을 READ_ONLY로 메모리 매핑하여 레코드를 바로 복원 (기록 중인 세그먼트는 필요할 때 다시 매핑)
+ * - 포인터가 없는 이전 행은 sequence 컬럼의 문자열을 사용 (메타데이터만 조회한 행이면 그 컬럼만 따로 조회)
+ * - 염기는 대문자로만 저장한다. 소프트 마스킹(반복 구간 등을 소문자로 표시한 부분)은 FastaParser가 읽을 때
+ *   이미 대문자로 바뀌므로 저장되지 않고, 읽은 서열과 FASTA 내보내기(export.fasta)는 모두 대문자다.
+ *
+ * 분산 비교(biodatahub.comparison.distributed)로 여러 인스턴스가 같은 DB를 쓸 때는
+ * 모든 인스턴스가 같은 저장소 디렉터리를 공유해야 한다.
+ * 기록은 저장소 디렉터리의 append.lock 파일에 대한 배타적 FileLock 안에서 하며, 잠근 뒤 다른 인스턴스가 넘어간
+ * 세그먼트와 현재 파일 크기를 다시 읽어 그 뒤에 이어 쓴다 (공유 파일 시스템이 파일 잠금을 지원해야 함).
+ */
+@Component
+@Slf4j
+public class SequenceStore {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{6})\\.seq");
+
+    private final SequenceRepository sequenceRepository;
+    private final Path storeDir;
+    private final long maxSegmentBytes;
+    private final Map<Integer, MappedByteBuffer> mappings = new ConcurrentHashMap<>();
+    private final FileChannel lockChannel;
+
+    private FileChannel writeChannel;
+    private int writeSegment;
+    private long writeOffset;
+
+    public SequenceStore(
+            SequenceRepository sequenceRepository,
+            @Value("${biodatahub.sequence-store.dir:data/sequence-store}") String storeDir,
+            @Value("${biodatahub.sequence-store.max-segment-bytes:1073741824}") long maxSegmentBytes) throws IOException {
+        this.sequenceRepository = sequenceRepository;
+        this.storeDir = Paths.get(storeDir);
+        this.maxSegmentBytes = Math.min(Math.max(1 << 20, maxSegmentBytes), Integer.MAX_VALUE);
+        Files.createDirectories(this.storeDir);
+        this.lockChannel = FileChannel.open(this.storeDir.resolve("append.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+        // 마지막 세그먼트 뒤에 이어서 기록 (DB에 포인터가 기록되지 않은 꼬리 바이트는 읽히지 않으므로 그대로 둠)
+        int last = 0;
+        try (Stream<Path> files = Files.list(this.storeDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    last = Math.max(last, Integer.parseInt(matcher.group(1)));
+                }
+            }
+        }
+        openWriteSegment(Math.max(1, last));
+        log.info("Sequence store: {} (segment {}, offset {})", this.storeDir, writeSegment, writeOffset);
+    }
+
+    /**
+     * 서열 본문을 저장소에 기록하고 각 행에 포인터를 설정 (DB에 행을 넣기 전에 호출)
+     * 반환 전에 디스크에 동기화하므로 DB에 기록된 포인터는 항상 완전한 레코드를 가리킨다.
+     * 같은 디렉터리를 쓰는 다른 프로세스와는 파일 잠금으로 순서를 맞춘다.
+     */
+    public synchronized void append(List<SequenceData> rows) {
+        try (FileLock ignored = lockChannel.lock()) {
+            syncWriteSegment();
+            for (SequenceData row : rows) {
+                byte[] record = PackedSequenceCodec.encode(DNASequenceUtils.toUpperCaseBytes(row.getSequence()));
+                if (record.length > maxSegmentBytes) {
+                    throw new IllegalArgumentException("Sequence too large for store segment: " + row.getSequenceId());
+                }
+                if (writeOffset + record.length > maxSegmentBytes) {
+                    writeChannel.force(false);
+                    writeChannel.close();
+                    openWriteSegment(writeSegment + 1);
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                long position = writeOffset;
+                while (buffer.hasRemaining()) {
+                    position += writeChannel.write(buffer, position);
+                }
+                row.setSequenceSegment(writeSegment);
+                row.setSequenceOffset(writeOffset);
+                row.setSequenceBytes(record.length);
+                writeOffset = position;
+            }
+            writeChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write sequence store", e);
+        }
+    }
+
+    /**
+     * 행의 서열을 대문자 염기 바이트로 반환
+     * 메모리에 서열 문자열이 있으면(방금 파싱한 행, 이전 형식의 행) 그대로 사용하고, 없으면 저장소에서 읽는다.
+     */
+    public byte[] readBases(SequenceData row) {
+        if (row.getSequence() != null) {
+            return DNASequenceUtils.toUpperCaseBytes(row.getSequence());
+        }
+        return readBases(row.getId(), row.getSequenceSegment(), row.getSequenceOffset(), row.getSequenceBytes());
+    }
+
+    public byte[] readBases(SequenceSummary summary) {
+        return readBases(summary.getId(), summary.getSequenceSegment(), summary.getSequenceOffset(), summary.getSequenceBytes());
+    }
+
+    /**
+     * 포인터로 레코드를 복원 (포인터가 없으면 이전 형식의 행이므로 sequence 컬럼 조회)
+     */
+    byte[] readBases(Long id, Integer segment, Long offset, Integer bytes) {
+        if (segment == null) {
+            return id != null ? DNASequenceUtils.toUpperCaseBytes(sequenceRepository.findSequenceTextById(id)) : new byte[0];
+        }
+        MappedByteBuffer mapping = mapping(segment, offset + bytes);
+        return PackedSequenceCodec.decode(mapping, (int) (long) offset, bytes);
+    }
+
+    /**
+     * 서열 본문을 처음 사용할 때 읽는 지연 로딩 핸들
+     */
+    public SequenceHandle handle(SequenceSummary summary) {
+        return new SequenceHandle(summary, this);
+    }
+
+    public List<SequenceHandle> handles(List<SequenceSummary> summaries) {
+        return summaries.stream().map(this::handle).toList();
+    }
+
+    public String readSequence(SequenceData row) {
+        if (row.getSequence() != null) {
+            return row.getSequence();
+        }
+        return new String(readBases(row), StandardCharsets.US_ASCII);
+    }
+
+    private MappedByteBuffer mapping(int segment, long requiredBytes) {
+        MappedByteBuffer mapping = mappings.get(segment);
+        if (mapping != null && mapping.capacity() >= requiredBytes) {
+            return mapping;
+        }
+        // 기록 중인 세그먼트는 이전 매핑 뒤에 레코드가 추가되었을 수 있으므로 현재 크기로 다시 매핑
+        return mappings.compute(segment, (key, current) -> {
+            if (current != null && current.capacity() >= requiredBytes) {
+                return current;
+            }
+            try (FileChannel channel = FileChannel.open(segmentPath(key), StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < requiredBytes) {
+                    throw new IllegalStateException("Sequence store segment " + key + " is shorter than " + requiredBytes);
+                }
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map sequence store segment " + key, e);
+            }
+        });
+    }
+
+    /**
+     * 잠금을 잡은 뒤 호출: 다른 인스턴스가 다음 세그먼트로 넘어갔으면 따라가고, 현재 파일 끝에서 이어 쓴다
+     */
+    private void syncWriteSegment() throws IOException {
+        while (Files.exists(segmentPath(writeSegment + 1))) {
+            writeChannel.close();
+            openWriteSegment(writeSegment + 1);
+        }
+        writeOffset = writeChannel.size();
+    }
+
+    private void openWriteSegment(int segment) throws IOException {
+        writeChannel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        writeSegment = segment;
+        writeOffset = writeChannel.size();
+    }
+
+    private Path segmentPath(int segment) {
+        return storeDir.resolve(String.format("segment-%06d.seq", segment));
+    }
+}
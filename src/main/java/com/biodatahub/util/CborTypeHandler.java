@@ -0,0 +1,16 @@
+package com.biodatahub.util;
+
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+
+/**
+ * 객체를 CBOR(RFC 8949)로 BLOB 컬럼에 저장
+ * Smile과 크기는 비슷하며, 다른 언어의 도구로 컬럼을 직접 읽어야 할 때 사용한다.
+ */
+@MappedJdbcTypes(JdbcType.LONGVARBINARY)
+public class CborTypeHandler<T> extends JacksonTypeHandler<T> {
+
+    public CborTypeHandler(Class<T> type) {
+        super(JacksonFormats.CBOR, JacksonFormats.CBOR.constructType(type));
+    }
+}
@@ -7,6 +7,19 @@ import lombok.*;
  */
 public class DNASequenceUtils {
     
+    // 염기 바이트 -> 상보 염기 (A<->T, C<->G, 그 외 문자는 그대로)
+    private static final byte[] COMPLEMENT = new byte[256];
+    
+    static {
+        for (int i = 0; i < COMPLEMENT.length; i++) {
+            COMPLEMENT[i] = (byte) i;
+        }
+        COMPLEMENT['A'] = 'T';
+        COMPLEMENT['T'] = 'A';
+        COMPLEMENT['C'] = 'G';
+        COMPLEMENT['G'] = 'C';
+    }
+    
     /**
      * DNA 서열의 염기를 계산합니다
      */
@@ -56,6 +69,74 @@ public class DNASequenceUtils {
         return (double) gcCount / sequence.length() * 100;
     }
     
+    /**
+     * 정렬 없이 같은 위치의 염기가 일치하는 개수를 계산합니다
+     */
+    public static int countPositionalMatches(byte[] a, byte[] b) {
+        int minLength = Math.min(a.length, b.length);
+        int matches = 0;
+        for (int i = 0; i < minLength; i++) {
+            if (a[i] == b[i]) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+    
+    /**
+     * 위치별 일치도 (긴 서열 길이 기준, 0~100)
+     * 예: GCGCGC vs GCAAAA = 2/6 = 33.33%
+     */
+    public static double positionalIdentity(byte[] a, byte[] b) {
+        int maxLength = Math.max(a.length, b.length);
+        if (a.length == 0 || b.length == 0) {
+            return 0.0;
+        }
+        return (double) countPositionalMatches(a, b) / maxLength * 100.0;
+    }
+    
+    /**
+     * 정방향과 역상보 방향의 위치별 일치 개수를 계산합니다
+     * 역상보는 b를 뒤에서부터 읽으며 상보 염기 표로 변환해 비교하므로 복사본을 만들지 않습니다.
+     * (정방향 루프는 따로 두어야 JIT 벡터화가 유지됨)
+     * 결과는 상위 32비트에 정방향, 하위 32비트에 역상보 일치 개수를 담습니다.
+     */
+    public static long countStrandMatches(byte[] a, byte[] b) {
+        int forward = countPositionalMatches(a, b);
+        int minLength = Math.min(a.length, b.length);
+        int last = b.length - 1;
+        int reverse = 0;
+        for (int i = 0; i < minLength; i++) {
+            if (a[i] == COMPLEMENT[b[last - i] & 0xFF]) {
+                reverse++;
+            }
+        }
+        return ((long) forward << 32) | reverse;
+    }
+    
+    public static int forwardMatches(long strandMatches) {
+        return (int) (strandMatches >>> 32);
+    }
+    
+    public static int reverseMatches(long strandMatches) {
+        return (int) strandMatches;
+    }
+    
+    /**
+     * 서열 문자열을 대문자 ASCII 바이트 배열로 변환합니다 (중간 문자열 없이)
+     */
+    public static byte[] toUpperCaseBytes(String sequence) {
+        if (sequence == null) {
+            return new byte[0];
+        }
+        byte[] bytes = new byte[sequence.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            char c = sequence.charAt(i);
+            bytes[i] = (byte) (c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c);
+        }
+        return bytes;
+    }
+    
     /**
      * 염기 개수 결과를 담는 Value Object
      */
@@ -0,0 +1,343 @@
+package com.biodatahub.util;
+
+import lombok.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * CD-HIT 방식의 탐욕적(greedy) 서열 클러스터링
+ * - 서열을 길이 내림차순으로 정렬한 뒤, 먼저 만들어진 대표 서열부터 순서대로 확인하여
+ *   일치도가 임계값 이상인 첫 번째 대표 서열의 클러스터에 배정 (없으면 새 대표 서열이 됨)
+ * - 일치도는 비교 분석과 같은 위치별 일치도 (DNASequenceUtils.positionalIdentity)
+ * - 일치도 계산 전에 공유 k-mer(short word) 개수의 하한으로 대부분의 대표 서열을 제외
+ *
+ * 병렬 처리: 서열을 배치 단위로 나누어 배치 안의 서열들은 기존 대표 서열과 병렬로 비교하고,
+ * 배정되지 못한 서열만 같은 배치에서 새로 생긴 대표 서열과 순차적으로 비교한다.
+ * 결과는 순차 처리와 동일하다.
+ */
+public class GreedySequenceClusterer {
+
+    private final double identityThreshold;
+    private final int wordLength;
+    private final int batchSize;
+
+    public GreedySequenceClusterer(double identityThreshold, int wordLength, int batchSize) {
+        if (identityThreshold <= 0 || identityThreshold > 100) {
+            throw new IllegalArgumentException("identityThreshold must be in (0, 100]: " + identityThreshold);
+        }
+        if (wordLength < 2 || wordLength > 10) {
+            throw new IllegalArgumentException("wordLength must be between 2 and 10: " + wordLength);
+        }
+        this.identityThreshold = identityThreshold;
+        this.wordLength = wordLength;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * @param sequences 대문자 염기 서열 (입력 순서가 결과 배열의 인덱스)
+     */
+    public Result cluster(List<byte[]> sequences) {
+        int size = sequences.size();
+        Integer[] boxedOrder = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            boxedOrder[i] = i;
+        }
+        // 길이 내림차순, 같은 길이는 입력 순서 유지
+        Arrays.sort(boxedOrder, (a, b) -> Integer.compare(sequences.get(b).length, sequences.get(a).length));
+
+        int[] clusterOf = new int[size];
+        double[] identities = new double[size];
+        Arrays.fill(clusterOf, -1);
+
+        WordIndex index = new WordIndex(wordLength);
+        IntList representatives = new IntList();
+        AtomicLong identityChecks = new AtomicLong();
+        AtomicLong filteredOut = new AtomicLong();
+        ThreadLocal<SearchBuffer> buffers = ThreadLocal.withInitial(SearchBuffer::new);
+
+        for (int start = 0; start < size; start += batchSize) {
+            int batchStart = start;
+            int end = Math.min(start + batchSize, size);
+            int existingClusters = representatives.size();
+            WordProfile[] profiles = new WordProfile[end - start];
+
+            // 1. 배치 내 서열을 기존 대표 서열과 병렬로 비교 (이 단계에서는 인덱스를 읽기만 함)
+            IntStream.range(batchStart, end).parallel().forEach(pos -> {
+                int seq = boxedOrder[pos];
+                WordProfile profile = WordProfile.of(sequences.get(seq), wordLength);
+                profiles[pos - batchStart] = profile;
+                if (existingClusters > 0) {
+                    assign(seq, profile, sequences, index, representatives, 0, existingClusters,
+                            buffers.get(), clusterOf, identities, identityChecks, filteredOut);
+                }
+            });
+
+            // 2. 배정되지 못한 서열은 이 배치에서 새로 생긴 대표 서열과 비교하고, 없으면 새 대표 서열로 등록
+            for (int pos = start; pos < end; pos++) {
+                int seq = boxedOrder[pos];
+                if (clusterOf[seq] >= 0) {
+                    continue;
+                }
+                WordProfile profile = profiles[pos - start];
+                if (representatives.size() > existingClusters) {
+                    assign(seq, profile, sequences, index, representatives, existingClusters, representatives.size(),
+                            buffers.get(), clusterOf, identities, identityChecks, filteredOut);
+                }
+                if (clusterOf[seq] < 0) {
+                    int cluster = representatives.size();
+                    representatives.add(seq);
+                    index.add(cluster, profile);
+                    clusterOf[seq] = cluster;
+                    identities[seq] = 100.0;
+                }
+            }
+        }
+
+        return new Result(clusterOf, representatives.toArray(), identities,
+                identityChecks.get(), filteredOut.get());
+    }
+
+    /**
+     * [fromCluster, toCluster) 범위의 대표 서열 중 조건을 만족하는 첫 번째 클러스터에 배정
+     */
+    private void assign(int seq, WordProfile profile, List<byte[]> sequences, WordIndex index, IntList representatives,
+                        int fromCluster, int toCluster, SearchBuffer buffer,
+                        int[] clusterOf, double[] identities, AtomicLong identityChecks, AtomicLong filteredOut) {
+        byte[] query = sequences.get(seq);
+        buffer.reset(toCluster);
+        index.countShared(profile, fromCluster, toCluster, buffer);
+
+        long checks = 0;
+        long skipped = 0;
+        for (int cluster = fromCluster; cluster < toCluster; cluster++) {
+            byte[] representative = sequences.get(representatives.get(cluster));
+            if (!passesFilter(query.length, profile.nCount, representative.length, buffer.shared[cluster])) {
+                skipped++;
+                continue;
+            }
+            checks++;
+            double identity = DNASequenceUtils.positionalIdentity(representative, query);
+            if (identity >= identityThreshold) {
+                clusterOf[seq] = cluster;
+                identities[seq] = identity;
+                break;
+            }
+        }
+        buffer.clear();
+        identityChecks.addAndGet(checks);
+        filteredOut.addAndGet(skipped);
+    }
+
+    /**
+     * 일치도가 임계값 이상이 될 수 있는지 길이와 공유 k-mer 수로 판단 (false면 확실히 미달)
+     * 위치별 비교에서 불일치 1개는 최대 k개의 k-mer 창을 깨뜨리므로,
+     * 공유 k-mer 수 >= (짧은 길이 - k + 1) - k * (허용 불일치 수 + N 개수) 를 만족해야 한다.
+     */
+    boolean passesFilter(int queryLength, int queryNCount, int representativeLength, int sharedWords) {
+        int shorter = Math.min(queryLength, representativeLength);
+        int longer = Math.max(queryLength, representativeLength);
+        int requiredMatches = (int) Math.ceil(identityThreshold / 100.0 * longer - 1e-9);
+        if (requiredMatches > shorter) {
+            return false;
+        }
+        long allowedMismatches = shorter - requiredMatches;
+        long minShared = (long) (shorter - wordLength + 1) - (long) wordLength * (allowedMismatches + queryNCount);
+        return sharedWords >= minShared;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        // 입력 서열별 클러스터 번호 (0부터, 대표 서열 생성 순서)
+        private final int[] clusterOf;
+        // 클러스터 번호별 대표 서열의 입력 인덱스
+        private final int[] representatives;
+        // 입력 서열별 대표 서열과의 일치도 (대표 서열 자신은 100)
+        private final double[] identities;
+        private final long identityChecks;
+        private final long filteredOut;
+
+        public int getClusterCount() {
+            return representatives.length;
+        }
+    }
+
+    /**
+     * 서열의 k-mer 코드(2비트 인코딩)와 개수, N 등 A/C/G/T 이외 문자의 개수
+     */
+    static class WordProfile {
+        final int[] codes;
+        final int[] counts;
+        final int nCount;
+
+        private WordProfile(int[] codes, int[] counts, int nCount) {
+            this.codes = codes;
+            this.counts = counts;
+            this.nCount = nCount;
+        }
+
+        static WordProfile of(byte[] sequence, int wordLength) {
+            int mask = (1 << (2 * wordLength)) - 1;
+            int[] words = new int[Math.max(0, sequence.length - wordLength + 1)];
+            int wordCount = 0;
+            int nCount = 0;
+            int code = 0;
+            int valid = 0;
+            for (byte base : sequence) {
+                int bits = encode(base);
+                if (bits < 0) {
+                    nCount++;
+                    valid = 0;
+                    continue;
+                }
+                code = ((code << 2) | bits) & mask;
+                if (++valid >= wordLength) {
+                    words[wordCount++] = code;
+                }
+            }
+
+            Arrays.sort(words, 0, wordCount);
+            int distinct = 0;
+            for (int i = 0; i < wordCount; i++) {
+                if (i == 0 || words[i] != words[i - 1]) {
+                    distinct++;
+                }
+            }
+            int[] codes = new int[distinct];
+            int[] counts = new int[distinct];
+            int d = -1;
+            for (int i = 0; i < wordCount; i++) {
+                if (i == 0 || words[i] != words[i - 1]) {
+                    codes[++d] = words[i];
+                }
+                counts[d]++;
+            }
+            return new WordProfile(codes, counts, nCount);
+        }
+
+        private static int encode(byte base) {
+            switch (base) {
+                case 'A': return 0;
+                case 'C': return 1;
+                case 'G': return 2;
+                case 'T': return 3;
+                default: return -1;
+            }
+        }
+    }
+
+    /**
+     * k-mer 코드별로 (클러스터 번호, 개수) 목록을 보관하는 대표 서열 역색인
+     * 클러스터 번호 오름차순으로 추가되므로 목록도 정렬되어 있다.
+     */
+    static class WordIndex {
+        private final IntList[] clusters;
+        private final IntList[] counts;
+
+        WordIndex(int wordLength) {
+            int size = 1 << (2 * wordLength);
+            clusters = new IntList[size];
+            counts = new IntList[size];
+        }
+
+        void add(int cluster, WordProfile profile) {
+            for (int i = 0; i < profile.codes.length; i++) {
+                int code = profile.codes[i];
+                if (clusters[code] == null) {
+                    clusters[code] = new IntList();
+                    counts[code] = new IntList();
+                }
+                clusters[code].add(cluster);
+                counts[code].add(profile.counts[i]);
+            }
+        }
+
+        void countShared(WordProfile profile, int fromCluster, int toCluster, SearchBuffer buffer) {
+            for (int i = 0; i < profile.codes.length; i++) {
+                IntList postings = clusters[profile.codes[i]];
+                if (postings == null) {
+                    continue;
+                }
+                IntList postingCounts = counts[profile.codes[i]];
+                int queryCount = profile.counts[i];
+                int p = fromCluster > 0 ? postings.lowerBound(fromCluster) : 0;
+                for (int n = postings.size(); p < n; p++) {
+                    int cluster = postings.get(p);
+                    if (cluster >= toCluster) {
+                        break;
+                    }
+                    buffer.add(cluster, Math.min(queryCount, postingCounts.get(p)));
+                }
+            }
+        }
+    }
+
+    /**
+     * 스레드별 공유 k-mer 누적 배열 (값이 바뀐 위치만 기록해 두었다가 초기화)
+     */
+    static class SearchBuffer {
+        int[] shared = new int[0];
+        private final IntList touched = new IntList();
+
+        void reset(int clusterCount) {
+            if (shared.length < clusterCount) {
+                shared = new int[Math.max(clusterCount, shared.length * 2)];
+            }
+        }
+
+        void add(int cluster, int count) {
+            if (shared[cluster] == 0) {
+                touched.add(cluster);
+            }
+            shared[cluster] += count;
+        }
+
+        void clear() {
+            for (int i = 0; i < touched.size(); i++) {
+                shared[touched.get(i)] = 0;
+            }
+            touched.clear();
+        }
+    }
+
+    static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int lowerBound(int value) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < value) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.biodatahub.util;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * DB에 저장하는 결과 객체용 공유 ObjectMapper (형식별로 하나씩, 모두 같은 설정)
+ *
+ * - 필드 기준 직렬화: API 응답용 계산 getter(예: getGcContent)는 저장하지 않고,
+ *   @Jacksonized 빌더의 필드 이름과 저장 형식이 그대로 맞는다.
+ * - 알 수 없는 속성은 무시하므로 DTO에 필드가 추가/삭제되어도 이전에 저장된 값을 읽을 수 있다.
+ *
+ * ObjectMapper는 설정 후 스레드 안전하므로 타입 핸들러마다 새로 만들지 않고 이 인스턴스를 공유한다.
+ */
+public final class JacksonFormats {
+
+    public static final ObjectMapper JSON = configure(new ObjectMapper());
+    public static final ObjectMapper SMILE = configure(new SmileMapper());
+    public static final ObjectMapper CBOR = configure(new CBORMapper());
+
+    private JacksonFormats() {
+    }
+
+    /**
+     * 저장되는 Smile 본문의 SHA-256 (hex) - 저장된 결과의 ETag와 압축 파일 이름에 사용
+     */
+    public static String smileSha256(Object value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(SMILE.writeValueAsBytes(value));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        mapper.findAndRegisterModules();
+        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        mapper.setVisibility(PropertyAccessor.GETTER, JsonAutoDetect.Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.IS_GETTER, JsonAutoDetect.Visibility.NONE);
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+}
@@ -0,0 +1,93 @@
+package com.biodatahub.util;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Jackson으로 객체 하나를 컬럼 하나에 저장하는 타입 핸들러의 공통 구현
+ * 바이너리 형식(Smile/CBOR)이면 바이트 배열/BLOB으로, JSON이면 문자열/TEXT로 기록하고,
+ * 읽을 때는 컬럼을 스트림으로 받아 중간 문자열이나 바이트 배열 없이 바로 역직렬화한다.
+ *
+ * 하위 클래스는 MyBatis가 javaType을 넘겨 주는 (Class) 생성자를 두므로 매퍼 XML에서 타입별로 쓸 수 있다.
+ * 예) &lt;result property="statistics" column="statistics"
+ *         javaType="com.biodatahub.dto.SequenceStatisticsDto" typeHandler="com.biodatahub.util.SmileTypeHandler"/&gt;
+ */
+public abstract class JacksonTypeHandler<T> extends BaseTypeHandler<T> {
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final boolean binary;
+
+    protected JacksonTypeHandler(ObjectMapper mapper, JavaType type) {
+        this.reader = mapper.readerFor(type);
+        this.writer = mapper.writerFor(type);
+        this.binary = mapper.getFactory().canHandleBinaryNatively();
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, T parameter, JdbcType jdbcType) throws SQLException {
+        try {
+            if (binary) {
+                ps.setBytes(i, writer.writeValueAsBytes(parameter));
+            } else {
+                ps.setString(i, writer.writeValueAsString(parameter));
+            }
+        } catch (IOException e) {
+            throw new SQLException("Error serializing " + reader.getValueType() + " for column", e);
+        }
+    }
+
+    @Override
+    public T getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return binary ? read(rs.getBinaryStream(columnName)) : read(rs.getCharacterStream(columnName));
+    }
+
+    @Override
+    public T getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return binary ? read(rs.getBinaryStream(columnIndex)) : read(rs.getCharacterStream(columnIndex));
+    }
+
+    @Override
+    public T getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        if (binary) {
+            byte[] bytes = cs.getBytes(columnIndex);
+            return read(bytes != null ? new ByteArrayInputStream(bytes) : null);
+        }
+        return read(cs.getCharacterStream(columnIndex));
+    }
+
+    private T read(InputStream in) throws SQLException {
+        if (in == null) {
+            return null;
+        }
+        try (in) {
+            return reader.readValue(in);
+        } catch (IOException e) {
+            throw new SQLException("Error deserializing column to " + reader.getValueType(), e);
+        }
+    }
+
+    private T read(Reader in) throws SQLException {
+        if (in == null) {
+            return null;
+        }
+        try (in) {
+            return reader.readValue(in);
+        } catch (IOException e) {
+            throw new SQLException("Error deserializing column to " + reader.getValueType(), e);
+        }
+    }
+}
@@ -1,61 +1,27 @@
 package com.biodatahub.util;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.ibatis.type.BaseTypeHandler;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.MappedJdbcTypes;
 import org.apache.ibatis.type.MappedTypes;
 
-import java.sql.CallableStatement;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.Map;
 
+/**
+ * 객체를 텍스트 JSON으로 TEXT 컬럼에 저장 (javaType을 지정하지 않으면 Map&lt;String, Object&gt;)
+ * 사람이 SQL로 직접 읽어야 하는 값에만 사용하고, 큰 결과 객체는 SmileTypeHandler를 사용한다.
+ */
 @MappedJdbcTypes(JdbcType.LONGVARCHAR)
 @MappedTypes(Map.class)
-public class JsonTypeHandler extends BaseTypeHandler<Map<String, Object>> {
-    
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    
-    @Override
-    public void setNonNullParameter(PreparedStatement ps, int i, Map<String, Object> parameter, JdbcType jdbcType) throws SQLException {
-        try {
-            ps.setString(i, objectMapper.writeValueAsString(parameter));
-        } catch (JsonProcessingException e) {
-            throw new SQLException("Error converting Map to JSON string", e);
-        }
-    }
-    
-    @Override
-    public Map<String, Object> getNullableResult(ResultSet rs, String columnName) throws SQLException {
-        String jsonString = rs.getString(columnName);
-        return parseJson(jsonString);
-    }
-    
-    @Override
-    public Map<String, Object> getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
-        String jsonString = rs.getString(columnIndex);
-        return parseJson(jsonString);
-    }
-    
-    @Override
-    public Map<String, Object> getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
-        String jsonString = cs.getString(columnIndex);
-        return parseJson(jsonString);
-    }
-    
+public class JsonTypeHandler<T> extends JacksonTypeHandler<T> {
+
     @SuppressWarnings("unchecked")
-    private Map<String, Object> parseJson(String jsonString) throws SQLException {
-        if (jsonString == null || jsonString.trim().isEmpty()) {
-            return null;
-        }
-        
-        try {
-            return objectMapper.readValue(jsonString, Map.class);
-        } catch (JsonProcessingException e) {
-            throw new SQLException("Error parsing JSON string to Map", e);
-        }
+    public JsonTypeHandler() {
+        this((Class<T>) Map.class);
+    }
+
+    public JsonTypeHandler(Class<T> type) {
+        super(JacksonFormats.JSON, type == Map.class
+                ? JacksonFormats.JSON.getTypeFactory().constructMapType(Map.class, String.class, Object.class)
+                : JacksonFormats.JSON.constructType(type));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,367 @@
+package com.biodatahub.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * minimizer 역색인의 불변(immutable) 세그먼트 파일
+ *
+ * 파일 형식 (big-endian):
+ * - 헤더: magic(int), version(int), k(int), w(int), keyCount(int), postingCount(long)
+ * - 키 디렉터리: keyCount × (hash int, count int, postingOffset long), hash 오름차순
+ * - postings: postingCount × (sequenceId long, position &lt;&lt; 1 | reverse int), 같은 hash 안에서는 추가 순서
+ *
+ * 읽기는 파일 전체를 READ_ONLY로 메모리 매핑하여 키 디렉터리를 이진 탐색하므로
+ * 힙을 거의 쓰지 않고 세그먼트 크기와 무관하게 조회 비용이 O(log keyCount)이다.
+ * 쓰기는 임시 파일에 기록한 뒤 원자적으로 이동하여 완성된 세그먼트만 보이게 한다.
+ */
+public final class MinimizerSegment {
+
+    static final int MAGIC = 0x4D4D4958; // "MMIX"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 * 5 + 8;
+    static final int KEY_BYTES = 4 + 4 + 8;
+    static final int POSTING_BYTES = 8 + 4;
+    // MappedByteBuffer 한 개로 매핑할 수 있는 최대 크기에 맞춘 세그먼트당 posting 상한
+    public static final long MAX_POSTINGS = (Integer.MAX_VALUE - HEADER_BYTES) / (KEY_BYTES + POSTING_BYTES);
+
+    private final Path path;
+    private final int k;
+    private final int w;
+    private final int keyCount;
+    private final long postingCount;
+    private final MappedByteBuffer buffer;
+    private final int postingsStart;
+
+    private MinimizerSegment(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a minimizer segment: " + path);
+        }
+        this.k = buffer.getInt(8);
+        this.w = buffer.getInt(12);
+        this.keyCount = buffer.getInt(16);
+        this.postingCount = buffer.getLong(20);
+        this.postingsStart = HEADER_BYTES + keyCount * KEY_BYTES;
+        if ((long) postingsStart + postingCount * POSTING_BYTES != buffer.capacity()) {
+            throw new IOException("Truncated minimizer segment: " + path);
+        }
+    }
+
+    public static MinimizerSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫은 뒤에도 유지된다
+            return new MinimizerSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getW() {
+        return w;
+    }
+
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    public long getPostingCount() {
+        return postingCount;
+    }
+
+    public long getSizeBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * hash의 키 디렉터리 위치 (없으면 -1)
+     */
+    public int findKey(int hash) {
+        int lo = 0, hi = keyCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int value = keyHash(mid);
+            if (value < hash) lo = mid + 1;
+            else if (value > hash) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    public int keyHash(int key) {
+        return buffer.getInt(HEADER_BYTES + key * KEY_BYTES);
+    }
+
+    public int postingCount(int key) {
+        return buffer.getInt(HEADER_BYTES + key * KEY_BYTES + 4);
+    }
+
+    public long postingOffset(int key) {
+        return buffer.getLong(HEADER_BYTES + key * KEY_BYTES + 8);
+    }
+
+    public long sequenceId(long posting) {
+        return buffer.getLong(postingAddress(posting));
+    }
+
+    public int packedPosition(long posting) {
+        return buffer.getInt(postingAddress(posting) + 8);
+    }
+
+    private int postingAddress(long posting) {
+        return (int) (postingsStart + posting * POSTING_BYTES);
+    }
+
+    public static int pack(int position, boolean reverse) {
+        return (position << 1) | (reverse ? 1 : 0);
+    }
+
+    public static int position(int packed) {
+        return packed >>> 1;
+    }
+
+    public static boolean isReverse(int packed) {
+        return (packed & 1) != 0;
+    }
+
+    /**
+     * 한 번의 수집 분량의 posting을 모아 정렬된 세그먼트로 기록하는 버퍼
+     * 정렬 키는 (hash << 32 | 추가 순서)인 long 하나로 만들어 박싱 없이 Arrays.sort로 정렬한다.
+     * (k <= 15이므로 hash는 30비트 이내)
+     */
+    public static final class Builder {
+        private final int k;
+        private final int w;
+        private long[] order = new long[1024];
+        private long[] sequenceIds = new long[1024];
+        private int[] positions = new int[1024];
+        private int size;
+
+        public Builder(int k, int w) {
+            this.k = k;
+            this.w = w;
+        }
+
+        public void add(int hash, long sequenceId, int position, boolean reverse) {
+            if (size == order.length) {
+                int capacity = size * 2;
+                order = Arrays.copyOf(order, capacity);
+                sequenceIds = Arrays.copyOf(sequenceIds, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+            }
+            order[size] = ((long) hash << 32) | size;
+            sequenceIds[size] = sequenceId;
+            positions[size] = pack(position, reverse);
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public void clear() {
+            size = 0;
+        }
+
+        public void write(Path target) throws IOException {
+            Arrays.sort(order, 0, size);
+            int keyCount = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || (order[i] >>> 32) != (order[i - 1] >>> 32)) {
+                    keyCount++;
+                }
+            }
+
+            Path temp = tempPath(target);
+            try (DataOutputStream out = openOutput(temp)) {
+                writeHeader(out, k, w, keyCount, size);
+                long offset = 0;
+                for (int i = 0; i < size; ) {
+                    int hash = (int) (order[i] >>> 32);
+                    int j = i;
+                    while (j < size && (int) (order[j] >>> 32) == hash) {
+                        j++;
+                    }
+                    out.writeInt(hash);
+                    out.writeInt(j - i);
+                    out.writeLong(offset);
+                    offset += j - i;
+                    i = j;
+                }
+                for (int i = 0; i < size; i++) {
+                    int index = (int) order[i];
+                    out.writeLong(sequenceIds[index]);
+                    out.writeInt(positions[index]);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 여러 세그먼트를 hash 순서로 k-way 병합하여 하나의 세그먼트로 기록
+     * 같은 hash의 posting은 입력 목록 순서(오래된 세그먼트 먼저)를 유지한다.
+     * 키 디렉터리를 먼저 기록하고 postings를 다시 순회하여 기록하므로 메모리 사용량이 세그먼트 크기와 무관하다.
+     */
+    public static void merge(List<MinimizerSegment> segments, Path target) throws IOException {
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException("No segments to merge");
+        }
+        int k = segments.get(0).k;
+        int w = segments.get(0).w;
+        for (MinimizerSegment segment : segments) {
+            if (segment.k != k || segment.w != w) {
+                throw new IllegalArgumentException("Segments built with different (k, w): " + segment.path);
+            }
+        }
+
+        int keyCount = 0;
+        long postingCount = 0;
+        MergeCursor cursor = new MergeCursor(segments);
+        while (cursor.next()) {
+            keyCount++;
+            postingCount += cursor.postingCount();
+        }
+
+        Path temp = tempPath(target);
+        try (DataOutputStream out = openOutput(temp)) {
+            writeHeader(out, k, w, keyCount, postingCount);
+            long offset = 0;
+            cursor = new MergeCursor(segments);
+            while (cursor.next()) {
+                int count = cursor.postingCount();
+                out.writeInt(cursor.hash);
+                out.writeInt(count);
+                out.writeLong(offset);
+                offset += count;
+            }
+            cursor = new MergeCursor(segments);
+            while (cursor.next()) {
+                for (int i = 0; i < cursor.matchCount; i++) {
+                    MinimizerSegment segment = segments.get(cursor.matchSegments[i]);
+                    int key = cursor.matchKeys[i];
+                    long start = segment.postingOffset(key);
+                    long end = start + segment.postingCount(key);
+                    for (long p = start; p < end; p++) {
+                        out.writeLong(segment.sequenceId(p));
+                        out.writeInt(segment.packedPosition(p));
+                    }
+                }
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 세그먼트들의 키 디렉터리를 hash 오름차순으로 함께 순회
+     * next() 후 hash와 같은 키를 가진 (세그먼트, 키) 목록이 matchSegments/matchKeys에 세그먼트 순서로 담긴다.
+     */
+    private static final class MergeCursor {
+        private final List<MinimizerSegment> segments;
+        private final int[] positions;
+        private final PriorityQueue<Integer> queue;
+        final int[] matchSegments;
+        final int[] matchKeys;
+        int matchCount;
+        int hash;
+
+        MergeCursor(List<MinimizerSegment> segments) {
+            this.segments = segments;
+            this.positions = new int[segments.size()];
+            this.matchSegments = new int[segments.size()];
+            this.matchKeys = new int[segments.size()];
+            this.queue = new PriorityQueue<>(Math.max(1, segments.size()), (a, b) -> {
+                int compare = Integer.compare(currentHash(a), currentHash(b));
+                return compare != 0 ? compare : Integer.compare(a, b);
+            });
+            for (int i = 0; i < segments.size(); i++) {
+                if (segments.get(i).keyCount > 0) {
+                    queue.add(i);
+                }
+            }
+        }
+
+        private int currentHash(int segment) {
+            return segments.get(segment).keyHash(positions[segment]);
+        }
+
+        boolean next() {
+            if (queue.isEmpty()) {
+                return false;
+            }
+            matchCount = 0;
+            hash = currentHash(queue.peek());
+            while (!queue.isEmpty() && currentHash(queue.peek()) == hash) {
+                int segment = queue.poll();
+                matchSegments[matchCount] = segment;
+                matchKeys[matchCount] = positions[segment];
+                matchCount++;
+            }
+            // PriorityQueue에서 꺼낸 순서는 (hash, 세그먼트 번호) 순이므로 matchSegments는 이미 세그먼트 순서
+            for (int i = 0; i < matchCount; i++) {
+                int segment = matchSegments[i];
+                if (++positions[segment] < segments.get(segment).keyCount) {
+                    queue.add(segment);
+                }
+            }
+            return true;
+        }
+
+        int postingCount() {
+            int count = 0;
+            for (int i = 0; i < matchCount; i++) {
+                count += segments.get(matchSegments[i]).postingCount(matchKeys[i]);
+            }
+            return count;
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out, int k, int w, int keyCount, long postingCount) throws IOException {
+        if (postingCount > MAX_POSTINGS) {
+            throw new IllegalStateException("Segment too large: " + postingCount + " postings");
+        }
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(k);
+        out.writeInt(w);
+        out.writeInt(keyCount);
+        out.writeLong(postingCount);
+    }
+
+    private static DataOutputStream openOutput(Path temp) throws IOException {
+        OutputStream stream = Files.newOutputStream(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+    }
+
+    private static Path tempPath(Path target) {
+        return target.resolveSibling(target.getFileName() + ".tmp");
+    }
+
+    @Override
+    public String toString() {
+        return "MinimizerSegment[" + path.getFileName() + ", keys=" + keyCount + ", postings=" + postingCount + "]";
+    }
+}
@@ -0,0 +1,122 @@
+package com.biodatahub.util;
+
+/**
+ * (k, w) minimizer 추출
+ * 연속한 w개의 k-mer 창마다 해시값이 가장 작은 k-mer를 대표로 고르며,
+ * 정방향과 역상보 중 작은 값(canonical)을 사용하므로 반대 방향 서열도 같은 minimizer를 가진다.
+ * A/C/G/T 이외의 문자가 나오면 k-mer와 창을 처음부터 다시 채운다.
+ */
+public class MinimizerSketcher {
+
+    private final int k;
+    private final int w;
+    private final long mask;
+
+    public MinimizerSketcher(int k, int w) {
+        if (k < 4 || k > 15) {
+            throw new IllegalArgumentException("k must be between 4 and 15: " + k);
+        }
+        if (w < 1 || w > 255) {
+            throw new IllegalArgumentException("w must be between 1 and 255: " + w);
+        }
+        this.k = k;
+        this.w = w;
+        this.mask = (1L << (2 * k)) - 1;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getW() {
+        return w;
+    }
+
+    @FunctionalInterface
+    public interface MinimizerConsumer {
+        /**
+         * @param hash    minimizer 해시 (0 이상, 2k 비트 이내)
+         * @param pos     k-mer 시작 위치
+         * @param reverse 역상보 방향의 k-mer가 선택되었으면 true
+         */
+        void accept(int hash, int pos, boolean reverse);
+    }
+
+    /**
+     * 서열의 minimizer를 위치 순서대로 전달 (같은 위치는 한 번만 전달)
+     * @param sequence 대문자 염기 서열
+     */
+    public void sketch(byte[] sequence, MinimizerConsumer consumer) {
+        int[] windowHashes = new int[w];
+        int[] windowPositions = new int[w];
+        boolean[] windowReverse = new boolean[w];
+        int shift = 2 * (k - 1);
+        long forward = 0;
+        long reverse = 0;
+        int kmerLength = 0;
+        int filled = 0;
+        int lastEmitted = -1;
+
+        for (int i = 0; i < sequence.length; i++) {
+            int code = encode(sequence[i]);
+            if (code < 0) {
+                kmerLength = 0;
+                filled = 0;
+                continue;
+            }
+            forward = ((forward << 2) | code) & mask;
+            reverse = (reverse >>> 2) | ((long) (3 - code) << shift);
+            if (++kmerLength < k) {
+                continue;
+            }
+
+            // 회문 k-mer는 방향을 정할 수 없으므로 정방향으로 취급
+            boolean useReverse = reverse < forward;
+            int slot = filled % w;
+            windowHashes[slot] = hash(useReverse ? reverse : forward);
+            windowPositions[slot] = i - k + 1;
+            windowReverse[slot] = useReverse;
+            filled++;
+            if (filled < w) {
+                continue;
+            }
+
+            // 창 안에서 해시가 가장 작은 k-mer (같으면 앞쪽)
+            int best = -1;
+            for (int j = 0; j < w; j++) {
+                int candidate = (filled + j) % w;
+                if (best < 0 || windowHashes[candidate] < windowHashes[best]) {
+                    best = candidate;
+                }
+            }
+            if (windowPositions[best] != lastEmitted) {
+                lastEmitted = windowPositions[best];
+                consumer.accept(windowHashes[best], windowPositions[best], windowReverse[best]);
+            }
+        }
+    }
+
+    /**
+     * 2k 비트 안에서 역변환 가능한 정수 해시 (염기 조성에 따른 minimizer 편향 완화)
+     */
+    private int hash(long key) {
+        key = (~key + (key << 21)) & mask;
+        key = key ^ (key >>> 24);
+        key = ((key + (key << 3)) + (key << 8)) & mask;
+        key = key ^ (key >>> 14);
+        key = ((key + (key << 2)) + (key << 4)) & mask;
+        key = key ^ (key >>> 28);
+        key = (key + (key << 31)) & mask;
+        return (int) key;
+    }
+
+    private static int encode(byte base) {
+        switch (base) {
+            case 'A': return 0;
+            case 'C': return 1;
+            case 'G': return 2;
+            case 'T': return 3;
+            default: return -1;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.biodatahub.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 서열 저장소(SequenceStore) 레코드 인코딩
+ *
+ * 레코드 형식 (big-endian):
+ * - encoding(byte), baseCount(int)
+ * - TWO_BIT: runCount(int), runCount × (start int, length int, base byte), 2비트 패킹 염기 ceil(baseCount / 4) 바이트
+ *   (A=0, C=1, G=2, T=3, 바이트 안에서 상위 비트부터; A/C/G/T 이외 문자는 같은 문자의 연속 구간(run)으로 따로 기록)
+ * - DEFLATE: 원본 바이트를 deflate로 압축한 나머지 바이트 전체
+ *
+ * A/C/G/T 이외 문자의 구간이 많아 2비트 형식이 원본의 절반보다 커지면 DEFLATE로 저장한다.
+ * 입력은 대문자 염기만 받으며 대소문자 정보(소프트 마스킹)는 기록하지 않는다 (소문자는 A/C/G/T 이외 문자로 취급됨).
+ */
+public final class PackedSequenceCodec {
+
+    static final byte TWO_BIT = 0;
+    static final byte DEFLATE = 1;
+    private static final int HEADER_BYTES = 1 + 4;
+    private static final int RUN_BYTES = 4 + 4 + 1;
+    private static final byte[] BASES = {'A', 'C', 'G', 'T'};
+    private static final byte[] CODES = new byte[256];
+
+    static {
+        Arrays.fill(CODES, (byte) -1);
+        CODES['A'] = 0;
+        CODES['C'] = 1;
+        CODES['G'] = 2;
+        CODES['T'] = 3;
+    }
+
+    private PackedSequenceCodec() {
+    }
+
+    /**
+     * @param bases 대문자 염기 서열
+     */
+    public static byte[] encode(byte[] bases) {
+        int runCount = 0;
+        for (int i = 0; i < bases.length; i++) {
+            if (CODES[bases[i] & 0xFF] < 0 && (i == 0 || bases[i - 1] != bases[i])) {
+                runCount++;
+            }
+        }
+
+        long twoBitSize = HEADER_BYTES + 4 + (long) runCount * RUN_BYTES + (bases.length + 3) / 4;
+        if (runCount > 0 && twoBitSize > HEADER_BYTES + bases.length / 2) {
+            return encodeDeflate(bases);
+        }
+
+        ByteBuffer out = ByteBuffer.allocate((int) twoBitSize);
+        out.put(TWO_BIT);
+        out.putInt(bases.length);
+        out.putInt(runCount);
+        for (int i = 0; i < bases.length; ) {
+            byte base = bases[i];
+            if (CODES[base & 0xFF] >= 0) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < bases.length && bases[i] == base) {
+                i++;
+            }
+            out.putInt(start);
+            out.putInt(i - start);
+            out.put(base);
+        }
+
+        int packedStart = out.position();
+        byte[] result = out.array();
+        for (int i = 0; i < bases.length; i++) {
+            int code = CODES[bases[i] & 0xFF];
+            if (code > 0) {
+                result[packedStart + (i >>> 2)] |= (byte) (code << (6 - 2 * (i & 3)));
+            }
+        }
+        return result;
+    }
+
+    private static byte[] encodeDeflate(byte[] bases) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bases);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bases.length / 3 + 64);
+            out.write(DEFLATE);
+            out.write(bases.length >>> 24);
+            out.write(bases.length >>> 16);
+            out.write(bases.length >>> 8);
+            out.write(bases.length);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * buffer의 [offset, offset + length) 레코드를 대문자 염기 바이트로 복원 (buffer의 position은 변경하지 않음)
+     */
+    public static byte[] decode(ByteBuffer buffer, int offset, int length) {
+        byte encoding = buffer.get(offset);
+        int baseCount = buffer.getInt(offset + 1);
+        byte[] bases = new byte[baseCount];
+
+        if (encoding == DEFLATE) {
+            byte[] compressed = new byte[length - HEADER_BYTES];
+            buffer.get(offset + HEADER_BYTES, compressed);
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                int read = 0;
+                while (read < baseCount && !inflater.finished()) {
+                    read += inflater.inflate(bases, read, baseCount - read);
+                }
+                if (read != baseCount) {
+                    throw new IllegalStateException("Corrupt sequence record: expected " + baseCount + " bases, got " + read);
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Corrupt sequence record", e);
+            } finally {
+                inflater.end();
+            }
+            return bases;
+        }
+        if (encoding != TWO_BIT) {
+            throw new IllegalStateException("Unknown sequence record encoding: " + encoding);
+        }
+
+        int runCount = buffer.getInt(offset + HEADER_BYTES);
+        int packedStart = offset + HEADER_BYTES + 4 + runCount * RUN_BYTES;
+        byte[] packed = new byte[(baseCount + 3) / 4];
+        buffer.get(packedStart, packed);
+        int full = baseCount >>> 2;
+        for (int p = 0; p < full; p++) {
+            int b = packed[p];
+            int i = p << 2;
+            bases[i] = BASES[(b >>> 6) & 3];
+            bases[i + 1] = BASES[(b >>> 4) & 3];
+            bases[i + 2] = BASES[(b >>> 2) & 3];
+            bases[i + 3] = BASES[b & 3];
+        }
+        for (int i = full << 2; i < baseCount; i++) {
+            bases[i] = BASES[(packed[i >>> 2] >>> (6 - 2 * (i & 3))) & 3];
+        }
+
+        int run = offset + HEADER_BYTES + 4;
+        for (int r = 0; r < runCount; r++, run += RUN_BYTES) {
+            int start = buffer.getInt(run);
+            Arrays.fill(bases, start, start + buffer.getInt(run + 4), buffer.get(run + 8));
+        }
+        return bases;
+    }
+}
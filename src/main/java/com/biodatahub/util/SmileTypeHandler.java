@@ -0,0 +1,16 @@
+package com.biodatahub.util;
+
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+
+/**
+ * 객체를 Smile(바이너리 JSON)로 BLOB 컬럼에 저장
+ * 같은 내용의 텍스트 JSON보다 작고, 필드 이름 공유/숫자 바이너리 표현 덕분에 읽고 쓰는 비용도 적다.
+ */
+@MappedJdbcTypes(JdbcType.LONGVARBINARY)
+public class SmileTypeHandler<T> extends JacksonTypeHandler<T> {
+
+    public SmileTypeHandler(Class<T> type) {
+        super(JacksonFormats.SMILE, JacksonFormats.SMILE.constructType(type));
+    }
+}
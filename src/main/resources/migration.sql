@@ -15,4 +15,122 @@ ALTER TABLE sequence_data
 ADD CONSTRAINT fk_sequence_file_id 
 FOREIGN KEY (file_id) REFERENCES uploaded_files(file_id) ON DELETE CASCADE;
 
-SET FOREIGN_KEY_CHECKS = 1;
\ No newline at end of file
+SET FOREIGN_KEY_CHECKS = 1;
+
+-- 5. sequence_matches 쌍별 점수 재사용을 위한 UNIQUE 제약조건 추가
+ALTER TABLE sequence_matches
+ADD CONSTRAINT uk_sequence_match_pair UNIQUE (reference_sequence_id, comparison_sequence_id);
+
+-- 6. 서열 클러스터링 작업/소속 테이블 추가
+CREATE TABLE IF NOT EXISTS clustering_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id VARCHAR(64) UNIQUE NOT NULL,
+    file_ids TEXT NOT NULL,
+    identity_threshold DECIMAL(5,2) NOT NULL,
+    word_length INT NOT NULL,
+    status VARCHAR(20) DEFAULT 'RUNNING',
+    total_sequences INT DEFAULT 0,
+    cluster_count INT DEFAULT 0,
+    error_message TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS sequence_cluster_members (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id VARCHAR(64) NOT NULL,
+    cluster_no INT NOT NULL,
+    sequence_id BIGINT NOT NULL,
+    representative_sequence_id BIGINT NOT NULL,
+    identity DECIMAL(5,2) NOT NULL,
+    is_representative BOOLEAN DEFAULT FALSE,
+    INDEX idx_cluster_member_job_cluster (job_id, cluster_no),
+    FOREIGN KEY (job_id) REFERENCES clustering_jobs(job_id) ON DELETE CASCADE,
+    FOREIGN KEY (sequence_id) REFERENCES sequence_data(id) ON DELETE CASCADE
+);
+
+-- 7. 정방향/역상보 중 점수가 나온 방향 기록 (기존 행은 NULL로 남아 다음 비교 때 다시 계산됨)
+ALTER TABLE sequence_matches ADD COLUMN strand CHAR(1) NULL AFTER gap_count;
+
+-- 8. 분산 비교 작업/구역 lease 테이블 추가
+CREATE TABLE IF NOT EXISTS comparison_work_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_key VARCHAR(64) UNIQUE NOT NULL,
+    reference_file_id VARCHAR(255) NOT NULL,
+    comparison_file_ids TEXT NOT NULL,
+    status VARCHAR(20) DEFAULT 'RUNNING',
+    total_tiles INT DEFAULT 0,
+    coordinator VARCHAR(255),
+    error_message TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS comparison_work_tiles (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_key VARCHAR(64) NOT NULL,
+    tile_no INT NOT NULL,
+    reference_file_id VARCHAR(255) NOT NULL,
+    ref_min_id BIGINT NOT NULL,
+    ref_max_id BIGINT NOT NULL,
+    comparison_file_id VARCHAR(255) NOT NULL,
+    comp_min_id BIGINT NOT NULL,
+    comp_max_id BIGINT NOT NULL,
+    pair_count INT NOT NULL,
+    status VARCHAR(20) DEFAULT 'PENDING',
+    lease_token VARCHAR(255),
+    lease_expires_at TIMESTAMP NULL,
+    attempts INT DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_comparison_tile (job_key, tile_no),
+    INDEX idx_comparison_tile_status (status, lease_expires_at),
+    INDEX idx_comparison_tile_lease (lease_token),
+    FOREIGN KEY (job_key) REFERENCES comparison_work_jobs(job_key) ON DELETE CASCADE
+);
+
+-- 9. 서열 본문을 서열 저장소(세그먼트 파일)로 이동: 포인터 컬럼 추가, 기존 행은 sequence 컬럼을 그대로 사용
+ALTER TABLE sequence_data
+    MODIFY COLUMN sequence TEXT NULL,
+    ADD COLUMN sequence_segment INT NULL AFTER sequence,
+    ADD COLUMN sequence_offset BIGINT NULL AFTER sequence_segment,
+    ADD COLUMN sequence_bytes INT NULL AFTER sequence_offset;
+
+-- 10. 서열 목록 keyset 페이지 조회용 복합 인덱스 ((file_id, 정렬 컬럼, id) 순서가 ORDER BY 정렬 컬럼, id와
+--     같아 커서 위치부터 LIMIT개만 읽고 filesort가 없음; id 순서 조회는 외래키가 만든 file_id 인덱스를 사용)
+ALTER TABLE sequence_data
+    ADD INDEX idx_sequence_data_file_length (file_id, sequence_length, id),
+    ADD INDEX idx_sequence_data_file_gc (file_id, gc_content, id);
+
+-- 11. 분석 결과 저장 테이블: 파일별 기본 통계와 완료된 비교 결과를 Smile 바이너리로 보관
+CREATE TABLE IF NOT EXISTS file_statistics (
+    file_id VARCHAR(255) PRIMARY KEY,
+    statistics MEDIUMBLOB NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (file_id) REFERENCES uploaded_files(file_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS comparison_results (
+    result_key VARCHAR(64) PRIMARY KEY,
+    reference_file_id VARCHAR(255) NOT NULL,
+    result LONGBLOB NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (reference_file_id) REFERENCES uploaded_files(file_id) ON DELETE CASCADE
+);
+
+-- 12. 저장된 통계 본문의 해시 (ETag와 압축 파일 이름을 초 단위 저장 시각 대신 내용으로 식별;
+--     기존 행은 NULL로 남고 다음 통계 조회 때 채워짐)
+ALTER TABLE file_statistics
+    ADD COLUMN content_hash CHAR(64) NULL AFTER statistics;
+
+-- 13. 10번을 (file_id, 정렬 컬럼, 필터 컬럼)으로 만든 DB의 keyset 인덱스 교체
+--     (필터 컬럼이 id 앞에 있으면 ORDER BY 정렬 컬럼, id를 인덱스 순서로 읽지 못해 페이지마다 filesort)
+ALTER TABLE sequence_data
+    DROP INDEX idx_sequence_data_file_length,
+    DROP INDEX idx_sequence_data_file_gc,
+    ADD INDEX idx_sequence_data_file_length (file_id, sequence_length, id),
+    ADD INDEX idx_sequence_data_file_gc (file_id, gc_content, id);
+
+-- 14. 저장된 비교 결과 본문의 해시 (ETag와 압축 파일 이름을 작업 키 대신 완료된 결과의 내용으로 식별;
+--     기존 행은 NULL로 남고 조회 때 결과를 읽어 계산함)
+ALTER TABLE comparison_results
+    ADD COLUMN content_hash CHAR(64) NULL AFTER result;
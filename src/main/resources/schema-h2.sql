@@ -0,0 +1,135 @@
+-- BioDataHub H2 Schema (memory profile, H2 MODE=MySQL)
+-- Same tables as schema-mysql.sql, but existing tables are kept so that a file-backed
+-- H2 database (jdbc:h2:file:...) survives restarts
+
+-- Create tables
+CREATE TABLE IF NOT EXISTS uploaded_files (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    file_id VARCHAR(255) UNIQUE NOT NULL,
+    original_name VARCHAR(255) NOT NULL,
+    file_path VARCHAR(500) NOT NULL,
+    file_size BIGINT NOT NULL,
+    file_type VARCHAR(20) DEFAULT 'COMPARISON',
+    upload_status VARCHAR(20) DEFAULT 'PENDING',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS sequence_data (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    file_id VARCHAR(255) NOT NULL,
+    sequence_id VARCHAR(255) NOT NULL,
+    header TEXT,
+    sequence TEXT,
+    sequence_segment INT,
+    sequence_offset BIGINT,
+    sequence_bytes INT,
+    sequence_length INT NOT NULL,
+    gc_content DECIMAL(5,2),
+    a_count INT DEFAULT 0,
+    t_count INT DEFAULT 0,
+    c_count INT DEFAULT 0,
+    g_count INT DEFAULT 0,
+    n_count INT DEFAULT 0,
+    is_valid BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_sequence_data_file (file_id),
+    INDEX idx_sequence_data_file_length (file_id, sequence_length, id),
+    INDEX idx_sequence_data_file_gc (file_id, gc_content, id),
+    FOREIGN KEY (file_id) REFERENCES uploaded_files(file_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS sequence_matches (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    reference_sequence_id BIGINT NOT NULL,
+    comparison_sequence_id BIGINT NOT NULL,
+    similarity_score DECIMAL(5,2) NOT NULL,
+    alignment_length INT,
+    match_count INT,
+    mismatch_count INT,
+    gap_count INT DEFAULT 0,
+    strand CHAR(1),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_sequence_match_pair (reference_sequence_id, comparison_sequence_id),
+    FOREIGN KEY (reference_sequence_id) REFERENCES sequence_data(id) ON DELETE CASCADE,
+    FOREIGN KEY (comparison_sequence_id) REFERENCES sequence_data(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS clustering_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id VARCHAR(64) UNIQUE NOT NULL,
+    file_ids TEXT NOT NULL,
+    identity_threshold DECIMAL(5,2) NOT NULL,
+    word_length INT NOT NULL,
+    status VARCHAR(20) DEFAULT 'RUNNING',
+    total_sequences INT DEFAULT 0,
+    cluster_count INT DEFAULT 0,
+    error_message TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS sequence_cluster_members (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id VARCHAR(64) NOT NULL,
+    cluster_no INT NOT NULL,
+    sequence_id BIGINT NOT NULL,
+    representative_sequence_id BIGINT NOT NULL,
+    identity DECIMAL(5,2) NOT NULL,
+    is_representative BOOLEAN DEFAULT FALSE,
+    INDEX idx_cluster_member_job_cluster (job_id, cluster_no),
+    FOREIGN KEY (job_id) REFERENCES clustering_jobs(job_id) ON DELETE CASCADE,
+    FOREIGN KEY (sequence_id) REFERENCES sequence_data(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS comparison_work_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_key VARCHAR(64) UNIQUE NOT NULL,
+    reference_file_id VARCHAR(255) NOT NULL,
+    comparison_file_ids TEXT NOT NULL,
+    status VARCHAR(20) DEFAULT 'RUNNING',
+    total_tiles INT DEFAULT 0,
+    coordinator VARCHAR(255),
+    error_message TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS comparison_work_tiles (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_key VARCHAR(64) NOT NULL,
+    tile_no INT NOT NULL,
+    reference_file_id VARCHAR(255) NOT NULL,
+    ref_min_id BIGINT NOT NULL,
+    ref_max_id BIGINT NOT NULL,
+    comparison_file_id VARCHAR(255) NOT NULL,
+    comp_min_id BIGINT NOT NULL,
+    comp_max_id BIGINT NOT NULL,
+    pair_count INT NOT NULL,
+    status VARCHAR(20) DEFAULT 'PENDING',
+    lease_token VARCHAR(255),
+    lease_expires_at TIMESTAMP NULL,
+    attempts INT DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_comparison_tile (job_key, tile_no),
+    INDEX idx_comparison_tile_status (status, lease_expires_at),
+    INDEX idx_comparison_tile_lease (lease_token),
+    FOREIGN KEY (job_key) REFERENCES comparison_work_jobs(job_key) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS file_statistics (
+    file_id VARCHAR(255) PRIMARY KEY,
+    statistics MEDIUMBLOB NOT NULL,
+    content_hash CHAR(64) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (file_id) REFERENCES uploaded_files(file_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS comparison_results (
+    result_key VARCHAR(64) PRIMARY KEY,
+    reference_file_id VARCHAR(255) NOT NULL,
+    result LONGBLOB NOT NULL,
+    content_hash CHAR(64) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (reference_file_id) REFERENCES uploaded_files(file_id) ON DELETE CASCADE
+);
@@ -254,22 +254,21 @@ class ComparisonUploadManager {
         this.comparisonUploadBtn.disabled = true;
         this.comparisonUploadBtn.textContent = '업로드 중...';
         
+        // 모든 비교 파일을 한 요청으로 업로드
+        const statusElements = this.comparisonFiles.map((file, i) => document.getElementById(`status_${i}`));
+        statusElements.forEach(statusElement => {
+            statusElement.className = 'badge bg-warning';
+            statusElement.textContent = '업로드 중...';
+        });
+        
         try {
-            for (let i = 0; i < this.comparisonFiles.length; i++) {
-                const file = this.comparisonFiles[i];
-                const fileId = this.comparisonFileIds[i];
-                
-                // 상태 업데이트
-                const statusElement = document.getElementById(`status_${i}`);
-                statusElement.className = 'badge bg-warning';
-                statusElement.textContent = '업로드 중...';
-                
-                await this.uploadSingleFile(file, fileId);
-                
-                // 완료 상태 업데이트
+            await this.uploadMultipleFiles(this.comparisonFiles, this.comparisonFileIds);
+            
+            // 완료 상태 업데이트
+            statusElements.forEach(statusElement => {
                 statusElement.className = 'badge bg-success';
                 statusElement.textContent = '완료';
-            }
+            });
             
             this.comparisonUploaded = true;
             this.comparisonUploadBtn.innerHTML = '<i class="bi bi-check-circle"></i> 모든 파일 업로드 완료';
@@ -278,6 +277,10 @@ class ComparisonUploadManager {
             this.checkAllUploadsComplete();
         } catch (error) {
             console.error('Comparison files upload error:', error);
+            statusElements.forEach(statusElement => {
+                statusElement.className = 'badge bg-danger';
+                statusElement.textContent = '실패';
+            });
             this.showAlert('비교 파일 업로드 중 오류가 발생했습니다: ' + error.message, 'danger');
             this.comparisonUploadBtn.disabled = false;
             this.comparisonUploadBtn.textContent = '모든 파일 업로드';
@@ -303,6 +306,27 @@ class ComparisonUploadManager {
         return result;
     }
 
+    async uploadMultipleFiles(files, fileIds) {
+        const formData = new FormData();
+        files.forEach((file, i) => {
+            formData.append('files', file);
+            formData.append('fileIds', fileIds[i]);
+        });
+        
+        const response = await fetch('/api/upload/multiple', {
+            method: 'POST',
+            body: formData
+        });
+        
+        const result = await response.json();
+        
+        if (!result.success) {
+            throw new Error(result.message);
+        }
+        
+        return result;
+    }
+
     checkAllUploadsComplete() {
         if (this.referenceUploaded && this.comparisonUploaded && 
             this.referenceFile && this.comparisonFiles.length > 0) {
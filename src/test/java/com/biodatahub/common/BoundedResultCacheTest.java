@@ -0,0 +1,178 @@
+package com.biodatahub.common;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedResultCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong now = new AtomicLong(1_000L);
+    private JavaType mapType;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        mapType = objectMapper.getTypeFactory().constructMapType(Map.class, String.class, Object.class);
+    }
+
+    private BoundedResultCache<Map<String, Object>> newCache(long maxBytes, long ttlMillis, Path spillDir) {
+        // 테스트에서는 각 항목의 무게를 "weight" 값으로 지정
+        return new BoundedResultCache<>(maxBytes, ttlMillis,
+                value -> ((Number) value.get("weight")).longValue(),
+                spillDir, objectMapper, mapType, now::get);
+    }
+
+    @Test
+    @DisplayName("Least recently used entry is evicted when byte budget is exceeded")
+    void testLruEvictionByWeight() {
+        BoundedResultCache<Map<String, Object>> cache = newCache(100, 60_000, null);
+
+        cache.put("a", Map.of("weight", 40));
+        cache.put("b", Map.of("weight", 40));
+        assertNotNull(cache.get("a")); // a를 최근 사용으로 갱신
+        cache.put("c", Map.of("weight", 40));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+
+        BoundedResultCache.CacheStats stats = cache.stats();
+        assertEquals(1, stats.getEvictions());
+        assertEquals(80, stats.getEstimatedBytes());
+        assertEquals(3, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    @DisplayName("Entries expire after TTL")
+    void testTtlExpiration() {
+        BoundedResultCache<Map<String, Object>> cache = newCache(100, 1_000, null);
+
+        cache.put("a", Map.of("weight", 10));
+        now.addAndGet(999);
+        assertNotNull(cache.get("a"));
+        now.addAndGet(1);
+        assertNull(cache.get("a"));
+
+        assertEquals(1, cache.stats().getExpirations());
+        assertEquals(0, cache.stats().getEstimatedBytes());
+    }
+
+    @Test
+    @DisplayName("Evicted entries are spilled to disk and restored on access")
+    void testSpillAndRestore() throws Exception {
+        Path spillDir = tempDir.resolve("spill");
+        BoundedResultCache<Map<String, Object>> cache = newCache(100, 60_000, spillDir);
+
+        cache.put("a", Map.of("weight", 60, "items", List.of("x", "y")));
+        cache.put("b", Map.of("weight", 60));
+
+        assertEquals(1, cache.size());
+        try (Stream<Path> files = Files.list(spillDir)) {
+            assertEquals(1, files.count());
+        }
+
+        Map<String, Object> restored = cache.get("a");
+        assertNotNull(restored);
+        assertEquals(List.of("x", "y"), restored.get("items"));
+
+        BoundedResultCache.CacheStats stats = cache.stats();
+        assertEquals(1, stats.getSpillReads());
+        // a가 다시 올라오면서 b가 내려감
+        assertEquals(2, stats.getSpillWrites());
+        assertEquals(1, stats.getSpilledEntries());
+    }
+
+    @Test
+    @DisplayName("Entry larger than the budget without spill is kept off the LRU until it is first read")
+    void testOversizedEntryWithoutSpill() {
+        BoundedResultCache<Map<String, Object>> cache = newCache(100, 60_000, null);
+
+        cache.put("kept", Map.of("weight", 40));
+        cache.put("huge", Map.of("weight", 500));
+
+        assertEquals(1, cache.size());
+        assertEquals(40, cache.stats().getEstimatedBytes());
+        assertNotNull(cache.get("kept"));
+        assertEquals(500, cache.get("huge").get("weight"));
+        assertNull(cache.get("huge"));
+    }
+
+    @Test
+    @DisplayName("Unread oversized entry without spill still expires after TTL")
+    void testOversizedEntryWithoutSpillExpires() {
+        BoundedResultCache<Map<String, Object>> cache = newCache(100, 1_000, null);
+
+        cache.put("huge", Map.of("weight", 500));
+        now.addAndGet(1_000);
+
+        assertNull(cache.get("huge"));
+        assertEquals(1, cache.stats().getExpirations());
+    }
+
+    @Test
+    @DisplayName("Expired entries are purged on put instead of pushing live entries out")
+    void testExpiredEntriesPurgedOnPut() throws Exception {
+        Path spillDir = tempDir.resolve("spill");
+        BoundedResultCache<Map<String, Object>> cache = newCache(100, 1_000, spillDir);
+
+        cache.put("spilled", Map.of("weight", 60));
+        cache.put("stale", Map.of("weight", 60)); // spilled가 디스크로 내려감
+        now.addAndGet(500);
+        cache.put("live", Map.of("weight", 30));
+        assertNotNull(cache.get("stale")); // stale이 최근 사용이 되어 LRU에서는 live가 먼저 밀려날 순서
+        now.addAndGet(600); // spilled, stale 만료 (live는 유효)
+
+        cache.put("new", Map.of("weight", 60));
+
+        // 만료된 stale이 한도를 차지하지 않으므로 live가 밀려나지 않고, 만료된 spill 파일도 삭제됨
+        assertEquals(2, cache.size());
+        assertEquals(90, cache.stats().getEstimatedBytes());
+        assertEquals(0, cache.stats().getSpilledEntries());
+        try (Stream<Path> files = Files.list(spillDir)) {
+            assertEquals(0, files.count());
+        }
+        assertEquals(2, cache.stats().getExpirations());
+        assertNotNull(cache.get("live"));
+        assertNotNull(cache.get("new"));
+    }
+
+    @Test
+    @DisplayName("Oversized replacement drops the previous in-heap value for the same key")
+    void testOversizedReplacementDropsStaleValue() {
+        Path spillDir = tempDir.resolve("spill");
+        BoundedResultCache<Map<String, Object>> cache = newCache(100, 60_000, spillDir);
+
+        cache.put("a", Map.of("weight", 10, "version", 1));
+        cache.put("a", Map.of("weight", 500, "version", 2));
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.stats().getEstimatedBytes());
+        assertEquals(2, cache.get("a").get("version"));
+    }
+
+    @Test
+    @DisplayName("Object tree size estimation grows with content")
+    void testEstimateObjectTreeBytes() {
+        long small = BoundedResultCache.estimateObjectTreeBytes(Map.of("k", "v"));
+        long large = BoundedResultCache.estimateObjectTreeBytes(Map.of("k", List.of("v".repeat(1000), 1, 2.0)));
+
+        assertTrue(small > 0);
+        assertTrue(large > small + 1000);
+    }
+}
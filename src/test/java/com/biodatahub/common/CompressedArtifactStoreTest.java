@@ -0,0 +1,97 @@
+package com.biodatahub.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedArtifactStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private CompressedArtifactStore store() {
+        return new CompressedArtifactStore(new StreamingJsonResponse(objectMapper), true, tempDir.toString(), 7, 9);
+    }
+
+    @Test
+    @DisplayName("응답 본문을 gzip 파일로 한 번만 기록")
+    void writesArtifactOnce() throws Exception {
+        CompressedArtifactStore store = store();
+        AtomicInteger writes = new AtomicInteger();
+        StreamingJsonResponse.FieldWriter fields = gen -> {
+            writes.incrementAndGet();
+            gen.writeStringField("fileId", "f1");
+        };
+
+        assertNull(store.findGzip("stats-f1-1"));
+        Path first = store.writeGzip("stats-f1-1", fields);
+        Path second = store.writeGzip("stats-f1-1", fields);
+
+        assertEquals(first, second);
+        assertEquals(first, store.findGzip("stats-f1-1"));
+        assertEquals(1, writes.get());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(first))) {
+            JsonNode json = objectMapper.readTree(in);
+            assertTrue(json.get("success").asBoolean());
+            assertEquals("f1", json.get("fileId").asText());
+        }
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("gzip 파일을 Content-Encoding: gzip으로 그대로 전송")
+    void servesArtifactAsIs() throws Exception {
+        CompressedArtifactStore store = store();
+        Path artifact = store.writeGzip("comparison-k-legacy", gen -> gen.writeNumberField("count", 3));
+
+        ResponseEntity<StreamingResponseBody> response =
+                store.serveGzip(artifact, "\"comparison-k-legacy-gzip\"", HttpCaching.immutableResult(60));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        HttpHeaders headers = response.getHeaders();
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(Files.size(artifact), headers.getContentLength());
+        assertArrayEquals(Files.readAllBytes(artifact), out.toByteArray());
+        JsonNode json = objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(3, json.get("count").asInt());
+    }
+
+    @Test
+    @DisplayName("이름의 경로 문자는 파일 이름에서 치환")
+    void sanitizesNames() {
+        assertEquals("a_b_c.json.gz", CompressedArtifactStore.fileName("a/b\\c"));
+    }
+
+    @Test
+    @DisplayName("시작할 때 쓰다 만 임시 파일을 정리")
+    void removesLeftoverTempFiles() throws Exception {
+        Files.writeString(tempDir.resolve("artifact-1.tmp"), "partial");
+        Files.writeString(tempDir.resolve("stats-f1-1.json.gz"), "kept");
+
+        store();
+
+        assertFalse(Files.exists(tempDir.resolve("artifact-1.tmp")));
+        assertTrue(Files.exists(tempDir.resolve("stats-f1-1.json.gz")));
+    }
+}
@@ -0,0 +1,49 @@
+package com.biodatahub.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceWorkloadTest {
+
+    @Test
+    @DisplayName("지정하지 않으면 interactive 풀")
+    void defaultsToInteractive() {
+        assertEquals(DataSourceWorkload.INTERACTIVE, DataSourceWorkload.current());
+    }
+
+    @Test
+    @DisplayName("중첩된 Scope를 닫으면 바깥 작업 종류로 돌아감")
+    void nestedScopesRestorePreviousWorkload() {
+        try (DataSourceWorkload.Scope outer = DataSourceWorkload.use(DataSourceWorkload.ANALYTICS)) {
+            assertEquals(DataSourceWorkload.ANALYTICS, DataSourceWorkload.current());
+            try (DataSourceWorkload.Scope inner = DataSourceWorkload.use(DataSourceWorkload.INGEST)) {
+                assertEquals(DataSourceWorkload.INGEST, DataSourceWorkload.current());
+            }
+            assertEquals(DataSourceWorkload.ANALYTICS, DataSourceWorkload.current());
+        }
+        assertEquals(DataSourceWorkload.INTERACTIVE, DataSourceWorkload.current());
+    }
+
+    @Test
+    @DisplayName("다른 스레드에는 이어지지 않음")
+    void doesNotPropagateToOtherThreads() {
+        try (DataSourceWorkload.Scope scope = DataSourceWorkload.use(DataSourceWorkload.INGEST)) {
+            assertEquals(DataSourceWorkload.INTERACTIVE,
+                    CompletableFuture.supplyAsync(DataSourceWorkload::current).join());
+        }
+    }
+
+    @Test
+    @DisplayName("현재 작업 종류의 풀로 연결을 가져옴")
+    void routesToPoolOfCurrentWorkload() {
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource();
+        assertEquals(DataSourceWorkload.INTERACTIVE, dataSource.determineCurrentLookupKey());
+        try (DataSourceWorkload.Scope scope = DataSourceWorkload.use(DataSourceWorkload.ANALYTICS)) {
+            assertEquals(DataSourceWorkload.ANALYTICS, dataSource.determineCurrentLookupKey());
+        }
+    }
+}
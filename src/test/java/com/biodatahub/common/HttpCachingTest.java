@@ -0,0 +1,62 @@
+package com.biodatahub.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpCachingTest {
+
+    @Test
+    @DisplayName("ETag는 따옴표로 감싼 강한 ETag")
+    void buildsStrongEtag() {
+        assertEquals("\"stats-f1-42\"", HttpCaching.etag("stats", "f1", 42L));
+        assertEquals("\"a-b\"", HttpCaching.etag("a\"", "b"));
+    }
+
+    @Test
+    @DisplayName("If-None-Match 목록, 약한 ETag, *를 모두 일치로 처리")
+    void matchesIfNoneMatch() {
+        String etag = HttpCaching.etag("comparison", "k1", "legacy");
+
+        assertTrue(HttpCaching.matches(etag, etag));
+        assertTrue(HttpCaching.matches("\"other\", " + etag, etag));
+        assertTrue(HttpCaching.matches("W/" + etag, etag));
+        assertTrue(HttpCaching.matches("*", etag));
+
+        assertFalse(HttpCaching.matches(null, etag));
+        assertFalse(HttpCaching.matches("\"comparison-k1-compact\"", etag));
+        assertFalse(HttpCaching.matches(etag, null));
+    }
+
+    @Test
+    @DisplayName("gzip 표현은 별도 ETag를 가짐")
+    void gzipVariantHasOwnEtag() {
+        assertEquals("\"stats-f1-42-gzip\"", HttpCaching.gzipVariant(HttpCaching.etag("stats", "f1", 42L)));
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding에서 q=0이 아닌 gzip 또는 *를 확인")
+    void detectsGzipAcceptance() {
+        assertTrue(HttpCaching.acceptsGzip("gzip, deflate, br"));
+        assertTrue(HttpCaching.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(HttpCaching.acceptsGzip("*"));
+
+        assertFalse(HttpCaching.acceptsGzip(null));
+        assertFalse(HttpCaching.acceptsGzip("br, deflate"));
+        assertFalse(HttpCaching.acceptsGzip("gzip;q=0"));
+    }
+
+    @Test
+    @DisplayName("304 응답에도 ETag와 Cache-Control을 붙임")
+    void notModifiedCarriesValidators() {
+        ResponseEntity<Object> response = HttpCaching.notModified("\"x\"", HttpCaching.immutableResult(600));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"x\"", response.getHeaders().getETag());
+        assertEquals("max-age=600, public", response.getHeaders().getCacheControl());
+        assertNull(response.getBody());
+    }
+}
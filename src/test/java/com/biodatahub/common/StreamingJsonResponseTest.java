@@ -0,0 +1,81 @@
+package com.biodatahub.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingJsonResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StreamingJsonResponse jsonResponse = new StreamingJsonResponse(objectMapper);
+
+    private JsonNode render(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    @Test
+    @DisplayName("데이터 Map은 ApiResponse.ok와 같은 형식으로 기록됨")
+    void mapMatchesApiResponseEnvelope() throws IOException {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("fileId", "f1");
+        data.put("counts", List.of(1, 2, 3));
+
+        ResponseEntity<StreamingResponseBody> response = jsonResponse.ok(data);
+
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(objectMapper.valueToTree(ApiResponse.ok(data).getBody()), render(response));
+    }
+
+    @Test
+    @DisplayName("필드를 generator로 하나씩 기록")
+    void writesFieldsIncrementally() throws IOException {
+        byte[] bases = "ACGTN".getBytes(StandardCharsets.US_ASCII);
+        JsonNode json = render(jsonResponse.ok(gen -> {
+            gen.writeArrayFieldStart("sequences");
+            for (int i = 0; i < 3; i++) {
+                gen.writeStartObject();
+                gen.writeNumberField("id", i);
+                gen.writeFieldName("sequence");
+                gen.writeUTF8String(bases, 0, bases.length);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeStringField("nextCursor", null);
+        }));
+
+        assertTrue(json.get("success").asBoolean());
+        assertEquals(3, json.get("sequences").size());
+        assertEquals("ACGTN", json.at("/sequences/2/sequence").asText());
+        assertTrue(json.get("nextCursor").isNull());
+    }
+
+    @Test
+    @DisplayName("응답 스트림은 닫지 않음")
+    void leavesResponseStreamOpen() throws IOException {
+        boolean[] closed = {false};
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        jsonResponse.ok(Map.of("a", 1)).getBody().writeTo(out);
+        assertFalse(closed[0]);
+    }
+}
@@ -0,0 +1,87 @@
+package com.biodatahub.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(-5 * SECOND);
+
+    @Test
+    @DisplayName("가득 찬 버킷에서 burst만큼 받아들이고 그다음은 거절")
+    void admitsBurstThenRejects() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1.0, 5, 64, now::get);
+
+        assertEquals(5, limiter.available("a"));
+        assertTrue(limiter.acquire("a", 3, 0).isAdmitted());
+        assertTrue(limiter.acquire("a", 2, 0).isAdmitted());
+        assertEquals(0, limiter.available("a"));
+
+        TokenBucketRateLimiter.Admission rejected = limiter.acquire("a", 2, 0);
+        assertFalse(rejected.isAdmitted());
+        assertEquals(2 * SECOND, rejected.getWaitNanos());
+    }
+
+    @Test
+    @DisplayName("초당 비율로 다시 채워지며 burst를 넘지 않음")
+    void refillsAtRate() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2.0, 4, 64, now::get);
+        assertTrue(limiter.acquire("a", 4, 0).isAdmitted());
+
+        now.addAndGet(SECOND);
+        assertEquals(2, limiter.available("a"));
+        now.addAndGet(60 * SECOND);
+        assertEquals(4, limiter.available("a"));
+    }
+
+    @Test
+    @DisplayName("maxWait 안에 채워지면 예약하고 대기 시간을 알려줌")
+    void reservesWithinMaxWait() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1.0, 2, 64, now::get);
+        assertTrue(limiter.acquire("a", 2, 0).isAdmitted());
+
+        TokenBucketRateLimiter.Admission queued = limiter.acquire("a", 1, 2 * SECOND);
+        assertTrue(queued.isAdmitted());
+        assertEquals(SECOND, queued.getWaitNanos());
+        // 예약한 토큰만큼 다음 요청은 더 기다려야 함
+        assertEquals(2 * SECOND, limiter.acquire("a", 1, 0).getWaitNanos());
+    }
+
+    @Test
+    @DisplayName("클라이언트마다 버킷이 따로 있고 burst보다 큰 비용은 burst로 제한")
+    void separatesClientsAndCapsCost() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1.0, 3, 4096, now::get);
+
+        assertTrue(limiter.acquire("a", 100, 0).isAdmitted());
+        assertFalse(limiter.acquire("a", 1, 0).isAdmitted());
+        assertTrue(limiter.acquire("b", 1, 0).isAdmitted());
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 요청해도 burst를 넘게 받아들이지 않음")
+    void concurrentAcquireNeverExceedsBurst() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0.001, 100, 16, now::get);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            pool.execute(() -> {
+                if (limiter.acquire("shared", 1, 0).isAdmitted()) {
+                    admitted.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, admitted.get());
+    }
+}
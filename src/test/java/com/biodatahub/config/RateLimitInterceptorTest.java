@@ -0,0 +1,57 @@
+package com.biodatahub.config;
+
+import com.biodatahub.common.TokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/search");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+
+    @Test
+    @DisplayName("신뢰하는 프록시가 없으면 X-Forwarded-For를 무시하고 원격 주소를 사용")
+    void ignoresForwardedForWithoutTrustedProxy() {
+        assertEquals("203.0.113.9", RateLimitInterceptor.clientKey(request("203.0.113.9", "1.2.3.4"), Set.of()));
+        assertEquals("203.0.113.9",
+                RateLimitInterceptor.clientKey(request("203.0.113.9", "1.2.3.4"), Set.of("10.0.0.1")));
+    }
+
+    @Test
+    @DisplayName("신뢰하는 프록시에서 온 요청은 오른쪽부터 신뢰하지 않는 첫 주소를 사용")
+    void usesRightMostUntrustedHop() {
+        Set<String> proxies = Set.of("10.0.0.1", "10.0.0.2");
+        // 클라이언트가 앞에 넣은 1.2.3.4는 무시되고 프록시가 붙인 실제 주소가 쓰임
+        assertEquals("198.51.100.7", RateLimitInterceptor.clientKey(
+                request("10.0.0.1", "1.2.3.4, 198.51.100.7, 10.0.0.2"), proxies));
+        assertEquals("10.0.0.1", RateLimitInterceptor.clientKey(request("10.0.0.1", null), proxies));
+    }
+
+    @Test
+    @DisplayName("헤더를 바꿔도 같은 클라이언트의 버킷을 쓰므로 한도를 넘으면 429")
+    void changingHeaderDoesNotResetBucket() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0.001, 2, 64);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter, new ObjectMapper(),
+                request -> 1, 0, Set.of());
+
+        assertTrue(interceptor.preHandle(request("203.0.113.9", "1.1.1.1"), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(request("203.0.113.9", "2.2.2.2"), new MockHttpServletResponse(), null));
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("203.0.113.9", "3.3.3.3"), rejected, null));
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+    }
+}
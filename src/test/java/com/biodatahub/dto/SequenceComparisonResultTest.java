@@ -0,0 +1,94 @@
+package com.biodatahub.dto;
+
+import com.biodatahub.model.SequenceData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceComparisonResultTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SequenceData sequence(long id, String fileId, String sequenceId, String bases) {
+        SequenceData data = SequenceData.builder()
+                .id(id)
+                .fileId(fileId)
+                .sequenceId(sequenceId)
+                .header(sequenceId + " test")
+                .sequence(bases)
+                .build();
+        data.calculateBaseCounts();
+        return data;
+    }
+
+    private SequenceComparisonResult sampleResult() {
+        List<SequenceData> rows = List.of(
+                sequence(1, "ref", "r1", "ATCG"),
+                sequence(2, "cmp", "c1", "ATCC"),
+                sequence(3, "cmp", "c2", "ATCGAA"));
+        SequenceComparisonResult.SequenceTable table = SequenceComparisonResult.SequenceTable.of(
+                List.of("ref", "cmp"), List.of("ref.fasta", "cmp.fasta"), 1, new int[]{0, 1, 1}, rows);
+        SequenceComparisonResult.ReferenceResult reference = SequenceComparisonResult.ReferenceResult.builder()
+                .referenceIndex(0)
+                .matchIndexes(new int[]{1, 2})
+                .similarityScores(new double[]{75.0, 66.67})
+                .build();
+        SequenceComparisonResult.Summary summary = SequenceComparisonResult.Summary.builder()
+                .totalReferenceSequences(1)
+                .totalComparisons(2)
+                .averageSimilarity(70.835)
+                .maxSimilarity(75.0)
+                .minSimilarity(66.67)
+                .high(1)
+                .medium(1)
+                .build();
+        return SequenceComparisonResult.builder()
+                .sequences(table)
+                .references(List.of(reference))
+                .summary(summary)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Legacy view keeps the original nested JSON schema")
+    void testLegacyViewSchema() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(LegacyComparisonView.of(sampleResult())));
+
+        assertEquals("ref.fasta", json.at("/referenceFile/fileName").asText());
+        assertEquals(1, json.at("/referenceFile/totalSequences").asInt());
+        assertEquals("r1", json.at("/referenceFile/sequences/0/sequenceId").asText());
+
+        JsonNode firstMatch = json.at("/sequenceComparisons/0/allMatches/0");
+        assertEquals(2, json.at("/sequenceComparisons/0/totalMatches").asInt());
+        assertEquals("c1", firstMatch.at("/comparisonSequence/sequenceId").asText());
+        assertEquals("cmp", firstMatch.get("comparisonFileId").asText());
+        assertEquals(0, firstMatch.get("lengthDifference").asInt());
+        assertEquals(-1, firstMatch.at("/baseCompositionDifferences/G").asLong());
+        assertEquals(1, firstMatch.at("/baseCompositionDifferences/C").asLong());
+        assertEquals("유사", firstMatch.get("similarityGrade").asText());
+
+        JsonNode secondMatch = json.at("/sequenceComparisons/0/allMatches/1");
+        assertEquals(2, secondMatch.get("lengthDifference").asInt());
+        assertEquals(1.5, secondMatch.get("lengthRatio").asDouble(), 0.0001);
+
+        assertEquals(1, json.at("/summaryStats/similarityDistribution/high").asInt());
+        assertEquals(2, json.at("/summaryStats/totalComparisons").asInt());
+    }
+
+    @Test
+    @DisplayName("Compact form round-trips through JSON")
+    void testCompactRoundTrip() throws Exception {
+        SequenceComparisonResult original = sampleResult();
+
+        String json = objectMapper.writeValueAsString(original);
+        SequenceComparisonResult restored = objectMapper.readValue(json, SequenceComparisonResult.class);
+
+        assertEquals(original, restored);
+        assertTrue(objectMapper.readTree(json).at("/sequences/aCounts").isArray());
+    }
+}
@@ -0,0 +1,137 @@
+package com.biodatahub.repository;
+
+import com.biodatahub.dto.BaseCompositionDto;
+import com.biodatahub.dto.DistributionDto;
+import com.biodatahub.dto.SequenceComparisonResult;
+import com.biodatahub.dto.SequenceStatisticsDto;
+import com.biodatahub.model.FileStatistics;
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.StoredComparisonResult;
+import com.biodatahub.model.UploadedFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MybatisTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("memory")
+class AnalysisResultRepositoryTest {
+
+    @Autowired
+    private AnalysisResultRepository analysisResults;
+
+    @Autowired
+    private UploadedFileRepository files;
+
+    private void file(String fileId) {
+        files.insertFile(UploadedFile.builder()
+                .fileId(fileId)
+                .originalName(fileId + ".fasta")
+                .filePath("uploads/" + fileId + ".fasta")
+                .fileSize(1000L)
+                .fileType("COMPARISON")
+                .uploadStatus(UploadedFile.UploadStatus.COMPLETED)
+                .build());
+    }
+
+    private SequenceStatisticsDto statistics(int totalSequences) {
+        return SequenceStatisticsDto.builder()
+                .totalSequences(totalSequences)
+                .validSequences(totalSequences)
+                .totalLength(totalSequences * 100L)
+                .averageLength(100.0)
+                .minLength(100)
+                .maxLength(100)
+                .averageGcContent(50.0)
+                .baseComposition(BaseCompositionDto.builder()
+                        .aCount(25).tCount(25).cCount(25).gCount(25).totalCount(100).build())
+                .lengthDistribution(DistributionDto.of(Map.of("0-499", totalSequences)))
+                .gcDistribution(DistributionDto.of(Map.of("50-60%", totalSequences)))
+                .build();
+    }
+
+    private SequenceComparisonResult comparisonResult(String referenceId, String comparisonId) {
+        SequenceData reference = SequenceData.builder().id(1L).fileId(referenceId).sequenceId("r1").sequence("ATCG").build();
+        SequenceData comparison = SequenceData.builder().id(2L).fileId(comparisonId).sequenceId("c1").sequence("ATCC").build();
+        reference.calculateBaseCounts();
+        comparison.calculateBaseCounts();
+        return SequenceComparisonResult.builder()
+                .sequences(SequenceComparisonResult.SequenceTable.of(List.of(referenceId, comparisonId),
+                        List.of("ref.fasta", "cmp.fasta"), 1, new int[]{0, 1}, List.of(reference, comparison)))
+                .references(List.of(SequenceComparisonResult.ReferenceResult.builder()
+                        .referenceIndex(0)
+                        .matchIndexes(new int[]{1})
+                        .similarityScores(new double[]{75.0})
+                        .build()))
+                .summary(SequenceComparisonResult.Summary.builder()
+                        .totalReferenceSequences(1).totalComparisons(1)
+                        .averageSimilarity(75.0).maxSimilarity(75.0).minSimilarity(75.0).high(1)
+                        .build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("파일 통계를 저장하고 다시 저장하면 본문과 해시를 덮어씀")
+    void savesAndOverwritesStatistics() {
+        file("stats-file");
+        analysisResults.saveStatistics(FileStatistics.of("stats-file", statistics(3)));
+        assertEquals(statistics(3), analysisResults.findStatisticsByFileId("stats-file").getStatistics());
+        assertNotNull(analysisResults.findStatisticsSavedAt("stats-file"));
+        assertNull(analysisResults.findStatisticsSavedAt("missing"));
+        String firstHash = analysisResults.findStatisticsHash("stats-file");
+        assertEquals(64, firstHash.length());
+        assertNull(analysisResults.findStatisticsHash("missing"));
+
+        analysisResults.saveStatistics(FileStatistics.of("stats-file", statistics(5)));
+        assertEquals(statistics(5), analysisResults.findStatisticsByFileId("stats-file").getStatistics());
+        assertNull(analysisResults.findStatisticsByFileId("missing"));
+        // 같은 초 안에 다시 저장해도 내용이 바뀌면 해시(ETag)가 바뀜
+        assertNotEquals(firstHash, analysisResults.findStatisticsHash("stats-file"));
+        assertEquals(analysisResults.findStatisticsHash("stats-file"), FileStatistics.of("other", statistics(5)).getContentHash());
+    }
+
+    @Test
+    @DisplayName("비교 결과의 열 배열과 점수가 그대로 복원됨")
+    void restoresComparisonResult() {
+        file("cmp-ref");
+        file("cmp-other");
+        SequenceComparisonResult result = comparisonResult("cmp-ref", "cmp-other");
+        analysisResults.saveComparisonResult(StoredComparisonResult.of("k1", "cmp-ref", result));
+
+        // ETag용 해시는 결과 본문을 읽지 않고 조회
+        assertEquals(StoredComparisonResult.contentHash(result), analysisResults.findComparisonResultHash("k1"));
+        assertNull(analysisResults.findComparisonResultHash("missing"));
+        SequenceComparisonResult restored = analysisResults.findComparisonResult("k1").getResult();
+        assertEquals(result.getSummary(), restored.getSummary());
+        assertEquals(List.of("cmp-ref", "cmp-other"), restored.getSequences().getFileIds());
+        assertArrayEquals(result.getSequences().getIds(), restored.getSequences().getIds());
+        assertArrayEquals(result.getSequences().getGcContents(), restored.getSequences().getGcContents());
+        assertArrayEquals(new double[]{75.0}, restored.getReferences().get(0).getSimilarityScores());
+
+        analysisResults.deleteComparisonResult("k1");
+        assertNull(analysisResults.findComparisonResult("k1"));
+    }
+
+    @Test
+    @DisplayName("파일을 삭제하면 저장된 통계와 그 파일이 기준인 비교 결과도 삭제됨")
+    void deletingFileCascades() {
+        file("gone-ref");
+        file("gone-other");
+        analysisResults.saveStatistics(FileStatistics.builder().fileId("gone-ref").statistics(statistics(1)).build());
+        analysisResults.saveComparisonResult(StoredComparisonResult.builder()
+                .resultKey("k2").referenceFileId("gone-ref").result(comparisonResult("gone-ref", "gone-other")).build());
+
+        files.deleteByFileId("gone-ref");
+
+        assertNull(analysisResults.findStatisticsByFileId("gone-ref"));
+        assertNull(analysisResults.findComparisonResult("k2"));
+    }
+}
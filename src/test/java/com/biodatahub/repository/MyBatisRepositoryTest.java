@@ -0,0 +1,35 @@
+package com.biodatahub.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MyBatis 매퍼(XML SQL) 구현
+ */
+class MyBatisRepositoryTest extends RepositoryContractTest {
+
+    @Autowired
+    private SequenceRepository sequenceRepository;
+
+    @Autowired
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Override
+    protected SequenceRepository sequences() {
+        return sequenceRepository;
+    }
+
+    @Override
+    protected UploadedFileRepository files() {
+        return uploadedFileRepository;
+    }
+
+    @Test
+    @DisplayName("매퍼는 배치 세션으로 바로 기록할 수 있다")
+    void supportsJdbcBatch() {
+        assertTrue(sequenceRepository.supportsJdbcBatch());
+    }
+}
@@ -0,0 +1,298 @@
+package com.biodatahub.repository;
+
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.SequenceSummary;
+import com.biodatahub.model.UploadedFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SequenceRepository / UploadedFileRepository 구현이 공통으로 지켜야 하는 동작
+ * 구현마다 하위 클래스를 두고, 모두 memory 프로필의 내장 H2(MODE=MySQL) 위에서 실행한다.
+ */
+@MybatisTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("memory")
+public abstract class RepositoryContractTest {
+
+    protected abstract SequenceRepository sequences();
+
+    protected abstract UploadedFileRepository files();
+
+    protected UploadedFile file(String fileId) {
+        UploadedFile file = UploadedFile.builder()
+                .fileId(fileId)
+                .originalName(fileId + ".fasta")
+                .filePath("uploads/" + fileId + ".fasta")
+                .fileSize(1000L)
+                .fileType("COMPARISON")
+                .uploadStatus(UploadedFile.UploadStatus.COMPLETED)
+                .build();
+        files().insertFile(file);
+        return file;
+    }
+
+    protected SequenceData sequence(String fileId, String sequenceId, int length, Double gc, boolean valid) {
+        SequenceData sequence = SequenceData.builder()
+                .fileId(fileId)
+                .sequenceId(sequenceId)
+                .header(sequenceId + " description")
+                .sequenceSegment(1)
+                .sequenceOffset(0L)
+                .sequenceBytes(length / 4)
+                .sequenceLength(length)
+                .gcContent(gc)
+                .aCount(length / 4).tCount(length / 4).cCount(length / 4).gCount(length / 4).nCount(0)
+                .isValid(valid)
+                .build();
+        sequences().insertSequence(sequence);
+        return sequence;
+    }
+
+    private static List<Long> ids(List<? extends Object> rows) {
+        List<Long> ids = new ArrayList<>();
+        for (Object row : rows) {
+            ids.add(row instanceof SequenceData data ? data.getId() : ((SequenceSummary) row).getId());
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("업로드 파일을 저장하면 id가 생성되고 file_id/id/상태로 조회, 수정할 수 있다")
+    void storesAndUpdatesUploadedFiles() {
+        UploadedFile first = file("file-a");
+        UploadedFile second = file("file-b");
+        assertNotNull(first.getId());
+        assertTrue(second.getId() > first.getId());
+
+        UploadedFile found = files().findByFileId("file-a");
+        assertEquals(first.getId(), found.getId());
+        assertEquals("file-a.fasta", found.getOriginalName());
+        assertEquals(UploadedFile.UploadStatus.COMPLETED, found.getUploadStatus());
+        assertNotNull(found.getCreatedAt());
+        assertEquals("file-b", files().findById(second.getId()).getFileId());
+        assertNull(files().findByFileId("missing"));
+        assertEquals(Set.of("file-a", "file-b"), new HashSet<>(files().findByFileIds(List.of("file-a", "file-b", "missing"))
+                .stream().map(UploadedFile::getFileId).toList()));
+        assertEquals(2, files().findAll().size());
+        assertEquals(1, files().findRecentFiles(1).size());
+
+        files().updateUploadStatus("file-b", UploadedFile.UploadStatus.FAILED);
+        files().updateFilePath("file-a", "moved/file-a.fasta");
+        assertEquals(UploadedFile.UploadStatus.FAILED, files().findByFileId("file-b").getUploadStatus());
+        assertEquals("moved/file-a.fasta", files().findByFileId("file-a").getFilePath());
+        assertEquals(1, files().countByStatus(UploadedFile.UploadStatus.COMPLETED));
+        assertEquals(List.of("file-b"), files().findByStatus(UploadedFile.UploadStatus.FAILED)
+                .stream().map(UploadedFile::getFileId).toList());
+        assertEquals(1000L, files().getTotalUploadedSize());
+    }
+
+    @Test
+    @DisplayName("여러 업로드 파일을 한 번에 저장하면 각 행에 입력 순서대로 id가 생성된다")
+    void storesUploadedFileBatch() {
+        List<UploadedFile> batch = new ArrayList<>();
+        for (String fileId : List.of("batch-a", "batch-b", "batch-c")) {
+            batch.add(UploadedFile.builder()
+                    .fileId(fileId)
+                    .originalName(fileId + ".fasta")
+                    .filePath("uploads/" + fileId + ".fasta")
+                    .fileSize(500L)
+                    .fileType("FASTA")
+                    .uploadStatus(UploadedFile.UploadStatus.COMPLETED)
+                    .build());
+        }
+        files().insertFileBatch(batch);
+
+        assertNotNull(batch.get(0).getId());
+        assertTrue(batch.get(1).getId() > batch.get(0).getId());
+        assertTrue(batch.get(2).getId() > batch.get(1).getId());
+        assertEquals("batch-b", files().findById(batch.get(1).getId()).getFileId());
+        assertEquals(3, files().countByStatus(UploadedFile.UploadStatus.COMPLETED));
+        assertEquals(1500L, files().getTotalUploadedSize());
+    }
+
+    @Test
+    @DisplayName("서열을 저장하면 id가 증가 순서로 생성되고, GC 함량은 소수 둘째 자리로 저장된다")
+    void storesSequencesWithGeneratedIds() {
+        file("f1");
+        file("f2");
+        SequenceData a = sequence("f1", "a", 100, 41.236, true);
+        SequenceData b = sequence("f1", "b", 200, null, true);
+        SequenceData c = sequence("f2", "c", 300, 50.0, false);
+        assertTrue(a.getId() < b.getId() && b.getId() < c.getId());
+
+        SequenceData found = sequences().findById(a.getId());
+        assertEquals("f1", found.getFileId());
+        assertEquals("a description", found.getHeader());
+        assertEquals(41.24, found.getGcContent());
+        assertEquals(100, found.getSequenceLength());
+        assertEquals(25, found.getSequenceBytes());
+        assertNull(found.getSequence());
+        assertNull(sequences().findById(-1L));
+
+        assertEquals(List.of(a.getId(), b.getId()), sequences().findIdsByFileId("f1"));
+        assertEquals(List.of(b.getId()), sequences().findIdsByFileIdAfterId("f1", a.getId()));
+        assertEquals(List.of(a.getId(), b.getId()), sequences().findIdsByFileIdAfterId("f1", null));
+        assertEquals(c.getId(), sequences().findMaxId());
+        assertEquals(List.of(a.getId(), b.getId(), c.getId()), ids(sequences().findSummariesByFileIds(List.of("f2", "f1"))));
+        assertEquals(Set.of(a.getId(), c.getId()), new HashSet<>(ids(sequences().findMetadataByIds(List.of(c.getId(), a.getId())))));
+        assertEquals(2, sequences().countByFileId("f1"));
+        assertEquals(0, sequences().countByFileId("missing"));
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Map<String, Object> row : sequences().countByFileIds(List.of("f1", "f2", "missing"))) {
+            counts.put((String) row.get("fileId"), ((Number) row.get("sequenceCount")).longValue());
+        }
+        assertEquals(Map.of("f1", 2L, "f2", 1L), counts);
+    }
+
+    @Test
+    @DisplayName("집계는 유효 서열만 대상으로 하고, 유효 서열이 없으면 NULL")
+    void aggregatesValidSequencesOnly() {
+        file("f1");
+        file("empty");
+        sequence("f1", "a", 100, 40.0, true);
+        sequence("f1", "b", 300, null, true);
+        sequence("f1", "c", 900, 60.0, true);
+        sequence("f1", "bad", 5000, 90.0, false);
+        sequence("empty", "bad", 10, 10.0, false);
+
+        assertEquals(3, sequences().countValidSequencesByFileId("f1"));
+        assertEquals(50.0, sequences().getAverageGcContent("f1"), 1e-9);
+        assertEquals(433.333, sequences().getAverageSequenceLength("f1"), 1e-3);
+        assertEquals(100, sequences().getMinSequenceLength("f1"));
+        assertEquals(900, sequences().getMaxSequenceLength("f1"));
+        assertEquals(1300L, sequences().getTotalSequenceLength("f1"));
+
+        assertEquals(0, sequences().countValidSequencesByFileId("empty"));
+        assertNull(sequences().getAverageGcContent("empty"));
+        assertNull(sequences().getMinSequenceLength("empty"));
+        assertNull(sequences().getMaxSequenceLength("empty"));
+        assertNull(sequences().getTotalSequenceLength("empty"));
+    }
+
+    @Test
+    @DisplayName("id 범위 조회는 id 순서대로 돌려준다")
+    void findsByIdRange() {
+        file("f1");
+        sequence("f1", "a", 500, 60.0, true);
+        SequenceData b = sequence("f1", "b", 100, 30.0, true);
+        SequenceData c = sequence("f1", "c", 300, 45.0, true);
+        sequence("f1", "d", 700, null, true);
+
+        assertEquals(List.of(b.getId(), c.getId()), ids(sequences().findByFileIdAndIdRange("f1", b.getId(), c.getId())));
+    }
+
+    @Test
+    @DisplayName("keyset 페이지를 이어 읽으면 정렬 기준/방향/필터별 전체 순서와 같다")
+    void browsesWithKeysetPagination() {
+        file("f1");
+        file("other");
+        List<SequenceData> rows = new ArrayList<>();
+        int[] lengths = {500, 100, 300, 300, 700, 100, 900, 300};
+        Double[] gcs = {60.0, 30.0, 45.0, 45.0, null, 30.0, 55.5, 41.0};
+        for (int i = 0; i < lengths.length; i++) {
+            rows.add(sequence("f1", "s" + i, lengths[i], gcs[i], true));
+        }
+        sequence("other", "x", 300, 45.0, true);
+
+        for (String sort : List.of("id", "length", "gc")) {
+            for (boolean descending : List.of(false, true)) {
+                Comparator<SequenceData> order = Comparator.comparingLong(SequenceData::getId);
+                if (sort.equals("length")) {
+                    order = Comparator.<SequenceData>comparingInt(SequenceData::getSequenceLength).thenComparing(order);
+                } else if (sort.equals("gc")) {
+                    order = Comparator.<SequenceData>comparingDouble(SequenceData::getGcContent).thenComparing(order);
+                }
+                if (descending) {
+                    order = order.reversed();
+                }
+                List<Long> expected = rows.stream()
+                        .filter(row -> !sort.equals("gc") || row.getGcContent() != null)
+                        .filter(row -> row.getSequenceLength() >= 200)
+                        .sorted(order).map(SequenceData::getId).toList();
+
+                List<Long> actual = new ArrayList<>();
+                BigDecimal afterValue = null;
+                Long afterId = null;
+                while (true) {
+                    List<SequenceSummary> page = sequences().browseSummaries("f1", sort, descending,
+                            afterValue, afterId, null, null, 200, null, 2);
+                    actual.addAll(ids(page));
+                    if (page.size() < 2) {
+                        break;
+                    }
+                    SequenceSummary last = page.get(page.size() - 1);
+                    afterId = last.getId();
+                    afterValue = sort.equals("length") ? BigDecimal.valueOf(last.getSequenceLength())
+                            : sort.equals("gc") ? BigDecimal.valueOf(last.getGcContent()) : null;
+                }
+                assertEquals(expected, actual, sort + (descending ? " desc" : " asc"));
+            }
+        }
+
+        List<SequenceSummary> gcFiltered = sequences().browseSummaries("f1", "length", false,
+                null, null, 40.0, 50.0, null, null, 10);
+        assertEquals(List.of(rows.get(2).getId(), rows.get(3).getId(), rows.get(7).getId()), ids(gcFiltered));
+    }
+
+    @Test
+    @DisplayName("스트리밍 조회는 (file_id, id) 순서로 한 행씩 전달한다")
+    void streamsRowsInFileAndIdOrder() {
+        file("f2");
+        file("f1");
+        SequenceData b = sequence("f2", "b", 100, 40.0, true);
+        SequenceData a = sequence("f1", "a", 100, 40.0, true);
+        SequenceData c = sequence("f2", "c", 100, 40.0, true);
+
+        List<Long> streamed = new ArrayList<>();
+        sequences().streamMetadataByFileIds(List.of("f2", "f1"), context -> streamed.add(context.getResultObject().getId()));
+        assertEquals(List.of(a.getId(), b.getId(), c.getId()), streamed);
+
+        List<Long> summaries = new ArrayList<>();
+        sequences().streamSummariesByFileId("f2", context -> summaries.add(context.getResultObject().getId()));
+        assertEquals(List.of(b.getId(), c.getId()), summaries);
+
+        List<String> headers = new ArrayList<>();
+        sequences().streamMetadataByFileId("f1", context -> headers.add(context.getResultObject().getHeader()));
+        assertEquals(List.of("a description"), headers);
+    }
+
+    @Test
+    @DisplayName("서열 수정/삭제와 업로드 파일 삭제(서열 CASCADE)가 조회에 반영된다")
+    void updatesAndDeletes() {
+        file("f1");
+        file("f2");
+        SequenceData a = sequence("f1", "a", 100, 40.0, true);
+        SequenceData b = sequence("f1", "b", 200, 50.0, true);
+        sequence("f2", "c", 300, 60.0, true);
+
+        a.setSequenceLength(150);
+        a.setIsValid(false);
+        sequences().updateSequence(a);
+        SequenceData updated = sequences().findById(a.getId());
+        assertEquals(150, updated.getSequenceLength());
+        assertFalse(updated.getIsValid());
+        assertEquals("f1", updated.getFileId());
+        assertEquals(1, sequences().countValidSequencesByFileId("f1"));
+
+        sequences().deleteById(b.getId());
+        assertNull(sequences().findById(b.getId()));
+        assertEquals(List.of(a.getId()), sequences().findIdsByFileId("f1"));
+
+        sequences().deleteByFileId("f1");
+        assertEquals(0, sequences().countByFileId("f1"));
+
+        files().deleteByFileId("f2");
+        assertNull(files().findByFileId("f2"));
+        assertEquals(0, sequences().countByFileId("f2"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.biodatahub.repository;
+
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.SequenceMatchRecord;
+import com.biodatahub.model.UploadedFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MybatisTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("memory")
+class SequenceMatchRepositoryTest {
+
+    @Autowired
+    private SequenceMatchRepository matches;
+
+    @Autowired
+    private SequenceRepository sequences;
+
+    @Autowired
+    private UploadedFileRepository files;
+
+    private void file(String fileId) {
+        files.insertFile(UploadedFile.builder()
+                .fileId(fileId)
+                .originalName(fileId + ".fasta")
+                .filePath("uploads/" + fileId + ".fasta")
+                .fileSize(1000L)
+                .fileType("COMPARISON")
+                .uploadStatus(UploadedFile.UploadStatus.COMPLETED)
+                .build());
+    }
+
+    private Long sequence(String fileId, String sequenceId) {
+        SequenceData sequence = SequenceData.builder()
+                .fileId(fileId)
+                .sequenceId(sequenceId)
+                .header(sequenceId)
+                .sequenceSegment(1)
+                .sequenceOffset(0L)
+                .sequenceBytes(25)
+                .sequenceLength(100)
+                .gcContent(50.0)
+                .aCount(25).tCount(25).cCount(25).gCount(25).nCount(0)
+                .isValid(true)
+                .build();
+        sequences.insertSequence(sequence);
+        return sequence.getId();
+    }
+
+    private SequenceMatchRecord match(Long referenceSequenceId, Long comparisonSequenceId, int matchCount) {
+        return SequenceMatchRecord.builder()
+                .referenceSequenceId(referenceSequenceId)
+                .comparisonSequenceId(comparisonSequenceId)
+                .similarityScore((double) matchCount)
+                .alignmentLength(100)
+                .matchCount(matchCount)
+                .mismatchCount(100 - matchCount)
+                .gapCount(0)
+                .strand(SequenceMatchRecord.FORWARD_STRAND)
+                .build();
+    }
+
+    @Test
+    @DisplayName("같은 서열 쌍을 다시 저장하면 새 행 없이 최신 점수로 갱신")
+    void insertMatchBatchUpsertsByPair() {
+        file("ref");
+        file("cmp");
+        Long ref = sequence("ref", "r1");
+        Long cmp = sequence("cmp", "c1");
+
+        matches.insertMatchBatch(List.of(match(ref, cmp, 40)));
+        matches.insertMatchBatch(List.of(match(ref, cmp, 90)));
+
+        List<SequenceMatchRecord> stored = matches.findByReferenceSequenceIds(List.of(ref), List.of("cmp"));
+        assertEquals(1, stored.size());
+        assertEquals(90, stored.get(0).getMatchCount());
+        assertEquals(1, matches.countByReferenceSequenceId(ref));
+    }
+
+    @Test
+    @DisplayName("요청한 기준 서열과 비교 파일 사이의 점수만 조회")
+    void findsOnlyRequestedReferencesAndComparisonFiles() {
+        file("ref");
+        file("cmp1");
+        file("cmp2");
+        Long r1 = sequence("ref", "r1");
+        Long r2 = sequence("ref", "r2");
+        Long c1 = sequence("cmp1", "c1");
+        Long c2 = sequence("cmp2", "c2");
+        matches.insertMatchBatch(List.of(match(r1, c1, 10), match(r1, c2, 20), match(r2, c1, 30)));
+
+        List<SequenceMatchRecord> stored = matches.findByReferenceSequenceIds(List.of(r1), List.of("cmp1"));
+
+        assertEquals(1, stored.size());
+        assertEquals(r1, stored.get(0).getReferenceSequenceId());
+        assertEquals(c1, stored.get(0).getComparisonSequenceId());
+        assertEquals(2, matches.findByReferenceSequenceIds(List.of(r1, r2), List.of("cmp1")).size());
+    }
+}
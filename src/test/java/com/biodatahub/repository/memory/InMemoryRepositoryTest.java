@@ -0,0 +1,69 @@
+package com.biodatahub.repository.memory;
+
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.repository.RepositoryContractTest;
+import com.biodatahub.repository.SequenceRepository;
+import com.biodatahub.repository.UploadedFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 메모리 구현 (H2 매퍼에 같이 기록)
+ */
+class InMemoryRepositoryTest extends RepositoryContractTest {
+
+    @Autowired
+    private SequenceRepository sequenceMapper;
+
+    @Autowired
+    private UploadedFileRepository uploadedFileMapper;
+
+    private InMemorySequenceRepository sequences;
+    private InMemoryUploadedFileRepository files;
+
+    @BeforeEach
+    void createRepositories() {
+        sequences = new InMemorySequenceRepository(sequenceMapper, uploadedFileMapper);
+        files = new InMemoryUploadedFileRepository(uploadedFileMapper, sequences);
+    }
+
+    @Override
+    protected SequenceRepository sequences() {
+        return sequences;
+    }
+
+    @Override
+    protected UploadedFileRepository files() {
+        return files;
+    }
+
+    @Test
+    @DisplayName("메모리 저장소는 배치 세션의 매퍼로 대신 기록하지 않는다")
+    void doesNotSupportJdbcBatch() {
+        assertFalse(sequences.supportsJdbcBatch());
+    }
+
+    @Test
+    @DisplayName("새로 만든 저장소는 H2에 기록된 파일과 서열을 읽어 들인다")
+    void reloadsRowsFromEmbeddedDatabase() {
+        file("f1");
+        SequenceData a = sequence("f1", "a", 100, 40.0, true);
+        SequenceData b = sequence("f1", "b", 200, 55.5, false);
+
+        InMemorySequenceRepository reloadedSequences = new InMemorySequenceRepository(sequenceMapper, uploadedFileMapper);
+        InMemoryUploadedFileRepository reloadedFiles = new InMemoryUploadedFileRepository(uploadedFileMapper, reloadedSequences);
+        reloadedSequences.load();
+        reloadedFiles.load();
+
+        assertEquals("f1.fasta", reloadedFiles.findByFileId("f1").getOriginalName());
+        assertEquals(List.of(a.getId(), b.getId()), reloadedSequences.findIdsByFileId("f1"));
+        assertEquals(55.5, reloadedSequences.findById(b.getId()).getGcContent());
+        assertEquals(1, reloadedSequences.countValidSequencesByFileId("f1"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.biodatahub.service;
+
+import com.biodatahub.dto.FileAnalysisStatusDto;
+import com.biodatahub.dto.SequenceStatisticsDto;
+import com.biodatahub.repository.SequenceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BatchAnalysisServiceTest {
+
+    private final SequenceAnalysisService analysisService = mock(SequenceAnalysisService.class);
+    private final SequenceRepository sequenceRepository = mock(SequenceRepository.class);
+    private BatchAnalysisService batchService;
+
+    @AfterEach
+    void tearDown() {
+        if (batchService != null) {
+            batchService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("병렬도는 CPU 수, ingest 풀 크기, 최대 동시 작업 수 중 가장 작은 값")
+    void parallelismIsBoundedByCpuAndPool() {
+        assertEquals(2, BatchAnalysisService.parallelism(8, 2, 5));
+        assertEquals(4, BatchAnalysisService.parallelism(4, 10, 5));
+        assertEquals(3, BatchAnalysisService.parallelism(16, 10, 3));
+        assertEquals(1, BatchAnalysisService.parallelism(4, 0, 5));
+    }
+
+    @Test
+    @DisplayName("파일별 결과를 전달하고 동시 분석 수는 병렬도를 넘지 않음")
+    void analyzesConcurrentlyWithinParallelism() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(sequenceRepository.countByFileIds(anyList())).thenReturn(List.of());
+        when(analysisService.analyzeIfNotAnalyzed(anyString())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return SequenceStatisticsDto.builder().totalSequences(1).build();
+        });
+        batchService = new BatchAnalysisService(analysisService, sequenceRepository, 5, 2, 16);
+
+        Map<String, FileAnalysisStatusDto> statuses = new ConcurrentHashMap<>();
+        BatchAnalysisService.BatchSummary summary = batchService
+                .analyzeFiles(List.of("f1", "f2", "f3", "f4", "f5", "f1"), s -> statuses.put(s.getFileId(), s))
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(5, summary.getTotal());
+        assertEquals(5, summary.getCompleted());
+        assertEquals(5, statuses.size());
+        assertTrue(maxRunning.get() <= batchService.getParallelism());
+        if (batchService.getParallelism() > 1) {
+            assertTrue(maxRunning.get() > 1);
+        }
+        verify(analysisService, times(5)).analyzeIfNotAnalyzed(anyString());
+    }
+
+    @Test
+    @DisplayName("이미 분석된 파일은 건너뛰고 실패한 파일은 FAILED로 보고")
+    void reportsAlreadyAnalyzedAndFailedFiles() throws Exception {
+        when(sequenceRepository.countByFileIds(anyList()))
+                .thenReturn(List.of(Map.of("fileId", "done", "sequenceCount", 42L)));
+        when(analysisService.analyzeIfNotAnalyzed("bad")).thenThrow(new RuntimeException("Analysis failed: broken"));
+        batchService = new BatchAnalysisService(analysisService, sequenceRepository, 5, 2, 16);
+
+        Map<String, FileAnalysisStatusDto> statuses = new ConcurrentHashMap<>();
+        BatchAnalysisService.BatchSummary summary = batchService
+                .analyzeFiles(List.of("done", "bad"), s -> statuses.put(s.getFileId(), s))
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(FileAnalysisStatusDto.Status.ALREADY_ANALYZED, statuses.get("done").getStatus());
+        assertEquals(42L, statuses.get("done").getSequenceCount());
+        assertEquals(FileAnalysisStatusDto.Status.FAILED, statuses.get("bad").getStatus());
+        assertEquals("Analysis failed: broken", statuses.get("bad").getMessage());
+        assertEquals(1, summary.getAlreadyAnalyzed());
+        assertEquals(1, summary.getFailed());
+        verify(analysisService, never()).analyzeIfNotAnalyzed("done");
+    }
+
+    @Test
+    @DisplayName("서열 수 확인 뒤 다른 요청이 적재한 파일은 ALREADY_ANALYZED로 보고")
+    void reportsFileIngestedByConcurrentRequestAsAlreadyAnalyzed() throws Exception {
+        when(sequenceRepository.countByFileIds(anyList())).thenReturn(List.of());
+        when(analysisService.analyzeIfNotAnalyzed("raced")).thenReturn(null);
+        when(sequenceRepository.countByFileId("raced")).thenReturn(7);
+        batchService = new BatchAnalysisService(analysisService, sequenceRepository, 5, 2, 16);
+
+        Map<String, FileAnalysisStatusDto> statuses = new ConcurrentHashMap<>();
+        BatchAnalysisService.BatchSummary summary = batchService
+                .analyzeFiles(List.of("raced"), s -> statuses.put(s.getFileId(), s))
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(FileAnalysisStatusDto.Status.ALREADY_ANALYZED, statuses.get("raced").getStatus());
+        assertEquals(7L, statuses.get("raced").getSequenceCount());
+        assertEquals(1, summary.getAlreadyAnalyzed());
+    }
+}
@@ -0,0 +1,197 @@
+package com.biodatahub.service;
+
+import com.biodatahub.dto.SequenceComparisonResult;
+import com.biodatahub.model.SequenceData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComparisonJobTest {
+
+    private SequenceComparisonResult.SequenceTable table() {
+        List<SequenceData> rows = List.of(
+                SequenceData.builder().id(1L).fileId("ref").sequenceId("r1").sequence("ATCG").build(),
+                SequenceData.builder().id(2L).fileId("ref").sequenceId("r2").sequence("GGCC").build(),
+                SequenceData.builder().id(3L).fileId("cmp").sequenceId("c1").sequence("ATCC").build());
+        return SequenceComparisonResult.SequenceTable.of(
+                List.of("ref", "cmp"), List.of("ref.fasta", "cmp.fasta"), 2, new int[]{0, 0, 1}, rows);
+    }
+
+    @Test
+    @DisplayName("Cancellation is raised at the next checkpoint and keeps finished references as a partial result")
+    void testCancelKeepsPartialResult() {
+        ComparisonJob job = new ComparisonJob("ref_cmp");
+        job.publishReferenceFile(table());
+        job.publishReference(SequenceComparisonResult.ReferenceResult.builder()
+                .referenceIndex(0)
+                .matchIndexes(new int[]{2})
+                .similarityScores(new double[]{75.0})
+                .build());
+
+        job.checkCancelled();
+        job.cancel("cancelled by user");
+        ComparisonCancelledException e = assertThrows(ComparisonCancelledException.class, job::checkCancelled);
+        assertTrue(e.getMessage().contains("cancelled by user"));
+
+        SequenceComparisonResult partial = job.partialResult();
+        assertTrue(partial.isPartial());
+        assertEquals(1, partial.getReferences().size());
+        assertEquals(1, partial.getSummary().getTotalReferenceSequences());
+        assertEquals(75.0, partial.getSummary().getMaxSimilarity(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("A passed deadline cancels the job")
+    void testDeadline() {
+        ComparisonJob job = new ComparisonJob("ref_cmp", System.currentTimeMillis() - 1);
+        assertThrows(ComparisonCancelledException.class, job::checkCancelled);
+        assertTrue(job.isCancelled());
+        assertNull(job.partialResult());
+    }
+
+    private static SequenceComparisonResult.ReferenceResult reference(int index) {
+        return SequenceComparisonResult.ReferenceResult.builder()
+                .referenceIndex(index)
+                .matchIndexes(new int[]{2})
+                .similarityScores(new double[]{50.0 + index})
+                .build();
+    }
+
+    /**
+     * 받은 이벤트를 기록하는 리스너 (gate가 열릴 때까지 첫 이벤트에서 멈춤)
+     */
+    private static class RecordingListener implements ComparisonJobListener {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch gate;
+        final CountDownLatch finished = new CountDownLatch(1);
+
+        RecordingListener(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        private void record(String event) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void onProgress(String phase, int completedReferences, int totalReferences) {
+            record("progress:" + completedReferences);
+        }
+
+        @Override
+        public void onReferenceFile(Object referenceFile) {
+            record("referenceFile");
+        }
+
+        @Override
+        public void onReference(int index, Object sequenceComparison) {
+            record("reference:" + index);
+        }
+
+        @Override
+        public void onComplete(Object summaryStats) {
+            record("complete");
+            finished.countDown();
+        }
+
+        @Override
+        public void onError(String message) {
+            record("error");
+            finished.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("A stalled subscriber blocks neither the publishing thread nor other subscribers")
+    void testStalledSubscriberDoesNotBlockPublisher() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            ComparisonJob job = new ComparisonJob("ref_cmp", 0L, executor, 100);
+            CountDownLatch stalled = new CountDownLatch(1);
+            RecordingListener slow = new RecordingListener(stalled);
+            RecordingListener fast = new RecordingListener(new CountDownLatch(0));
+            job.subscribe(slow);
+            job.subscribe(fast);
+
+            job.publishReferenceFile(table());
+            job.publishReference(reference(0));
+            job.publishReference(reference(1));
+            job.complete(SequenceComparisonResult.builder()
+                    .sequences(table())
+                    .references(List.of(reference(0), reference(1)))
+                    .summary(SequenceComparisonResult.Summary.of(List.of(reference(0), reference(1))))
+                    .build());
+
+            assertTrue(job.getFuture().isDone());
+            assertTrue(fast.finished.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("progress:0", "referenceFile", "reference:0", "progress:1", "reference:1",
+                    "progress:2", "complete"), fast.events);
+
+            // 멈춰 있던 구독자도 풀리면 같은 순서로 모두 받음
+            assertEquals(0, slow.events.size());
+            stalled.countDown();
+            assertTrue(slow.finished.await(5, TimeUnit.SECONDS));
+            assertEquals(fast.events, slow.events);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A subscriber whose queue overflows is dropped and receives a single error event")
+    void testOverflowingSubscriberIsDropped() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            ComparisonJob job = new ComparisonJob("ref_cmp", 0L, executor, 2);
+            CountDownLatch stalled = new CountDownLatch(1);
+            RecordingListener slow = new RecordingListener(stalled);
+            job.subscribe(slow);
+
+            job.publishReferenceFile(table());
+            job.publishReference(reference(0));
+            job.publishReference(reference(1));
+
+            stalled.countDown();
+            assertTrue(slow.finished.await(5, TimeUnit.SECONDS));
+            // 넘친 뒤 밀린 이벤트는 버려지고 마지막으로 오류 하나만 받음
+            assertEquals("error", slow.events.get(slow.events.size() - 1));
+            assertFalse(slow.events.contains("reference:1"));
+            int received = slow.events.size();
+
+            // 목록에서 빠졌으므로 이후 이벤트는 받지 않음
+            job.publishReference(reference(2));
+            Thread.sleep(50);
+            assertEquals(received, slow.events.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A late subscriber gets the finished references replayed before live events")
+    void testLateSubscriberReplay() {
+        ComparisonJob job = new ComparisonJob("ref_cmp", 0L, Runnable::run, 100);
+        job.publishReferenceFile(table());
+        job.publishReference(reference(0));
+
+        RecordingListener late = new RecordingListener(new CountDownLatch(0));
+        job.subscribe(late);
+        job.publishReference(reference(1));
+
+        assertEquals(List.of("progress:1", "referenceFile", "reference:0", "reference:1", "progress:2"), late.events);
+    }
+}
@@ -0,0 +1,46 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.ComparisonTile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComparisonTilePlannerTest {
+
+    @Test
+    @DisplayName("Tiles cover every reference x comparison pair exactly once")
+    void testTilesCoverPairMatrix() {
+        List<Long> referenceIds = List.of(1L, 2L, 3L, 4L, 5L);
+        Map<String, List<Long>> comparisonIdsByFile = new LinkedHashMap<>();
+        comparisonIdsByFile.put("fileA", List.of(10L, 11L, 12L));
+        comparisonIdsByFile.put("fileB", List.of(20L));
+
+        List<ComparisonTile> tiles = ComparisonTilePlanner.plan("job", "ref", referenceIds, comparisonIdsByFile, 2);
+
+        // 기준 3구간 x (fileA 2구간 + fileB 1구간)
+        assertEquals(9, tiles.size());
+        assertEquals(5 * 4, tiles.stream().mapToInt(ComparisonTile::getPairCount).sum());
+        for (int i = 0; i < tiles.size(); i++) {
+            assertEquals(i, tiles.get(i).getTileNo());
+            assertEquals(ComparisonTile.TileStatus.PENDING, tiles.get(i).getStatus());
+        }
+
+        ComparisonTile last = tiles.get(tiles.size() - 1);
+        assertEquals(5L, last.getRefMinId());
+        assertEquals(5L, last.getRefMaxId());
+        assertEquals("fileB", last.getComparisonFileId());
+        assertEquals(1, last.getPairCount());
+    }
+
+    @Test
+    @DisplayName("No tiles when a side has no sequences")
+    void testEmptyInput() {
+        Map<String, List<Long>> comparisonIdsByFile = Map.of("fileA", List.of(10L));
+        assertTrue(ComparisonTilePlanner.plan("job", "ref", List.of(), comparisonIdsByFile, 4).isEmpty());
+    }
+}
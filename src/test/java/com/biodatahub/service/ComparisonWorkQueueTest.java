@@ -0,0 +1,306 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.ComparisonTile;
+import com.biodatahub.model.ComparisonWorkJob;
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.SequenceMatchRecord;
+import com.biodatahub.model.UploadedFile;
+import com.biodatahub.repository.ComparisonWorkRepository;
+import com.biodatahub.repository.SequenceMatchRepository;
+import com.biodatahub.repository.SequenceRepository;
+import com.biodatahub.repository.UploadedFileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 같은 H2 DB를 쓰는 두 ComparisonWorkQueue 인스턴스(node-a, node-b)로 분산 비교를 검증
+ * 인스턴스마다 다른 스레드/커넥션에서 커밋해야 하므로 테스트 트랜잭션을 쓰지 않고 직접 정리한다.
+ */
+@MybatisTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("memory")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ComparisonWorkQueueTest {
+
+    private static final int TILE_SIZE = 2;
+    private static final int SEQUENCE_LENGTH = 60;
+
+    @Autowired
+    private ComparisonWorkRepository workRepository;
+
+    @Autowired
+    private SequenceRepository sequenceRepository;
+
+    @Autowired
+    private SequenceMatchRepository sequenceMatchRepository;
+
+    @Autowired
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final Map<Long, byte[]> bases = new ConcurrentHashMap<>();
+    private final Random random = new Random(42);
+    private final List<String> fileIds = new ArrayList<>();
+    private final List<String> jobKeys = new ArrayList<>();
+
+    private String referenceId;
+    private String comparisonId;
+    private List<Long> referenceIds;
+    private List<Long> comparisonIds;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        referenceId = file(prefix + "-ref");
+        comparisonId = file(prefix + "-cmp");
+        referenceIds = sequences(referenceId, 6);
+        comparisonIds = sequences(comparisonId, 6);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobKeys.forEach(workRepository::deleteJob);
+        fileIds.forEach(uploadedFileRepository::deleteByFileId);
+    }
+
+    @Test
+    @DisplayName("Workers on two instances lease every tile exactly once")
+    void testConcurrentWorkersNeverLeaseTileTwice() throws Exception {
+        String jobKey = register("concurrent");
+        ComparisonWorkQueue nodeA = queue("node-a", storeOf(), 3);
+        ComparisonWorkQueue nodeB = queue("node-b", storeOf(), 3);
+
+        AtomicInteger processed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> workers = new ArrayList<>();
+        for (ComparisonWorkQueue node : List.of(nodeA, nodeB, nodeA, nodeB)) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    while (node.processNextTile(jobKey)) {
+                        processed.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join(30_000);
+        }
+
+        assertTrue(errors.isEmpty(), () -> "worker errors: " + errors);
+        List<Map<String, Object>> tiles = tiles(jobKey);
+        assertEquals(9, tiles.size());
+        assertEquals(tiles.size(), processed.get(), "each tile is processed by exactly one worker");
+        for (Map<String, Object> tile : tiles) {
+            assertEquals("DONE", tile.get("status"));
+            assertEquals(1, ((Number) tile.get("attempts")).intValue());
+        }
+        assertMatrixComplete();
+    }
+
+    @Test
+    @DisplayName("A tile whose lease expired on a crashed instance is re-leased and finished by another")
+    void testExpiredLeaseIsReclaimed() {
+        String jobKey = register("expired");
+        // node-a가 구역을 잡은 뒤 죽어서 lease가 이미 만료된 상황
+        String crashedToken = "node-a:" + UUID.randomUUID();
+        assertEquals(1, workRepository.leaseTile(jobKey, crashedToken, -60, 3));
+        ComparisonTile abandoned = workRepository.findTileByLeaseToken(crashedToken);
+
+        ComparisonWorkQueue nodeB = queue("node-b", storeOf(), 3);
+        nodeB.runToCompletion("expired", referenceId, List.of(comparisonId), new ComparisonJob("expired"));
+
+        Map<String, Object> reclaimed = tiles(jobKey).get(abandoned.getTileNo());
+        assertEquals("DONE", reclaimed.get("status"));
+        assertEquals(2, ((Number) reclaimed.get("attempts")).intValue());
+        assertTrue(((String) reclaimed.get("lease_token")).startsWith("node-b:"));
+        // 늦게 살아난 node-a의 완료 처리는 무시된다
+        assertEquals(0, workRepository.completeTile(abandoned.getId(), crashedToken));
+        assertMatrixComplete();
+    }
+
+    @Test
+    @DisplayName("A tile that keeps failing is marked FAILED after maxAttempts and fails the job")
+    void testTileFailsAfterMaxAttempts() {
+        String jobKey = register("failing");
+        Long broken = comparisonIds.get(0);
+        SequenceStore store = storeOf();
+        when(store.readBases(argThat((SequenceData row) -> row != null && broken.equals(row.getId()))))
+                .thenThrow(new IllegalStateException("segment missing"));
+        ComparisonWorkQueue nodeA = queue("node-a", store, 2);
+
+        RuntimeException error = assertThrows(RuntimeException.class, () ->
+                nodeA.runToCompletion("failing", referenceId, List.of(comparisonId), new ComparisonJob("failing")));
+
+        assertTrue(error.getMessage().contains("failed after 2 attempts"));
+        assertEquals(ComparisonWorkJob.JobStatus.FAILED, workRepository.findJobByJobKey(jobKey).getStatus());
+        List<Map<String, Object>> failed = tiles(jobKey).stream()
+                .filter(tile -> "FAILED".equals(tile.get("status")))
+                .toList();
+        assertFalse(failed.isEmpty());
+        for (Map<String, Object> tile : failed) {
+            assertEquals(broken, ((Number) tile.get("comp_min_id")).longValue());
+            assertEquals(2, ((Number) tile.get("attempts")).intValue());
+        }
+    }
+
+    @Test
+    @DisplayName("The coordinator merges tiles that another instance already completed")
+    void testCoordinatorMergesTilesCompletedElsewhere() {
+        String jobKey = register("merged");
+        ComparisonWorkQueue nodeA = queue("node-a", storeOf(), 3);
+        while (nodeA.processNextTile(null)) {
+            // node-a의 워커가 모든 구역을 처리
+        }
+
+        SequenceStore coordinatorStore = storeOf();
+        ComparisonWorkQueue nodeB = queue("node-b", coordinatorStore, 3);
+        nodeB.runToCompletion("merged", referenceId, List.of(comparisonId), new ComparisonJob("merged"));
+
+        verifyNoInteractions(coordinatorStore);
+        assertTrue(tiles(jobKey).stream().allMatch(tile -> "DONE".equals(tile.get("status"))));
+        assertMatrixComplete();
+    }
+
+    @Test
+    @DisplayName("Failing a running job marks it FAILED and drops its remaining tiles")
+    void testFailStopsRemainingTiles() {
+        String jobKey = register("aborted");
+        ComparisonWorkQueue nodeA = queue("node-a", storeOf(), 3);
+        ComparisonWorkQueue nodeB = queue("node-b", storeOf(), 3);
+
+        assertTrue(nodeA.fail("aborted", "reference file missing"));
+
+        ComparisonWorkJob job = workRepository.findJobByJobKey(jobKey);
+        assertEquals(ComparisonWorkJob.JobStatus.FAILED, job.getStatus());
+        assertEquals("reference file missing", job.getErrorMessage());
+        assertTrue(tiles(jobKey).isEmpty());
+        assertFalse(nodeB.processNextTile(null));
+        // 이미 끝난 작업은 다시 실패로 바꾸지 않음
+        assertFalse(nodeA.fail("aborted", "again"));
+    }
+
+    private ComparisonWorkQueue queue(String instanceId, SequenceStore store, int maxAttempts) {
+        return new ComparisonWorkQueue(workRepository, sequenceRepository, sequenceMatchRepository, store,
+                new TransactionTemplate(transactionManager), true, TILE_SIZE, 120, maxAttempts, 10, 0, instanceId);
+    }
+
+    private SequenceStore storeOf() {
+        SequenceStore store = mock(SequenceStore.class);
+        when(store.readBases(any(SequenceData.class))).thenAnswer(invocation ->
+                bases.get(invocation.<SequenceData>getArgument(0).getId()));
+        return store;
+    }
+
+    /**
+     * 코디네이터가 등록하는 것과 같은 작업 행과 구역을 미리 등록
+     */
+    private String register(String cacheKey) {
+        String jobKey = ComparisonWorkQueue.jobKey(cacheKey);
+        jobKeys.add(jobKey);
+        List<ComparisonTile> tiles = ComparisonTilePlanner.plan(
+                jobKey, referenceId, referenceIds, Map.of(comparisonId, comparisonIds), TILE_SIZE);
+        workRepository.insertJobIfAbsent(ComparisonWorkJob.builder()
+                .jobKey(jobKey)
+                .referenceFileId(referenceId)
+                .comparisonFileIds(comparisonId)
+                .status(ComparisonWorkJob.JobStatus.RUNNING)
+                .totalTiles(tiles.size())
+                .coordinator("node-a")
+                .build());
+        workRepository.insertTileBatch(tiles);
+        return jobKey;
+    }
+
+    private List<Map<String, Object>> tiles(String jobKey) {
+        return new JdbcTemplate(dataSource).queryForList(
+                "SELECT tile_no, status, attempts, lease_token, comp_min_id FROM comparison_work_tiles"
+                        + " WHERE job_key = ? ORDER BY tile_no", jobKey);
+    }
+
+    private void assertMatrixComplete() {
+        List<SequenceMatchRecord> matches = sequenceMatchRepository.findByReferenceSequenceIds(
+                referenceIds, List.of(comparisonId));
+        assertEquals(referenceIds.size() * comparisonIds.size(), matches.size());
+        Set<List<Long>> pairs = matches.stream()
+                .map(match -> List.of(match.getReferenceSequenceId(), match.getComparisonSequenceId()))
+                .collect(Collectors.toSet());
+        for (Long reference : referenceIds) {
+            for (Long comparison : comparisonIds) {
+                assertTrue(pairs.contains(List.of(reference, comparison)));
+            }
+        }
+    }
+
+    private String file(String fileId) {
+        uploadedFileRepository.insertFile(UploadedFile.builder()
+                .fileId(fileId)
+                .originalName(fileId + ".fasta")
+                .filePath("uploads/" + fileId + ".fasta")
+                .fileSize(1000L)
+                .fileType("COMPARISON")
+                .uploadStatus(UploadedFile.UploadStatus.COMPLETED)
+                .build());
+        fileIds.add(fileId);
+        return fileId;
+    }
+
+    private List<Long> sequences(String fileId, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SequenceData sequence = SequenceData.builder()
+                    .fileId(fileId)
+                    .sequenceId(fileId + "-" + i)
+                    .header(fileId + "-" + i)
+                    .sequenceSegment(1)
+                    .sequenceOffset(0L)
+                    .sequenceBytes(SEQUENCE_LENGTH / 4)
+                    .sequenceLength(SEQUENCE_LENGTH)
+                    .gcContent(50.0)
+                    .aCount(15).tCount(15).cCount(15).gCount(15).nCount(0)
+                    .isValid(true)
+                    .build();
+            sequenceRepository.insertSequence(sequence);
+            byte[] sequenceBases = new byte[SEQUENCE_LENGTH];
+            for (int b = 0; b < sequenceBases.length; b++) {
+                sequenceBases[b] = (byte) "ACGT".charAt(random.nextInt(4));
+            }
+            bases.put(sequence.getId(), sequenceBases);
+            ids.add(sequence.getId());
+        }
+        return ids;
+    }
+}
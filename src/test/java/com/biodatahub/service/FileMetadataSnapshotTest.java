@@ -0,0 +1,49 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.UploadedFile;
+import com.biodatahub.repository.UploadedFileRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class FileMetadataSnapshotTest {
+
+    private static UploadedFile file(String fileId, UploadedFile.UploadStatus status) {
+        return UploadedFile.builder().fileId(fileId).originalName(fileId + ".fasta").uploadStatus(status).build();
+    }
+
+    @Test
+    @DisplayName("중복을 뺀 파일 ID로 한 번만 조회하고 이후 조회는 스냅샷에서 처리")
+    void loadsAllFilesWithOneQuery() {
+        UploadedFileRepository repository = mock(UploadedFileRepository.class);
+        when(repository.findByFileIds(anyList())).thenReturn(List.of(
+                file("ref", UploadedFile.UploadStatus.COMPLETED),
+                file("cmp", UploadedFile.UploadStatus.UPLOADING)));
+
+        FileMetadataSnapshot snapshot = FileMetadataSnapshot.load(repository, List.of("ref", "cmp", "ref", "missing"));
+
+        verify(repository, times(1)).findByFileIds(List.of("ref", "cmp", "missing"));
+        assertTrue(snapshot.isCompleted("ref"));
+        assertFalse(snapshot.isCompleted("cmp"));
+        assertFalse(snapshot.isCompleted("missing"));
+        assertEquals("ref.fasta", snapshot.getOriginalName("ref"));
+        // 기록이 없는 파일은 ID를 이름으로 사용
+        assertEquals("missing", snapshot.getOriginalName("missing"));
+        assertNull(snapshot.get("missing"));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("파일 ID가 없으면 조회하지 않음")
+    void skipsQueryForNoFiles() {
+        UploadedFileRepository repository = mock(UploadedFileRepository.class);
+        FileMetadataSnapshot snapshot = FileMetadataSnapshot.load(repository, List.of());
+        assertFalse(snapshot.isCompleted("ref"));
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,112 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.UploadedFile;
+import com.biodatahub.repository.UploadedFileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class FileProcessingServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final UploadedFileRepository repository = mock(UploadedFileRepository.class);
+    private FileProcessingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FileProcessingService(repository);
+        ReflectionTestUtils.setField(service, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(service, "writeThreads", 2);
+        service.startWriteExecutor();
+        when(repository.findByFileIds(anyList())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stopWriteExecutor();
+    }
+
+    private static MultipartFile fasta(String name, String content) {
+        return new MockMultipartFile("files", name, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Path> listUploads() throws IOException {
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("모든 파일을 기록하고 행은 한 번에 저장하며 임시 파일은 남지 않음")
+    void savesAllFilesAndInsertsOnce() throws IOException {
+        List<String> paths = service.processMultipleFiles(
+                List.of(fasta("a.fasta", ">a\nACGT\n"), fasta("b.fasta", ">b\nGGCC\n")), List.of("id-a", "id-b"));
+
+        assertEquals(List.of(uploadDir.resolve("id-a_a.fasta").toString(), uploadDir.resolve("id-b_b.fasta").toString()),
+                paths);
+        assertEquals(">b\nGGCC\n", Files.readString(uploadDir.resolve("id-b_b.fasta")));
+        assertEquals(2, listUploads().size());
+        verify(repository, times(1)).insertFileBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("이미 있는 fileId면 아무것도 기록하지 않고 기존 파일도 그대로 둠")
+    void rejectsExistingFileIdBeforeWriting() throws IOException {
+        Path existing = Files.writeString(uploadDir.resolve("id-a_a.fasta"), ">old\nAAAA\n");
+        when(repository.findByFileIds(anyList()))
+                .thenReturn(List.of(UploadedFile.builder().fileId("id-a").filePath(existing.toString()).build()));
+
+        assertThrows(IllegalArgumentException.class, () -> service.processMultipleFiles(
+                List.of(fasta("a.fasta", ">new\nCCCC\n")), List.of("id-a")));
+
+        assertEquals(">old\nAAAA\n", Files.readString(existing));
+        assertEquals(List.of(existing), listUploads());
+        verify(repository, never()).insertFileBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("행 저장이 실패하면 이 요청이 만든 파일만 지움")
+    void deletesOnlyCreatedFilesWhenInsertFails() throws IOException {
+        Path other = Files.writeString(uploadDir.resolve("other_x.fasta"), ">x\nTTTT\n");
+        doThrow(new DuplicateKeyException("file_id")).when(repository).insertFileBatch(anyList());
+
+        assertThrows(DuplicateKeyException.class, () -> service.processMultipleFiles(
+                List.of(fasta("a.fasta", ">a\nACGT\n"), fasta("b.fasta", ">b\nGGCC\n")), List.of("id-a", "id-b")));
+
+        assertEquals(List.of(other), listUploads());
+        assertEquals(">x\nTTTT\n", Files.readString(other));
+    }
+
+    @Test
+    @DisplayName("최종 경로에 파일이 이미 있으면 덮어쓰지 않고 실패하며 기존 파일은 보존")
+    void neverOverwritesExistingUploadOnDisk() throws IOException {
+        Path existing = Files.writeString(uploadDir.resolve("id-b_b.fasta"), ">old\nAAAA\n");
+
+        assertThrows(FileAlreadyExistsException.class, () -> service.processMultipleFiles(
+                List.of(fasta("a.fasta", ">a\nACGT\n"), fasta("b.fasta", ">b\nGGCC\n")), List.of("id-a", "id-b")));
+
+        assertEquals(List.of(existing), listUploads());
+        assertEquals(">old\nAAAA\n", Files.readString(existing));
+        verify(repository, never()).insertFileBatch(anyList());
+    }
+}
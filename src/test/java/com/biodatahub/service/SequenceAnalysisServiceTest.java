@@ -0,0 +1,117 @@
+package com.biodatahub.service;
+
+import com.biodatahub.dto.SequenceStatisticsDto;
+import com.biodatahub.model.FileStatistics;
+import com.biodatahub.model.UploadedFile;
+import com.biodatahub.repository.AnalysisResultRepository;
+import com.biodatahub.repository.SequenceRepository;
+import com.biodatahub.repository.UploadedFileRepository;
+import com.biodatahub.util.FastaParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SequenceAnalysisServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final SequenceRepository sequenceRepository = mock(SequenceRepository.class);
+    private final UploadedFileRepository uploadedFileRepository = mock(UploadedFileRepository.class);
+    private final FastaParser fastaParser = mock(FastaParser.class);
+    private final SequenceStore sequenceStore = mock(SequenceStore.class);
+    private final SequenceBulkLoader bulkLoader = mock(SequenceBulkLoader.class);
+    private final AnalysisResultRepository analysisResultRepository = mock(AnalysisResultRepository.class);
+    private final SequenceAnalysisService service = new SequenceAnalysisService(
+            sequenceRepository, uploadedFileRepository, fastaParser, mock(SequenceSearchService.class),
+            sequenceStore, mock(SequenceBatchWriter.class), bulkLoader, analysisResultRepository);
+
+    private void uploaded(String fileId) throws Exception {
+        Path path = Files.writeString(uploadDir.resolve(fileId + ".fasta"), ">s1\nATCG\n");
+        when(uploadedFileRepository.findByFileId(fileId)).thenReturn(UploadedFile.builder()
+                .fileId(fileId)
+                .originalName(fileId + ".fasta")
+                .filePath(path.toString())
+                .uploadStatus(UploadedFile.UploadStatus.COMPLETED)
+                .build());
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+
+    @Test
+    @DisplayName("같은 파일의 분석이 진행 중이면 다시 적재하지 않고 그 결과를 기다림")
+    void concurrentRequestsIngestFileOnce() throws Exception {
+        uploaded("f1");
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            parsing.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return null;
+        }).when(fastaParser).parseFileStreaming(any(File.class), any());
+
+        CompletableFuture<SequenceStatisticsDto> first = CompletableFuture.supplyAsync(() -> service.analyzeIfNotAnalyzed("f1"));
+        assertTrue(parsing.await(10, TimeUnit.SECONDS));
+        FutureTask<SequenceStatisticsDto> second = new FutureTask<>(() -> service.analyzeIfNotAnalyzed("f1"));
+        FutureTask<SequenceStatisticsDto> direct = new FutureTask<>(() -> service.analyzeFile("f1"));
+        Thread secondThread = new Thread(second);
+        Thread directThread = new Thread(direct);
+        secondThread.start();
+        directThread.start();
+        // 두 요청이 진행 중인 분석을 기다리기 시작한 뒤에 첫 분석을 끝냄
+        awaitWaiting(secondThread);
+        awaitWaiting(directThread);
+        release.countDown();
+
+        SequenceStatisticsDto statistics = first.get(10, TimeUnit.SECONDS);
+        assertSame(statistics, second.get(10, TimeUnit.SECONDS));
+        assertSame(statistics, direct.get(10, TimeUnit.SECONDS));
+        verify(fastaParser, times(1)).parseFileStreaming(any(File.class), any());
+    }
+
+    @Test
+    @DisplayName("진행 표시를 잡은 뒤 서열이 이미 저장되어 있으면 적재하지 않음")
+    void skipsFileStoredByEarlierRequest() throws Exception {
+        uploaded("f1");
+        when(sequenceRepository.countByFileId("f1")).thenReturn(3);
+
+        assertNull(service.analyzeIfNotAnalyzed("f1"));
+        verify(fastaParser, never()).parseFileStreaming(any(File.class), any());
+    }
+
+    @Test
+    @DisplayName("이미 분석된 파일을 다시 분석 요청하면 적재하지 않고 저장된 통계를 돌려줌")
+    void reanalysisReturnsStoredStatisticsWithoutIngesting() throws Exception {
+        uploaded("f1");
+        SequenceStatisticsDto stored = SequenceStatisticsDto.builder().totalSequences(3).build();
+        when(sequenceRepository.countByFileId("f1")).thenReturn(3);
+        when(bulkLoader.isAvailable()).thenReturn(true);
+        when(analysisResultRepository.findStatisticsByFileId("f1"))
+                .thenReturn(FileStatistics.of("f1", stored));
+
+        assertSame(stored, service.analyzeFile("f1"));
+        verify(fastaParser, never()).parseFileStreaming(any(File.class), any());
+        verify(bulkLoader, never()).load(anyString(), anyList());
+        verify(sequenceStore, never()).append(anyList());
+    }
+}
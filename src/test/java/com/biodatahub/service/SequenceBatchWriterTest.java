@@ -0,0 +1,47 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.SequenceData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceBatchWriterTest {
+
+    private static SequenceData row(int length) {
+        return SequenceData.builder().sequenceId("s").sequenceLength(length).build();
+    }
+
+    @Test
+    @DisplayName("flush 단위는 바이트 예산으로 정하고, 예산보다 큰 행은 혼자 한 단위가 된다")
+    void splitsFlushesByByteBudget() {
+        List<SequenceData> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(row(1000 - SequenceBatchWriter.ROW_OVERHEAD_BYTES - 1));
+        }
+        rows.add(row(50_000));
+        rows.add(row(10));
+
+        // 행당 1000바이트, 예산 3500 -> 3행씩
+        assertEquals(3, SequenceBatchWriter.nextFlushEnd(rows, 0, 3500, 100));
+        assertEquals(9, SequenceBatchWriter.nextFlushEnd(rows, 6, 3500, 100));
+        // 최대 행 수 제한
+        assertEquals(2, SequenceBatchWriter.nextFlushEnd(rows, 0, 3500, 2));
+        // 예산보다 큰 행
+        assertEquals(11, SequenceBatchWriter.nextFlushEnd(rows, 10, 3500, 100));
+        assertEquals(12, SequenceBatchWriter.nextFlushEnd(rows, 11, 3500, 100));
+    }
+
+    @Test
+    @DisplayName("느린 flush는 예산을 절반으로, 빠른 flush는 1/4씩 늘리고 범위를 벗어나지 않는다")
+    void adaptsBudgetToFlushLatency() {
+        assertEquals(2000, SequenceBatchWriter.adjustBudget(4000, 900, 500, 1000, 8000));
+        assertEquals(1000, SequenceBatchWriter.adjustBudget(1500, 900, 500, 1000, 8000));
+        assertEquals(5000, SequenceBatchWriter.adjustBudget(4000, 100, 500, 1000, 8000));
+        assertEquals(8000, SequenceBatchWriter.adjustBudget(7000, 100, 500, 1000, 8000));
+        assertEquals(4000, SequenceBatchWriter.adjustBudget(4000, 400, 500, 1000, 8000));
+    }
+}
@@ -0,0 +1,137 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.repository.SequenceRepository;
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SequenceBulkLoaderTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final Statement statement = mock(Statement.class);
+    private final JdbcStatement jdbcStatement = mock(JdbcStatement.class);
+    private final SequenceRepository sequenceRepository = mock(SequenceRepository.class);
+    private final SequenceStore sequenceStore = mock(SequenceStore.class);
+    // LOAD DATA LOCAL로 전송된 텍스트
+    private final AtomicReference<String> sent = new AtomicReference<>();
+    private SequenceBulkLoader loader;
+
+    /**
+     * local_infile=ON인 MySQL 연결처럼 동작하는 JDBC 목 (LOAD DATA는 전송된 줄 수만큼 적재한 것으로 응답)
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        ResultSet localInfile = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("MySQL");
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(statement.executeQuery("SELECT @@GLOBAL.local_infile")).thenReturn(localInfile);
+        when(localInfile.next()).thenReturn(true);
+        when(localInfile.getBoolean(1)).thenReturn(true);
+        when(statement.unwrap(JdbcStatement.class)).thenReturn(jdbcStatement);
+        AtomicReference<InputStream> stream = new AtomicReference<>();
+        doAnswer(invocation -> {
+            stream.set(invocation.getArgument(0));
+            return null;
+        }).when(jdbcStatement).setLocalInfileInputStream(any(InputStream.class));
+        when(statement.executeUpdate(anyString())).thenAnswer(invocation -> {
+            sent.set(new String(stream.get().readAllBytes(), StandardCharsets.UTF_8));
+            return sent.get().isEmpty() ? 0 : sent.get().split("\n").length;
+        });
+        loader = new SequenceBulkLoader(dataSource, sequenceRepository, sequenceStore, "auto");
+    }
+
+    private static List<SequenceData> rows(int count) {
+        List<SequenceData> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(SequenceData.builder().fileId("f1").sequenceId("s" + i).sequenceLength(100 + i).isValid(true).build());
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("적재 직전 최대 id 이후 구간의 id를 입력 순서대로 설정하고 처리량을 집계")
+    void loadsRowsAndAssignsIdsFromLoadedKeyRange() throws Exception {
+        List<SequenceData> rows = rows(3);
+        when(sequenceRepository.countByFileId("f1")).thenReturn(0);
+        when(sequenceRepository.findMaxId()).thenReturn(40L);
+        when(sequenceRepository.findIdsByFileIdAfterId("f1", 40L)).thenReturn(List.of(41L, 43L, 44L));
+
+        SequenceBatchWriter.WriteStats stats = loader.load("f1", rows);
+
+        assertEquals(List.of(41L, 43L, 44L), rows.stream().map(SequenceData::getId).toList());
+        assertEquals(3, sent.get().split("\n").length);
+        assertTrue(sent.get().startsWith("f1\ts0\t"));
+        assertEquals(3, stats.getRows());
+        assertEquals(rows.stream().mapToLong(SequenceBatchWriter::estimateBytes).sum(), stats.getBytes());
+        assertTrue(stats.getRowsPerSecond() > 0);
+        verify(sequenceStore).append(rows);
+        verify(sequenceRepository, never()).deleteByFileId(anyString());
+    }
+
+    @Test
+    @DisplayName("이미 서열이 저장된 파일은 저장소와 DB에 아무것도 쓰지 않고 거부")
+    void refusesFileThatAlreadyHasSequences() throws Exception {
+        when(sequenceRepository.countByFileId("f1")).thenReturn(3);
+
+        assertThrows(IllegalStateException.class, () -> loader.load("f1", rows(3)));
+        verify(sequenceStore, never()).append(anyList());
+        verify(statement, never()).executeUpdate(anyString());
+    }
+
+    @Test
+    @DisplayName("적재된 행 수가 맞지 않으면 이번에 적재한 행을 지우고 실패")
+    void deletesLoadedRowsWhenCountDoesNotMatch() throws Exception {
+        when(sequenceRepository.countByFileId("f1")).thenReturn(0);
+        when(sequenceRepository.findMaxId()).thenReturn(null);
+        when(sequenceRepository.findIdsByFileIdAfterId("f1", null)).thenReturn(List.of(1L, 2L));
+
+        assertThrows(IllegalStateException.class, () -> loader.load("f1", rows(3)));
+        verify(sequenceRepository).deleteByFileId("f1");
+    }
+
+    @Test
+    @DisplayName("행은 탭 구분 텍스트로 인코딩되고 NULL은 \\N, 특수 문자는 역슬래시로 이스케이프된다")
+    void encodesRowsAsLoadDataText() throws Exception {
+        SequenceData first = SequenceData.builder()
+                .fileId("f1").sequenceId("seq1").header("seq1 a\tb\\c")
+                .sequenceSegment(2).sequenceOffset(128L).sequenceBytes(7)
+                .sequenceLength(12).gcContent(0.0001)
+                .aCount(3).tCount(3).cCount(3).gCount(3).nCount(0).isValid(true)
+                .build();
+        SequenceData second = SequenceData.builder()
+                .fileId("f1").sequenceId("seq2").sequenceLength(0).isValid(false)
+                .build();
+
+        SequenceBulkLoader.TsvInputStream in = new SequenceBulkLoader.TsvInputStream(List.of(first, second));
+        String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+
+        assertEquals("f1\tseq1\tseq1 a\\tb\\\\c\t2\t128\t7\t12\t0.00010\t3\t3\t3\t3\t0\t1\n"
+                + "f1\tseq2\t\\N\t\\N\t\\N\t\\N\t0\t\\N\t\\N\t\\N\t\\N\t\\N\t\\N\t0\n", text);
+        assertEquals(text.getBytes(StandardCharsets.UTF_8).length, in.getBytesRead());
+        assertEquals(-1, in.read());
+    }
+}
@@ -0,0 +1,125 @@
+package com.biodatahub.service;
+
+import com.biodatahub.dto.SequenceComparisonResult;
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.SequenceMatchRecord;
+import com.biodatahub.repository.SequenceMatchRepository;
+import com.biodatahub.repository.SequenceRepository;
+import com.biodatahub.repository.UploadedFileRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SequenceComparisonServiceTest {
+
+    private final SequenceMatchRepository matchRepository = mock(SequenceMatchRepository.class);
+    private final SequenceStore sequenceStore = mock(SequenceStore.class);
+    private final ComparisonWorkQueue workQueue = mock(ComparisonWorkQueue.class);
+    private final SequenceComparisonService service = new SequenceComparisonService(
+            mock(SequenceRepository.class), mock(UploadedFileRepository.class), matchRepository,
+            mock(SequenceAnalysisService.class), sequenceStore, mock(ComparisonResultCache.class),
+            workQueue);
+
+    private final Map<Long, String> bases = Map.of(1L, "ATCGATCG", 2L, "GGCCGGCC", 3L, "ATCGATCC", 4L, "TTTTAAAA");
+
+    private final List<SequenceData> rows = List.of(
+            SequenceData.builder().id(1L).fileId("ref").sequenceId("r1").sequenceLength(8).build(),
+            SequenceData.builder().id(2L).fileId("ref").sequenceId("r2").sequenceLength(8).build(),
+            SequenceData.builder().id(3L).fileId("cmp").sequenceId("c1").sequenceLength(8).build(),
+            SequenceData.builder().id(4L).fileId("cmp").sequenceId("c2").sequenceLength(8).build());
+
+    private SequenceComparisonResult.SequenceTable table() {
+        return SequenceComparisonResult.SequenceTable.of(
+                List.of("ref", "cmp"), List.of("ref.fasta", "cmp.fasta"), 2, new int[]{0, 0, 1, 1}, rows);
+    }
+
+    private SequenceMatchRecord stored(Long referenceSequenceId, Long comparisonSequenceId, int matchCount, String strand) {
+        return SequenceMatchRecord.builder()
+                .referenceSequenceId(referenceSequenceId)
+                .comparisonSequenceId(comparisonSequenceId)
+                .alignmentLength(8)
+                .matchCount(matchCount)
+                .strand(strand)
+                .build();
+    }
+
+    @Test
+    @DisplayName("저장된 점수는 재사용하고, 방향 없는 점수와 없는 쌍만 계산해 저장")
+    void reusesStoredPairsAndSavesOnlyNewScores() {
+        when(sequenceStore.readBases(any(SequenceData.class))).thenAnswer(invocation ->
+                bases.get(((SequenceData) invocation.getArgument(0)).getId()).getBytes(StandardCharsets.US_ASCII));
+        when(matchRepository.findByReferenceSequenceIds(anyList(), eq(List.of("cmp")))).thenReturn(List.of(
+                stored(1L, 3L, 2, SequenceMatchRecord.FORWARD_STRAND),
+                stored(1L, 4L, 8, null)));
+        List<SequenceMatchRecord> saved = new ArrayList<>();
+        doAnswer(invocation -> saved.addAll(invocation.getArgument(0)))
+                .when(matchRepository).insertMatchBatch(anyList());
+
+        List<SequenceComparisonResult.ReferenceResult> references = service.performSequenceBySequenceComparison(
+                new ComparisonJob("ref_cmp"), table(), rows, "ref", List.of("cmp"));
+
+        // r1-c1 은 저장된 점수 (8 중 2 일치) 그대로, 실제 서열로 계산하면 7 일치
+        SequenceComparisonResult.ReferenceResult first = references.get(0);
+        int c1 = first.getMatchIndexes()[0] == 2 ? 0 : 1;
+        assertEquals(25.0, first.getSimilarityScores()[c1], 1e-9);
+        assertEquals(List.of("1-4", "2-3", "2-4"), saved.stream()
+                .map(r -> r.getReferenceSequenceId() + "-" + r.getComparisonSequenceId())
+                .sorted().toList());
+        verify(matchRepository).findByReferenceSequenceIds(eq(List.of(1L, 2L)), eq(List.of("cmp")));
+    }
+
+    @Test
+    @DisplayName("모든 쌍의 점수가 저장되어 있으면 서열 저장소를 읽지 않음")
+    void skipsSequenceStoreWhenAllPairsAreStored() {
+        when(matchRepository.findByReferenceSequenceIds(anyList(), eq(List.of("cmp")))).thenReturn(List.of(
+                stored(1L, 3L, 2, SequenceMatchRecord.FORWARD_STRAND),
+                stored(1L, 4L, 4, SequenceMatchRecord.REVERSE_STRAND),
+                stored(2L, 3L, 6, SequenceMatchRecord.FORWARD_STRAND),
+                stored(2L, 4L, 8, SequenceMatchRecord.FORWARD_STRAND)));
+
+        List<SequenceComparisonResult.ReferenceResult> references = service.performSequenceBySequenceComparison(
+                new ComparisonJob("ref_cmp"), table(), rows, "ref", List.of("cmp"));
+
+        assertEquals(2, references.size());
+        assertTrue(references.get(0).getReverseStrands()[0]);
+        verify(sequenceStore, never()).readBases(any(SequenceData.class));
+        verify(matchRepository, never()).insertMatchBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("저장된 점수 조회 블록 크기는 비교 서열 수에 반비례하고 1~최대 블록 사이")
+    void knownPairBlockShrinksWithComparisonCount() {
+        assertEquals(SequenceComparisonService.MAX_KNOWN_PAIR_BLOCK, SequenceComparisonService.knownPairBlockSize(1));
+        assertEquals(SequenceComparisonService.KNOWN_PAIR_BUDGET / 1000,
+                SequenceComparisonService.knownPairBlockSize(1000));
+        assertEquals(1, SequenceComparisonService.knownPairBlockSize(Integer.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("비교가 오류로 끝나면 분산 작업도 실패로 표시")
+    void failsDistributedJobWhenComparisonFails() {
+        when(workQueue.isEnabled()).thenReturn(true);
+
+        // 업로드되지 않은 파일이라 검증 단계에서 실패
+        CompletableFuture<SequenceComparisonResult> future = service.compareSequences("ref", List.of("cmp"), 0L);
+
+        assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        verify(workQueue).fail(eq("ref_cmp"), contains("ref"));
+        verify(workQueue, never()).cancel(anyString(), anyString());
+    }
+}
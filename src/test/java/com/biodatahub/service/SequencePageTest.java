@@ -0,0 +1,33 @@
+package com.biodatahub.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequencePageTest {
+
+    @Test
+    @DisplayName("커서는 정렬 값과 id를 그대로 복원하고, id 정렬 커서는 정렬 값이 없다")
+    void cursorRoundTripsSortValueAndId() {
+        SequencePage.Cursor gc = SequencePage.decodeCursor(SequencePage.encodeCursor(new BigDecimal("41.50"), 12345L));
+        assertEquals(new BigDecimal("41.50"), gc.value);
+        assertEquals(12345L, gc.id);
+
+        String idCursor = SequencePage.encodeCursor(null, 7L);
+        assertFalse(idCursor.contains("=") || idCursor.contains("/") || idCursor.contains("+"));
+        SequencePage.Cursor id = SequencePage.decodeCursor(idCursor);
+        assertNull(id.value);
+        assertEquals(7L, id.id);
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 커서는 IllegalArgumentException")
+    void rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> SequencePage.decodeCursor("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> SequencePage.decodeCursor(
+                SequencePage.encodeCursor(null, 1L).substring(1)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.biodatahub.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceSearchIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    private SequenceSearchIndex newIndex(int maxSegments) throws Exception {
+        return new SequenceSearchIndex(new ObjectMapper(), indexDir.toString(), 15, 10, 1000, maxSegments, 1024, 64);
+    }
+
+    private static String randomBases(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append("ACGT".charAt(random.nextInt(4)));
+        }
+        return sb.toString();
+    }
+
+    private static String reverseComplement(String sequence) {
+        StringBuilder sb = new StringBuilder(sequence.length());
+        for (int i = sequence.length() - 1; i >= 0; i--) {
+            char c = sequence.charAt(i);
+            sb.append(c == 'A' ? 'T' : c == 'T' ? 'A' : c == 'C' ? 'G' : 'C');
+        }
+        return sb.toString();
+    }
+
+    private static byte[] bytes(String sequence) {
+        return sequence.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 파일마다 length 길이의 무작위 서열 count개를 색인하고 서열 id는 fileNo * 1000 + i
+     */
+    private static List<String> indexFiles(SequenceSearchIndex index, Random random, int files, int count, int length)
+            throws Exception {
+        List<String> all = new ArrayList<>();
+        for (int f = 0; f < files; f++) {
+            long[] ids = new long[count];
+            List<byte[]> sequences = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String sequence = randomBases(random, length);
+                all.add(sequence);
+                ids[i] = f * 1000L + i;
+                sequences.add(bytes(sequence));
+            }
+            index.indexFile("file-" + f, ids, sequences);
+        }
+        return all;
+    }
+
+    @Test
+    @DisplayName("질의 조각의 원래 서열과 대각선, 역상보 방향을 찾는다")
+    void findsSourceSequenceOnBothStrands() throws Exception {
+        SequenceSearchIndex index = newIndex(8);
+        List<String> stored = indexFiles(index, new Random(7), 3, 20, 2000);
+
+        // file-1의 5번 서열 중간 조각 (일부 염기 변이 포함)
+        char[] fragment = stored.get(25).substring(700, 1100).toCharArray();
+        fragment[50] = fragment[50] == 'A' ? 'C' : 'A';
+        fragment[250] = fragment[250] == 'G' ? 'T' : 'G';
+        String query = new String(fragment);
+
+        SequenceSearchIndex.SearchResult forward = index.search(bytes(query), 5, 2);
+        SequenceSearchIndex.Candidate best = forward.getCandidates().get(0);
+        assertEquals(1005L, best.getSequenceId());
+        assertFalse(best.isReverse());
+        assertTrue(Math.abs(best.getDiagonal() - 700) <= 64, "diagonal " + best.getDiagonal());
+        assertTrue(best.getHits() > 10 * forward.getCandidates().stream().skip(1)
+                .mapToInt(SequenceSearchIndex.Candidate::getHits).max().orElse(1));
+
+        SequenceSearchIndex.Candidate reverse = index.search(bytes(reverseComplement(query)), 5, 2).getCandidates().get(0);
+        assertEquals(1005L, reverse.getSequenceId());
+        assertTrue(reverse.isReverse());
+    }
+
+    @Test
+    @DisplayName("세그먼트를 병합해도 검색 결과가 같고, 다시 열면 manifest에서 복원된다")
+    void compactsAndReloadsSegments() throws Exception {
+        SequenceSearchIndex index = newIndex(2);
+        List<String> stored = indexFiles(index, new Random(11), 5, 10, 1500);
+        assertTrue((int) index.getStats().get("segments") <= 2);
+        assertEquals(5, index.getStats().get("indexedFiles"));
+
+        byte[] query = bytes(stored.get(42).substring(100, 600));
+        assertEquals(4002L, index.search(query, 3, 2).getCandidates().get(0).getSequenceId());
+
+        // 이미 색인된 파일은 다시 색인하지 않음
+        long postings = (long) index.getStats().get("postings");
+        index.indexFile("file-0", new long[]{1L}, List.of(bytes(stored.get(0))));
+        assertEquals(postings, index.getStats().get("postings"));
+
+        SequenceSearchIndex reopened = newIndex(2);
+        assertEquals(index.getStats(), reopened.getStats());
+        assertTrue(reopened.isIndexed("file-3"));
+        assertEquals(4002L, reopened.search(query, 3, 2).getCandidates().get(0).getSequenceId());
+    }
+}
@@ -0,0 +1,50 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.SequenceSummary;
+import com.biodatahub.model.UploadedFile;
+import com.biodatahub.repository.AnalysisResultRepository;
+import com.biodatahub.repository.SequenceRepository;
+import com.biodatahub.repository.UploadedFileRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SequenceSearchServiceTest {
+
+    private final SequenceSearchIndex searchIndex = mock(SequenceSearchIndex.class);
+    private final SequenceRepository sequenceRepository = mock(SequenceRepository.class);
+    private final UploadedFileRepository uploadedFileRepository = mock(UploadedFileRepository.class);
+    private final SequenceStore sequenceStore = mock(SequenceStore.class);
+    private final AnalysisResultRepository analysisResultRepository = mock(AnalysisResultRepository.class);
+    private final SequenceSearchService service = new SequenceSearchService(
+            searchIndex, sequenceRepository, uploadedFileRepository, sequenceStore, analysisResultRepository);
+
+    private static UploadedFile completed(String fileId) {
+        return UploadedFile.builder().fileId(fileId).uploadStatus(UploadedFile.UploadStatus.COMPLETED).build();
+    }
+
+    @Test
+    @DisplayName("백그라운드 색인은 이미 색인된 파일과 통계가 없는(적재 중인) 파일을 건너뜀")
+    void backgroundBackfillIndexesOnlyFinishedFiles() throws Exception {
+        when(uploadedFileRepository.findByStatus(UploadedFile.UploadStatus.COMPLETED))
+                .thenReturn(List.of(completed("indexed"), completed("loading"), completed("remote")));
+        when(searchIndex.isIndexed("indexed")).thenReturn(true);
+        when(analysisResultRepository.findStatisticsSavedAt("remote")).thenReturn(LocalDateTime.now());
+        when(sequenceRepository.findSummariesByFileId("remote"))
+                .thenReturn(List.of(SequenceSummary.builder().id(7L).build()));
+        when(sequenceStore.readBases(any(SequenceSummary.class))).thenReturn(new byte[]{'A', 'C', 'G', 'T'});
+
+        assertEquals(1, service.indexAllMissingFiles(true));
+        verify(searchIndex).indexFile(eq("remote"), eq(new long[]{7L}), anyList());
+        verify(searchIndex, never()).indexFile(eq("loading"), any(), anyList());
+        verify(sequenceRepository, never()).findSummariesByFileId("loading");
+    }
+}
@@ -0,0 +1,56 @@
+package com.biodatahub.service;
+
+import com.biodatahub.dto.SequenceStatisticsDto;
+import com.biodatahub.model.SequenceSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceStatisticsAccumulatorTest {
+
+    private static SequenceSummary summary(int length, double gc, boolean valid) {
+        return SequenceSummary.builder()
+                .sequenceLength(length)
+                .gcContent(gc)
+                .aCount(length / 2)
+                .gCount(length - length / 2)
+                .nCount(0)
+                .isValid(valid)
+                .build();
+    }
+
+    @Test
+    @DisplayName("한 행씩 누적한 통계가 유효 서열 기준 길이/GC 분포와 전체 염기 구성을 계산한다")
+    void accumulatesStatisticsRowByRow() {
+        SequenceStatisticsAccumulator accumulator = new SequenceStatisticsAccumulator(100, 1100);
+        accumulator.accept(summary(100, 35.0, true));
+        accumulator.accept(summary(550, 35.5, true));
+        accumulator.accept(summary(1100, 62.0, true));
+        accumulator.accept(summary(5000, 99.0, false));
+
+        SequenceStatisticsDto dto = accumulator.toDto();
+        assertEquals(4, dto.getTotalSequences());
+        assertEquals(3, dto.getValidSequences());
+        assertEquals(1750, dto.getTotalLength());
+        assertEquals(583.33, dto.getAverageLength());
+        assertEquals(100, dto.getMinLength());
+        assertEquals(1100, dto.getMaxLength());
+        assertEquals(44.17, dto.getAverageGcContent());
+        assertEquals(6750, dto.getBaseComposition().getTotalCount());
+
+        Map<String, Integer> lengths = dto.getLengthDistribution().getDistribution();
+        assertEquals(10, lengths.size());
+        assertEquals(1, lengths.get("100-199"));
+        assertEquals(1, lengths.get("500-599"));
+        assertEquals(1, lengths.get("1000-1100"));
+        assertEquals(3, dto.getLengthDistribution().getTotalSamples());
+
+        Map<String, Integer> gc = dto.getGcDistribution().getDistribution();
+        assertEquals(2, gc.get("30-40%"));
+        assertEquals(1, gc.get("60-70%"));
+        assertEquals(0, gc.get("90-100%"));
+    }
+}
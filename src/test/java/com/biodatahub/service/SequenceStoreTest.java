@@ -0,0 +1,113 @@
+package com.biodatahub.service;
+
+import com.biodatahub.model.SequenceData;
+import com.biodatahub.model.SequenceSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceStoreTest {
+
+    @TempDir
+    Path storeDir;
+
+    private static SequenceData row(String sequence) {
+        return SequenceData.builder().sequenceId("seq").sequence(sequence).build();
+    }
+
+    /**
+     * DB에서 읽은 것처럼 서열 문자열 없이 포인터만 가진 행
+     */
+    private static SequenceData pointerOnly(SequenceData stored) {
+        return SequenceData.builder()
+                .sequenceSegment(stored.getSequenceSegment())
+                .sequenceOffset(stored.getSequenceOffset())
+                .sequenceBytes(stored.getSequenceBytes())
+                .build();
+    }
+
+    @Test
+    @DisplayName("세그먼트 크기를 넘으면 다음 세그먼트에 기록하고, 다시 열어도 포인터로 읽을 수 있다")
+    void appendsAcrossSegmentsAndReadsThroughMappings() throws Exception {
+        SequenceStore store = new SequenceStore(null, storeDir.toString(), 1 << 20);
+        Random random = new Random(9);
+        List<SequenceData> rows = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < 400_000; j++) {
+                sb.append("ACGT".charAt(random.nextInt(4)));
+            }
+            rows.add(row(sb.toString()));
+        }
+        store.append(rows.subList(0, 6));
+        // 기록 중인 세그먼트를 매핑한 뒤 추가된 레코드도 읽혀야 함
+        assertEquals(rows.get(0).getSequence(), store.readSequence(pointerOnly(rows.get(0))));
+        store.append(rows.subList(6, 12));
+
+        assertTrue(rows.get(11).getSequenceSegment() > 1);
+        SequenceStore reopened = new SequenceStore(null, storeDir.toString(), 1 << 20);
+        for (SequenceData stored : rows) {
+            assertEquals(stored.getSequence(), reopened.readSequence(pointerOnly(stored)));
+        }
+
+        // 다시 연 저장소는 마지막 세그먼트 뒤에 이어서 기록
+        SequenceData next = row("ACGTN");
+        reopened.append(List.of(next));
+        assertEquals(rows.get(11).getSequenceSegment(), next.getSequenceSegment());
+        assertEquals("ACGTN", store.readSequence(pointerOnly(next)));
+    }
+
+    @Test
+    @DisplayName("같은 디렉터리를 쓰는 두 저장소가 번갈아 기록해도 레코드가 겹치지 않는다")
+    void storesSharingDirectoryAppendAfterEachOther() throws Exception {
+        SequenceStore first = new SequenceStore(null, storeDir.toString(), 1 << 20);
+        SequenceStore second = new SequenceStore(null, storeDir.toString(), 1 << 20);
+
+        List<SequenceData> rows = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            SequenceData row = row("ACGT".repeat(10 + i) + "N".repeat(i));
+            (i % 2 == 0 ? first : second).append(List.of(row));
+            rows.add(row);
+        }
+
+        for (int i = 1; i < rows.size(); i++) {
+            SequenceData previous = rows.get(i - 1);
+            assertEquals(previous.getSequenceOffset() + previous.getSequenceBytes(), rows.get(i).getSequenceOffset());
+        }
+        for (SequenceData stored : rows) {
+            assertEquals(stored.getSequence(), first.readSequence(pointerOnly(stored)));
+            assertEquals(stored.getSequence(), second.readSequence(pointerOnly(stored)));
+        }
+    }
+
+    @Test
+    @DisplayName("포인터가 없는 이전 형식의 행은 sequence 컬럼 값을 사용한다")
+    void readsLegacyRowsFromSequenceColumn() throws Exception {
+        SequenceStore store = new SequenceStore(null, storeDir.toString(), 1 << 20);
+        assertArrayEquals("ACGT".getBytes(), store.readBases(row("acgt")));
+        assertArrayEquals(new byte[0], store.readBases(new SequenceData()));
+    }
+
+    @Test
+    @DisplayName("지연 로딩 핸들은 처음 사용할 때만 서열 본문을 읽는다")
+    void handleLoadsBasesOnFirstUse() throws Exception {
+        SequenceStore store = new SequenceStore(null, storeDir.toString(), 1 << 20);
+        SequenceData stored = row("ACGTNNAC");
+        store.append(List.of(stored));
+
+        SequenceHandle handle = store.handle(SequenceSummary.of(pointerOnly(stored)));
+        assertFalse(handle.isLoaded());
+        assertEquals("ACGTNNAC", handle.getSequence());
+        assertTrue(handle.isLoaded());
+        assertSame(handle.getBases(), handle.getBases());
+        handle.release();
+        assertFalse(handle.isLoaded());
+    }
+}
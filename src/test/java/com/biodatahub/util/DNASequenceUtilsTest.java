@@ -0,0 +1,40 @@
+package com.biodatahub.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DNASequenceUtilsTest {
+
+    @Test
+    @DisplayName("Strand matches pack forward and reverse-complement positional match counts into one value")
+    void testCountStrandMatches() {
+        byte[] reference = bytes("AACGTTGCA");
+        // 역상보: TGCAACGTT
+        byte[] reverseComplement = bytes("TGCAACGTT");
+
+        long sameStrand = DNASequenceUtils.countStrandMatches(reference, reference);
+        assertEquals(9, DNASequenceUtils.forwardMatches(sameStrand));
+
+        long oppositeStrand = DNASequenceUtils.countStrandMatches(reference, reverseComplement);
+        assertEquals(9, DNASequenceUtils.reverseMatches(oppositeStrand));
+        assertTrue(DNASequenceUtils.forwardMatches(oppositeStrand) < 9);
+    }
+
+    @Test
+    @DisplayName("Reverse-complement reads the shorter overlap from the end of the comparison sequence")
+    void testCountStrandMatchesDifferentLengths() {
+        // 역상보 CCGTT의 앞 4개가 기준 서열 CCGA와 위치별로 3개 일치
+        long matches = DNASequenceUtils.countStrandMatches(bytes("CCGA"), bytes("AACGG"));
+        assertEquals(3, DNASequenceUtils.reverseMatches(matches));
+        assertEquals(0, DNASequenceUtils.forwardMatches(matches));
+        assertArrayEquals(bytes("ACGTN"), DNASequenceUtils.toUpperCaseBytes("acgTn"));
+    }
+
+    private static byte[] bytes(String sequence) {
+        return sequence.getBytes(StandardCharsets.US_ASCII);
+    }
+}
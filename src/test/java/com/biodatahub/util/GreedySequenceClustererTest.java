@@ -0,0 +1,108 @@
+package com.biodatahub.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GreedySequenceClustererTest {
+
+    private static final byte[] BASES = {'A', 'C', 'G', 'T'};
+
+    @Test
+    @DisplayName("Near-identical sequences share a cluster, unrelated ones do not")
+    void testClustersSimilarSequences() {
+        List<byte[]> sequences = List.of(
+                bytes("ATCGATCGATCGATCGATCG"),
+                bytes("ATCGATCGATCGATCGATCC"),
+                bytes("GGGGCCCCAAAATTTTGGGG"),
+                bytes("ATCGATCGATCGATCG"));
+
+        GreedySequenceClusterer.Result result = new GreedySequenceClusterer(80.0, 4, 2).cluster(sequences);
+
+        int[] clusterOf = result.getClusterOf();
+        assertEquals(2, result.getClusterCount());
+        assertEquals(clusterOf[0], clusterOf[1]);
+        assertEquals(clusterOf[0], clusterOf[3]);
+        assertNotEquals(clusterOf[0], clusterOf[2]);
+        assertEquals(95.0, result.getIdentities()[1], 1e-9);
+        assertEquals(80.0, result.getIdentities()[3], 1e-9);
+        assertEquals(100.0, result.getIdentities()[result.getRepresentatives()[clusterOf[0]]], 1e-9);
+    }
+
+    @Test
+    @DisplayName("Parallel batches and the k-mer filter give the same clusters as a plain sequential greedy pass")
+    void testMatchesSequentialGreedyWithoutFilter() {
+        Random random = new Random(42);
+        List<byte[]> sequences = new ArrayList<>();
+        for (int family = 0; family < 20; family++) {
+            byte[] seed = randomSequence(random, 150 + random.nextInt(100));
+            for (int member = 0; member < 15; member++) {
+                byte[] variant = Arrays.copyOf(seed, seed.length - random.nextInt(20));
+                for (int m = random.nextInt(25); m > 0; m--) {
+                    variant[random.nextInt(variant.length)] = random.nextInt(10) == 0
+                            ? (byte) 'N' : BASES[random.nextInt(4)];
+                }
+                sequences.add(variant);
+            }
+        }
+
+        GreedySequenceClusterer.Result parallel = new GreedySequenceClusterer(85.0, 6, 16).cluster(sequences);
+        GreedySequenceClusterer.Result sequential = new GreedySequenceClusterer(85.0, 6, 1).cluster(sequences);
+        int[] expected = bruteForce(sequences, 85.0);
+
+        assertArrayEquals(expected, parallel.getClusterOf());
+        assertArrayEquals(expected, sequential.getClusterOf());
+        assertTrue(parallel.getFilteredOut() > 0);
+    }
+
+    @Test
+    @DisplayName("Invalid thresholds are rejected")
+    void testRejectsInvalidThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new GreedySequenceClusterer(0, 8, 16));
+        assertThrows(IllegalArgumentException.class, () -> new GreedySequenceClusterer(101, 8, 16));
+    }
+
+    private static int[] bruteForce(List<byte[]> sequences, double threshold) {
+        Integer[] order = new Integer[sequences.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(sequences.get(b).length, sequences.get(a).length));
+        int[] clusterOf = new int[sequences.size()];
+        List<Integer> representatives = new ArrayList<>();
+        for (int seq : order) {
+            clusterOf[seq] = -1;
+            for (int c = 0; c < representatives.size(); c++) {
+                byte[] rep = sequences.get(representatives.get(c));
+                if (DNASequenceUtils.positionalIdentity(rep, sequences.get(seq)) >= threshold) {
+                    clusterOf[seq] = c;
+                    break;
+                }
+            }
+            if (clusterOf[seq] < 0) {
+                clusterOf[seq] = representatives.size();
+                representatives.add(seq);
+            }
+        }
+        return clusterOf;
+    }
+
+    private static byte[] randomSequence(Random random, int length) {
+        byte[] sequence = new byte[length];
+        for (int i = 0; i < length; i++) {
+            sequence[i] = BASES[random.nextInt(4)];
+        }
+        return sequence;
+    }
+
+    private static byte[] bytes(String sequence) {
+        return sequence.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,104 @@
+package com.biodatahub.util;
+
+import com.biodatahub.dto.BaseCompositionDto;
+import com.biodatahub.dto.DistributionDto;
+import com.biodatahub.dto.SequenceStatisticsDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JacksonTypeHandlerTest {
+
+    private SequenceStatisticsDto statistics() {
+        return SequenceStatisticsDto.builder()
+                .totalSequences(3)
+                .validSequences(2)
+                .totalLength(1200L)
+                .averageLength(400.0)
+                .minLength(100)
+                .maxLength(700)
+                .averageGcContent(48.5)
+                .baseComposition(BaseCompositionDto.builder()
+                        .aCount(300).tCount(320).cCount(280).gCount(290).nCount(10).totalCount(1200)
+                        .build())
+                .lengthDistribution(DistributionDto.of(Map.of("0-499", 2, "500-999", 1)))
+                .gcDistribution(DistributionDto.of(Map.of("40-50%", 3)))
+                .build();
+    }
+
+    private byte[] written(JacksonTypeHandler<SequenceStatisticsDto> handler, SequenceStatisticsDto value) throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        handler.setNonNullParameter(ps, 1, value, null);
+        ArgumentCaptor<byte[]> bytes = ArgumentCaptor.forClass(byte[].class);
+        verify(ps).setBytes(eq(1), bytes.capture());
+        return bytes.getValue();
+    }
+
+    @Test
+    @DisplayName("Smile 바이너리로 기록한 DTO를 스트림에서 그대로 복원")
+    void smileRoundTripsTypedDto() throws Exception {
+        SmileTypeHandler<SequenceStatisticsDto> handler = new SmileTypeHandler<>(SequenceStatisticsDto.class);
+        byte[] bytes = written(handler, statistics());
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBinaryStream("statistics")).thenReturn(new ByteArrayInputStream(bytes));
+
+        assertEquals(statistics(), handler.getNullableResult(rs, "statistics"));
+    }
+
+    @Test
+    @DisplayName("CBOR도 같은 방식으로 복원")
+    void cborRoundTripsTypedDto() throws Exception {
+        CborTypeHandler<SequenceStatisticsDto> handler = new CborTypeHandler<>(SequenceStatisticsDto.class);
+        byte[] bytes = written(handler, statistics());
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBinaryStream(1)).thenReturn(new ByteArrayInputStream(bytes));
+
+        assertEquals(statistics(), handler.getNullableResult(rs, 1));
+    }
+
+    @Test
+    @DisplayName("필드만 저장하고 계산 getter(gcContent 등)는 저장하지 않으며 텍스트 JSON보다 작음")
+    void storesFieldsOnlyAndIsSmallerThanJson() throws Exception {
+        byte[] smile = written(new SmileTypeHandler<>(SequenceStatisticsDto.class), statistics());
+        String json = JacksonFormats.JSON.writeValueAsString(statistics());
+
+        assertTrue(json.contains("\"aCount\""));
+        assertFalse(json.contains("atContent"));
+        assertTrue(smile.length < json.length(), smile.length + " >= " + json.length());
+    }
+
+    @Test
+    @DisplayName("NULL 컬럼은 null")
+    void nullColumnIsNull() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBinaryStream(anyInt())).thenReturn(null);
+
+        assertNull(new SmileTypeHandler<>(SequenceStatisticsDto.class).getNullableResult(rs, 1));
+    }
+
+    @Test
+    @DisplayName("JsonTypeHandler는 javaType 없이 Map을 텍스트 JSON으로 저장")
+    void jsonHandlerDefaultsToMap() throws Exception {
+        JsonTypeHandler<Map<String, Object>> handler = new JsonTypeHandler<>();
+        PreparedStatement ps = mock(PreparedStatement.class);
+        handler.setNonNullParameter(ps, 2, Map.of("count", 3), null);
+        verify(ps).setString(2, "{\"count\":3}");
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getCharacterStream("payload")).thenReturn(new StringReader("{\"count\":3}"));
+        assertEquals(Map.of("count", 3), handler.getNullableResult(rs, "payload"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.biodatahub.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedSequenceCodecTest {
+
+    private static byte[] roundTrip(String sequence) {
+        byte[] bases = sequence.getBytes(StandardCharsets.US_ASCII);
+        byte[] record = PackedSequenceCodec.encode(bases);
+        // 다른 레코드 뒤에 붙은 위치에서도 복원되는지 확인
+        ByteBuffer buffer = ByteBuffer.allocate(record.length + 7);
+        buffer.position(7);
+        buffer.put(record);
+        byte[] decoded = PackedSequenceCodec.decode(buffer, 7, record.length);
+        assertArrayEquals(bases, decoded, sequence.length() > 40 ? sequence.substring(0, 40) : sequence);
+        return record;
+    }
+
+    @Test
+    @DisplayName("A/C/G/T 서열과 N 구간을 2비트로 저장하고 그대로 복원한다")
+    void packsTwoBitWithExceptionRuns() {
+        for (String sequence : new String[]{"", "A", "ACG", "ACGT", "TTTTG", "NNNN", "ACGTNNNNNNACGTRYACGT"}) {
+            roundTrip(sequence);
+        }
+
+        Random random = new Random(3);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10_001; i++) {
+            sb.append(i >= 5000 && i < 5100 ? 'N' : "ACGT".charAt(random.nextInt(4)));
+        }
+        byte[] record = roundTrip(sb.toString());
+        assertEquals(PackedSequenceCodec.TWO_BIT, record[0]);
+        assertTrue(record.length < 10_001 / 4 + 32, "record bytes " + record.length);
+    }
+
+    @Test
+    @DisplayName("A/C/G/T 이외 문자가 흩어져 있으면 deflate로 저장한다")
+    void fallsBackToDeflateForScatteredAmbiguityCodes() {
+        Random random = new Random(5);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 4000; i++) {
+            sb.append("ACGTNRY".charAt(random.nextInt(7)));
+        }
+        byte[] record = roundTrip(sb.toString());
+        assertEquals(PackedSequenceCodec.DEFLATE, record[0]);
+    }
+}